@@ -0,0 +1,384 @@
+package com.project.simple.twitter.autocomplete;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+// Users by prefix of their username or of any word of their display name, the most popular first. Every user has a
+// key for the folded username (see fold) and one for each word of the display name onwards, so "bru" and "lucas b"
+// both find "Lucas Bruno". The keys are sorted into one byte array, so the keys with a prefix are a contiguous
+// range found by binary search. A max tree over the keys holds at each node the key of the most popular user below
+// it, and the best of a range come out of a heap of nodes: the range splits into O(log n) nodes, and popping a node
+// pushes its two children, so k results cost O(k log n) however many keys share the prefix. Built once and read
+// only; UserAutocomplete layers the changes made since over it.
+public class PrefixIndex {
+
+  public static final PrefixIndex EMPTY = new Builder(0).build();
+
+  // User i has id bits at 2i and 2i + 1, its username at nameStarts[2i] and its display name at nameStarts[2i + 1]
+  private final long[] ids;
+  private final int[] scores;
+  private final byte[] names;
+  private final int[] nameStarts;
+  private final int userCount;
+
+  // Key k, in sorted order, is at keyStarts[k] in keys and belongs to user keyUsers[k]
+  private final byte[] keys;
+  private final int[] keyStarts;
+  private final int[] keyUsers;
+  private final int keyCount;
+
+  // Leaves are the nodes keyCount + k, and node i has children 2i and 2i + 1
+  private final int[] tree;
+
+  private PrefixIndex(long[] ids, int[] scores, byte[] names, int[] nameStarts, int userCount, byte[] keys,
+      int[] keyStarts, int[] keyUsers, int keyCount) {
+    this.ids = ids;
+    this.scores = scores;
+    this.names = names;
+    this.nameStarts = nameStarts;
+    this.userCount = userCount;
+    this.keys = keys;
+    this.keyStarts = keyStarts;
+    this.keyUsers = keyUsers;
+    this.keyCount = keyCount;
+    this.tree = new int[2 * keyCount];
+
+    for (int key = 0; key < keyCount; key++)
+      tree[keyCount + key] = key;
+    for (int node = keyCount - 1; node > 0; node--)
+      tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+  }
+
+  // Lower case letters without accents, and runs of spaces as one
+  public static String fold(String text) {
+    String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+    StringBuilder folded = new StringBuilder(decomposed.length());
+
+    for (int i = 0; i < decomposed.length(); i++) {
+      char current = decomposed.charAt(i);
+
+      if (Character.getType(current) == Character.NON_SPACING_MARK)
+        continue;
+      if (Character.isWhitespace(current) || Character.isISOControl(current)) {
+        if (folded.length() > 0 && folded.charAt(folded.length() - 1) != ' ')
+          folded.append(' ');
+        continue;
+      }
+
+      folded.append(Character.toLowerCase(Character.toUpperCase(current)));
+    }
+
+    return folded.toString().strip();
+  }
+
+  // The folded username, then the folded display name from each of its words on
+  public static List<String> keys(String username, String displayName) {
+    List<String> keys = new ArrayList<>();
+    keys.add(fold(username));
+
+    if (displayName != null) {
+      String folded = fold(displayName);
+      for (int start = 0; start < folded.length(); start = folded.indexOf(' ', start) + 1) {
+        String key = folded.substring(start);
+        if (!keys.contains(key))
+          keys.add(key);
+        if (folded.indexOf(' ', start) < 0)
+          break;
+      }
+    }
+
+    return keys;
+  }
+
+  // Up to limit users with a key starting with the folded prefix, the highest score first and, among equal scores,
+  // by key. Users the filter rejects are skipped.
+  public int[] top(String foldedPrefix, int limit, IntPredicate filter) {
+    byte[] prefix = foldedPrefix.getBytes(StandardCharsets.UTF_8);
+    int from = firstKey(prefix, false);
+    int to = firstKey(prefix, true);
+
+    int[] found = new int[limit];
+    int foundCount = 0;
+    NodeHeap heap = new NodeHeap();
+
+    // The canonical nodes covering [from, to)
+    for (int left = from + keyCount, right = to + keyCount; left < right; left >>= 1, right >>= 1) {
+      if ((left & 1) == 1)
+        heap.push(left++);
+      if ((right & 1) == 1)
+        heap.push(--right);
+    }
+
+    while (foundCount < limit && heap.size > 0) {
+      int node = heap.pop();
+      if (node < keyCount) {
+        heap.push(2 * node);
+        heap.push(2 * node + 1);
+        continue;
+      }
+
+      // A user matching through several keys is returned once
+      int user = keyUsers[node - keyCount];
+      if (filter.test(user) && !contains(found, foundCount, user))
+        found[foundCount++] = user;
+    }
+
+    return Arrays.copyOf(found, foundCount);
+  }
+
+  public int size() {
+    return userCount;
+  }
+
+  public int countKeys() {
+    return keyCount;
+  }
+
+  public UUID idAt(int user) {
+    return new UUID(ids[2 * user], ids[2 * user + 1]);
+  }
+
+  public int scoreAt(int user) {
+    return scores[user];
+  }
+
+  public String usernameAt(int user) {
+    return name(2 * user);
+  }
+
+  // Null when the user has no display name
+  public String displayNameAt(int user) {
+    return nameStarts[2 * user + 1] == nameStarts[2 * user + 2] ? null : name(2 * user + 1);
+  }
+
+  private String name(int index) {
+    return new String(names, nameStarts[index], nameStarts[index + 1] - nameStarts[index], StandardCharsets.UTF_8);
+  }
+
+  public long memoryBytes() {
+    return (long) Long.BYTES * ids.length
+        + (long) Integer.BYTES * (scores.length + nameStarts.length + keyStarts.length + keyUsers.length + tree.length)
+        + names.length + keys.length;
+  }
+
+  private int better(int key, int other) {
+    int score = scores[keyUsers[key]];
+    int otherScore = scores[keyUsers[other]];
+    if (score != otherScore)
+      return score > otherScore ? key : other;
+    return Math.min(key, other);
+  }
+
+  // The first key not sorting before the keys starting with the prefix or, past, the first one sorting after them
+  private int firstKey(byte[] prefix, boolean past) {
+    int low = 0;
+    int high = keyCount;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      int comparison = compareToPrefix(middle, prefix);
+      if (comparison < 0 || (past && comparison == 0))
+        low = middle + 1;
+      else
+        high = middle;
+    }
+
+    return low;
+  }
+
+  // Negative, zero or positive when the key sorts before, starts with or sorts after the prefix
+  private int compareToPrefix(int key, byte[] prefix) {
+    int start = keyStarts[key];
+    int length = keyStarts[key + 1] - start;
+
+    for (int i = 0; i < Math.min(length, prefix.length); i++) {
+      int difference = (keys[start + i] & 0xFF) - (prefix[i] & 0xFF);
+      if (difference != 0)
+        return difference;
+    }
+
+    return length < prefix.length ? -1 : 0;
+  }
+
+  private static boolean contains(int[] values, int length, int value) {
+    for (int i = 0; i < length; i++) {
+      if (values[i] == value)
+        return true;
+    }
+    return false;
+  }
+
+  // Max heap of tree nodes, ordered by the key each one holds
+  private class NodeHeap {
+
+    private int[] nodes = new int[64];
+    private int size;
+
+    void push(int node) {
+      if (size == nodes.length)
+        nodes = Arrays.copyOf(nodes, size * 2);
+
+      int position = size++;
+      while (position > 0) {
+        int parent = (position - 1) / 2;
+        if (better(tree[nodes[parent]], tree[node]) == tree[nodes[parent]])
+          break;
+        nodes[position] = nodes[parent];
+        position = parent;
+      }
+      nodes[position] = node;
+    }
+
+    int pop() {
+      int top = nodes[0];
+      int last = nodes[--size];
+      int position = 0;
+
+      while (2 * position + 1 < size) {
+        int child = 2 * position + 1;
+        if (child + 1 < size && better(tree[nodes[child + 1]], tree[nodes[child]]) == tree[nodes[child + 1]])
+          child++;
+        if (better(tree[last], tree[nodes[child]]) == tree[last])
+          break;
+        nodes[position] = nodes[child];
+        position = child;
+      }
+      nodes[position] = last;
+
+      return top;
+    }
+  }
+
+  // Collects users in any order; build sorts their keys
+  public static class Builder {
+
+    private long[] ids;
+    private int[] scores;
+    private byte[] names;
+    private int[] nameStarts;
+    private int userCount;
+
+    private byte[] keys;
+    private int[] keyStarts;
+    private int[] keyUsers;
+    private int keyCount;
+
+    public Builder(int expectedUsers) {
+      int capacity = Math.max(expectedUsers, 16);
+      this.ids = new long[2 * capacity];
+      this.scores = new int[capacity];
+      this.names = new byte[capacity * 16];
+      this.nameStarts = new int[2 * capacity + 1];
+      this.keys = new byte[capacity * 16];
+      this.keyStarts = new int[capacity * 2 + 1];
+      this.keyUsers = new int[capacity * 2];
+    }
+
+    public Builder add(UUID id, String username, String displayName, int score) {
+      if (userCount == scores.length) {
+        ids = Arrays.copyOf(ids, ids.length * 2);
+        scores = Arrays.copyOf(scores, scores.length * 2);
+        nameStarts = Arrays.copyOf(nameStarts, nameStarts.length * 2);
+      }
+
+      int user = userCount++;
+      ids[2 * user] = id.getMostSignificantBits();
+      ids[2 * user + 1] = id.getLeastSignificantBits();
+      scores[user] = score;
+
+      byte[] username8 = username.getBytes(StandardCharsets.UTF_8);
+      byte[] displayName8 = displayName == null ? new byte[0] : displayName.getBytes(StandardCharsets.UTF_8);
+      int start = nameStarts[2 * user];
+      names = ensure(names, start + username8.length + displayName8.length);
+      System.arraycopy(username8, 0, names, start, username8.length);
+      System.arraycopy(displayName8, 0, names, start + username8.length, displayName8.length);
+      nameStarts[2 * user + 1] = start + username8.length;
+      nameStarts[2 * user + 2] = start + username8.length + displayName8.length;
+
+      for (String key : keys(username, displayName)) {
+        if (key.isEmpty())
+          continue;
+
+        byte[] key8 = key.getBytes(StandardCharsets.UTF_8);
+        if (keyCount == keyUsers.length) {
+          keyUsers = Arrays.copyOf(keyUsers, keyUsers.length * 2);
+          keyStarts = Arrays.copyOf(keyStarts, keyStarts.length * 2);
+        }
+        keys = ensure(keys, keyStarts[keyCount] + key8.length);
+        System.arraycopy(key8, 0, keys, keyStarts[keyCount], key8.length);
+        keyUsers[keyCount] = user;
+        keyStarts[keyCount + 1] = keyStarts[keyCount] + key8.length;
+        keyCount++;
+      }
+
+      return this;
+    }
+
+    public PrefixIndex build() {
+      // Sorted by the first 4 bytes packed above the key number, then runs sharing them by the whole key
+      long[] order = new long[keyCount];
+      for (int key = 0; key < keyCount; key++)
+        order[key] = (head(key) << 31) | key;
+      Arrays.sort(order);
+
+      int[] sorted = new int[keyCount];
+      for (int i = 0; i < keyCount; i++)
+        sorted[i] = (int) (order[i] & Integer.MAX_VALUE);
+
+      for (int start = 0; start < keyCount;) {
+        int end = start + 1;
+        while (end < keyCount && order[end] >>> 31 == order[start] >>> 31)
+          end++;
+        if (end - start > 1)
+          sortRun(sorted, start, end);
+        start = end;
+      }
+      order = null;
+
+      byte[] sortedKeys = new byte[keyStarts[keyCount]];
+      int[] sortedStarts = new int[keyCount + 1];
+      int[] sortedUsers = new int[keyCount];
+      for (int i = 0; i < keyCount; i++) {
+        int key = sorted[i];
+        int length = keyStarts[key + 1] - keyStarts[key];
+        System.arraycopy(keys, keyStarts[key], sortedKeys, sortedStarts[i], length);
+        sortedStarts[i + 1] = sortedStarts[i] + length;
+        sortedUsers[i] = keyUsers[key];
+      }
+
+      return new PrefixIndex(Arrays.copyOf(ids, 2 * userCount), Arrays.copyOf(scores, userCount),
+          Arrays.copyOf(names, nameStarts[2 * userCount]), Arrays.copyOf(nameStarts, 2 * userCount + 1), userCount,
+          sortedKeys, sortedStarts, sortedUsers, keyCount);
+    }
+
+    private long head(int key) {
+      long head = 0;
+      for (int i = 0; i < 4; i++) {
+        int position = keyStarts[key] + i;
+        head = (head << 8) | (position < keyStarts[key + 1] ? keys[position] & 0xFF : 0);
+      }
+      return head;
+    }
+
+    private void sortRun(int[] sorted, int start, int end) {
+      Integer[] run = new Integer[end - start];
+      for (int i = start; i < end; i++)
+        run[i - start] = sorted[i];
+
+      Arrays.sort(run, (key, other) -> Arrays.compareUnsigned(keys, keyStarts[key], keyStarts[key + 1], keys,
+          keyStarts[other], keyStarts[other + 1]));
+
+      for (int i = start; i < end; i++)
+        sorted[i] = run[i - start];
+    }
+
+    private static byte[] ensure(byte[] array, int length) {
+      return length <= array.length ? array : Arrays.copyOf(array, Math.max(length, array.length * 2));
+    }
+  }
+}
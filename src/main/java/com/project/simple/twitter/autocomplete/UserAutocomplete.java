@@ -0,0 +1,180 @@
+package com.project.simple.twitter.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.graph.FollowGraph;
+import com.project.simple.twitter.repository.UserRepository;
+import com.project.simple.twitter.repository.UserRepository.UserNamesView;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+
+// Active users by prefix of their username or display name, the most followed first, for mentions. A PrefixIndex
+// of every active user is rebuilt from the users table every rebuild interval, ranked by the followers FollowGraph
+// counted at the time. UserService hands every user it creates, confirms, updates or deletes to put, and those
+// changes sit in a map next to the index, overriding it, until a rebuild that read them replaces it, and their keys
+// in a sorted map so that a query only reads the changes with its prefix. An instance sees the changes of other
+// instances once it rebuilds.
+@Component
+@Log4j2
+public class UserAutocomplete {
+
+  public static final int LOAD_CHUNK_SIZE = 10_000;
+
+  // Folded keys never hold control characters, so this sorts a key's entries right after it
+  private static final char KEY_SEPARATOR = '\0';
+
+  private final UserRepository userRepository;
+  private final FollowGraph followGraph;
+  private final boolean enabled;
+  private final Timer rebuildDuration;
+  private final Map<UUID, Change> changes = new ConcurrentHashMap<>();
+  // Folded key, then KEY_SEPARATOR and the user id, so that users sharing a key have an entry each
+  private final NavigableMap<String, Change> changesByKey = new ConcurrentSkipListMap<>();
+  private final AtomicLong lastVersion = new AtomicLong();
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private volatile PrefixIndex index = PrefixIndex.EMPTY;
+
+  public UserAutocomplete(UserRepository userRepository, FollowGraph followGraph, MeterRegistry meterRegistry,
+      @Value("${twitter.autocomplete.enabled:true}") boolean enabled) {
+    this.userRepository = userRepository;
+    this.followGraph = followGraph;
+    this.enabled = enabled;
+    this.rebuildDuration = Timer.builder("twitter.autocomplete.rebuild.duration")
+        .description("Time taken to read the active users and build the autocomplete index")
+        .register(meterRegistry);
+
+    Gauge.builder("twitter.autocomplete.users", this, autocomplete -> autocomplete.index.size())
+        .description("Users in the autocomplete index, as of the last rebuild")
+        .register(meterRegistry);
+    Gauge.builder("twitter.autocomplete.changes", changes, Map::size)
+        .description("Users created, updated or deleted since the last rebuild")
+        .register(meterRegistry);
+  }
+
+  // Runs once FollowService has loaded the follow graph the ranking comes from
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${twitter.autocomplete.rebuild-interval:PT15M}",
+      initialDelayString = "${twitter.autocomplete.rebuild-interval:PT15M}")
+  public void rebuild() {
+    if (!enabled || !running.compareAndSet(false, true))
+      return;
+
+    try {
+      long startedAt = System.nanoTime();
+      // Changes up to this version are committed, so the users read below include them
+      long version = lastVersion.get();
+
+      PrefixIndex.Builder builder = new PrefixIndex.Builder(index.size());
+      List<UserNamesView> chunk = userRepository.findActiveNamesFirstChunk(Limit.of(LOAD_CHUNK_SIZE));
+
+      while (!chunk.isEmpty()) {
+        chunk.forEach(user -> builder.add(user.getId(), user.getUsername(), user.getDisplayName(),
+            followGraph.countFollowers(user.getId())));
+
+        if (chunk.size() < LOAD_CHUNK_SIZE)
+          break;
+
+        chunk = userRepository.findActiveNamesChunkAfter(chunk.get(chunk.size() - 1).getId(),
+            Limit.of(LOAD_CHUNK_SIZE));
+      }
+
+      index = builder.build();
+      for (UUID id : changes.keySet())
+        changes.computeIfPresent(id, (ignored, change) -> change.version() <= version ? unindex(change) : change);
+
+      long elapsed = System.nanoTime() - startedAt;
+      rebuildDuration.record(elapsed, TimeUnit.NANOSECONDS);
+      log.info("Built the autocomplete index of {} users in {} ms, using {} KiB", index.size(), elapsed / 1_000_000,
+          index.memoryBytes() / 1024);
+    } catch (RuntimeException exception) {
+      log.error("Building the autocomplete index failed", exception);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  // Called once the user is committed; users who are not active are hidden
+  public void put(User user) {
+    if (!enabled || user.getId() == null)
+      return;
+
+    boolean visible = user.getStatus() == UserStatus.ACTIVE;
+    List<String> keys = visible ? PrefixIndex.keys(user.getUsername(), user.getDisplayName()) : List.of();
+
+    // Computed under the map's lock for the user, so the keys of concurrent puts cannot interleave
+    changes.compute(user.getId(), (id, previous) -> {
+      if (previous != null)
+        unindex(previous);
+
+      Change change = new Change(id, user.getUsername(), user.getDisplayName(), visible, keys,
+          lastVersion.incrementAndGet());
+      change.keys().forEach(key -> changesByKey.put(key + KEY_SEPARATOR + id, change));
+      return change;
+    });
+  }
+
+  // Up to limit users with the prefix, the most followed first
+  public List<Match> complete(String prefix, int limit) {
+    String folded = PrefixIndex.fold(prefix);
+    if (folded.isEmpty() || limit <= 0)
+      return List.of();
+
+    PrefixIndex current = index;
+    List<Match> matches = new ArrayList<>(limit * 2);
+
+    // Users changed since the rebuild are skipped here and ranked from their change instead
+    for (int user : current.top(folded, limit,
+        user -> changes.isEmpty() || !changes.containsKey(current.idAt(user))))
+      matches.add(new Match(current.idAt(user), current.usernameAt(user), current.displayNameAt(user),
+          current.scoreAt(user)));
+
+    // A user matching by several keys has an entry for each
+    Set<Change> changed = new LinkedHashSet<>(changesByKey.subMap(folded, folded + Character.MAX_VALUE).values());
+    for (Change change : changed)
+      matches.add(new Match(change.id(), change.username(), change.displayName(),
+          followGraph.countFollowers(change.id())));
+
+    return matches.stream()
+        .sorted(Comparator.comparingInt(Match::followers).reversed().thenComparing(Match::username))
+        .limit(limit)
+        .toList();
+  }
+
+  // Returns null, so that it can end a compute that removes the change
+  private Change unindex(Change change) {
+    change.keys().forEach(key -> changesByKey.remove(key + KEY_SEPARATOR + change.id(), change));
+    return null;
+  }
+
+  public record Match(UUID id, String username, String displayName, int followers) {
+  }
+
+  private record Change(UUID id, String username, String displayName, boolean visible, List<String> keys,
+      long version) {
+  }
+}
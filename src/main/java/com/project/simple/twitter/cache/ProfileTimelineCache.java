@@ -0,0 +1,122 @@
+package com.project.simple.twitter.cache;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Holds the first timeline page of each profile already serialized in every negotiable format, so hot
+// profiles are answered without touching the database or Jackson. Pages are rendered with the mappers of
+// the registered HTTP message converters, so cached bytes match what the converters would have written.
+// Writers bump a per-stripe version before evicting; a render that started before the bump is not stored,
+// so a stale page cannot be cached after the invalidation that should have removed it. Pages that go stale on their
+// own, when one of their twitters expires, are rendered again once that time has passed.
+@Component
+public class ProfileTimelineCache {
+
+  private static final int VERSION_STRIPES = 1024;
+
+  private final Map<PageKey, CachedPage> pages = new ConcurrentHashMap<>();
+  private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+  private final Map<MediaType, ObjectMapper> objectMappers = new LinkedHashMap<>();
+  private final int maxEntries;
+
+  public ProfileTimelineCache(List<AbstractJackson2HttpMessageConverter> converters,
+      @Value("${twitter.cache.profile-timeline.max-entries:10000}") int maxEntries) {
+    for (AbstractJackson2HttpMessageConverter converter : converters)
+      objectMappers.putIfAbsent(converter.getSupportedMediaTypes().get(0), converter.getObjectMapper());
+
+    this.maxEntries = maxEntries;
+  }
+
+  public Set<MediaType> getSupportedMediaTypes() {
+    return objectMappers.keySet();
+  }
+
+  public byte[] getOrRender(String username, MediaType mediaType, Supplier<?> pageSupplier) {
+    return getOrRender(username, mediaType, pageSupplier, page -> null);
+  }
+
+  // validUntil gives the time a rendered page goes stale by itself, or null if only an eviction makes it stale
+  public <T> byte[] getOrRender(String username, MediaType mediaType, Supplier<T> pageSupplier,
+      Function<? super T, LocalDateTime> validUntil) {
+    ObjectMapper objectMapper = objectMappers.get(mediaType);
+    if (objectMapper == null)
+      throw new IllegalArgumentException("Unsupported media type " + mediaType);
+
+    PageKey key = new PageKey(username, mediaType);
+    CachedPage cachedPage = pages.get(key);
+    if (cachedPage != null && cachedPage.isValidAt(LocalDateTime.now()))
+      return cachedPage.bytes();
+
+    long version = versions.get(stripe(username));
+    T page = pageSupplier.get();
+    CachedPage renderedPage = new CachedPage(render(objectMapper, page), validUntil.apply(page));
+
+    if (versions.get(stripe(username)) == version) {
+      makeRoom();
+      pages.put(key, renderedPage);
+
+      // An eviction may have raced with the put above
+      if (versions.get(stripe(username)) != version)
+        pages.remove(key, renderedPage);
+    }
+
+    return renderedPage.bytes();
+  }
+
+  public void evict(String username) {
+    versions.incrementAndGet(stripe(username));
+
+    for (MediaType mediaType : objectMappers.keySet())
+      pages.remove(new PageKey(username, mediaType));
+  }
+
+  public int size() {
+    return pages.size();
+  }
+
+  private byte[] render(ObjectMapper objectMapper, Object page) {
+    try {
+      return objectMapper.writeValueAsBytes(page);
+    } catch (JsonProcessingException exception) {
+      throw new IllegalStateException("Could not serialize profile timeline page", exception);
+    }
+  }
+
+  private void makeRoom() {
+    Iterator<PageKey> iterator = pages.keySet().iterator();
+    while (pages.size() >= maxEntries && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  private int stripe(String username) {
+    return (username.hashCode() & Integer.MAX_VALUE) % VERSION_STRIPES;
+  }
+
+  private record PageKey(String username, MediaType mediaType) {
+  }
+
+  private record CachedPage(byte[] bytes, LocalDateTime validUntil) {
+
+    boolean isValidAt(LocalDateTime time) {
+      return validUntil == null || time.isBefore(validUntil);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.project.simple.twitter.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Coalesces concurrent loads of the same key into a single call to the loader and keeps the
+// result for a short time, so a burst of reads for a hot key costs one query per TTL interval.
+// Failures are not cached: every waiter of a failed load gets the same exception and the next
+// caller starts a new load. The cache holds at most maxEntries results: while it is full, a
+// load is still shared by its concurrent callers but its result is not kept.
+public class SingleFlightCache<K, V> {
+
+  private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final AtomicLong nextSweepAt = new AtomicLong(System.nanoTime());
+
+  public SingleFlightCache(Duration ttl, int maxEntries) {
+    this.ttlNanos = ttl.toNanos();
+    this.maxEntries = maxEntries;
+  }
+
+  public V get(K key, Function<K, V> loader) {
+    long now = System.nanoTime();
+
+    Flight<V> flight = flights.get(key);
+    if (flight != null && !flight.isExpired(now))
+      return flight.join();
+
+    if (flights.size() >= maxEntries)
+      sweep(now);
+
+    Flight<V> newFlight = new Flight<>();
+    flight = flights.compute(key, (ignored, current) -> current != null && !current.isExpired(now)
+        ? current
+        : newFlight);
+
+    if (flight != newFlight)
+      return flight.join();
+
+    try {
+      V value = loader.apply(key);
+      newFlight.complete(value, System.nanoTime() + ttlNanos);
+
+      // Still full: the waiters already hold the flight, so dropping it only skips caching
+      if (flights.size() > maxEntries)
+        flights.remove(key, newFlight);
+      return value;
+    } catch (RuntimeException exception) {
+      flights.remove(key, newFlight);
+      newFlight.fail(exception);
+      throw exception;
+    }
+  }
+
+  // Scans for expired entries at most once per TTL interval, so inserting into a full cache
+  // does not pay for a scan every time
+  private void sweep(long now) {
+    long sweepAt = nextSweepAt.get();
+    if (now - sweepAt < 0 || !nextSweepAt.compareAndSet(sweepAt, now + ttlNanos))
+      return;
+
+    flights.values().removeIf(entry -> entry.isExpired(now));
+  }
+
+  public void invalidate(K key) {
+    flights.remove(key);
+  }
+
+  public int size() {
+    return flights.size();
+  }
+
+  private static class Flight<V> {
+
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+
+    private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+    private volatile boolean loading = true;
+
+    boolean isExpired(long now) {
+      return !loading && now - expiresAtNanos > 0;
+    }
+
+    void complete(V value, long expiresAt) {
+      this.expiresAtNanos = expiresAt;
+      this.loading = false;
+      result.complete(value);
+    }
+
+    void fail(RuntimeException exception) {
+      this.loading = false;
+      this.expiresAtNanos = System.nanoTime();
+      result.completeExceptionally(exception);
+    }
+
+    V join() {
+      try {
+        return result.join();
+      } catch (CompletionException exception) {
+        if (exception.getCause() instanceof RuntimeException cause)
+          throw cause;
+        throw exception;
+      }
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.project.simple.twitter.config;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.repository.Repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.simple.twitter.profiling.Profiled;
+import com.project.simple.twitter.profiling.ProfilingJackson2HttpMessageConverter;
+import com.project.simple.twitter.profiling.RepositoryQueryInterceptor;
+import com.project.simple.twitter.profiling.ServiceCallInterceptor;
+
+// Infrastructure advisors are applied by the auto proxy creator that method security already registers, so
+// no AspectJ weaving is needed. The events cost a flag check while no recording is running.
+@Configuration
+public class ProfilingConfig {
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  public static Advisor serviceCallAdvisor() {
+    return new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forClassAnnotation(Profiled.class),
+        new ServiceCallInterceptor());
+  }
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  public static Advisor repositoryQueryAdvisor() {
+    return new DefaultPointcutAdvisor(new ComposablePointcut(Repository.class::isAssignableFrom),
+        new RepositoryQueryInterceptor());
+  }
+
+  // Replaces the JSON converter Spring Boot would otherwise create with the same object mapper
+  @Bean
+  public ProfilingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+    return new ProfilingJackson2HttpMessageConverter(objectMapper);
+  }
+}
@@ -0,0 +1,79 @@
+package com.project.simple.twitter.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.simple.twitter.dto.follow.FollowPageDto;
+import com.project.simple.twitter.dto.follow.FollowStatusDto;
+import com.project.simple.twitter.service.FollowService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@PreAuthorize("hasAuthority('USER')")
+@RequestMapping("/users/{username}")
+@RequiredArgsConstructor
+public class FollowController {
+
+  private final FollowService followService;
+
+  @PutMapping("/follow")
+  public ResponseEntity<Void> follow(@PathVariable String username,
+      @AuthenticationPrincipal UserDetails userDetails) {
+
+    followService.setUserDetails(userDetails);
+    followService.follow(username);
+
+    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+  }
+
+  @DeleteMapping("/follow")
+  public ResponseEntity<Void> unfollow(@PathVariable String username,
+      @AuthenticationPrincipal UserDetails userDetails) {
+
+    followService.setUserDetails(userDetails);
+    followService.unfollow(username);
+
+    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+  }
+
+  @GetMapping("/follow")
+  public ResponseEntity<FollowStatusDto> getFollowStatus(@PathVariable String username,
+      @AuthenticationPrincipal UserDetails userDetails) {
+
+    followService.setUserDetails(userDetails);
+
+    return new ResponseEntity<>(followService.getFollowStatus(username), HttpStatus.OK);
+  }
+
+  @GetMapping("/followers")
+  public ResponseEntity<FollowPageDto> getFollowers(@PathVariable String username,
+      @RequestParam(required = false) Integer offset, @RequestParam(required = false) Integer limit) {
+
+    return new ResponseEntity<>(followService.getFollowers(username, offset, limit), HttpStatus.OK);
+  }
+
+  @GetMapping("/following")
+  public ResponseEntity<FollowPageDto> getFollowing(@PathVariable String username,
+      @RequestParam(required = false) Integer offset, @RequestParam(required = false) Integer limit) {
+
+    return new ResponseEntity<>(followService.getFollowing(username, offset, limit), HttpStatus.OK);
+  }
+
+  @GetMapping("/mutuals")
+  public ResponseEntity<FollowPageDto> getMutuals(@PathVariable String username,
+      @RequestParam(required = false) Integer offset, @RequestParam(required = false) Integer limit) {
+
+    return new ResponseEntity<>(followService.getMutuals(username, offset, limit), HttpStatus.OK);
+  }
+}
@@ -0,0 +1,58 @@
+package com.project.simple.twitter.controller;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.project.simple.twitter.dto.profiling.RecordingDto;
+import com.project.simple.twitter.service.ProfilingService;
+
+import lombok.RequiredArgsConstructor;
+
+@PreAuthorize("hasAuthority('ADMIN')")
+@RestController
+@RequestMapping("/profiling/recording")
+@RequiredArgsConstructor
+public class ProfilingController {
+
+  private final ProfilingService profilingService;
+
+  @PostMapping
+  public ResponseEntity<RecordingDto> startRecording(@RequestParam(required = false) Duration duration,
+      @RequestParam(required = false) String settings) {
+
+    return new ResponseEntity<>(profilingService.start(duration, settings), HttpStatus.CREATED);
+  }
+
+  @DeleteMapping
+  public ResponseEntity<StreamingResponseBody> stopRecording() {
+    Path file = profilingService.stop();
+
+    StreamingResponseBody body = outputStream -> {
+      try {
+        Files.copy(file, outputStream);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+        .body(body);
+  }
+}
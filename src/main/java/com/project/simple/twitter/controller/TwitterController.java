@@ -1,8 +1,11 @@
 package com.project.simple.twitter.controller;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,12 +15,25 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.simple.twitter.dto.twitter.ScheduleTwitterDto;
+import com.project.simple.twitter.dto.twitter.ScheduledTwitterDto;
 import com.project.simple.twitter.dto.twitter.TwitterDto;
+import com.project.simple.twitter.dto.twitter.TwitterFieldSelection;
+import com.project.simple.twitter.dto.twitter.TwitterViewsDto;
 import com.project.simple.twitter.dto.twitter.UpdateTwitterDto;
 import com.project.simple.twitter.dto.twitter.CreateTwitterDto;
+import com.project.simple.twitter.enums.twitter.TwitterField;
+import com.project.simple.twitter.service.IdempotencyService;
 import com.project.simple.twitter.service.TwitterService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,23 +44,99 @@ import lombok.RequiredArgsConstructor;
 public class TwitterController {
 
   private final TwitterService twitterService;
+  private final IdempotencyService idempotencyService;
+  private final ObjectMapper objectMapper;
 
   @PostMapping
   public ResponseEntity<Void> createTwitter(@RequestBody CreateTwitterDto request,
+      @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+      @AuthenticationPrincipal UserDetails userDetails) {
+
+    return idempotencyService.execute("twitters:" + userDetails.getUsername(), idempotencyKey, request, () -> {
+      twitterService.setUserDetails(userDetails);
+      twitterService.create(request);
+
+      return HttpStatus.CREATED;
+    });
+  }
+
+  @PostMapping("/scheduled")
+  public ResponseEntity<ScheduledTwitterDto> scheduleTwitter(@RequestBody ScheduleTwitterDto request,
       @AuthenticationPrincipal UserDetails userDetails) {
 
     twitterService.setUserDetails(userDetails);
-    twitterService.create(request);
 
-    return new ResponseEntity<>(HttpStatus.CREATED);
+    return new ResponseEntity<>(twitterService.schedule(request), HttpStatus.CREATED);
+  }
+
+  @GetMapping("/scheduled")
+  public ResponseEntity<List<ScheduledTwitterDto>> getScheduledTwitters(
+      @AuthenticationPrincipal UserDetails userDetails) {
+
+    twitterService.setUserDetails(userDetails);
+
+    return new ResponseEntity<>(twitterService.getScheduledTwitters(), HttpStatus.OK);
+  }
+
+  @DeleteMapping("/scheduled/{id}")
+  public ResponseEntity<Void> cancelScheduledTwitter(@PathVariable Long id,
+      @AuthenticationPrincipal UserDetails userDetails) {
+
+    twitterService.setUserDetails(userDetails);
+    twitterService.cancelScheduled(id);
+
+    return new ResponseEntity<>(HttpStatus.ACCEPTED);
   }
 
   @GetMapping
-  public ResponseEntity<List<TwitterDto>> getUserTwitters(@AuthenticationPrincipal UserDetails userDetails) {
+  public ResponseEntity<TwitterFieldSelection> getUserTwitters(@RequestParam(required = false) String fields,
+      @AuthenticationPrincipal UserDetails userDetails) {
 
+    Set<TwitterField> requestedFields = TwitterField.parse(fields);
     twitterService.setUserDetails(userDetails);
 
-    return new ResponseEntity<>(twitterService.getUserTwitters(), HttpStatus.CREATED);
+    return new ResponseEntity<>(withFields(twitterService.getUserTwitters(requestedFields), requestedFields),
+        HttpStatus.CREATED);
+  }
+
+  @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamUserTwitters(@AuthenticationPrincipal UserDetails userDetails) {
+
+    twitterService.setUserDetails(userDetails);
+    Iterator<List<TwitterDto>> chunks = twitterService.streamUserTwitters();
+    ObjectWriter writer = objectMapper.writerFor(TwitterDto.class)
+        .withRootValueSeparator("")
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    // Flushing after every chunk blocks on a slow client before the next chunk is read from the database
+    StreamingResponseBody body = outputStream -> {
+      JsonGenerator generator = writer.createGenerator(outputStream);
+
+      while (chunks.hasNext()) {
+        for (TwitterDto twitter : chunks.next()) {
+          writer.writeValue(generator, twitter);
+          generator.writeRaw('\n');
+        }
+
+        generator.flush();
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(body);
+  }
+
+  @GetMapping(params = "ids")
+  public ResponseEntity<TwitterFieldSelection> getTwittersByIds(@RequestParam List<Long> ids,
+      @RequestParam(required = false) String fields,
+      @AuthenticationPrincipal UserDetails userDetails) {
+
+    Set<TwitterField> requestedFields = TwitterField.parse(fields);
+    twitterService.setUserDetails(userDetails);
+
+    return new ResponseEntity<>(withFields(twitterService.getTwittersByIds(ids, requestedFields), requestedFields),
+        HttpStatus.OK);
   }
 
   @GetMapping("/{id}")
@@ -56,6 +148,15 @@ public class TwitterController {
     return new ResponseEntity<>(twitterService.getSingleTwitter(id), HttpStatus.CREATED);
   }
 
+  @GetMapping("/{id}/views")
+  public ResponseEntity<TwitterViewsDto> getViews(@PathVariable Long id,
+      @AuthenticationPrincipal UserDetails userDetails) {
+
+    twitterService.setUserDetails(userDetails);
+
+    return new ResponseEntity<>(twitterService.getViews(id), HttpStatus.OK);
+  }
+
   @PatchMapping("/{id}")
   public ResponseEntity<Void> updateTwitter(@PathVariable Long id,
       @RequestBody UpdateTwitterDto request,
@@ -77,4 +178,8 @@ public class TwitterController {
     return new ResponseEntity<>(HttpStatus.ACCEPTED);
   }
 
+  private TwitterFieldSelection withFields(Object body, Set<TwitterField> fields) {
+    return new TwitterFieldSelection(body, fields);
+  }
+
 }
@@ -1,26 +1,47 @@
 package com.project.simple.twitter.controller;
 
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.project.simple.twitter.config.BinaryFormatConfig;
+import com.project.simple.twitter.dto.follow.FollowSuggestionsDto;
 import com.project.simple.twitter.dto.response.GenericResponseDto;
+import com.project.simple.twitter.dto.twitter.TwitterPageDto;
 import com.project.simple.twitter.dto.user.AccessUserDto;
 import com.project.simple.twitter.dto.user.ConfirmUserDto;
 import com.project.simple.twitter.dto.user.CreateUserDto;
 import com.project.simple.twitter.dto.user.LoginUserDto;
 import com.project.simple.twitter.dto.user.UpdateUserDto;
 import com.project.simple.twitter.dto.user.UserDto;
+import com.project.simple.twitter.dto.user.UserMatchDto;
+import com.project.simple.twitter.service.FollowService;
+import com.project.simple.twitter.service.IdempotencyService;
+import com.project.simple.twitter.service.TwitterService;
 import com.project.simple.twitter.service.UserService;
+import com.project.simple.twitter.service.export.UserDataExporter;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -29,14 +50,30 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserController {
 
+  private static final List<MediaType> PROFILE_MEDIA_TYPES = List.of(
+      MediaType.APPLICATION_JSON,
+      BinaryFormatConfig.APPLICATION_SMILE,
+      MediaType.APPLICATION_CBOR);
+
   private final UserService userService;
+  private final TwitterService twitterService;
+  private final IdempotencyService idempotencyService;
+  private final FollowService followService;
+  private final UserDataExporter userDataExporter;
 
   @PostMapping
-  public ResponseEntity<Void> createUser(@RequestBody @Valid CreateUserDto request) {
+  public ResponseEntity<Void> createUser(@RequestBody @Valid CreateUserDto request,
+      @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+    // Signups are anonymous, so keys are scoped by the email being signed up: another client reusing the key
+    // for another account runs its own signup
+    String scope = "users:" + request.getEmail().toLowerCase(Locale.ROOT);
 
-    userService.create(request);
+    return idempotencyService.execute(scope, idempotencyKey, request, () -> {
+      userService.create(request);
 
-    return new ResponseEntity<>(HttpStatus.CREATED);
+      return HttpStatus.CREATED;
+    });
   }
 
   @PatchMapping("/confirm")
@@ -55,6 +92,15 @@ public class UserController {
     return new ResponseEntity<>(userService.update(request), HttpStatus.ACCEPTED);
   }
 
+  @PreAuthorize("hasAuthority('USER')")
+  @DeleteMapping
+  public ResponseEntity<GenericResponseDto> deleteUser(@AuthenticationPrincipal UserDetails userDetails) {
+
+    userService.setUserDetails(userDetails);
+
+    return new ResponseEntity<>(userService.delete(), HttpStatus.ACCEPTED);
+  }
+
   @PreAuthorize("hasAuthority('USER')")
   @GetMapping("/info")
   public ResponseEntity<UserDto> getUser(@AuthenticationPrincipal UserDetails userDetails) {
@@ -64,9 +110,97 @@ public class UserController {
     return new ResponseEntity<>(userService.getUser(), HttpStatus.OK);
   }
 
+  @PreAuthorize("hasAuthority('USER')")
+  @GetMapping(value = "/export", produces = "application/zip")
+  public ResponseEntity<StreamingResponseBody> exportUser(@AuthenticationPrincipal UserDetails userDetails,
+      HttpServletRequest request) {
+
+    userService.setUserDetails(userDetails);
+    UserDto profile = userService.getUser();
+    UserDataExporter.ExportBody export = userDataExporter.export(profile);
+
+    // Returns the export permit when the request completes, even if the body never got to run
+    WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(UserDataExporter.class.getName(), export);
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/zip"))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(profile.getUsername() + "-export.zip")
+            .build()
+            .toString())
+        .body(export);
+  }
+
+  @PreAuthorize("hasAuthority('USER')")
+  @GetMapping("/suggestions")
+  public ResponseEntity<FollowSuggestionsDto> getSuggestions(@AuthenticationPrincipal UserDetails userDetails) {
+
+    followService.setUserDetails(userDetails);
+
+    return new ResponseEntity<>(followService.getSuggestions(), HttpStatus.OK);
+  }
+
+  @PreAuthorize("hasAuthority('USER')")
+  @GetMapping("/autocomplete")
+  public ResponseEntity<List<UserMatchDto>> autocomplete(@RequestParam String prefix,
+      @RequestParam(required = false) Integer limit) {
+
+    return new ResponseEntity<>(userService.autocomplete(prefix, limit), HttpStatus.OK);
+  }
+
+  @GetMapping(value = "/{username}/twitters", params = "!before", produces = {
+    MediaType.APPLICATION_JSON_VALUE,
+    BinaryFormatConfig.APPLICATION_SMILE_VALUE,
+    MediaType.APPLICATION_CBOR_VALUE
+  })
+  public ResponseEntity<byte[]> getProfileTwittersFirstPage(@PathVariable String username,
+      @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.ALL_VALUE) String accept) {
+
+    MediaType mediaType = selectProfileMediaType(accept);
+
+    return ResponseEntity.ok()
+        .contentType(mediaType)
+        .body(twitterService.getProfileTwittersFirstPage(username, mediaType));
+  }
+
+  @GetMapping(value = "/{username}/twitters", params = "before")
+  public ResponseEntity<TwitterPageDto> getProfileTwitters(@PathVariable String username,
+      @RequestParam Long before) {
+
+    return new ResponseEntity<>(twitterService.getProfileTwitters(username, before), HttpStatus.OK);
+  }
+
   @PostMapping("/login")
   public ResponseEntity<AccessUserDto> loginUser(@RequestBody @Valid LoginUserDto request) {
 
     return new ResponseEntity<>(userService.login(request), HttpStatus.OK);
   }
+
+  // The cached page is raw bytes, so the format the message converters would have negotiated is picked here:
+  // highest quality first, then a concrete type over a wildcard, then the order of PROFILE_MEDIA_TYPES
+  private MediaType selectProfileMediaType(String accept) {
+    MediaType selected = MediaType.APPLICATION_JSON;
+    double selectedQuality = -1;
+    boolean selectedConcrete = false;
+
+    for (MediaType accepted : MediaType.parseMediaTypes(accept)) {
+      double quality = accepted.getQualityValue();
+      boolean concrete = !accepted.isWildcardType() && !accepted.isWildcardSubtype();
+
+      if (quality < selectedQuality || (quality == selectedQuality && (selectedConcrete || !concrete)))
+        continue;
+
+      for (MediaType supported : PROFILE_MEDIA_TYPES) {
+        if (accepted.isCompatibleWith(supported)) {
+          selected = supported;
+          selectedQuality = quality;
+          selectedConcrete = concrete;
+          break;
+        }
+      }
+    }
+
+    return selected;
+  }
+
 }
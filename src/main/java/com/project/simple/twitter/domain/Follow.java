@@ -0,0 +1,54 @@
+package com.project.simple.twitter.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "follows")
+@IdClass(FollowId.class)
+public class Follow implements Persistable<FollowId> {
+
+  @Id
+  @Column(name = "follower_id")
+  private UUID followerId;
+
+  @Id
+  @Column(name = "followee_id")
+  private UUID followeeId;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Override
+  public FollowId getId() {
+    return new FollowId(followerId, followeeId);
+  }
+
+  // Follows are only ever inserted, so save() persists them without selecting the row first
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+
+  public static Follow createNew(User follower, User followee) {
+    return Follow.builder()
+        .followerId(follower.getId())
+        .followeeId(followee.getId())
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+}
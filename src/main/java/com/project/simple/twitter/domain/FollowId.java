@@ -0,0 +1,18 @@
+package com.project.simple.twitter.domain;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FollowId implements Serializable {
+
+  private UUID followerId;
+
+  private UUID followeeId;
+}
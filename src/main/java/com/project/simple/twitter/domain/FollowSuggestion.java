@@ -0,0 +1,78 @@
+package com.project.simple.twitter.domain;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "follow_suggestions")
+public class FollowSuggestion implements Persistable<UUID> {
+
+  // A suggested user's id followed by its score
+  public static final int ENTRY_BYTES = 20;
+  public static final int MAX_SUGGESTIONS = 50;
+
+  @Id
+  @Column(name = "user_id")
+  private UUID userId;
+
+  // Best suggestion first
+  @Column(name = "suggestions", nullable = false, length = ENTRY_BYTES * MAX_SUGGESTIONS)
+  private byte[] suggestions;
+
+  @Column(name = "computed_at", nullable = false)
+  private LocalDateTime computedAt;
+
+  @Override
+  public UUID getId() {
+    return userId;
+  }
+
+  // Suggestions are replaced by deleting the old rows first, so save() never has to select them
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+
+  public int countSuggestions() {
+    return suggestions.length / ENTRY_BYTES;
+  }
+
+  public UUID getSuggestedUserId(int position) {
+    ByteBuffer buffer = ByteBuffer.wrap(suggestions);
+    return new UUID(buffer.getLong(position * ENTRY_BYTES), buffer.getLong(position * ENTRY_BYTES + 8));
+  }
+
+  public int getScore(int position) {
+    return ByteBuffer.wrap(suggestions).getInt(position * ENTRY_BYTES + 16);
+  }
+
+  public static FollowSuggestion createNew(UUID userId, UUID[] suggestedUserIds, int[] scores, int count,
+      LocalDateTime computedAt) {
+    ByteBuffer buffer = ByteBuffer.allocate(count * ENTRY_BYTES);
+    for (int i = 0; i < count; i++) {
+      buffer.putLong(suggestedUserIds[i].getMostSignificantBits());
+      buffer.putLong(suggestedUserIds[i].getLeastSignificantBits());
+      buffer.putInt(scores[i]);
+    }
+
+    return FollowSuggestion.builder()
+        .userId(userId)
+        .suggestions(buffer.array())
+        .computedAt(computedAt)
+        .build();
+  }
+}
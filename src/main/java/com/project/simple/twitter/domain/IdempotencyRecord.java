@@ -0,0 +1,39 @@
+package com.project.simple.twitter.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "idempotency_keys")
+public class IdempotencyRecord {
+
+  @Id
+  @Column(name = "idempotency_key")
+  private String key;
+
+  private Integer status;
+
+  @Column(name = "request_hash")
+  private String requestHash;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  public boolean isCompleted() {
+    return status != null;
+  }
+
+  public boolean isExpired(LocalDateTime now) {
+    return expiresAt.isBefore(now);
+  }
+}
@@ -0,0 +1,71 @@
+package com.project.simple.twitter.domain;
+
+import java.time.LocalDateTime;
+
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "scheduled_twitters")
+public class ScheduledTwitter {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private long id;
+
+  @Column(nullable = false)
+  private String content;
+
+  @ManyToOne
+  @JoinColumn(name = "author_id", referencedColumnName = "id", nullable = false)
+  private User author;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private TwitterVisibility visibility;
+
+  @Column(name = "publish_at", nullable = false)
+  private LocalDateTime publishAt;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  public boolean isUserOwner(User user) {
+    return user.getId().equals(this.getAuthor().getId());
+  }
+
+  // The twitter is stamped with the time it is published, not the time it was scheduled
+  public Twitter toTwitter() {
+    Twitter twitter = Twitter.createNew(content, author);
+    twitter.setVisibility(visibility);
+
+    return twitter;
+  }
+
+  public static ScheduledTwitter createNew(String content, User user, TwitterVisibility visibility,
+      LocalDateTime publishAt) {
+    return ScheduledTwitter.builder()
+        .content(content)
+        .author(user)
+        .visibility(visibility)
+        .publishAt(publishAt)
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+}
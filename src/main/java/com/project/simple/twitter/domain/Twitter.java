@@ -14,7 +14,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.ManyToOne;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,7 +33,7 @@ public class Twitter {
 
   private String content;
 
-  @OneToOne
+  @ManyToOne
   @JoinColumn(name = "author_id", referencedColumnName = "id")
   private User author;
 
@@ -43,12 +43,16 @@ public class Twitter {
   private long likes;
 
   @CreationTimestamp
-  @Column(name = "create_at")
+  @Column(name = "create_at", nullable = false)
   private LocalDateTime createdAt;
 
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
 
+  // Null for twitters that never expire
+  @Column(name = "expires_at")
+  private LocalDateTime expiresAt;
+
   public boolean isPublic() {
     return visibility == TwitterVisibility.PUBLIC;
   }
@@ -61,6 +65,11 @@ public class Twitter {
     return !createdAt.equals(updatedAt);
   }
 
+  // Expired twitters stay in the table until TwitterExpiryReaper deletes them
+  public boolean isExpiredAt(LocalDateTime time) {
+    return expiresAt != null && !expiresAt.isAfter(time);
+  }
+
   public boolean canUserView(User user) {
     return this.isPublic() || isUserOwner(user);
   }
@@ -0,0 +1,70 @@
+package com.project.simple.twitter.domain;
+
+import java.time.LocalDate;
+
+import org.springframework.data.domain.Persistable;
+
+import com.project.simple.twitter.impression.HyperLogLog;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "twitter_impressions")
+@IdClass(TwitterImpressionId.class)
+public class TwitterImpression implements Persistable<TwitterImpressionId> {
+
+  @Id
+  @Column(name = "twitter_id")
+  private Long twitterId;
+
+  @Id
+  @Column(name = "viewed_on")
+  private LocalDate viewedOn;
+
+  @Column(name = "sketch", nullable = false, length = 2050)
+  private byte[] sketch;
+
+  // Only rows built by createNew are inserted; rows read from the table are updated
+  @Transient
+  private boolean created;
+
+  @Override
+  public TwitterImpressionId getId() {
+    return new TwitterImpressionId(twitterId, viewedOn);
+  }
+
+  @Override
+  public boolean isNew() {
+    return created;
+  }
+
+  public HyperLogLog getViewers() {
+    return HyperLogLog.fromBytes(sketch);
+  }
+
+  public void mergeViewers(HyperLogLog viewers) {
+    HyperLogLog merged = getViewers();
+    merged.merge(viewers);
+    sketch = merged.toBytes();
+  }
+
+  public static TwitterImpression createNew(TwitterImpressionId id, HyperLogLog viewers) {
+    return TwitterImpression.builder()
+        .twitterId(id.getTwitterId())
+        .viewedOn(id.getViewedOn())
+        .sketch(viewers.toBytes())
+        .created(true)
+        .build();
+  }
+}
@@ -0,0 +1,18 @@
+package com.project.simple.twitter.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TwitterImpressionId implements Serializable {
+
+  private Long twitterId;
+
+  private LocalDate viewedOn;
+}
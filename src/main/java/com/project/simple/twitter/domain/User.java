@@ -78,6 +78,10 @@ public class User {
     return status == UserStatus.BLOCKED;
   }
 
+  public boolean isDeleted() {
+    return status == UserStatus.DELETED;
+  }
+
   public int getAgeNumber() {
     if (this.getBirthDate() == null)
       return 0;
@@ -0,0 +1,61 @@
+package com.project.simple.twitter.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.project.simple.twitter.enums.UserDeletionStage;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "user_deletions")
+public class UserDeletion {
+
+  @Id
+  @Column(name = "user_id")
+  private UUID userId;
+
+  @Column(nullable = false)
+  private String username;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private UserDeletionStage stage;
+
+  @Column(name = "purged_rows", nullable = false)
+  private long purgedRows;
+
+  @Column(name = "requested_at", nullable = false)
+  private LocalDateTime requestedAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+
+  public static UserDeletion createNew(User user, LocalDateTime now) {
+    return UserDeletion.builder()
+        .userId(user.getId())
+        .username(user.getUsername())
+        .stage(UserDeletionStage.SCHEDULED_TWITTERS)
+        .requestedAt(now)
+        .updatedAt(now)
+        .build();
+  }
+
+  public boolean isCompleted() {
+    return stage == UserDeletionStage.COMPLETED;
+  }
+}
@@ -0,0 +1,22 @@
+package com.project.simple.twitter.dto.follow;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FollowPageDto {
+
+  private List<String> usernames;
+
+  // Left out of mutuals, which are not counted up front
+  private Integer total;
+
+  @JsonProperty(value = "next_offset")
+  private Integer nextOffset;
+
+}
@@ -0,0 +1,23 @@
+package com.project.simple.twitter.dto.follow;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FollowStatusDto {
+
+  private boolean following;
+
+  @JsonProperty(value = "followed_by")
+  private boolean followedBy;
+
+  @JsonProperty(value = "follower_count")
+  private int followerCount;
+
+  @JsonProperty(value = "following_count")
+  private int followingCount;
+
+}
@@ -0,0 +1,15 @@
+package com.project.simple.twitter.dto.follow;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FollowSuggestionDto {
+
+  private String username;
+
+  // Users you follow who follow them
+  private int score;
+
+}
@@ -0,0 +1,21 @@
+package com.project.simple.twitter.dto.follow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FollowSuggestionsDto {
+
+  private List<FollowSuggestionDto> suggestions;
+
+  // Null until the suggestion job has run for the user
+  @JsonProperty(value = "computed_at")
+  private LocalDateTime computedAt;
+
+}
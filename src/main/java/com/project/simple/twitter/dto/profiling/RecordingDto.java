@@ -0,0 +1,28 @@
+package com.project.simple.twitter.dto.profiling;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RecordingDto {
+
+  private String name;
+
+  private String settings;
+
+  @JsonProperty(value = "started_at")
+  private Instant startedAt;
+
+  @JsonProperty(value = "max_duration")
+  private Duration maxDuration;
+
+  @JsonProperty(value = "max_size_bytes")
+  private long maxSizeBytes;
+
+}
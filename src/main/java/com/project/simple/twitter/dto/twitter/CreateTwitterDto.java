@@ -1,14 +1,24 @@
 package com.project.simple.twitter.dto.twitter;
 
+import java.time.Duration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 public class CreateTwitterDto {
 
   @NotEmpty(message = "content is required")
   private String content;
 
+  // Seconds or an ISO-8601 duration; twitters without one never expire
+  @JsonProperty(value = "expires_in")
+  private Duration expiresIn;
+
 }
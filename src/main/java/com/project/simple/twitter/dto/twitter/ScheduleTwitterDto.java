@@ -0,0 +1,26 @@
+package com.project.simple.twitter.dto.twitter;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduleTwitterDto {
+
+  private String content;
+
+  @JsonProperty(value = "visibility")
+  private String visibilityValue;
+
+  @JsonProperty(value = "publish_at")
+  private LocalDateTime publishAt;
+
+}
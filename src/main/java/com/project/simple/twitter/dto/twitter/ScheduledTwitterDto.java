@@ -0,0 +1,46 @@
+package com.project.simple.twitter.dto.twitter;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.project.simple.twitter.domain.ScheduledTwitter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledTwitterDto {
+
+  private long id;
+
+  private String content;
+
+  private String author;
+
+  private String visibility;
+
+  @JsonProperty(value = "publish_at")
+  private LocalDateTime publishAt;
+
+  @JsonProperty(value = "created_at")
+  private LocalDateTime createdAt;
+
+  public static ScheduledTwitterDto parse(ScheduledTwitter scheduled) {
+    if (scheduled == null)
+      throw new IllegalArgumentException("Scheduled twitter cannot be null");
+
+    return ScheduledTwitterDto.builder()
+        .id(scheduled.getId())
+        .content(scheduled.getContent())
+        .author(scheduled.getAuthor().getUsername())
+        .visibility(scheduled.getVisibility().name().toLowerCase())
+        .publishAt(scheduled.getPublishAt())
+        .createdAt(scheduled.getCreatedAt())
+        .build();
+  }
+}
@@ -0,0 +1,19 @@
+package com.project.simple.twitter.dto.twitter;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TwitterBatchDto {
+
+  private List<TwitterDto> twitters;
+
+  @JsonProperty(value = "unavailable_ids")
+  private List<Long> unavailableIds;
+
+}
@@ -6,11 +6,15 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.project.simple.twitter.domain.Twitter;
 import com.project.simple.twitter.enums.twitter.TwitterVisibility;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TwitterDto {
 
   private long id;
@@ -28,6 +32,9 @@ public class TwitterDto {
 
   private boolean edited;
 
+  @JsonProperty(value = "expires_at")
+  private LocalDateTime expiresAt;
+
   public static TwitterDto parse(Twitter twitter) {
     if (twitter == null)
       throw new IllegalArgumentException("Twitter cannot be null");
@@ -48,6 +55,7 @@ public class TwitterDto {
         .visibility(twitter.getVisibilityValue())
         .likes(twitter.getLikes())
         .edited(twitter.isEdited())
+        .expiresAt(twitter.getExpiresAt())
         .build();
   }
 }
@@ -0,0 +1,86 @@
+package com.project.simple.twitter.dto.twitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.project.simple.twitter.enums.twitter.TwitterField;
+
+// Response body holding twitters of which only the requested fields are written. It is written with the mapper of
+// the message converter that was negotiated, through a writer whose TwitterDto serializer was built with those
+// properties only, so writing a twitter checks no filter. There is one writer per mapper and distinct field set;
+// at most 2^8 field sets exist, so the cache needs no bound.
+public final class TwitterFieldSelection implements JsonSerializable {
+
+  private static final Map<WriterKey, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+  private final Object body;
+  private final Set<TwitterField> fields;
+
+  public TwitterFieldSelection(Object body, Set<TwitterField> fields) {
+    this.body = body;
+    this.fields = fields;
+  }
+
+  public Object getBody() {
+    return body;
+  }
+
+  public static ObjectWriter writerFor(ObjectMapper objectMapper, Set<TwitterField> fields) {
+    return WRITERS.computeIfAbsent(new WriterKey(objectMapper, fields), TwitterFieldSelection::createWriter);
+  }
+
+  @Override
+  public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+    writerFor((ObjectMapper) generator.getCodec(), fields).writeValue(generator, body);
+  }
+
+  @Override
+  public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+
+  private static ObjectWriter createWriter(WriterKey key) {
+    Set<String> propertyNames = key.fields().stream()
+        .map(TwitterField::getValue)
+        .collect(Collectors.toSet());
+
+    BeanSerializerModifier selectedProperties = new BeanSerializerModifier() {
+
+      @Override
+      public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDescription,
+          List<BeanPropertyWriter> properties) {
+        if (beanDescription.getBeanClass() != TwitterDto.class)
+          return properties;
+
+        List<BeanPropertyWriter> selected = new ArrayList<>(properties);
+        selected.removeIf(property -> !propertyNames.contains(property.getName()));
+        return selected;
+      }
+    };
+
+    return key.objectMapper().copy()
+        .registerModule(new SimpleModule("TwitterFieldSelection").setSerializerModifier(selectedProperties))
+        .writer();
+  }
+
+  // Mappers are compared by identity, which is what ObjectMapper's equals does
+  private record WriterKey(ObjectMapper objectMapper, Set<TwitterField> fields) {
+  }
+}
@@ -0,0 +1,23 @@
+package com.project.simple.twitter.dto.twitter;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TwitterPageDto {
+
+  private List<TwitterDto> twitters;
+
+  @JsonProperty(value = "next_cursor")
+  private Long nextCursor;
+
+}
@@ -0,0 +1,27 @@
+package com.project.simple.twitter.dto.twitter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Estimates with a standard error of about 2%
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TwitterViewsDto {
+
+  private Long id;
+
+  // Today so far
+  @JsonProperty(value = "unique_viewers_day")
+  private long uniqueViewersDay;
+
+  // Today and the six days before it
+  @JsonProperty(value = "unique_viewers_week")
+  private long uniqueViewersWeek;
+
+}
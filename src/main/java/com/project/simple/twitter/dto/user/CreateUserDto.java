@@ -1,5 +1,7 @@
 package com.project.simple.twitter.dto.user;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
@@ -18,7 +20,9 @@ public class CreateUserDto {
   @Email(message = "email is invalid")
   private String email;
 
+  // Read from requests but never written, so it stays out of the fingerprint IdempotencyService stores
   @NotEmpty(message = "password is required")
+  @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
   private String password;
 
 }
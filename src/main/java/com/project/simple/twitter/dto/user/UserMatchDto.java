@@ -0,0 +1,19 @@
+package com.project.simple.twitter.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserMatchDto {
+
+  private String username;
+
+  @JsonProperty(value = "display_name")
+  private String displayName;
+
+  private int followers;
+
+}
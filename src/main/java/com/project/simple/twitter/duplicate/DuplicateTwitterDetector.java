@@ -0,0 +1,107 @@
+package com.project.simple.twitter.duplicate;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.simple.twitter.exception.ConflictException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+
+// Catches twitters that repeat, give or take a few words, one the same author posted within the window, or one
+// several other authors posted, which is what spam runs look like. Each instance indexes the twitters created
+// through it only, in a SimHashIndex of fixed size, so a check costs a few microseconds and no query.
+@Component
+@Log4j2
+public class DuplicateTwitterDetector {
+
+  public enum Action {
+    ALLOW, FLAG, REJECT
+  }
+
+  private final boolean enabled;
+  private final int minLength;
+  private final Action authorAction;
+  private final Action globalAction;
+  private final int globalMinAuthors;
+  private final SimHashIndex index;
+  private final Counter authorDuplicates;
+  private final Counter globalDuplicates;
+
+  public DuplicateTwitterDetector(MeterRegistry meterRegistry,
+      @Value("${twitter.duplicates.enabled:true}") boolean enabled,
+      @Value("${twitter.duplicates.window:PT1H}") Duration window,
+      @Value("${twitter.duplicates.capacity:100000}") int capacity,
+      @Value("${twitter.duplicates.max-distance:3}") int maxDistance,
+      @Value("${twitter.duplicates.min-length:20}") int minLength,
+      @Value("${twitter.duplicates.author-action:REJECT}") Action authorAction,
+      @Value("${twitter.duplicates.global-action:FLAG}") Action globalAction,
+      @Value("${twitter.duplicates.global-min-authors:3}") int globalMinAuthors) {
+    if (globalMinAuthors <= 0)
+      throw new IllegalArgumentException("Minimum number of authors must be positive");
+
+    this.enabled = enabled;
+    this.minLength = minLength;
+    this.authorAction = authorAction;
+    this.globalAction = globalAction;
+    this.globalMinAuthors = globalMinAuthors;
+    this.index = new SimHashIndex(capacity, window.toMillis(), maxDistance);
+    this.authorDuplicates = Counter.builder("twitter.duplicates.detected")
+        .description("Twitters found to be near duplicates of recent ones")
+        .tag("scope", "author")
+        .register(meterRegistry);
+    this.globalDuplicates = Counter.builder("twitter.duplicates.detected")
+        .description("Twitters found to be near duplicates of recent ones")
+        .tag("scope", "global")
+        .register(meterRegistry);
+
+    Gauge.builder("twitter.duplicates.indexed", index, SimHashIndex::size)
+        .description("Recent twitters held in the near duplicate index")
+        .register(meterRegistry);
+  }
+
+  // Returns the fingerprint to record once the twitter is saved, or nothing for twitters too short to tell apart
+  public OptionalLong check(UUID authorId, String content) throws ConflictException {
+    if (!enabled)
+      return OptionalLong.empty();
+
+    String normalized = SimHash.normalize(content);
+    if (normalized.length() < minLength)
+      return OptionalLong.empty();
+
+    long fingerprint = SimHash.fingerprint(normalized);
+    SimHashIndex.Matches matches = index.find(fingerprint, author(authorId), System.currentTimeMillis(),
+        globalMinAuthors);
+
+    if (matches.sameAuthor() && authorAction != Action.ALLOW) {
+      authorDuplicates.increment();
+      apply(authorAction, "Twitter is a near duplicate of a recent twitter", authorId);
+    } else if (matches.otherAuthors() >= globalMinAuthors && globalAction != Action.ALLOW) {
+      globalDuplicates.increment();
+      apply(globalAction, "Twitter is a near duplicate of twitters recently posted by other users", authorId);
+    }
+
+    return OptionalLong.of(fingerprint);
+  }
+
+  public void record(UUID authorId, long fingerprint) {
+    index.add(fingerprint, author(authorId), System.currentTimeMillis());
+  }
+
+  private static void apply(Action action, String message, UUID authorId) throws ConflictException {
+    if (action == Action.REJECT)
+      throw new ConflictException(message);
+
+    log.warn("{}: author {}", message, authorId);
+  }
+
+  private static long author(UUID authorId) {
+    return authorId.getMostSignificantBits() ^ Long.rotateLeft(authorId.getLeastSignificantBits(), 32);
+  }
+}
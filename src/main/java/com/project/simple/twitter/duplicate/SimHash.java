@@ -0,0 +1,89 @@
+package com.project.simple.twitter.duplicate;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+// 64 bit SimHash of a text. Every character trigram of the normalized text votes on each bit with the matching bit
+// of its hash, and the fingerprint has the bits most trigrams voted for. Texts sharing most of their trigrams get
+// fingerprints that differ in a few bits only, so near duplicates are the fingerprints within a small Hamming
+// distance. Trigrams rather than words keep a changed letter from changing a whole word's worth of votes.
+public final class SimHash {
+
+  public static final int SHINGLE_LENGTH = 3;
+
+  private static final Pattern LINK = Pattern.compile("(?:https?://|www\\.)\\S*", Pattern.CASE_INSENSITIVE);
+
+  private SimHash() {
+  }
+
+  public static int distance(long fingerprint, long other) {
+    return Long.bitCount(fingerprint ^ other);
+  }
+
+  // Lower case letters without accents, digits, every link as "url" and everything else as single spaces, so the
+  // variations bots add to the same message mostly go away. Digits are kept: "Day 2" of a series is a new twitter.
+  public static String normalize(String text) {
+    String decomposed = Normalizer.normalize(LINK.matcher(text).replaceAll(" url "), Normalizer.Form.NFKD);
+    StringBuilder normalized = new StringBuilder(decomposed.length());
+    char last = ' ';
+
+    for (int i = 0; i < decomposed.length(); i++) {
+      char current = decomposed.charAt(i);
+      char replacement;
+
+      if (Character.getType(current) == Character.NON_SPACING_MARK)
+        continue;
+      if (Character.isLetter(current))
+        replacement = Character.toLowerCase(current);
+      else if (Character.isDigit(current))
+        replacement = current;
+      else
+        replacement = ' ';
+
+      if (replacement == ' ' && last == ' ')
+        continue;
+
+      normalized.append(replacement);
+      last = replacement;
+    }
+
+    return normalized.toString().trim();
+  }
+
+  // Fingerprint of text normalized already; text shorter than a trigram is a single feature
+  public static long fingerprint(String normalized) {
+    int[] votes = new int[Long.SIZE];
+
+    if (normalized.length() < SHINGLE_LENGTH) {
+      vote(votes, mix(normalized.hashCode()));
+    } else {
+      for (int i = 0; i + SHINGLE_LENGTH <= normalized.length(); i++) {
+        long shingle = normalized.charAt(i) | ((long) normalized.charAt(i + 1) << 16)
+            | ((long) normalized.charAt(i + 2) << 32);
+        vote(votes, mix(shingle));
+      }
+    }
+
+    long fingerprint = 0;
+    for (int bit = 0; bit < Long.SIZE; bit++) {
+      if (votes[bit] > 0)
+        fingerprint |= 1L << bit;
+    }
+
+    return fingerprint;
+  }
+
+  private static void vote(int[] votes, long hash) {
+    for (int bit = 0; bit < Long.SIZE; bit++)
+      votes[bit] += (int) ((hash >>> bit) & 1) * 2 - 1;
+  }
+
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb34ca87ed53bL;
+    value ^= value >>> 33;
+    return value;
+  }
+}
@@ -0,0 +1,140 @@
+package com.project.simple.twitter.duplicate;
+
+// The most recent fingerprints (see SimHash), searchable by Hamming distance. Fingerprints within maxDistance bits
+// of each other agree on at least one of maxDistance + 1 bands of bits, so each band hashes into a table of chains
+// and a lookup compares only against the fingerprints sharing one of its bands. Entries sit in a ring of capacity
+// slots, so memory is allocated once and the oldest entry is overwritten by the newest; entries older than the
+// window are skipped and, since chains run from newest to oldest, end the walk.
+public class SimHashIndex {
+
+  // Longest walk along one chain, so a band many fingerprints share cannot make a lookup slow
+  public static final int MAX_PROBES = 64;
+
+  private final int capacity;
+  private final long windowMillis;
+  private final int maxDistance;
+  private final int bands;
+  private final int bucketMask;
+
+  // Entry i lives in slot i % capacity; sequences start at 1 so 0 is the end of a chain
+  private final long[] fingerprints;
+  private final long[] authors;
+  private final long[] times;
+  private final long[][] heads;
+  private final long[][] next;
+  private long lastSequence;
+
+  public SimHashIndex(int capacity, long windowMillis, int maxDistance) {
+    if (capacity <= 0)
+      throw new IllegalArgumentException("Capacity must be positive");
+    if (windowMillis <= 0)
+      throw new IllegalArgumentException("Window must be positive");
+    if (maxDistance < 0 || maxDistance > 7)
+      throw new IllegalArgumentException("Maximum distance must be between 0 and 7");
+
+    this.capacity = capacity;
+    this.windowMillis = windowMillis;
+    this.maxDistance = maxDistance;
+    this.bands = maxDistance + 1;
+
+    int buckets = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+    this.bucketMask = buckets - 1;
+    this.fingerprints = new long[capacity];
+    this.authors = new long[capacity];
+    this.times = new long[capacity];
+    this.heads = new long[bands][buckets];
+    this.next = new long[bands][capacity];
+  }
+
+  public synchronized void add(long fingerprint, long author, long now) {
+    long sequence = ++lastSequence;
+    int slot = (int) (sequence % capacity);
+
+    fingerprints[slot] = fingerprint;
+    authors[slot] = author;
+    times[slot] = now;
+
+    for (int band = 0; band < bands; band++) {
+      int bucket = bucket(band, fingerprint);
+      next[band][slot] = heads[band][bucket];
+      heads[band][bucket] = sequence;
+    }
+  }
+
+  // Whether the author posted a near duplicate within the window, and by how many other authors, counting up to
+  // enoughOtherAuthors
+  public synchronized Matches find(long fingerprint, long author, long now, int enoughOtherAuthors) {
+    long oldest = lastSequence - capacity;
+    long since = now - windowMillis;
+    long[] others = new long[Math.max(enoughOtherAuthors, 0)];
+    int otherCount = 0;
+    boolean sameAuthor = false;
+
+    for (int band = 0; band < bands; band++) {
+      long sequence = heads[band][bucket(band, fingerprint)];
+
+      for (int probes = 0; probes < MAX_PROBES && sequence > oldest && sequence > 0; probes++) {
+        int slot = (int) (sequence % capacity);
+        if (times[slot] < since)
+          break;
+
+        long candidate = fingerprints[slot];
+        // A candidate sharing an earlier band was seen in that band's chain already
+        if (SimHash.distance(fingerprint, candidate) <= maxDistance && !sharesEarlierBand(band, fingerprint,
+            candidate)) {
+          if (authors[slot] == author)
+            sameAuthor = true;
+          else if (otherCount < others.length && !contains(others, otherCount, authors[slot]))
+            others[otherCount++] = authors[slot];
+
+          if (sameAuthor && otherCount == others.length)
+            return new Matches(true, otherCount);
+        }
+
+        sequence = next[band][slot];
+      }
+    }
+
+    return new Matches(sameAuthor, otherCount);
+  }
+
+  public synchronized int size() {
+    return (int) Math.min(lastSequence, capacity);
+  }
+
+  public long memoryBytes() {
+    return (long) Long.BYTES * (3L * capacity + (long) bands * (bucketMask + 1 + capacity));
+  }
+
+  private boolean sharesEarlierBand(int band, long fingerprint, long candidate) {
+    for (int earlier = 0; earlier < band; earlier++) {
+      if (bandBits(earlier, fingerprint) == bandBits(earlier, candidate))
+        return true;
+    }
+    return false;
+  }
+
+  // Band b covers bits [64 * b / bands, 64 * (b + 1) / bands)
+  private long bandBits(int band, long fingerprint) {
+    int from = Long.SIZE * band / bands;
+    int width = Long.SIZE * (band + 1) / bands - from;
+
+    return width == Long.SIZE ? fingerprint : (fingerprint >>> from) & ((1L << width) - 1);
+  }
+
+  private int bucket(int band, long fingerprint) {
+    long hash = (bandBits(band, fingerprint) + band) * 0x9e3779b97f4a7c15L;
+    return (int) (hash ^ (hash >>> 32)) & bucketMask;
+  }
+
+  private static boolean contains(long[] values, int length, long value) {
+    for (int i = 0; i < length; i++) {
+      if (values[i] == value)
+        return true;
+    }
+    return false;
+  }
+
+  public record Matches(boolean sameAuthor, int otherAuthors) {
+  }
+}
@@ -0,0 +1,11 @@
+package com.project.simple.twitter.enums;
+
+// The order in which UserDeletionJob purges an account. Scheduled twitters go before the twitters, so one published
+// while they are purged is still deleted, and the users row goes last, once nothing references it.
+public enum UserDeletionStage {
+  SCHEDULED_TWITTERS, TWITTERS, FOLLOWING, FOLLOWERS, ACCOUNT, COMPLETED;
+
+  public UserDeletionStage next() {
+    return this == COMPLETED ? COMPLETED : values()[ordinal() + 1];
+  }
+}
@@ -1,7 +1,7 @@
 package com.project.simple.twitter.enums;
 
 public enum UserStatus {
-  UNREGISTERED, ACTIVE, INACTIVE, BLOCKED;
+  UNREGISTERED, ACTIVE, INACTIVE, BLOCKED, DELETED;
 
   public String getDisplayValue(){
     return toString().toLowerCase();
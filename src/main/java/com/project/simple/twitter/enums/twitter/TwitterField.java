@@ -0,0 +1,52 @@
+package com.project.simple.twitter.enums.twitter;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.project.simple.twitter.exception.InvalidArgumentException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TwitterField {
+  ID("id"),
+  CONTENT("content"),
+  AUTHOR("author"),
+  CREATED_AT("created_at"),
+  VISIBILITY("visibility"),
+  LIKES("likes"),
+  EDITED("edited"),
+  EXPIRES_AT("expires_at");
+
+  private final String value;
+
+  public static Set<TwitterField> all() {
+    return Collections.unmodifiableSet(EnumSet.allOf(TwitterField.class));
+  }
+
+  public static Set<TwitterField> parse(String fields) throws InvalidArgumentException {
+    if (fields == null || fields.isBlank())
+      return all();
+
+    Set<TwitterField> parsedFields = EnumSet.noneOf(TwitterField.class);
+    for (String field : fields.split(",")) {
+      parsedFields.add(parseField(field.trim()));
+    }
+
+    return Collections.unmodifiableSet(parsedFields);
+  }
+
+  private static TwitterField parseField(String value) throws InvalidArgumentException {
+    for (TwitterField item : TwitterField.values()) {
+      if (item.value.equals(value))
+        return item;
+    }
+
+    throw new InvalidArgumentException(String.format(
+        "Field '%s' is invalid. Only id, content, author, created_at, visibility, likes, edited and expires_at "
+            + "are permitted", value));
+  }
+}
@@ -0,0 +1,5 @@
+package com.project.simple.twitter.event;
+
+// Published through DomainEventBus once the change it describes has been committed
+public interface DomainEvent {
+}
@@ -0,0 +1,205 @@
+package com.project.simple.twitter.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+// Hands domain events from request threads to the DomainEventConsumer beans through a preallocated ring buffer.
+// Publishing copies a reference into the next slot; every consumer reads the buffer on its own thread, so a slow
+// consumer only delays itself until the buffer is full, at which point publishers wait for it.
+@Component
+@Log4j2
+public class DomainEventBus {
+
+  private static final EventTranslatorOneArg<DomainEventSlot, DomainEvent> TRANSLATOR =
+      (slot, sequence, event) -> slot.setEvent(event);
+
+  private static final List<Class<? extends DomainEvent>> EVENT_TYPES = List.of(TwitterCreatedEvent.class,
+      TwitterUpdatedEvent.class, TwitterDeletedEvent.class, TwitterViewedEvent.class, UserConfirmedEvent.class,
+      UserUpdatedEvent.class, UserDeletedEvent.class, UserFollowedEvent.class, UserUnfollowedEvent.class);
+
+  private final List<DomainEventConsumer> consumers;
+  private final MeterRegistry meterRegistry;
+  private final Disruptor<DomainEventSlot> disruptor;
+  private final Counter publishBlocked;
+  private final Counter dropped;
+  // Registered up front, so publishing only looks its counter up; types missing from EVENT_TYPES are added once
+  private final Map<Class<?>, Counter> published = new ConcurrentHashMap<>();
+
+  private RingBuffer<DomainEventSlot> ringBuffer;
+
+  public DomainEventBus(List<DomainEventConsumer> consumers, MeterRegistry meterRegistry,
+      @Value("${twitter.events.buffer-size:1024}") int bufferSize,
+      @Value("${twitter.events.wait-strategy:blocking}") String waitStrategy) {
+    this.consumers = consumers;
+    this.meterRegistry = meterRegistry;
+    this.disruptor = new Disruptor<>(DomainEventSlot::new, bufferSize, consumerThreads(), ProducerType.MULTI,
+        EventWaitStrategy.parse(waitStrategy).create());
+    this.publishBlocked = Counter.builder("twitter.events.publish_blocked")
+        .description("Events whose publisher had to wait for the slowest consumer to free a slot")
+        .register(meterRegistry);
+    this.dropped = Counter.builder("twitter.events.dropped")
+        .description("Events published with tryPublish and dropped because the buffer was full")
+        .register(meterRegistry);
+
+    EVENT_TYPES.forEach(this::publishedCounter);
+  }
+
+  @PostConstruct
+  @SuppressWarnings("unchecked")
+  public void start() {
+    List<EventHandler<DomainEventSlot>> handlers = new ArrayList<>();
+
+    for (DomainEventConsumer consumer : consumers) {
+      EventHandler<DomainEventSlot> handler = (slot, sequence, endOfBatch) -> consumer.onEvent(slot.getEvent(),
+          endOfBatch);
+
+      disruptor.handleEventsWith(handler);
+      disruptor.handleExceptionsFor(handler).with(new ConsumerExceptionHandler(consumer));
+      handlers.add(handler);
+
+      Gauge.builder("twitter.events.lag", disruptor, events -> events.getCursor()
+              - events.getSequenceValueFor(handler))
+          .description("Events published but not yet consumed")
+          .tag("consumer", consumer.getName())
+          .register(meterRegistry);
+    }
+
+    // Once every consumer has read a slot its event is released, so the buffer does not keep up to buffer-size
+    // consumed events reachable
+    disruptor.after(handlers.toArray(EventHandler[]::new))
+        .handleEventsWith((slot, sequence, endOfBatch) -> slot.setEvent(null));
+
+    ringBuffer = disruptor.start();
+
+    Gauge.builder("twitter.events.remaining_capacity", ringBuffer, RingBuffer::remainingCapacity)
+        .description("Free slots in the event ring buffer")
+        .register(meterRegistry);
+  }
+
+  // Inside a transaction the event waits for the commit and is dropped on rollback, so consumers never see a
+  // change that did not happen
+  public void publish(DomainEvent event) {
+    publish(event, false);
+  }
+
+  // For events that are approximate by design, like views: when the buffer is full the event is dropped and counted
+  // instead of making the request thread wait for the slowest consumer
+  public void tryPublish(DomainEvent event) {
+    publish(event, true);
+  }
+
+  private void publish(DomainEvent event, boolean dropWhenFull) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      publishNow(event, dropWhenFull);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+      @Override
+      public void afterCommit() {
+        publishNow(event, dropWhenFull);
+      }
+    });
+  }
+
+  private void publishNow(DomainEvent event, boolean dropWhenFull) {
+    if (!ringBuffer.tryPublishEvent(TRANSLATOR, event)) {
+      if (dropWhenFull) {
+        dropped.increment();
+        return;
+      }
+
+      publishBlocked.increment();
+      ringBuffer.publishEvent(TRANSLATOR, event);
+    }
+
+    Counter counter = published.get(event.getClass());
+    (counter != null ? counter : publishedCounter(event.getClass())).increment();
+  }
+
+  private Counter publishedCounter(Class<?> type) {
+    return published.computeIfAbsent(type, ignored -> Counter.builder("twitter.events.published")
+        .description("Domain events published")
+        .tag("type", type.getSimpleName())
+        .register(meterRegistry));
+  }
+
+  // Lets the consumers finish the events already published before the application context closes
+  @PreDestroy
+  public void stop() {
+    try {
+      disruptor.shutdown(5, TimeUnit.SECONDS);
+    } catch (TimeoutException exception) {
+      log.warn("Domain event consumers did not catch up before shutdown; {} events were dropped",
+          ringBuffer.getBufferSize() - ringBuffer.remainingCapacity());
+      disruptor.halt();
+    }
+  }
+
+  private static ThreadFactory consumerThreads() {
+    AtomicInteger count = new AtomicInteger();
+
+    return runnable -> {
+      Thread thread = new Thread(runnable, "domain-events-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  // A failing event is logged and skipped; stopping the consumer would stall the publishers once the buffer fills
+  private class ConsumerExceptionHandler implements ExceptionHandler<DomainEventSlot> {
+
+    private final Counter failures;
+    private final String name;
+
+    ConsumerExceptionHandler(DomainEventConsumer consumer) {
+      this.name = consumer.getName();
+      this.failures = Counter.builder("twitter.events.failures")
+          .description("Events a consumer failed to handle")
+          .tag("consumer", name)
+          .register(meterRegistry);
+    }
+
+    @Override
+    public void handleEventException(Throwable exception, long sequence, DomainEventSlot slot) {
+      failures.increment();
+      log.error("Domain event consumer {} failed on {}", name, slot.getEvent(), exception);
+    }
+
+    @Override
+    public void handleOnStartException(Throwable exception) {
+      log.error("Domain event consumer {} failed to start", name, exception);
+    }
+
+    @Override
+    public void handleOnShutdownException(Throwable exception) {
+      log.error("Domain event consumer {} failed to shut down", name, exception);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.project.simple.twitter.event;
+
+// Every consumer bean gets its own thread reading the ring buffer. Events arrive in publication order and in
+// batches of whatever has been published since the last read; endOfBatch marks the moment to flush buffered work.
+public interface DomainEventConsumer {
+
+  public String getName();
+
+  public void onEvent(DomainEvent event, boolean endOfBatch) throws Exception;
+}
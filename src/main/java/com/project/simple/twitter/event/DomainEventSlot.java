@@ -0,0 +1,12 @@
+package com.project.simple.twitter.event;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Ring buffer entry, allocated once per slot when the bus starts and reused for every event published into it
+@Getter
+@Setter
+public class DomainEventSlot {
+
+  private DomainEvent event;
+}
@@ -0,0 +1,32 @@
+package com.project.simple.twitter.event;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+
+import lombok.RequiredArgsConstructor;
+
+// How idle consumers wait for events. Blocking costs no CPU while idle; the others trade CPU for latency and
+// only pay off with a core to spare per consumer.
+@RequiredArgsConstructor
+public enum EventWaitStrategy {
+  BLOCKING(BlockingWaitStrategy::new),
+  SLEEPING(SleepingWaitStrategy::new),
+  YIELDING(YieldingWaitStrategy::new),
+  BUSY_SPIN(BusySpinWaitStrategy::new);
+
+  private final Supplier<WaitStrategy> factory;
+
+  public WaitStrategy create() {
+    return factory.get();
+  }
+
+  public static EventWaitStrategy parse(String value) {
+    return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+  }
+}
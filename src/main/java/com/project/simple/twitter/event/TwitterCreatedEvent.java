@@ -0,0 +1,13 @@
+package com.project.simple.twitter.event;
+
+import java.util.UUID;
+
+import lombok.ToString;
+
+@ToString(callSuper = true)
+public class TwitterCreatedEvent extends TwitterEvent {
+
+  public TwitterCreatedEvent(long twitterId, UUID authorId, String authorUsername) {
+    super(twitterId, authorId, authorUsername);
+  }
+}
@@ -0,0 +1,17 @@
+package com.project.simple.twitter.event;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public abstract class TwitterEvent implements DomainEvent {
+
+  private final long twitterId;
+  private final UUID authorId;
+  private final String authorUsername;
+}
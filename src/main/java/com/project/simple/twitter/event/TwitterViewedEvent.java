@@ -0,0 +1,18 @@
+package com.project.simple.twitter.event;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString(callSuper = true)
+public class TwitterViewedEvent extends TwitterEvent {
+
+  private final UUID viewerId;
+
+  public TwitterViewedEvent(long twitterId, UUID authorId, String authorUsername, UUID viewerId) {
+    super(twitterId, authorId, authorUsername);
+    this.viewerId = viewerId;
+  }
+}
@@ -0,0 +1,13 @@
+package com.project.simple.twitter.event;
+
+import java.util.UUID;
+
+import lombok.ToString;
+
+@ToString(callSuper = true)
+public class UserDeletedEvent extends UserEvent {
+
+  public UserDeletedEvent(UUID userId, String username) {
+    super(userId, username);
+  }
+}
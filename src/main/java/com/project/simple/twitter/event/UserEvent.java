@@ -0,0 +1,16 @@
+package com.project.simple.twitter.event;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public abstract class UserEvent implements DomainEvent {
+
+  private final UUID userId;
+  private final String username;
+}
@@ -0,0 +1,13 @@
+package com.project.simple.twitter.event;
+
+import java.util.UUID;
+
+import lombok.ToString;
+
+@ToString(callSuper = true)
+public class UserFollowedEvent extends FollowEvent {
+
+  public UserFollowedEvent(UUID followerId, UUID followeeId) {
+    super(followerId, followeeId);
+  }
+}
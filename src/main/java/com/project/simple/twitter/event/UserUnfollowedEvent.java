@@ -0,0 +1,13 @@
+package com.project.simple.twitter.event;
+
+import java.util.UUID;
+
+import lombok.ToString;
+
+@ToString(callSuper = true)
+public class UserUnfollowedEvent extends FollowEvent {
+
+  public UserUnfollowedEvent(UUID followerId, UUID followeeId) {
+    super(followerId, followeeId);
+  }
+}
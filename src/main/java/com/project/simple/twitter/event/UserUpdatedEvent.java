@@ -0,0 +1,13 @@
+package com.project.simple.twitter.event;
+
+import java.util.UUID;
+
+import lombok.ToString;
+
+@ToString(callSuper = true)
+public class UserUpdatedEvent extends UserEvent {
+
+  public UserUpdatedEvent(UUID userId, String username) {
+    super(userId, username);
+  }
+}
@@ -0,0 +1,21 @@
+package com.project.simple.twitter.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import lombok.Getter;
+
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException implements GenericRequestException {
+
+  private final String title = "Conflict Exception. Check Documentation";
+
+  public ConflictException(String message) {
+    super(message);
+  }
+
+  public HttpStatus getStatusCode() {
+    return HttpStatus.CONFLICT;
+  }
+}
@@ -0,0 +1,21 @@
+package com.project.simple.twitter.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import lombok.Getter;
+
+@Getter
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException implements GenericRequestException {
+
+  private final String title = "Too Many Requests Exception. Retry later";
+
+  public TooManyRequestsException(String message) {
+    super(message);
+  }
+
+  public HttpStatus getStatusCode() {
+    return HttpStatus.TOO_MANY_REQUESTS;
+  }
+}
@@ -0,0 +1,21 @@
+package com.project.simple.twitter.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import lombok.Getter;
+
+@Getter
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class UnprocessableEntityException extends RuntimeException implements GenericRequestException {
+
+  private final String title = "Unprocessable Entity Exception. Check Documentation";
+
+  public UnprocessableEntityException(String message) {
+    super(message);
+  }
+
+  public HttpStatus getStatusCode() {
+    return HttpStatus.UNPROCESSABLE_ENTITY;
+  }
+}
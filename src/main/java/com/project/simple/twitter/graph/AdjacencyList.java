@@ -0,0 +1,156 @@
+package com.project.simple.twitter.graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Immutable neighbour set: a compressed base plus small sorted arrays of the ids added and removed since it was
+// built. Following someone copies only those arrays; the base is re-encoded once they grow past a fraction of it,
+// so a user with millions of followers is not rewritten on every follow. The base is inherited rather than
+// referenced to keep a user's list at one object besides its arrays.
+public final class AdjacencyList extends CompressedIntSet {
+
+  private static final int MIN_PENDING = 32;
+  private static final int[] NONE = new int[0];
+
+  public static final AdjacencyList EMPTY = new AdjacencyList(CompressedIntSet.EMPTY, NONE, NONE);
+
+  private final int[] added;
+  private final int[] removed;
+
+  private AdjacencyList(CompressedIntSet base, int[] added, int[] removed) {
+    super(base);
+    this.added = added;
+    this.removed = removed;
+  }
+
+  public static AdjacencyList of(CompressedIntSet base) {
+    return base.size() == 0 ? EMPTY : new AdjacencyList(base, NONE, NONE);
+  }
+
+  @Override
+  public int size() {
+    return super.size() + added.length - removed.length;
+  }
+
+  @Override
+  public boolean contains(int id) {
+    if (added.length > 0 && Arrays.binarySearch(added, id) >= 0)
+      return true;
+
+    return super.contains(id) && (removed.length == 0 || Arrays.binarySearch(removed, id) < 0);
+  }
+
+  public AdjacencyList with(int id) {
+    if (contains(id))
+      return this;
+
+    int removedAt = Arrays.binarySearch(removed, id);
+    if (removedAt >= 0)
+      return compactIfNeeded(new AdjacencyList(this, added, delete(removed, removedAt)));
+
+    return compactIfNeeded(new AdjacencyList(this, insert(added, insertionPoint(added, id), id), removed));
+  }
+
+  public AdjacencyList without(int id) {
+    if (!contains(id))
+      return this;
+
+    int addedAt = Arrays.binarySearch(added, id);
+    if (addedAt >= 0)
+      return compactIfNeeded(new AdjacencyList(this, delete(added, addedAt), removed));
+
+    return compactIfNeeded(new AdjacencyList(this, added, insert(removed, insertionPoint(removed, id), id)));
+  }
+
+  // Ascending ids: the base without the removed ids, merged with the added ones
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    PrimitiveIterator.OfInt baseIterator = super.iterator();
+
+    return new PrimitiveIterator.OfInt() {
+
+      private int addedIndex;
+      private int removedIndex;
+      private int nextBase = advanceBase();
+
+      private int advanceBase() {
+        while (baseIterator.hasNext()) {
+          int candidate = baseIterator.nextInt();
+          while (removedIndex < removed.length && removed[removedIndex] < candidate)
+            removedIndex++;
+          if (removedIndex >= removed.length || removed[removedIndex] != candidate)
+            return candidate;
+        }
+        return -1;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return nextBase >= 0 || addedIndex < added.length;
+      }
+
+      @Override
+      public int nextInt() {
+        if (!hasNext())
+          throw new NoSuchElementException();
+
+        if (nextBase < 0 || (addedIndex < added.length && added[addedIndex] < nextBase))
+          return added[addedIndex++];
+
+        int value = nextBase;
+        nextBase = advanceBase();
+        return value;
+      }
+    };
+  }
+
+  @Override
+  public int[] toArray() {
+    int[] values = new int[size()];
+    PrimitiveIterator.OfInt iterator = iterator();
+    for (int i = 0; i < values.length; i++)
+      values[i] = iterator.nextInt();
+    return values;
+  }
+
+  @Override
+  public long memoryBytes() {
+    return super.memoryBytes() + 4L * (added.length + removed.length);
+  }
+
+  private static AdjacencyList compactIfNeeded(AdjacencyList list) {
+    int pending = list.added.length + list.removed.length;
+    if (pending <= Math.max(MIN_PENDING, list.baseSize() / 8))
+      return list;
+
+    int[] values = list.toArray();
+    return of(CompressedIntSet.of(values, values.length));
+  }
+
+  private int baseSize() {
+    return super.size();
+  }
+
+  private static int insertionPoint(int[] values, int id) {
+    return -Arrays.binarySearch(values, id) - 1;
+  }
+
+  private static int[] insert(int[] values, int index, int id) {
+    int[] copy = new int[values.length + 1];
+    System.arraycopy(values, 0, copy, 0, index);
+    copy[index] = id;
+    System.arraycopy(values, index, copy, index + 1, values.length - index);
+    return copy;
+  }
+
+  private static int[] delete(int[] values, int index) {
+    if (values.length == 1)
+      return NONE;
+
+    int[] copy = new int[values.length - 1];
+    System.arraycopy(values, 0, copy, 0, index);
+    System.arraycopy(values, index + 1, copy, index, values.length - index - 1);
+    return copy;
+  }
+}
@@ -0,0 +1,172 @@
+package com.project.simple.twitter.graph;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Immutable sorted set of non-negative ints stored as varint-encoded gaps. Every BLOCK_SIZE values a block
+// restarts from an absolute value, so a lookup binary searches the blocks and decodes at most one of them.
+// blocks interleaves each block's first value with the offset of its gaps to keep the skip index in one array.
+// Dense id ranges take 1-2 bytes per value plus 8 bytes per block.
+public class CompressedIntSet {
+
+  static final int BLOCK_SIZE = 64;
+
+  public static final CompressedIntSet EMPTY = new CompressedIntSet(0, new byte[0], new int[0]);
+
+  private final int size;
+  private final byte[] gaps;
+  private final int[] blocks;
+
+  private CompressedIntSet(int size, byte[] gaps, int[] blocks) {
+    this.size = size;
+    this.gaps = gaps;
+    this.blocks = blocks;
+  }
+
+  // Shares the encoded values of another set
+  protected CompressedIntSet(CompressedIntSet values) {
+    this(values.size, values.gaps, values.blocks);
+  }
+
+  // The values have to be sorted and distinct
+  public static CompressedIntSet of(int[] values, int length) {
+    if (length == 0)
+      return EMPTY;
+
+    // Sized in a first pass so a set with millions of values is not built in an oversized scratch buffer
+    int bytes = 0;
+    for (int i = 1; i < length; i++) {
+      if (values[i] <= values[i - 1])
+        throw new IllegalArgumentException("Values must be sorted and distinct");
+      if (i % BLOCK_SIZE != 0)
+        bytes += varintLength(values[i] - values[i - 1]);
+    }
+
+    int[] blocks = new int[2 * ((length + BLOCK_SIZE - 1) / BLOCK_SIZE)];
+    byte[] gaps = new byte[bytes];
+    int position = 0;
+
+    for (int i = 0; i < length; i++) {
+      if (i % BLOCK_SIZE == 0) {
+        blocks[2 * (i / BLOCK_SIZE)] = values[i];
+        blocks[2 * (i / BLOCK_SIZE) + 1] = position;
+        continue;
+      }
+
+      int gap = values[i] - values[i - 1];
+      while ((gap & ~0x7F) != 0) {
+        gaps[position++] = (byte) ((gap & 0x7F) | 0x80);
+        gap >>>= 7;
+      }
+      gaps[position++] = (byte) gap;
+    }
+
+    return new CompressedIntSet(length, gaps, blocks);
+  }
+
+  public static CompressedIntSet of(int... values) {
+    return of(values, values.length);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean contains(int value) {
+    // Last block starting at or before the value
+    int low = 0;
+    int high = blocks.length / 2 - 1;
+    int block = -1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int first = blocks[2 * middle];
+      if (first == value)
+        return true;
+      if (first < value) {
+        block = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+
+    if (block < 0)
+      return false;
+
+    int current = blocks[2 * block];
+    int position = blocks[2 * block + 1];
+    int remaining = Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE) - 1;
+
+    for (int i = 0; i < remaining; i++) {
+      int gap = 0;
+      int shift = 0;
+      byte next;
+      do {
+        next = gaps[position++];
+        gap |= (next & 0x7F) << shift;
+        shift += 7;
+      } while (next < 0);
+
+      current += gap;
+      if (current >= value)
+        return current == value;
+    }
+
+    return false;
+  }
+
+  public PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+
+      private int index;
+      private int position;
+      private int current;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public int nextInt() {
+        if (index >= size)
+          throw new NoSuchElementException();
+
+        if (index % BLOCK_SIZE == 0) {
+          current = blocks[2 * (index / BLOCK_SIZE)];
+          position = blocks[2 * (index / BLOCK_SIZE) + 1];
+        } else {
+          int gap = 0;
+          int shift = 0;
+          byte next;
+          do {
+            next = gaps[position++];
+            gap |= (next & 0x7F) << shift;
+            shift += 7;
+          } while (next < 0);
+
+          current += gap;
+        }
+
+        index++;
+        return current;
+      }
+    };
+  }
+
+  public int[] toArray() {
+    int[] values = new int[size];
+    PrimitiveIterator.OfInt iterator = iterator();
+    for (int i = 0; i < size; i++)
+      values[i] = iterator.nextInt();
+    return values;
+  }
+
+  public long memoryBytes() {
+    return gaps.length + 4L * blocks.length;
+  }
+
+  private static int varintLength(int value) {
+    return (38 - Integer.numberOfLeadingZeros(value)) / 7;
+  }
+}
@@ -0,0 +1,344 @@
+package com.project.simple.twitter.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+// In-memory index of the follows table. Users are numbered with a compact int the first time they appear in an
+// edge (see UserIndex) and every user has an AdjacencyList of the users they follow and one of their followers, so edges cost
+// a byte or two each instead of a pair of UUID objects. Reads never lock: adjacency lists are immutable and
+// swapped in by writers, which are serialized on the graph. Users keep their numbers for the life of the graph.
+@Component
+public class FollowGraph {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final UserIndex users = new UserIndex();
+  private final Object loadLock = new Object();
+  private volatile AtomicReferenceArray<AdjacencyList> following = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+  private volatile AtomicReferenceArray<AdjacencyList> followers = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+  private volatile long edges;
+
+  // Changes made while load() reads its source, applied again to the edges it builds; null when no load runs
+  private List<Runnable> changesDuringLoad;
+
+  public synchronized boolean follow(UUID follower, UUID followee) {
+    recordDuringLoad(() -> follow(follower, followee));
+    int from = indexFor(follower);
+    int to = indexFor(followee);
+
+    AdjacencyList current = followingOf(from);
+    if (current.contains(to))
+      return false;
+
+    following.set(from, current.with(to));
+    followers.set(to, followersOf(to).with(from));
+    edges++;
+    return true;
+  }
+
+  public synchronized boolean unfollow(UUID follower, UUID followee) {
+    recordDuringLoad(() -> unfollow(follower, followee));
+    int from = indexOf(follower);
+    int to = indexOf(followee);
+    if (from < 0 || to < 0 || !followingOf(from).contains(to))
+      return false;
+
+    following.set(from, followingOf(from).without(to));
+    followers.set(to, followersOf(to).without(from));
+    edges--;
+    return true;
+  }
+
+  // Drops every edge to and from the user; the user keeps its number
+  public synchronized int removeUser(UUID user) {
+    recordDuringLoad(() -> removeUser(user));
+    int index = indexOf(user);
+    if (index < 0)
+      return 0;
+
+    AdjacencyList followees = followingOf(index);
+    AdjacencyList followerList = followersOf(index);
+
+    for (PrimitiveIterator.OfInt iterator = followees.iterator(); iterator.hasNext();) {
+      int followee = iterator.nextInt();
+      followers.set(followee, followersOf(followee).without(index));
+    }
+    for (PrimitiveIterator.OfInt iterator = followerList.iterator(); iterator.hasNext();) {
+      int follower = iterator.nextInt();
+      following.set(follower, followingOf(follower).without(index));
+    }
+
+    // A user following itself is in both lists
+    int removed = followees.size() + followerList.size() - (followees.contains(index) ? 1 : 0);
+
+    following.set(index, AdjacencyList.EMPTY);
+    followers.set(index, AdjacencyList.EMPTY);
+    edges -= removed;
+    return removed;
+  }
+
+  public boolean isFollowing(UUID follower, UUID followee) {
+    int from = indexOf(follower);
+    int to = indexOf(followee);
+
+    return from >= 0 && to >= 0 && followingOf(from).contains(to);
+  }
+
+  public int countFollowers(UUID user) {
+    int index = indexOf(user);
+    return index < 0 ? 0 : followersOf(index).size();
+  }
+
+  public int countFollowing(UUID user) {
+    int index = indexOf(user);
+    return index < 0 ? 0 : followingOf(index).size();
+  }
+
+  public List<UUID> getFollowers(UUID user, int offset, int limit) {
+    int index = indexOf(user);
+    return index < 0 ? List.of() : page(followersOf(index).iterator(), offset, limit);
+  }
+
+  public List<UUID> getFollowing(UUID user, int offset, int limit) {
+    int index = indexOf(user);
+    return index < 0 ? List.of() : page(followingOf(index).iterator(), offset, limit);
+  }
+
+  // Users who follow and are followed by the user, found by walking both sorted lists in step
+  public List<UUID> getMutuals(UUID user, int offset, int limit) {
+    int index = indexOf(user);
+    if (index < 0)
+      return List.of();
+
+    return page(intersection(followingOf(index).iterator(), followersOf(index).iterator()), offset, limit);
+  }
+
+  public long countEdges() {
+    return edges;
+  }
+
+  // Users are numbered from 0 to countUsers() - 1
+  public int countUsers() {
+    return users.size();
+  }
+
+  public long memoryBytes() {
+    long bytes = users.memoryBytes();
+    AtomicReferenceArray<AdjacencyList> currentFollowing = following;
+    AtomicReferenceArray<AdjacencyList> currentFollowers = followers;
+
+    for (int i = 0; i < currentFollowing.length(); i++) {
+      AdjacencyList list = currentFollowing.get(i);
+      if (list != null)
+        bytes += list.memoryBytes();
+      list = currentFollowers.get(i);
+      if (list != null)
+        bytes += list.memoryBytes();
+    }
+
+    return bytes;
+  }
+
+  // Replaces the edges with those the source passes to its sink, built in bulk instead of one follow at a time.
+  // Only the int pairs are buffered, so the source can stream them from the database. Reads are served from the
+  // old edges until the new ones are swapped in, and follows, unfollows and removals made in the meantime are
+  // applied again afterwards, since the source may have been read before they were.
+  public void load(Consumer<BiConsumer<UUID, UUID>> edgeSource) {
+    synchronized (loadLock) {
+      synchronized (this) {
+        changesDuringLoad = new ArrayList<>();
+      }
+
+      try {
+        int[][] pairs = { new int[INITIAL_CAPACITY], new int[INITIAL_CAPACITY] };
+        int[] count = { 0 };
+
+        edgeSource.accept((follower, followee) -> {
+          if (count[0] == pairs[0].length) {
+            pairs[0] = Arrays.copyOf(pairs[0], count[0] * 2);
+            pairs[1] = Arrays.copyOf(pairs[1], count[0] * 2);
+          }
+
+          synchronized (this) {
+            pairs[0][count[0]] = indexFor(follower);
+            pairs[1][count[0]] = indexFor(followee);
+          }
+          count[0]++;
+        });
+
+        int[] from = Arrays.copyOf(pairs[0], count[0]);
+        int[] to = Arrays.copyOf(pairs[1], count[0]);
+        pairs[0] = null;
+        pairs[1] = null;
+
+        int userCount;
+        synchronized (this) {
+          userCount = users.size();
+        }
+
+        AtomicReferenceArray<AdjacencyList> loadedFollowing = new AtomicReferenceArray<>(userCount);
+        AtomicReferenceArray<AdjacencyList> loadedFollowers = new AtomicReferenceArray<>(userCount);
+        long loadedEdges = build(loadedFollowing, userCount, from, to);
+        build(loadedFollowers, userCount, to, from);
+
+        synchronized (this) {
+          // Users numbered since the count above get their lists from the changes applied below
+          int capacity = Math.max(following.length(), userCount);
+          following = copy(loadedFollowing, capacity);
+          followers = copy(loadedFollowers, capacity);
+          edges = loadedEdges;
+
+          List<Runnable> changes = changesDuringLoad;
+          changesDuringLoad = null;
+          changes.forEach(Runnable::run);
+        }
+      } finally {
+        synchronized (this) {
+          changesDuringLoad = null;
+        }
+      }
+    }
+  }
+
+  public int indexOf(UUID user) {
+    return users.indexOf(user);
+  }
+
+  public UUID userAt(int index) {
+    return users.userAt(index);
+  }
+
+  public AdjacencyList followingOf(int index) {
+    return listAt(following, index);
+  }
+
+  public AdjacencyList followersOf(int index) {
+    return listAt(followers, index);
+  }
+
+  private static AdjacencyList listAt(AtomicReferenceArray<AdjacencyList> lists, int index) {
+    if (index >= lists.length())
+      return AdjacencyList.EMPTY;
+
+    AdjacencyList list = lists.get(index);
+    return list == null ? AdjacencyList.EMPTY : list;
+  }
+
+  private void recordDuringLoad(Runnable change) {
+    if (changesDuringLoad != null)
+      changesDuringLoad.add(change);
+  }
+
+  private int indexFor(UUID user) {
+    int index = users.indexFor(user);
+    if (index >= following.length()) {
+      following = copy(following, following.length() * 2);
+      followers = copy(followers, followers.length() * 2);
+    }
+    return index;
+  }
+
+  private static AtomicReferenceArray<AdjacencyList> copy(AtomicReferenceArray<AdjacencyList> lists, int capacity) {
+    AtomicReferenceArray<AdjacencyList> copy = new AtomicReferenceArray<>(capacity);
+    for (int i = 0; i < lists.length(); i++)
+      copy.set(i, lists.get(i));
+    return copy;
+  }
+
+  // Groups the edges by source with a counting sort, then sorts and deduplicates each group
+  private static long build(AtomicReferenceArray<AdjacencyList> lists, int userCount, int[] sources, int[] targets) {
+    int[] starts = new int[userCount + 1];
+    for (int source : sources)
+      starts[source + 1]++;
+    for (int i = 0; i < userCount; i++)
+      starts[i + 1] += starts[i];
+
+    int[] grouped = new int[targets.length];
+    int[] positions = Arrays.copyOf(starts, userCount);
+    for (int i = 0; i < sources.length; i++)
+      grouped[positions[sources[i]]++] = targets[i];
+
+    long total = 0;
+    for (int user = 0; user < userCount; user++) {
+      int start = starts[user];
+      int end = starts[user + 1];
+      if (start == end)
+        continue;
+
+      Arrays.sort(grouped, start, end);
+      int[] values = new int[end - start];
+      int length = 0;
+      for (int i = start; i < end; i++) {
+        if (length == 0 || values[length - 1] != grouped[i])
+          values[length++] = grouped[i];
+      }
+
+      lists.set(user, AdjacencyList.of(CompressedIntSet.of(values, length)));
+      total += length;
+    }
+
+    return total;
+  }
+
+  private List<UUID> page(PrimitiveIterator.OfInt ids, int offset, int limit) {
+    for (int skipped = 0; skipped < offset && ids.hasNext(); skipped++)
+      ids.nextInt();
+
+    List<UUID> page = new ArrayList<>(Math.min(limit, 64));
+    while (page.size() < limit && ids.hasNext())
+      page.add(userAt(ids.nextInt()));
+
+    return page;
+  }
+
+  public static PrimitiveIterator.OfInt intersection(PrimitiveIterator.OfInt left, PrimitiveIterator.OfInt right) {
+    return new PrimitiveIterator.OfInt() {
+
+      private int next = advance();
+
+      private int advance() {
+        if (!left.hasNext() || !right.hasNext())
+          return -1;
+
+        int a = left.nextInt();
+        int b = right.nextInt();
+        while (a != b) {
+          if (a < b) {
+            if (!left.hasNext())
+              return -1;
+            a = left.nextInt();
+          } else {
+            if (!right.hasNext())
+              return -1;
+            b = right.nextInt();
+          }
+        }
+        return a;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next >= 0;
+      }
+
+      @Override
+      public int nextInt() {
+        if (next < 0)
+          throw new NoSuchElementException();
+
+        int value = next;
+        next = advance();
+        return value;
+      }
+    };
+  }
+}
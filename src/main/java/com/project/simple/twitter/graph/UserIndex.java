@@ -0,0 +1,116 @@
+package com.project.simple.twitter.graph;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Numbers users densely in the order they are added. The UUIDs live as pairs of longs in an open-addressing table
+// instead of UUID, Integer and map node objects, which at a million users is most of the graph's footprint.
+// A slot keeps its index next to the key so a lookup touches one cache line. Lookups don't lock: the index is
+// written after the key, so a reader that sees the index sees the key too. Writers are serialized by the caller.
+final class UserIndex {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  // Most significant bits, least significant bits and index + 1, so an empty slot reads as zero
+  private static final int SLOT_LENGTH = 3;
+
+  private static final class Table {
+
+    private final AtomicLongArray slots;
+    private final int capacity;
+
+    private Table(int capacity) {
+      this.slots = new AtomicLongArray(SLOT_LENGTH * capacity);
+      this.capacity = capacity;
+    }
+  }
+
+  private volatile Table table = new Table(2 * INITIAL_CAPACITY);
+  private volatile long[] mostSignificantBits = new long[INITIAL_CAPACITY];
+  private volatile long[] leastSignificantBits = new long[INITIAL_CAPACITY];
+  private int size;
+
+  int indexOf(UUID user) {
+    return find(table, user.getMostSignificantBits(), user.getLeastSignificantBits());
+  }
+
+  // Existing index of the user, or the next one if it is new
+  int indexFor(UUID user) {
+    long mostSignificant = user.getMostSignificantBits();
+    long leastSignificant = user.getLeastSignificantBits();
+
+    int existing = find(table, mostSignificant, leastSignificant);
+    if (existing >= 0)
+      return existing;
+
+    int index = size;
+    if (index == mostSignificantBits.length) {
+      mostSignificantBits = Arrays.copyOf(mostSignificantBits, index * 2);
+      leastSignificantBits = Arrays.copyOf(leastSignificantBits, index * 2);
+    }
+    mostSignificantBits[index] = mostSignificant;
+    leastSignificantBits[index] = leastSignificant;
+
+    // Kept at most half full so probe sequences stay short
+    if (2 * (index + 1) > table.capacity)
+      table = rehash(2 * table.capacity);
+
+    insert(table, mostSignificant, leastSignificant, index);
+    size = index + 1;
+    return index;
+  }
+
+  UUID userAt(int index) {
+    return new UUID(mostSignificantBits[index], leastSignificantBits[index]);
+  }
+
+  int size() {
+    return size;
+  }
+
+  long memoryBytes() {
+    return 8L * SLOT_LENGTH * table.capacity + 16L * mostSignificantBits.length;
+  }
+
+  private static int find(Table table, long mostSignificant, long leastSignificant) {
+    AtomicLongArray slots = table.slots;
+    int slot = hash(mostSignificant, leastSignificant) & (table.capacity - 1);
+    while (true) {
+      int offset = SLOT_LENGTH * slot;
+      long value = slots.get(offset + 2);
+      if (value == 0)
+        return -1;
+      if (slots.get(offset) == mostSignificant && slots.get(offset + 1) == leastSignificant)
+        return (int) value - 1;
+      slot = (slot + 1) & (table.capacity - 1);
+    }
+  }
+
+  private static void insert(Table table, long mostSignificant, long leastSignificant, int index) {
+    AtomicLongArray slots = table.slots;
+    int slot = hash(mostSignificant, leastSignificant) & (table.capacity - 1);
+    while (slots.get(SLOT_LENGTH * slot + 2) != 0)
+      slot = (slot + 1) & (table.capacity - 1);
+
+    slots.set(SLOT_LENGTH * slot, mostSignificant);
+    slots.set(SLOT_LENGTH * slot + 1, leastSignificant);
+    slots.set(SLOT_LENGTH * slot + 2, index + 1);
+  }
+
+  // Built aside and published whole, so readers keep using the old table until it is complete
+  private Table rehash(int capacity) {
+    Table resized = new Table(capacity);
+    for (int index = 0; index < size; index++)
+      insert(resized, mostSignificantBits[index], leastSignificantBits[index], index);
+    return resized;
+  }
+
+  private static int hash(long mostSignificant, long leastSignificant) {
+    long hash = mostSignificant ^ leastSignificant;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return (int) hash;
+  }
+}
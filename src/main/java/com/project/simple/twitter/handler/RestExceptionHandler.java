@@ -14,11 +14,14 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import com.project.simple.twitter.exception.BadRequestException;
+import com.project.simple.twitter.exception.ConflictException;
 import com.project.simple.twitter.exception.GenericRequestException;
 import com.project.simple.twitter.exception.InvalidArgumentException;
 import com.project.simple.twitter.exception.InvalidCredentialsException;
 import com.project.simple.twitter.exception.NotFoundException;
 import com.project.simple.twitter.exception.PermissionDeniedException;
+import com.project.simple.twitter.exception.TooManyRequestsException;
+import com.project.simple.twitter.exception.UnprocessableEntityException;
 import com.project.simple.twitter.exception.details.ExceptionDetails;
 
 @ControllerAdvice
@@ -29,7 +32,10 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
     PermissionDeniedException.class,
     InvalidCredentialsException.class,
     BadRequestException.class,
-    NotFoundException.class
+    NotFoundException.class,
+    ConflictException.class,
+    TooManyRequestsException.class,
+    UnprocessableEntityException.class
   })
   public ResponseEntity<ExceptionDetails> handleInvalidArgumentException(GenericRequestException ex) {
 
@@ -0,0 +1,207 @@
+package com.project.simple.twitter.impression;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+// Estimates the number of distinct values added from 2^PRECISION registers, each keeping the longest run of
+// leading zeros among the hashes that fall in it. The standard error is 1.04 / sqrt(2048), about 2.3%. A sketch
+// starts sparse, as a sorted list of the registers that are set, and switches to one byte per register once that
+// is smaller, so it never holds more than REGISTERS bytes however many values are added. Sketches merge by taking
+// the larger of each register, which is how a day's sketches add up to a week.
+public class HyperLogLog {
+
+  public static final int PRECISION = 11;
+  public static final int REGISTERS = 1 << PRECISION;
+
+  private static final byte SPARSE = 0;
+  private static final byte DENSE = 1;
+  private static final int SPARSE_ENTRY_BYTES = 3;
+  private static final int HEADER_BYTES = 2;
+  private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+  // (register << 8) | rank, sorted by register, while dense is null
+  private int[] sparse = new int[4];
+  private int sparseSize;
+  private byte[] dense;
+
+  public static long hash(UUID value) {
+    return mix(value.getMostSignificantBits() ^ mix(value.getLeastSignificantBits()));
+  }
+
+  public synchronized void offer(long hash) {
+    int register = (int) (hash >>> (64 - PRECISION));
+    // Leading zeros of the remaining bits plus one, capped by the bit that stands in for them running out
+    int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+    set(register, rank);
+  }
+
+  public synchronized void merge(HyperLogLog other) {
+    int[] otherSparse;
+    int otherSparseSize;
+    byte[] otherDense;
+
+    synchronized (other) {
+      otherSparse = other.dense == null ? Arrays.copyOf(other.sparse, other.sparseSize) : null;
+      otherSparseSize = other.sparseSize;
+      otherDense = other.dense == null ? null : other.dense.clone();
+    }
+
+    if (otherDense != null) {
+      for (int register = 0; register < REGISTERS; register++) {
+        if (otherDense[register] != 0)
+          set(register, otherDense[register]);
+      }
+    } else {
+      for (int i = 0; i < otherSparseSize; i++)
+        set(otherSparse[i] >>> 8, otherSparse[i] & 0xFF);
+    }
+  }
+
+  public synchronized long estimate() {
+    double sum = 0;
+    int zeros = 0;
+
+    if (dense == null) {
+      for (int i = 0; i < sparseSize; i++)
+        sum += Math.scalb(1.0, -(sparse[i] & 0xFF));
+      zeros = REGISTERS - sparseSize;
+      sum += zeros;
+    } else {
+      for (byte rank : dense) {
+        sum += Math.scalb(1.0, -rank);
+        if (rank == 0)
+          zeros++;
+      }
+    }
+
+    double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+
+    // Small cardinalities leave registers empty, and counting those is more accurate than the raw estimate
+    if (estimate <= 2.5 * REGISTERS && zeros > 0)
+      estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+
+    return Math.round(estimate);
+  }
+
+  // A format byte and the precision, then either 3 bytes per register set or one byte per register, whichever is
+  // shorter
+  public synchronized byte[] toBytes() {
+    int set = dense == null ? sparseSize : countSetRegisters();
+
+    if (set * SPARSE_ENTRY_BYTES < REGISTERS) {
+      ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + set * SPARSE_ENTRY_BYTES);
+      buffer.put(SPARSE).put((byte) PRECISION);
+
+      if (dense == null) {
+        for (int i = 0; i < sparseSize; i++)
+          buffer.putShort((short) (sparse[i] >>> 8)).put((byte) sparse[i]);
+      } else {
+        for (int register = 0; register < REGISTERS; register++) {
+          if (dense[register] != 0)
+            buffer.putShort((short) register).put(dense[register]);
+        }
+      }
+      return buffer.array();
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + REGISTERS);
+    buffer.put(DENSE).put((byte) PRECISION);
+    if (dense == null) {
+      byte[] registers = new byte[REGISTERS];
+      for (int i = 0; i < sparseSize; i++)
+        registers[sparse[i] >>> 8] = (byte) sparse[i];
+      buffer.put(registers);
+    } else {
+      buffer.put(dense);
+    }
+    return buffer.array();
+  }
+
+  public static HyperLogLog fromBytes(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    byte format = buffer.get();
+    if (buffer.get() != PRECISION)
+      throw new IllegalArgumentException("Sketch was written with another precision");
+
+    HyperLogLog sketch = new HyperLogLog();
+    if (format == DENSE) {
+      for (int register = 0; register < REGISTERS; register++) {
+        byte rank = buffer.get();
+        if (rank != 0)
+          sketch.set(register, rank);
+      }
+    } else {
+      while (buffer.hasRemaining())
+        sketch.set(buffer.getShort() & 0xFFFF, buffer.get());
+    }
+    return sketch;
+  }
+
+  public synchronized long memoryBytes() {
+    return dense == null ? 4L * sparse.length : dense.length;
+  }
+
+  private void set(int register, int rank) {
+    if (dense != null) {
+      if (rank > dense[register])
+        dense[register] = (byte) rank;
+      return;
+    }
+
+    int low = 0;
+    int high = sparseSize - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int current = sparse[middle] >>> 8;
+      if (current == register) {
+        if (rank > (sparse[middle] & 0xFF))
+          sparse[middle] = (register << 8) | rank;
+        return;
+      }
+      if (current < register)
+        low = middle + 1;
+      else
+        high = middle - 1;
+    }
+
+    // Past a quarter of the registers the sparse list would take more room than the dense array
+    if (sparseSize + 1 > REGISTERS / 4) {
+      toDense();
+      dense[register] = (byte) rank;
+      return;
+    }
+
+    if (sparseSize == sparse.length)
+      sparse = Arrays.copyOf(sparse, sparseSize * 2);
+    System.arraycopy(sparse, low, sparse, low + 1, sparseSize - low);
+    sparse[low] = (register << 8) | rank;
+    sparseSize++;
+  }
+
+  private void toDense() {
+    dense = new byte[REGISTERS];
+    for (int i = 0; i < sparseSize; i++)
+      dense[sparse[i] >>> 8] = (byte) sparse[i];
+    sparse = null;
+  }
+
+  private int countSetRegisters() {
+    int set = 0;
+    for (byte rank : dense) {
+      if (rank != 0)
+        set++;
+    }
+    return set;
+  }
+
+  // Finalizer of MurmurHash3, which spreads every input bit over the whole hash
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb34ca87ed53bL;
+    value ^= value >>> 33;
+    return value;
+  }
+}
@@ -0,0 +1,145 @@
+package com.project.simple.twitter.impression;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.simple.twitter.domain.TwitterImpressionId;
+import com.project.simple.twitter.event.DomainEvent;
+import com.project.simple.twitter.event.DomainEventConsumer;
+import com.project.simple.twitter.event.TwitterViewedEvent;
+import com.project.simple.twitter.repository.TwitterImpressionRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+// Unique viewers per twitter and day. Views arrive as TwitterViewedEvents and go into an in-memory HyperLogLog per
+// twitter and day; every flush interval those are merged into twitter_impressions and dropped, so reading a
+// twitter costs no write and a day of views costs at most one sketch per twitter however viral it is.
+@Component
+@Log4j2
+public class ImpressionTracker implements DomainEventConsumer {
+
+  public static final int FLUSH_CHUNK_SIZE = 500;
+
+  private final TwitterImpressionRepository twitterImpressionRepository;
+  private final int retentionDays;
+  private final Map<TwitterImpressionId, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+  public ImpressionTracker(TwitterImpressionRepository twitterImpressionRepository, MeterRegistry meterRegistry,
+      @Value("${twitter.impressions.retention-days:35}") int retentionDays) {
+    this.twitterImpressionRepository = twitterImpressionRepository;
+    this.retentionDays = retentionDays;
+
+    Gauge.builder("twitter.impressions.pending", pending, Map::size)
+        .description("Twitter and day sketches recorded in memory and not flushed yet")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String getName() {
+    return "impressions";
+  }
+
+  @Override
+  public void onEvent(DomainEvent event, boolean endOfBatch) {
+    if (event instanceof TwitterViewedEvent viewed)
+      record(viewed.getTwitterId(), viewed.getViewerId(), LocalDate.now());
+  }
+
+  public void record(long twitterId, UUID viewerId, LocalDate viewedOn) {
+    long hash = HyperLogLog.hash(viewerId);
+
+    // compute runs atomically with the remove of a flush, so no view lands in a sketch that is already written
+    pending.compute(new TwitterImpressionId(twitterId, viewedOn), (id, viewers) -> {
+      HyperLogLog sketch = viewers == null ? new HyperLogLog() : viewers;
+      sketch.offer(hash);
+      return sketch;
+    });
+  }
+
+  // Unique viewers over the days from and to, both included, stored or not flushed yet. Views held by other
+  // instances show up once they flush.
+  public long countViewers(long twitterId, LocalDate from, LocalDate to) {
+    HyperLogLog viewers = new HyperLogLog();
+
+    twitterImpressionRepository.findAllByTwitterIdBetween(twitterId, from, to)
+        .forEach(impression -> viewers.merge(impression.getViewers()));
+
+    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+      HyperLogLog unflushed = pending.get(new TwitterImpressionId(twitterId, day));
+      if (unflushed != null)
+        viewers.merge(unflushed);
+    }
+
+    return viewers.estimate();
+  }
+
+  @PreDestroy
+  @Scheduled(fixedDelayString = "${twitter.impressions.flush-interval:PT1M}")
+  public void flush() {
+    // Sorted so instances flushing at the same time lock the rows in the same order
+    Map<LocalDate, List<Long>> twitterIdsByDay = pending.keySet()
+        .stream()
+        .collect(Collectors.groupingBy(TwitterImpressionId::getViewedOn, TreeMap::new,
+            Collectors.mapping(TwitterImpressionId::getTwitterId, Collectors.toList())));
+
+    int flushed = 0;
+
+    for (Map.Entry<LocalDate, List<Long>> entry : twitterIdsByDay.entrySet()) {
+      LocalDate viewedOn = entry.getKey();
+      List<Long> twitterIds = new ArrayList<>(entry.getValue());
+      twitterIds.sort(null);
+
+      for (int start = 0; start < twitterIds.size(); start += FLUSH_CHUNK_SIZE) {
+        Map<Long, HyperLogLog> chunk = new LinkedHashMap<>();
+        for (Long twitterId : twitterIds.subList(start, Math.min(start + FLUSH_CHUNK_SIZE, twitterIds.size()))) {
+          HyperLogLog viewers = pending.remove(new TwitterImpressionId(twitterId, viewedOn));
+          if (viewers != null)
+            chunk.put(twitterId, viewers);
+        }
+
+        try {
+          twitterImpressionRepository.mergeViewers(viewedOn, chunk);
+          flushed += chunk.size();
+        } catch (RuntimeException exception) {
+          // Kept for the next flush, together with whatever was recorded in the meantime
+          chunk.forEach((twitterId, viewers) -> pending.merge(new TwitterImpressionId(twitterId, viewedOn), viewers,
+              (recorded, unflushed) -> {
+                recorded.merge(unflushed);
+                return recorded;
+              }));
+
+          log.warn("Could not flush {} twitter impression sketches, retrying on the next flush", chunk.size(),
+              exception);
+          return;
+        }
+      }
+    }
+
+    if (flushed > 0)
+      log.debug("Flushed {} twitter impression sketches", flushed);
+  }
+
+  @Scheduled(cron = "${twitter.impressions.purge-cron:0 15 3 * * *}")
+  public void purge() {
+    if (retentionDays <= 0)
+      return;
+
+    int deleted = twitterImpressionRepository.deleteAllViewedBefore(LocalDate.now().minusDays(retentionDays));
+
+    log.info("Purged {} twitter impression rows older than {} days", deleted, retentionDays);
+  }
+}
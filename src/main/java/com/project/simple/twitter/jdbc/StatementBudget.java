@@ -0,0 +1,61 @@
+package com.project.simple.twitter.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@Log4j2
+public class StatementBudget {
+
+  private final MeterRegistry meterRegistry;
+  private final int maxStatementsPerRequest;
+  private final int maxStatementsPerTransaction;
+  private final DistributionSummary transactionStatements;
+
+  public StatementBudget(MeterRegistry meterRegistry,
+      @Value("${twitter.statement-budget.max-statements-per-request:10}") int maxStatementsPerRequest,
+      @Value("${twitter.statement-budget.max-statements-per-transaction:5}") int maxStatementsPerTransaction) {
+    this.meterRegistry = meterRegistry;
+    this.maxStatementsPerRequest = maxStatementsPerRequest;
+    this.maxStatementsPerTransaction = maxStatementsPerTransaction;
+    this.transactionStatements = DistributionSummary.builder("twitter.transaction.statements")
+        .description("SQL statements run by one transaction")
+        .register(meterRegistry);
+  }
+
+  public void recordRequest(String uri, StatementScope scope) {
+    DistributionSummary.builder("twitter.request.statements")
+        .description("SQL statements run while handling one request")
+        .tag("uri", uri)
+        .register(meterRegistry)
+        .record(scope.getStatements());
+
+    if (scope.getStatements() > maxStatementsPerRequest) {
+      exceededCounter("request").increment();
+      log.warn("Request {} ran {} SQL statements in {} ms, above the budget of {}", scope.getName(),
+          scope.getStatements(), scope.getElapsed().toMillis(), maxStatementsPerRequest);
+    }
+  }
+
+  public void recordTransaction(StatementScope scope) {
+    transactionStatements.record(scope.getStatements());
+
+    if (scope.getStatements() > maxStatementsPerTransaction) {
+      exceededCounter("transaction").increment();
+      log.warn("Transaction {} ran {} SQL statements in {} ms, above the budget of {}", scope.getName(),
+          scope.getStatements(), scope.getElapsed().toMillis(), maxStatementsPerTransaction);
+    }
+  }
+
+  private Counter exceededCounter(String scope) {
+    return Counter.builder("twitter.statement_budget.exceeded")
+        .description("Requests and transactions that ran more SQL statements than their budget")
+        .tag("scope", scope)
+        .register(meterRegistry);
+  }
+}
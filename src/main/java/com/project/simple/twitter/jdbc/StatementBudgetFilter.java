@@ -0,0 +1,56 @@
+package com.project.simple.twitter.jdbc;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Runs ahead of the security chain so the user lookups done during authentication are counted too
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+  private final StatementBudget statementBudget;
+  private final boolean enabled;
+
+  public StatementBudgetFilter(StatementBudget statementBudget,
+      @Value("${twitter.statement-budget.enabled:true}") boolean enabled) {
+    this.statementBudget = statementBudget;
+    this.enabled = enabled;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+
+    if (!enabled) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    StatementScope scope = StatementCounter.open(request.getMethod() + " " + request.getRequestURI());
+
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      scope.close();
+      statementBudget.recordRequest(getUriPattern(request), scope);
+    }
+  }
+
+  // Tagging with the handler pattern rather than the raw path keeps the number of meters bounded
+  private String getUriPattern(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+    return pattern != null ? pattern.toString() : "UNKNOWN";
+  }
+}
@@ -0,0 +1,34 @@
+package com.project.simple.twitter.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Scopes nest, so a statement counts towards the request, its transaction and any scope a test opened
+public final class StatementCounter {
+
+  private static final ThreadLocal<List<StatementScope>> OPEN_SCOPES = ThreadLocal.withInitial(ArrayList::new);
+
+  private StatementCounter() {
+  }
+
+  public static StatementScope open(String name) {
+    StatementScope scope = new StatementScope(name);
+    OPEN_SCOPES.get().add(scope);
+
+    return scope;
+  }
+
+  static void record(long nanos) {
+    for (StatementScope scope : OPEN_SCOPES.get()) {
+      scope.record(nanos);
+    }
+  }
+
+  static void close(StatementScope scope) {
+    List<StatementScope> scopes = OPEN_SCOPES.get();
+    scopes.remove(scope);
+
+    if (scopes.isEmpty())
+      OPEN_SCOPES.remove();
+  }
+}
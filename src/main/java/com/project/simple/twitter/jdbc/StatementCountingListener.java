@@ -0,0 +1,77 @@
+package com.project.simple.twitter.jdbc;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+@Component
+public class StatementCountingListener implements QueryExecutionListener {
+
+  private static final String STARTED_AT = "startedAt";
+
+  private final StatementBudget statementBudget;
+  private final Map<QueryType, Timer> timers = new EnumMap<>(QueryType.class);
+
+  public StatementCountingListener(StatementBudget statementBudget, MeterRegistry meterRegistry) {
+    this.statementBudget = statementBudget;
+
+    for (QueryType type : QueryType.values()) {
+      timers.put(type, Timer.builder("twitter.jdbc.statements")
+          .description("Time spent executing SQL statements")
+          .tag("type", type.name().toLowerCase())
+          .register(meterRegistry));
+    }
+  }
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(STARTED_AT, Long.class);
+
+    openTransactionScope();
+    StatementCounter.record(elapsedNanos);
+
+    QueryType type = queryInfoList.isEmpty()
+        ? QueryType.OTHER
+        : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+    timers.get(type).record(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  // The scope is opened by the first statement of a transaction and reported once the transaction completes
+  private void openTransactionScope() {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()
+        || !TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.hasResource(this))
+      return;
+
+    String name = TransactionSynchronizationManager.getCurrentTransactionName();
+    StatementScope scope = StatementCounter.open(name != null ? name : "unnamed");
+    TransactionSynchronizationManager.bindResource(this, scope);
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResource(StatementCountingListener.this);
+        scope.close();
+        statementBudget.recordTransaction(scope);
+      }
+    });
+  }
+}
@@ -0,0 +1,35 @@
+package com.project.simple.twitter.jdbc;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// The listener is looked up lazily so the meter registry is not created before its own post processors run
+@Component
+public class StatementCountingPostProcessor implements BeanPostProcessor {
+
+  private final ObjectProvider<StatementCountingListener> listener;
+  private final boolean enabled;
+
+  // Post processors are created before placeholders in @Value can be resolved, so the flag is read directly
+  public StatementCountingPostProcessor(ObjectProvider<StatementCountingListener> listener, Environment environment) {
+    this.listener = listener;
+    this.enabled = environment.getProperty("twitter.statement-budget.enabled", Boolean.class, true);
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!enabled || !(bean instanceof DataSource dataSource))
+      return bean;
+
+    return ProxyDataSourceBuilder.create(dataSource)
+        .name(beanName)
+        .listener(listener.getObject())
+        .build();
+  }
+}
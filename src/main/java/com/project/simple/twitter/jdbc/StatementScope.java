@@ -0,0 +1,32 @@
+package com.project.simple.twitter.jdbc;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+// Statements run on one thread between StatementCounter.open and close; not shared between threads
+@Getter
+public class StatementScope implements AutoCloseable {
+
+  private final String name;
+  private int statements;
+  private long elapsedNanos;
+
+  StatementScope(String name) {
+    this.name = name;
+  }
+
+  void record(long nanos) {
+    statements++;
+    elapsedNanos += nanos;
+  }
+
+  public Duration getElapsed() {
+    return Duration.ofNanos(elapsedNanos);
+  }
+
+  @Override
+  public void close() {
+    StatementCounter.close(this);
+  }
+}
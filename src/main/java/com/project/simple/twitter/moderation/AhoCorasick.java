@@ -0,0 +1,206 @@
+package com.project.simple.twitter.moderation;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Finds any of a set of terms in a text in one pass, whatever the number of terms. The terms form a trie whose
+// states also have a failure link to the state of the longest proper suffix of their path, so the walk never goes
+// back in the text: on a character with no edge it follows failure links until one has it. Each state links to
+// the nearest state on its failure chain that ends a term, which is how terms ending inside longer ones are found.
+// Once built the automaton is read only, held in flat arrays: the edges of a state are a sorted run of edgeChars
+// and edgeTargets starting at edgeStarts[state]. Terms and text are compared folded (see fold) and only as whole
+// words, so "ass" does not match "class".
+public class AhoCorasick {
+
+  public static final AhoCorasick EMPTY = compile(List.of());
+
+  private static final int ROOT = 0;
+
+  private final String[] terms;
+  private final int[] edgeStarts;
+  private final char[] edgeChars;
+  private final int[] edgeTargets;
+  // The root has an edge for most characters seen, so its edges are looked up by character instead of searched
+  private final int[] rootTargets = new int[Character.MAX_VALUE + 1];
+  private final int[] failures;
+  // Index of the term ending at the state, or -1
+  private final int[] termAt;
+  // Nearest state down the failure chain where a term ends, or ROOT
+  private final int[] outputLinks;
+
+  private AhoCorasick(String[] terms, int[] edgeStarts, char[] edgeChars, int[] edgeTargets, int[] failures,
+      int[] termAt, int[] outputLinks) {
+    this.terms = terms;
+    this.edgeStarts = edgeStarts;
+    this.edgeChars = edgeChars;
+    this.edgeTargets = edgeTargets;
+    this.failures = failures;
+    this.termAt = termAt;
+    this.outputLinks = outputLinks;
+
+    for (int edge = edgeStarts[ROOT]; edge < edgeStarts[ROOT + 1]; edge++)
+      rootTargets[edgeChars[edge]] = edgeTargets[edge];
+  }
+
+  // Letters without accents, with case folded and runs of spaces as one, so "ÉVIL  Term" matches "evil term"
+  public static String fold(String text) {
+    String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+    StringBuilder folded = new StringBuilder(decomposed.length());
+
+    for (int i = 0; i < decomposed.length(); i++) {
+      char current = decomposed.charAt(i);
+
+      if (Character.getType(current) == Character.NON_SPACING_MARK)
+        continue;
+      if (Character.isWhitespace(current)) {
+        if (folded.length() > 0 && folded.charAt(folded.length() - 1) != ' ')
+          folded.append(' ');
+        continue;
+      }
+
+      folded.append(Character.toLowerCase(Character.toUpperCase(current)));
+    }
+
+    return folded.toString();
+  }
+
+  // Blank terms are ignored and terms that fold to the same text are kept once
+  public static AhoCorasick compile(Collection<String> terms) {
+    Set<String> folded = new LinkedHashSet<>();
+    for (String term : terms) {
+      String value = fold(term).strip();
+      if (!value.isEmpty())
+        folded.add(value);
+    }
+
+    // The trie is built with a map per state, then flattened
+    List<Map<Character, Integer>> children = new ArrayList<>();
+    List<Integer> termIndexes = new ArrayList<>();
+    children.add(new HashMap<>());
+    termIndexes.add(-1);
+
+    String[] termArray = folded.toArray(String[]::new);
+    for (int index = 0; index < termArray.length; index++) {
+      int state = ROOT;
+      for (int i = 0; i < termArray[index].length(); i++) {
+        Integer next = children.get(state).get(termArray[index].charAt(i));
+        if (next == null) {
+          next = children.size();
+          children.get(state).put(termArray[index].charAt(i), next);
+          children.add(new HashMap<>());
+          termIndexes.add(-1);
+        }
+        state = next;
+      }
+      termIndexes.set(state, index);
+    }
+
+    int stateCount = children.size();
+    int[] edgeStarts = new int[stateCount + 1];
+    for (int state = 0; state < stateCount; state++)
+      edgeStarts[state + 1] = edgeStarts[state] + children.get(state).size();
+
+    char[] edgeChars = new char[edgeStarts[stateCount]];
+    int[] edgeTargets = new int[edgeStarts[stateCount]];
+    for (int state = 0; state < stateCount; state++) {
+      Character[] labels = children.get(state).keySet().toArray(Character[]::new);
+      Arrays.sort(labels);
+      for (int i = 0; i < labels.length; i++) {
+        edgeChars[edgeStarts[state] + i] = labels[i];
+        edgeTargets[edgeStarts[state] + i] = children.get(state).get(labels[i]);
+      }
+    }
+
+    int[] termAt = termIndexes.stream().mapToInt(Integer::intValue).toArray();
+    int[] failures = new int[stateCount];
+    int[] outputLinks = new int[stateCount];
+    AhoCorasick automaton = new AhoCorasick(termArray, edgeStarts, edgeChars, edgeTargets, failures, termAt,
+        outputLinks);
+
+    // Breadth first, so the failure of a state is known before its children need it
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    for (int edge = edgeStarts[ROOT]; edge < edgeStarts[ROOT + 1]; edge++)
+      queue.add(edgeTargets[edge]);
+
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+
+      for (int edge = edgeStarts[state]; edge < edgeStarts[state + 1]; edge++) {
+        int child = edgeTargets[edge];
+        int failure = automaton.next(failures[state], edgeChars[edge]);
+
+        failures[child] = failure;
+        outputLinks[child] = termAt[failure] >= 0 ? failure : outputLinks[failure];
+        queue.add(child);
+      }
+    }
+
+    return automaton;
+  }
+
+  // The first term found in the text, ending earliest
+  public Optional<String> findFirst(String text) {
+    if (terms.length == 0)
+      return Optional.empty();
+
+    String folded = fold(text);
+    int state = ROOT;
+
+    for (int end = 0; end < folded.length(); end++) {
+      state = next(state, folded.charAt(end));
+
+      for (int output = termAt[state] >= 0 ? state : outputLinks[state]; output != ROOT;
+          output = outputLinks[output]) {
+        String term = terms[termAt[output]];
+        if (isWholeWord(folded, end + 1 - term.length(), end + 1))
+          return Optional.of(term);
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  public int size() {
+    return terms.length;
+  }
+
+  public int countStates() {
+    return failures.length;
+  }
+
+  public long memoryBytes() {
+    return (long) Integer.BYTES * (edgeStarts.length + edgeTargets.length + rootTargets.length
+        + 3L * failures.length)
+        + (long) Character.BYTES * edgeChars.length
+        + Arrays.stream(terms).mapToLong(term -> 40 + 2L * term.length()).sum();
+  }
+
+  // Follows failure links until a state has an edge for the character; the root takes any character
+  private int next(int state, char character) {
+    while (state != ROOT) {
+      int edge = Arrays.binarySearch(edgeChars, edgeStarts[state], edgeStarts[state + 1], character);
+      if (edge >= 0)
+        return edgeTargets[edge];
+      state = failures[state];
+    }
+    return rootTargets[character];
+  }
+
+  private static boolean isWholeWord(String text, int start, int end) {
+    return (start == 0 || !isWordChar(text.charAt(start - 1)) || !isWordChar(text.charAt(start)))
+        && (end == text.length() || !isWordChar(text.charAt(end)) || !isWordChar(text.charAt(end - 1)));
+  }
+
+  private static boolean isWordChar(char character) {
+    return Character.isLetterOrDigit(character);
+  }
+}
@@ -0,0 +1,94 @@
+package com.project.simple.twitter.moderation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.simple.twitter.exception.InvalidArgumentException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+
+// Rejects content containing any banned term, read from a file with one term per line; blank lines and lines
+// starting with # are skipped. The file is checked every reload interval and, when it changed, compiled into a new
+// AhoCorasick automaton that replaces the current one. Checks running at that moment finish with the automaton they
+// started with, so a reload never blocks them, and a file that cannot be read leaves the current terms in place.
+@Component
+@Log4j2
+public class ContentModerator {
+
+  private final Path termsFile;
+  private final Counter rejected;
+
+  private volatile AhoCorasick automaton = AhoCorasick.EMPTY;
+  private FileVersion loadedVersion;
+
+  public ContentModerator(MeterRegistry meterRegistry,
+      @Value("${twitter.moderation.terms-file:}") String termsFile) {
+    this.termsFile = termsFile.isBlank() ? null : Path.of(termsFile);
+    this.rejected = Counter.builder("twitter.moderation.rejected")
+        .description("Twitters rejected for containing a banned term")
+        .register(meterRegistry);
+
+    Gauge.builder("twitter.moderation.terms", this, moderator -> moderator.automaton.size())
+        .description("Banned terms currently loaded")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  @Scheduled(fixedDelayString = "${twitter.moderation.reload-interval:PT30S}")
+  public synchronized void reload() {
+    if (termsFile == null)
+      return;
+
+    try {
+      FileVersion version = FileVersion.of(termsFile);
+      if (version.equals(loadedVersion))
+        return;
+
+      long startedAt = System.nanoTime();
+      List<String> terms = Files.readAllLines(termsFile, StandardCharsets.UTF_8)
+          .stream()
+          .filter(line -> !line.startsWith("#"))
+          .toList();
+
+      automaton = AhoCorasick.compile(terms);
+      loadedVersion = version;
+
+      log.info("Loaded {} banned terms from {} in {} ms", automaton.size(), termsFile,
+          (System.nanoTime() - startedAt) / 1_000_000);
+    } catch (IOException exception) {
+      log.error("Banned terms could not be read from {}; keeping the {} loaded", termsFile, automaton.size(),
+          exception);
+    }
+  }
+
+  public void check(String content) throws InvalidArgumentException {
+    if (content != null && automaton.findFirst(content).isPresent()) {
+      rejected.increment();
+      throw new InvalidArgumentException("Twitter contains a banned term");
+    }
+  }
+
+  public int countTerms() {
+    return automaton.size();
+  }
+
+  private record FileVersion(long lastModified, long size) {
+
+    static FileVersion of(Path file) throws IOException {
+      BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      return new FileVersion(attributes.lastModifiedTime().toMillis(), attributes.size());
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.project.simple.twitter.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.project.simple.twitter.JsonSerialization")
+@Label("JSON Serialization")
+@Category({ "Simple Twitter", "Web" })
+@StackTrace(false)
+@Setter
+public class JsonSerializationEvent extends Event {
+
+  @Label("Endpoint")
+  private String endpoint;
+
+  @Label("Type")
+  private String type;
+
+  @Label("Bytes")
+  @DataAmount
+  private long bytes;
+}
@@ -0,0 +1,12 @@
+package com.project.simple.twitter.profiling;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Public methods of annotated beans emit a ServiceCallEvent, see ProfilingConfig
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Profiled {
+}
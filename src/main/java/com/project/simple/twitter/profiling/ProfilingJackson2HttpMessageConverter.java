@@ -0,0 +1,93 @@
+package com.project.simple.twitter.profiling;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.simple.twitter.dto.twitter.TwitterFieldSelection;
+
+public class ProfilingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+  public ProfilingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+    super(objectMapper);
+  }
+
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+      throws IOException, HttpMessageNotWritableException {
+    JsonSerializationEvent event = new JsonSerializationEvent();
+
+    if (!event.isEnabled()) {
+      super.writeInternal(object, type, outputMessage);
+      return;
+    }
+
+    CountingOutputMessage countingMessage = new CountingOutputMessage(outputMessage);
+    event.begin();
+    super.writeInternal(object, type, countingMessage);
+    event.end();
+
+    if (event.shouldCommit()) {
+      Object value = object instanceof MappingJacksonValue container ? container.getValue() : object;
+      if (value instanceof TwitterFieldSelection selection)
+        value = selection.getBody();
+
+      event.setEndpoint(RequestEndpoints.current());
+      event.setType(value != null ? value.getClass().getSimpleName() : null);
+      event.setBytes(countingMessage.body.count);
+      event.commit();
+    }
+  }
+
+  private static class CountingOutputMessage implements HttpOutputMessage {
+
+    private final HttpOutputMessage delegate;
+    private CountingOutputStream body;
+
+    CountingOutputMessage(HttpOutputMessage delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return delegate.getHeaders();
+    }
+
+    @Override
+    public OutputStream getBody() throws IOException {
+      if (body == null)
+        body = new CountingOutputStream(delegate.getBody());
+
+      return body;
+    }
+  }
+
+  private static class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+}
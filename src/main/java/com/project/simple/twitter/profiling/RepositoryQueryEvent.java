@@ -0,0 +1,26 @@
+package com.project.simple.twitter.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.project.simple.twitter.RepositoryQuery")
+@Label("Repository Query")
+@Category({ "Simple Twitter", "Persistence" })
+@StackTrace(false)
+@Setter
+public class RepositoryQueryEvent extends Event {
+
+  @Label("Repository")
+  private String repository;
+
+  @Label("Method")
+  private String method;
+
+  // Entities or rows returned; -1 when the result is not a collection, an optional or an entity
+  @Label("Rows")
+  private long rows;
+}
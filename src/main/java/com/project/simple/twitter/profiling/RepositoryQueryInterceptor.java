@@ -0,0 +1,66 @@
+package com.project.simple.twitter.profiling;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ReflectionUtils;
+
+public class RepositoryQueryInterceptor implements MethodInterceptor {
+
+  private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    RepositoryQueryEvent event = new RepositoryQueryEvent();
+
+    if (!event.isEnabled() || ReflectionUtils.isObjectMethod(invocation.getMethod()))
+      return invocation.proceed();
+
+    event.begin();
+    Object result = invocation.proceed();
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.setRepository(repositoryNames.computeIfAbsent(invocation.getThis().getClass(), this::getRepositoryName));
+      event.setMethod(invocation.getMethod().getName());
+      event.setRows(countRows(invocation, result));
+      event.commit();
+    }
+
+    return result;
+  }
+
+  // Spring Data repositories are proxies implementing the application interface next to its own ones
+  private String getRepositoryName(Class<?> repositoryClass) {
+    return Arrays.stream(repositoryClass.getInterfaces())
+        .filter(Repository.class::isAssignableFrom)
+        .filter(type -> !type.getName().startsWith("org.springframework."))
+        .findFirst()
+        .map(Class::getSimpleName)
+        .orElse(repositoryClass.getSimpleName());
+  }
+
+  private long countRows(MethodInvocation invocation, Object result) {
+    if (invocation.getMethod().getReturnType() == void.class)
+      return -1;
+    if (result == null)
+      return 0;
+    if (result instanceof Collection<?> collection)
+      return collection.size();
+    if (result instanceof Slice<?> slice)
+      return slice.getNumberOfElements();
+    if (result instanceof Optional<?> optional)
+      return optional.isPresent() ? 1 : 0;
+    if (result instanceof Number || result instanceof Boolean)
+      return -1;
+
+    return 1;
+  }
+}
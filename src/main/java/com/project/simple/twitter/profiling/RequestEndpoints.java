@@ -0,0 +1,24 @@
+package com.project.simple.twitter.profiling;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public final class RequestEndpoints {
+
+  private RequestEndpoints() {
+  }
+
+  // The handler pattern is only known once the request reached the dispatcher, filters get the raw path
+  public static String current() {
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes))
+      return null;
+
+    HttpServletRequest request = attributes.getRequest();
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+    return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+  }
+}
@@ -0,0 +1,28 @@
+package com.project.simple.twitter.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.project.simple.twitter.ServiceCall")
+@Label("Service Call")
+@Category({ "Simple Twitter", "Service" })
+@StackTrace(false)
+@Setter
+public class ServiceCallEvent extends Event {
+
+  @Label("Service")
+  private String service;
+
+  @Label("Method")
+  private String method;
+
+  @Label("Endpoint")
+  private String endpoint;
+
+  @Label("Failed")
+  private boolean failed;
+}
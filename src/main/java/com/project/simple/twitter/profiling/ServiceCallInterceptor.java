@@ -0,0 +1,41 @@
+package com.project.simple.twitter.profiling;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+public class ServiceCallInterceptor implements MethodInterceptor {
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    ServiceCallEvent event = new ServiceCallEvent();
+
+    if (!event.isEnabled() || isSetter(invocation))
+      return invocation.proceed();
+
+    boolean failed = true;
+    event.begin();
+
+    try {
+      Object result = invocation.proceed();
+      failed = false;
+
+      return result;
+    } finally {
+      event.end();
+
+      if (event.shouldCommit()) {
+        event.setService(AopUtils.getTargetClass(invocation.getThis()).getSimpleName());
+        event.setMethod(invocation.getMethod().getName());
+        event.setEndpoint(RequestEndpoints.current());
+        event.setFailed(failed);
+        event.commit();
+      }
+    }
+  }
+
+  // Controllers hand the authenticated user to the services through setters, which are not worth an event
+  private boolean isSetter(MethodInvocation invocation) {
+    return invocation.getMethod().getName().startsWith("set") && invocation.getArguments().length == 1;
+  }
+}
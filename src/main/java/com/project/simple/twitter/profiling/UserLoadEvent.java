@@ -0,0 +1,22 @@
+package com.project.simple.twitter.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.project.simple.twitter.UserLoad")
+@Label("User Load")
+@Category({ "Simple Twitter", "Security" })
+@StackTrace(false)
+@Setter
+public class UserLoadEvent extends Event {
+
+  @Label("Endpoint")
+  private String endpoint;
+
+  @Label("Found")
+  private boolean found;
+}
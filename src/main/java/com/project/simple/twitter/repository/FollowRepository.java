@@ -0,0 +1,62 @@
+package com.project.simple.twitter.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.simple.twitter.domain.Follow;
+import com.project.simple.twitter.domain.FollowId;
+
+public interface FollowRepository extends JpaRepository<Follow, FollowId> {
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM follows f WHERE f.followerId = :followerId AND f.followeeId = :followeeId")
+  public int deleteFollow(@Param("followerId") UUID followerId, @Param("followeeId") UUID followeeId);
+
+  // Chunks of a user's edges, read from the primary key and from idx_follows_followee_id_follower_id
+  @Query("SELECT f.followeeId FROM follows f WHERE f.followerId = :followerId ORDER BY f.followeeId")
+  public List<UUID> findFolloweeIds(@Param("followerId") UUID followerId, Limit limit);
+
+  @Query("SELECT f.followerId FROM follows f WHERE f.followeeId = :followeeId ORDER BY f.followerId")
+  public List<UUID> findFollowerIds(@Param("followeeId") UUID followeeId, Limit limit);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM follows f WHERE f.followerId = :followerId AND f.followeeId IN :followeeIds")
+  public int deleteFollowing(@Param("followerId") UUID followerId,
+      @Param("followeeIds") Collection<UUID> followeeIds);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM follows f WHERE f.followeeId = :followeeId AND f.followerId IN :followerIds")
+  public int deleteFollowers(@Param("followeeId") UUID followeeId,
+      @Param("followerIds") Collection<UUID> followerIds);
+
+  // Keyset pages over the primary key, used to load FollowGraph without holding every row at once
+  @Query("SELECT f FROM follows f ORDER BY f.followerId, f.followeeId")
+  public List<Follow> findFirstChunk(Limit limit);
+
+  @Query("SELECT f FROM follows f WHERE f.followerId > :followerId "
+      + "OR (f.followerId = :followerId AND f.followeeId > :followeeId) ORDER BY f.followerId, f.followeeId")
+  public List<Follow> findChunkAfter(@Param("followerId") UUID followerId, @Param("followeeId") UUID followeeId,
+      Limit limit);
+
+  // Keyset pages over idx_follows_created_at of the follows made since a point in time
+  @Query("SELECT f FROM follows f WHERE f.createdAt >= :since ORDER BY f.createdAt, f.followerId, f.followeeId")
+  public List<Follow> findFirstCreatedChunk(@Param("since") LocalDateTime since, Limit limit);
+
+  @Query("SELECT f FROM follows f WHERE f.createdAt > :createdAt OR (f.createdAt = :createdAt "
+      + "AND (f.followerId > :followerId OR (f.followerId = :followerId AND f.followeeId > :followeeId))) "
+      + "ORDER BY f.createdAt, f.followerId, f.followeeId")
+  public List<Follow> findCreatedChunkAfter(@Param("createdAt") LocalDateTime createdAt,
+      @Param("followerId") UUID followerId, @Param("followeeId") UUID followeeId, Limit limit);
+}
@@ -0,0 +1,27 @@
+package com.project.simple.twitter.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.simple.twitter.domain.FollowSuggestion;
+
+public interface FollowSuggestionRepository extends JpaRepository<FollowSuggestion, UUID> {
+
+  @Modifying
+  @Query("DELETE FROM follow_suggestions s WHERE s.userId IN :userIds")
+  public int deleteAllByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+  // Users without suggestions are in userIds too, so their old rows go away
+  @Transactional
+  public default void replace(Collection<UUID> userIds, List<FollowSuggestion> suggestions) {
+    deleteAllByUserIdIn(userIds);
+    saveAll(suggestions);
+  }
+}
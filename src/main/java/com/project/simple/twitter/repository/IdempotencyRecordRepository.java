@@ -0,0 +1,34 @@
+package com.project.simple.twitter.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.simple.twitter.domain.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+  @Transactional
+  @Modifying
+  @Query(value = "INSERT INTO idempotency_keys (idempotency_key, status, expires_at) VALUES (:key, NULL, :expiresAt)", nativeQuery = true)
+  public int insertPending(@Param("key") String key, @Param("expiresAt") LocalDateTime expiresAt);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM idempotency_keys r WHERE r.key = :key AND r.status IS NULL")
+  public int deletePending(@Param("key") String key);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM idempotency_keys r WHERE r.key = :key AND r.expiresAt < :now")
+  public int deleteExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM idempotency_keys r WHERE r.expiresAt < :now")
+  public int deleteAllExpired(@Param("now") LocalDateTime now);
+}
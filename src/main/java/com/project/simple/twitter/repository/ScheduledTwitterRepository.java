@@ -0,0 +1,59 @@
+package com.project.simple.twitter.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.simple.twitter.domain.ScheduledTwitter;
+
+import jakarta.persistence.LockModeType;
+
+public interface ScheduledTwitterRepository extends JpaRepository<ScheduledTwitter, Long> {
+
+  @EntityGraph(attributePaths = "author")
+  @Query("SELECT s FROM scheduled_twitters s WHERE s.author.id = :authorId ORDER BY s.publishAt")
+  public List<ScheduledTwitter> findAllByAuthorId(@Param("authorId") UUID authorId);
+
+  // Keyset over (publish_at, id) of the twitters due before until, starting after the given one
+  @Query("SELECT s.id AS id, s.publishAt AS publishAt FROM scheduled_twitters s "
+      + "WHERE s.publishAt >= :afterPublishAt AND s.publishAt < :until "
+      + "AND (s.publishAt > :afterPublishAt OR s.id > :afterId) ORDER BY s.publishAt, s.id")
+  public List<PendingView> findPendingChunk(@Param("afterPublishAt") LocalDateTime afterPublishAt,
+      @Param("afterId") long afterId, @Param("until") LocalDateTime until, Limit limit);
+
+  // The author is read by a separate, batched select, so only the scheduled rows are locked
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM scheduled_twitters s WHERE s.id IN :ids ORDER BY s.id")
+  public List<ScheduledTwitter> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM scheduled_twitters s WHERE s.id = :id")
+  public int deletePending(@Param("id") long id);
+
+  @Query("SELECT s.id FROM scheduled_twitters s WHERE s.author.id = :authorId ORDER BY s.publishAt")
+  public List<Long> findIdsByAuthorId(@Param("authorId") UUID authorId, Limit limit);
+
+  // Rows loaded into a timing wheel in the meantime are skipped when they come due
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM scheduled_twitters s WHERE s.id IN :ids")
+  public int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+  public interface PendingView {
+
+    public long getId();
+
+    public LocalDateTime getPublishAt();
+  }
+}
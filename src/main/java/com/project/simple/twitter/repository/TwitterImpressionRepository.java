@@ -0,0 +1,57 @@
+package com.project.simple.twitter.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.simple.twitter.domain.TwitterImpression;
+import com.project.simple.twitter.domain.TwitterImpressionId;
+import com.project.simple.twitter.impression.HyperLogLog;
+
+import jakarta.persistence.LockModeType;
+
+public interface TwitterImpressionRepository extends JpaRepository<TwitterImpression, TwitterImpressionId> {
+
+  @Query("SELECT i FROM twitter_impressions i WHERE i.twitterId = :twitterId "
+      + "AND i.viewedOn BETWEEN :from AND :to")
+  public List<TwitterImpression> findAllByTwitterIdBetween(@Param("twitterId") long twitterId,
+      @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT i FROM twitter_impressions i WHERE i.viewedOn = :viewedOn AND i.twitterId IN :twitterIds")
+  public List<TwitterImpression> findAllForUpdate(@Param("viewedOn") LocalDate viewedOn,
+      @Param("twitterIds") Collection<Long> twitterIds);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM twitter_impressions i WHERE i.viewedOn < :viewedOn")
+  public int deleteAllViewedBefore(@Param("viewedOn") LocalDate viewedOn);
+
+  // Merges the sketches of one day into the stored ones. The rows are locked while they are merged, so instances
+  // flushing the same twitters at once do not overwrite each other's viewers
+  @Transactional
+  public default void mergeViewers(LocalDate viewedOn, Map<Long, HyperLogLog> viewersByTwitterId) {
+    Map<Long, TwitterImpression> stored = findAllForUpdate(viewedOn, viewersByTwitterId.keySet())
+        .stream()
+        .collect(Collectors.toMap(TwitterImpression::getTwitterId, Function.identity()));
+
+    viewersByTwitterId.forEach((twitterId, viewers) -> {
+      TwitterImpression impression = stored.get(twitterId);
+
+      if (impression == null)
+        save(TwitterImpression.createNew(new TwitterImpressionId(twitterId, viewedOn), viewers));
+      else
+        impression.mergeViewers(viewers);
+    });
+  }
+}
@@ -0,0 +1,19 @@
+package com.project.simple.twitter.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.project.simple.twitter.dto.twitter.TwitterDto;
+import com.project.simple.twitter.enums.twitter.TwitterField;
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+
+public interface TwitterProjectionRepository {
+
+  public List<TwitterDto> findProjectedByAuthorId(UUID authorId, LocalDateTime now, Set<TwitterField> fields);
+
+  public List<TwitterDto> findProjectedVisibleByIdIn(Collection<Long> ids, UUID userId, TwitterVisibility visibility,
+      LocalDateTime now, Set<TwitterField> fields);
+}
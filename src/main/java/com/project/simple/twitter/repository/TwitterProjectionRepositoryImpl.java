@@ -0,0 +1,121 @@
+package com.project.simple.twitter.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.project.simple.twitter.domain.Twitter;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.dto.twitter.TwitterDto;
+import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.enums.twitter.TwitterField;
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// Selects only the columns backing the requested fields, so narrow requests skip both the unused columns
+// and, when reading by author, the author row when the author is not requested. Reads by id always join the
+// author, to leave out the twitters of deleted accounts.
+public class TwitterProjectionRepositoryImpl implements TwitterProjectionRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<TwitterDto> findProjectedByAuthorId(UUID authorId, LocalDateTime now, Set<TwitterField> fields) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    Root<Twitter> twitter = query.from(Twitter.class);
+
+    return select(query, twitter, null, fields, builder.and(
+        builder.equal(twitter.get("author").get("id"), authorId),
+        notExpired(builder, twitter, now)));
+  }
+
+  @Override
+  public List<TwitterDto> findProjectedVisibleByIdIn(Collection<Long> ids, UUID userId, TwitterVisibility visibility,
+      LocalDateTime now, Set<TwitterField> fields) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    Root<Twitter> twitter = query.from(Twitter.class);
+    Join<Twitter, User> author = twitter.join("author");
+
+    return select(query, twitter, author, fields, builder.and(
+        twitter.get("id").in(ids),
+        builder.or(
+            builder.equal(twitter.get("visibility"), visibility),
+            builder.equal(author.get("id"), userId)),
+        notExpired(builder, twitter, now),
+        builder.notEqual(author.get("status"), UserStatus.DELETED)));
+  }
+
+  private static Predicate notExpired(CriteriaBuilder builder, Root<Twitter> twitter, LocalDateTime now) {
+    return builder.or(
+        builder.isNull(twitter.get("expiresAt")),
+        builder.greaterThan(twitter.<LocalDateTime>get("expiresAt"), now));
+  }
+
+  // author is the join to reuse, or null to join only when the author is requested
+  private List<TwitterDto> select(CriteriaQuery<Tuple> query, Root<Twitter> twitter, Join<Twitter, User> author,
+      Set<TwitterField> fields, Predicate restriction) {
+    List<Selection<?>> selections = new ArrayList<>();
+    selections.add(twitter.get("id").alias("id"));
+
+    if (fields.contains(TwitterField.CONTENT))
+      selections.add(twitter.get("content").alias("content"));
+    if (fields.contains(TwitterField.AUTHOR))
+      selections.add((author == null ? twitter.join("author") : author).get("username").alias("author"));
+    if (fields.contains(TwitterField.CREATED_AT) || fields.contains(TwitterField.EDITED))
+      selections.add(twitter.get("createdAt").alias("createdAt"));
+    if (fields.contains(TwitterField.EDITED))
+      selections.add(twitter.get("updatedAt").alias("updatedAt"));
+    if (fields.contains(TwitterField.VISIBILITY))
+      selections.add(twitter.get("visibility").alias("visibility"));
+    if (fields.contains(TwitterField.LIKES))
+      selections.add(twitter.get("likes").alias("likes"));
+    if (fields.contains(TwitterField.EXPIRES_AT))
+      selections.add(twitter.get("expiresAt").alias("expiresAt"));
+
+    query.multiselect(selections).where(restriction);
+
+    return entityManager.createQuery(query)
+        .getResultStream()
+        .map(tuple -> toDto(tuple, fields))
+        .toList();
+  }
+
+  private TwitterDto toDto(Tuple tuple, Set<TwitterField> fields) {
+    TwitterDto.TwitterDtoBuilder builder = TwitterDto.builder()
+        .id(tuple.get("id", Long.class));
+
+    if (fields.contains(TwitterField.CONTENT))
+      builder.content(tuple.get("content", String.class));
+    if (fields.contains(TwitterField.AUTHOR))
+      builder.author(tuple.get("author", String.class));
+    if (fields.contains(TwitterField.CREATED_AT))
+      builder.createdAt(tuple.get("createdAt", LocalDateTime.class));
+    if (fields.contains(TwitterField.EDITED)) {
+      LocalDateTime createdAt = tuple.get("createdAt", LocalDateTime.class);
+      builder.edited(!createdAt.equals(tuple.get("updatedAt", LocalDateTime.class)));
+    }
+    if (fields.contains(TwitterField.VISIBILITY))
+      builder.visibility(tuple.get("visibility", TwitterVisibility.class).name().toLowerCase());
+    if (fields.contains(TwitterField.LIKES))
+      builder.likes(tuple.get("likes", Long.class));
+    if (fields.contains(TwitterField.EXPIRES_AT))
+      builder.expiresAt(tuple.get("expiresAt", LocalDateTime.class));
+
+    return builder.build();
+  }
+}
@@ -1,13 +1,106 @@
 package com.project.simple.twitter.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.project.simple.twitter.domain.Twitter;
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
 
-public interface TwitterRepository extends JpaRepository<Twitter, Long> {
+// The finders leave out twitters expired at now, which stay in the table until TwitterExpiryReaper deletes them.
+// Reads by id also leave out the twitters of deleted accounts, which UserDeletionJob purges later; the other finders
+// are given an author id, and deleted accounts are not found to begin with.
+public interface TwitterRepository extends JpaRepository<Twitter, Long>, TwitterProjectionRepository {
 
-  public List<Twitter> findAllByAuthorId(UUID authorId);
+  @EntityGraph(attributePaths = "author")
+  @Query("SELECT t FROM twitter t WHERE t.author.id = :authorId AND (t.expiresAt IS NULL OR t.expiresAt > :now)")
+  public List<Twitter> findAllByAuthorId(@Param("authorId") UUID authorId, @Param("now") LocalDateTime now);
+
+  @Query("SELECT t FROM twitter t JOIN FETCH t.author a "
+      + "WHERE t.id IN :ids AND (t.visibility = :visibility OR a.id = :userId) "
+      + "AND (t.expiresAt IS NULL OR t.expiresAt > :now) "
+      + "AND a.status <> com.project.simple.twitter.enums.UserStatus.DELETED")
+  public List<Twitter> findAllVisibleByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") UUID userId,
+      @Param("visibility") TwitterVisibility visibility, @Param("now") LocalDateTime now);
+
+  @Query("SELECT t FROM twitter t JOIN FETCH t.author a "
+      + "WHERE a.id = :authorId AND t.visibility = :visibility AND t.id < :beforeId "
+      + "AND (t.expiresAt IS NULL OR t.expiresAt > :now) ORDER BY t.id DESC")
+  public List<Twitter> findPageByAuthorId(@Param("authorId") UUID authorId,
+      @Param("visibility") TwitterVisibility visibility, @Param("beforeId") long beforeId,
+      @Param("now") LocalDateTime now, Limit limit);
+
+  @Query("SELECT t FROM twitter t JOIN FETCH t.author a "
+      + "WHERE a.id = :authorId AND t.id < :beforeId AND t.createdAt < :createdBefore "
+      + "AND (t.expiresAt IS NULL OR t.expiresAt > :now) ORDER BY t.id DESC")
+  public List<Twitter> findChunkByAuthorId(@Param("authorId") UUID authorId, @Param("beforeId") long beforeId,
+      @Param("createdBefore") LocalDateTime createdBefore, @Param("now") LocalDateTime now, Limit limit);
+
+  // Twitters per author since the given time, read from idx_twitter_create_at_author_id alone
+  @Query("SELECT t.author.id AS authorId, COUNT(t) AS twitterCount FROM twitter t "
+      + "WHERE t.createdAt >= :since GROUP BY t.author.id")
+  public List<AuthorActivityView> countByAuthorSince(@Param("since") LocalDateTime since);
+
+  // Keyset over (expires_at, id) of the twitters expired at now, starting after the given one
+  @Query("SELECT t.id AS id, t.createdAt AS createdAt, t.expiresAt AS expiresAt, a.id AS authorId, "
+      + "a.username AS authorUsername FROM twitter t LEFT JOIN t.author a "
+      + "WHERE t.expiresAt >= :afterExpiresAt AND t.expiresAt <= :now "
+      + "AND (t.expiresAt > :afterExpiresAt OR t.id > :afterId) ORDER BY t.expiresAt, t.id")
+  public List<ExpiredView> findExpiredChunk(@Param("afterExpiresAt") LocalDateTime afterExpiresAt,
+      @Param("afterId") long afterId, @Param("now") LocalDateTime now, Limit limit);
+
+  // The create_at bounds let MySQL prune the partitions that cannot hold any of the ids
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM twitter t WHERE t.id IN :ids AND t.createdAt BETWEEN :createdFrom AND :createdTo "
+      + "AND t.expiresAt <= :now")
+  public int deleteExpired(@Param("ids") Collection<Long> ids, @Param("createdFrom") LocalDateTime createdFrom,
+      @Param("createdTo") LocalDateTime createdTo, @Param("now") LocalDateTime now);
+
+  // A chunk of an author's twitters, read from idx_twitter_author_id_id alone
+  @Query("SELECT t.id AS id, t.createdAt AS createdAt FROM twitter t WHERE t.author.id = :authorId ORDER BY t.id")
+  public List<TwitterKeyView> findKeysByAuthorId(@Param("authorId") UUID authorId, Limit limit);
+
+  // The create_at bounds let MySQL prune the partitions that cannot hold any of the ids
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM twitter t WHERE t.id IN :ids AND t.createdAt BETWEEN :createdFrom AND :createdTo")
+  public int deleteAllByIdIn(@Param("ids") Collection<Long> ids, @Param("createdFrom") LocalDateTime createdFrom,
+      @Param("createdTo") LocalDateTime createdTo);
+
+  public interface AuthorActivityView {
+
+    public UUID getAuthorId();
+
+    public long getTwitterCount();
+  }
+
+  public interface ExpiredView {
+
+    public long getId();
+
+    public LocalDateTime getCreatedAt();
+
+    public LocalDateTime getExpiresAt();
+
+    public UUID getAuthorId();
+
+    public String getAuthorUsername();
+  }
+
+  public interface TwitterKeyView {
+
+    public long getId();
+
+    public LocalDateTime getCreatedAt();
+  }
 }
@@ -0,0 +1,47 @@
+package com.project.simple.twitter.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.simple.twitter.domain.UserDeletion;
+import com.project.simple.twitter.enums.UserDeletionStage;
+
+// Progress is written with relative updates, so two instances purging the same account add up their counts
+// instead of overwriting each other
+public interface UserDeletionRepository extends JpaRepository<UserDeletion, UUID> {
+
+  @Query("SELECT d FROM user_deletions d WHERE d.completedAt IS NULL ORDER BY d.requestedAt")
+  public List<UserDeletion> findPending(Limit limit);
+
+  @Query("SELECT COUNT(d) FROM user_deletions d WHERE d.completedAt IS NULL")
+  public long countPending();
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE user_deletions d SET d.purgedRows = d.purgedRows + :count, d.updatedAt = :now "
+      + "WHERE d.userId = :userId")
+  public int addPurgedRows(@Param("userId") UUID userId, @Param("count") long count,
+      @Param("now") LocalDateTime now);
+
+  // Moves on only from the given stage, so an instance working from a stale stage cannot move the deletion back
+  @Transactional
+  @Modifying
+  @Query("UPDATE user_deletions d SET d.stage = :next, d.updatedAt = :now WHERE d.userId = :userId "
+      + "AND d.stage = :stage")
+  public int advanceStage(@Param("userId") UUID userId, @Param("stage") UserDeletionStage stage,
+      @Param("next") UserDeletionStage next, @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE user_deletions d SET d.stage = com.project.simple.twitter.enums.UserDeletionStage.COMPLETED, "
+      + "d.updatedAt = :now, d.completedAt = :now WHERE d.userId = :userId AND d.completedAt IS NULL")
+  public int complete(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+}
@@ -1,14 +1,52 @@
 package com.project.simple.twitter.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.project.simple.twitter.domain.User;
 
 public interface UserRepository extends JpaRepository<User,UUID> {
   
+  @EntityGraph(attributePaths = "roles")
   public User findByUsername(String name);
 
+  @EntityGraph(attributePaths = "roles")
   public User findByEmail(String email);
+
+  // Deleted accounts are left out, as if they were gone already
+  @Query("SELECT u.id AS id, u.username AS username FROM users u WHERE u.id IN :ids "
+      + "AND u.status <> com.project.simple.twitter.enums.UserStatus.DELETED")
+  public List<UsernameView> findUsernamesByIdIn(@Param("ids") Collection<UUID> ids);
+
+  // Keyset pages over the primary key of the users who can be mentioned, used to build UserAutocomplete
+  @Query("SELECT u.id AS id, u.username AS username, u.displayName AS displayName FROM users u "
+      + "WHERE u.status = com.project.simple.twitter.enums.UserStatus.ACTIVE ORDER BY u.id")
+  public List<UserNamesView> findActiveNamesFirstChunk(Limit limit);
+
+  @Query("SELECT u.id AS id, u.username AS username, u.displayName AS displayName FROM users u "
+      + "WHERE u.status = com.project.simple.twitter.enums.UserStatus.ACTIVE AND u.id > :id ORDER BY u.id")
+  public List<UserNamesView> findActiveNamesChunkAfter(@Param("id") UUID id, Limit limit);
+
+  public interface UsernameView {
+
+    public UUID getId();
+
+    public String getUsername();
+  }
+
+  public interface UserNamesView {
+
+    public UUID getId();
+
+    public String getUsername();
+
+    public String getDisplayName();
+  }
 }
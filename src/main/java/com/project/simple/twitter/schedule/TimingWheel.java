@@ -0,0 +1,272 @@
+package com.project.simple.twitter.schedule;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// Hierarchical timing wheel of long ids, each due at a tick. Every level has 64 slots and each level's slots are
+// 64 times as wide as the level below, so a deadline goes to the level of the highest 6-bit group in which it
+// differs from the current tick, in the slot given by that group. When the current tick reaches the start of a
+// slot above level 0, its entries move down to a finer level; the entries of a level 0 slot are due.
+// Schedule and cancel take constant time, and advancing a tick touches only the slots that come due.
+//
+// Entries are kept in parallel arrays as doubly linked lists, 30 to 40 bytes per entry with the id index, instead
+// of one object each. Safe for use by several threads.
+public class TimingWheel {
+
+  public static final int SLOT_BITS = 6;
+  public static final int SLOTS = 1 << SLOT_BITS;
+  public static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+  private static final int NONE = -1;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  // First entry of every slot, level by level
+  private final int[] heads = new int[LEVELS * SLOTS];
+
+  private long[] ids;
+  private long[] deadlines;
+  private int[] next;
+  // Previous entry, or -(slot + 2) for the first entry of a slot so it can be unlinked without a search
+  private int[] previous;
+
+  // Open addressing table of entry + 1 by id, 0 for a free bucket, kept at most two thirds full
+  private int[] index;
+
+  private int size;
+  private int used;
+  private int free = NONE;
+  private long currentTick;
+
+  public TimingWheel(long currentTick) {
+    this.currentTick = currentTick;
+    this.ids = new long[INITIAL_CAPACITY];
+    this.deadlines = new long[INITIAL_CAPACITY];
+    this.next = new int[INITIAL_CAPACITY];
+    this.previous = new int[INITIAL_CAPACITY];
+    this.index = new int[INITIAL_CAPACITY * 2];
+
+    Arrays.fill(heads, NONE);
+  }
+
+  // Deadlines that are not after the current tick are due on the next one. Scheduling an id again moves it.
+  public synchronized void schedule(long id, long deadlineTick) {
+    int entry = find(id);
+
+    if (entry == NONE) {
+      entry = allocate(id);
+      insertIndex(entry);
+      size++;
+    } else {
+      unlink(entry);
+    }
+
+    deadlines[entry] = Math.max(deadlineTick, currentTick + 1);
+    link(entry);
+  }
+
+  public synchronized boolean cancel(long id) {
+    int entry = find(id);
+    if (entry == NONE)
+      return false;
+
+    unlink(entry);
+    removeIndex(id);
+    release(entry);
+    size--;
+
+    return true;
+  }
+
+  public synchronized boolean contains(long id) {
+    return find(id) != NONE;
+  }
+
+  // Moves the wheel to tick and hands every id due up to it, in deadline order, to expired, which runs while the
+  // wheel is locked
+  public synchronized void advance(long tick, LongConsumer expired) {
+    while (currentTick < tick) {
+      if (size == 0) {
+        currentTick = tick;
+        return;
+      }
+
+      currentTick++;
+
+      // The slots whose start is reached, from the widest down, so entries may move through several levels
+      int level = 1;
+      while (level < LEVELS && (currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0)
+        level++;
+      for (level--; level > 0; level--)
+        cascade(level, slot(currentTick, level));
+
+      expire(slot(currentTick, 0), expired);
+    }
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  public synchronized long getCurrentTick() {
+    return currentTick;
+  }
+
+  public synchronized long memoryBytes() {
+    return heads.length * 4L + ids.length * 8L + deadlines.length * 8L + next.length * 4L + previous.length * 4L
+        + index.length * 4L;
+  }
+
+  private void cascade(int level, int slot) {
+    int bucket = level * SLOTS + slot;
+    int entry = heads[bucket];
+    heads[bucket] = NONE;
+
+    while (entry != NONE) {
+      int following = next[entry];
+      link(entry);
+      entry = following;
+    }
+  }
+
+  private void expire(int slot, LongConsumer expired) {
+    int entry = heads[slot];
+    heads[slot] = NONE;
+
+    while (entry != NONE) {
+      int following = next[entry];
+      long id = ids[entry];
+
+      removeIndex(id);
+      release(entry);
+      size--;
+      expired.accept(id);
+
+      entry = following;
+    }
+  }
+
+  private void link(int entry) {
+    long deadline = deadlines[entry];
+    long differing = deadline ^ currentTick;
+    int level = differing == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(differing)) / SLOT_BITS;
+    int bucket = level * SLOTS + slot(deadline, level);
+
+    int head = heads[bucket];
+    next[entry] = head;
+    previous[entry] = -(bucket + 2);
+    if (head != NONE)
+      previous[head] = entry;
+    heads[bucket] = entry;
+  }
+
+  private void unlink(int entry) {
+    int before = previous[entry];
+    int after = next[entry];
+
+    if (before < 0)
+      heads[-before - 2] = after;
+    else
+      next[before] = after;
+
+    if (after != NONE)
+      previous[after] = before;
+  }
+
+  private static int slot(long tick, int level) {
+    return (int) (tick >>> (SLOT_BITS * level)) & (SLOTS - 1);
+  }
+
+  private int allocate(long id) {
+    int entry;
+
+    if (free != NONE) {
+      entry = free;
+      free = next[entry];
+    } else {
+      if (used == ids.length)
+        grow();
+      entry = used++;
+    }
+
+    ids[entry] = id;
+    return entry;
+  }
+
+  private void release(int entry) {
+    next[entry] = free;
+    free = entry;
+  }
+
+  private void grow() {
+    int capacity = ids.length + ids.length / 2;
+
+    ids = Arrays.copyOf(ids, capacity);
+    deadlines = Arrays.copyOf(deadlines, capacity);
+    next = Arrays.copyOf(next, capacity);
+    previous = Arrays.copyOf(previous, capacity);
+  }
+
+  private int find(long id) {
+    int mask = index.length - 1;
+
+    for (int bucket = bucket(id, mask); index[bucket] != 0; bucket = (bucket + 1) & mask) {
+      if (ids[index[bucket] - 1] == id)
+        return index[bucket] - 1;
+    }
+
+    return NONE;
+  }
+
+  private void insertIndex(int entry) {
+    if ((size + 1) * 3L > index.length * 2L)
+      rehash(index.length * 2);
+
+    int mask = index.length - 1;
+    int bucket = bucket(ids[entry], mask);
+    while (index[bucket] != 0)
+      bucket = (bucket + 1) & mask;
+
+    index[bucket] = entry + 1;
+  }
+
+  // Backward shift deletion: the entries after the freed bucket that would no longer be reachable from their
+  // home bucket move into it, so lookups never need tombstones
+  private void removeIndex(long id) {
+    int mask = index.length - 1;
+    int hole = bucket(id, mask);
+    while (ids[index[hole] - 1] != id)
+      hole = (hole + 1) & mask;
+
+    for (int bucket = (hole + 1) & mask; index[bucket] != 0; bucket = (bucket + 1) & mask) {
+      int home = bucket(ids[index[bucket] - 1], mask);
+
+      if (((bucket - home) & mask) >= ((bucket - hole) & mask)) {
+        index[hole] = index[bucket];
+        hole = bucket;
+      }
+    }
+
+    index[hole] = 0;
+  }
+
+  private void rehash(int capacity) {
+    int[] previousIndex = index;
+    index = new int[capacity];
+    int mask = capacity - 1;
+
+    for (int stored : previousIndex) {
+      if (stored == 0)
+        continue;
+
+      int bucket = bucket(ids[stored - 1], mask);
+      while (index[bucket] != 0)
+        bucket = (bucket + 1) & mask;
+      index[bucket] = stored;
+    }
+  }
+
+  private static int bucket(long id, int mask) {
+    long hash = id * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,234 @@
+package com.project.simple.twitter.schedule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.simple.twitter.cache.ProfileTimelineCache;
+import com.project.simple.twitter.domain.ScheduledTwitter;
+import com.project.simple.twitter.domain.Twitter;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.TwitterCreatedEvent;
+import com.project.simple.twitter.repository.ScheduledTwitterRepository;
+import com.project.simple.twitter.repository.ScheduledTwitterRepository.PendingView;
+import com.project.simple.twitter.repository.TwitterRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+// Publishes scheduled twitters at their publish time. The twitters due within the window ahead are held in a
+// TimingWheel that a thread of its own ticks every second, so the table is never polled for due rows; it is read
+// once per refill, for the part of the window not loaded yet and for overdue rows another instance left behind.
+// A due twitter is inserted and its row deleted in one transaction that locks the row, so a twitter loaded by
+// several instances, or cancelled in the meantime, is published at most once.
+@Component
+@Log4j2
+public class TwitterScheduler {
+
+  public static final Duration TICK = Duration.ofSeconds(1);
+  public static final int LOAD_CHUNK_SIZE = 10_000;
+  public static final int PUBLISH_CHUNK_SIZE = 100;
+  public static final Duration RETRY_DELAY = Duration.ofSeconds(10);
+
+  // Rows due longer ago than this are no longer being published by the instance that loaded them
+  public static final Duration OVERDUE_AFTER = Duration.ofMinutes(1);
+
+  private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  private final ScheduledTwitterRepository scheduledTwitterRepository;
+  private final TwitterRepository twitterRepository;
+  private final ProfileTimelineCache profileTimelineCache;
+  private final DomainEventBus domainEventBus;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration window;
+  private final TimingWheel wheel = new TimingWheel(toTick(LocalDateTime.now()));
+  private final Counter published;
+  private final Timer lateness;
+  private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "twitter-scheduler");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // Twitters due before this are in the wheel, or are added to it when scheduled; guarded by this
+  private LocalDateTime loadedUntil;
+
+  public TwitterScheduler(ScheduledTwitterRepository scheduledTwitterRepository,
+      TwitterRepository twitterRepository, ProfileTimelineCache profileTimelineCache,
+      DomainEventBus domainEventBus, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+      @Value("${twitter.scheduling.window:PT1H}") Duration window,
+      @Value("${twitter.scheduling.refill-interval:PT5M}") Duration refillInterval) {
+    if (window.compareTo(refillInterval) <= 0)
+      throw new IllegalArgumentException(
+          "twitter.scheduling.window must be longer than twitter.scheduling.refill-interval");
+
+    this.scheduledTwitterRepository = scheduledTwitterRepository;
+    this.twitterRepository = twitterRepository;
+    this.profileTimelineCache = profileTimelineCache;
+    this.domainEventBus = domainEventBus;
+    this.transactionTemplate = transactionTemplate;
+    this.window = window;
+    this.published = Counter.builder("twitter.scheduled.published")
+        .description("Scheduled twitters published")
+        .register(meterRegistry);
+    this.lateness = Timer.builder("twitter.scheduled.lateness")
+        .description("Time between the publish time of a scheduled twitter and its publication")
+        .register(meterRegistry);
+
+    Gauge.builder("twitter.scheduled.pending", wheel, TimingWheel::size)
+        .description("Scheduled twitters loaded into the timing wheel and not published yet")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    refill();
+
+    ticker.scheduleAtFixedRate(this::tick, TICK.toMillis(), TICK.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    ticker.shutdown();
+
+    if (!ticker.awaitTermination(5, TimeUnit.SECONDS))
+      log.warn("Scheduled twitters were still being published at shutdown");
+  }
+
+  // Twitters due after the loaded window are left to the refill that reaches them
+  public synchronized void add(long id, LocalDateTime publishAt) {
+    if (loadedUntil != null && publishAt.isBefore(loadedUntil))
+      wheel.schedule(id, deadlineTick(publishAt));
+  }
+
+  public void cancel(long id) {
+    wheel.cancel(id);
+  }
+
+  public int countPending() {
+    return wheel.size();
+  }
+
+  @Scheduled(fixedDelayString = "${twitter.scheduling.refill-interval:PT5M}",
+      initialDelayString = "${twitter.scheduling.refill-interval:PT5M}")
+  public synchronized void refill() {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime until = now.plus(window);
+
+    int overdue = loadedUntil == null ? 0 : load(BEGINNING, now.minus(OVERDUE_AFTER));
+    int loaded = load(loadedUntil == null ? BEGINNING : loadedUntil, until);
+
+    loadedUntil = until;
+
+    log.debug("Loaded {} scheduled twitters due until {} and {} overdue ones, {} pending", loaded, until, overdue,
+        wheel.size());
+  }
+
+  private int load(LocalDateTime from, LocalDateTime until) {
+    List<PendingView> chunk = scheduledTwitterRepository.findPendingChunk(from, 0, until,
+        Limit.of(LOAD_CHUNK_SIZE));
+    int loaded = 0;
+
+    while (!chunk.isEmpty()) {
+      chunk.forEach(pending -> wheel.schedule(pending.getId(), deadlineTick(pending.getPublishAt())));
+      loaded += chunk.size();
+
+      if (chunk.size() < LOAD_CHUNK_SIZE)
+        break;
+
+      PendingView last = chunk.get(chunk.size() - 1);
+      chunk = scheduledTwitterRepository.findPendingChunk(last.getPublishAt(), last.getId(), until,
+          Limit.of(LOAD_CHUNK_SIZE));
+    }
+
+    return loaded;
+  }
+
+  private void tick() {
+    // An exception would cancel the ticker for good
+    try {
+      publishDue(LocalDateTime.now());
+    } catch (RuntimeException exception) {
+      log.error("Publishing scheduled twitters failed", exception);
+    }
+  }
+
+  // Returns the number of twitters published
+  public int publishDue(LocalDateTime now) {
+    List<Long> due = new ArrayList<>();
+    wheel.advance(toTick(now), due::add);
+
+    if (due.isEmpty())
+      return 0;
+
+    // Sorted so instances publishing the same twitters lock the rows in the same order
+    due.sort(null);
+    int count = 0;
+
+    for (int start = 0; start < due.size(); start += PUBLISH_CHUNK_SIZE) {
+      List<Long> chunk = due.subList(start, Math.min(start + PUBLISH_CHUNK_SIZE, due.size()));
+
+      try {
+        count += publish(chunk, now);
+      } catch (RuntimeException exception) {
+        long retryAt = toTick(now) + RETRY_DELAY.toSeconds();
+        chunk.forEach(id -> wheel.schedule(id, retryAt));
+
+        log.warn("Could not publish {} scheduled twitters, retrying in {} s", chunk.size(),
+            RETRY_DELAY.toSeconds(), exception);
+      }
+    }
+
+    return count;
+  }
+
+  private int publish(List<Long> ids, LocalDateTime now) {
+    List<ScheduledTwitter> publishing = new ArrayList<>();
+
+    // Rows published by another instance or cancelled since they were loaded are gone and skipped
+    List<Twitter> twitters = transactionTemplate.execute(status -> {
+      publishing.addAll(scheduledTwitterRepository.findAllForUpdate(ids));
+      scheduledTwitterRepository.deleteAllInBatch(publishing);
+
+      return twitterRepository.saveAll(publishing.stream()
+          .map(ScheduledTwitter::toTwitter)
+          .toList());
+    });
+
+    for (Twitter twitter : twitters) {
+      profileTimelineCache.evict(twitter.getAuthor().getUsername());
+      domainEventBus.publish(new TwitterCreatedEvent(twitter.getId(), twitter.getAuthor().getId(),
+          twitter.getAuthor().getUsername()));
+    }
+
+    publishing.forEach(scheduled -> lateness.record(Duration.between(scheduled.getPublishAt(), now)));
+    published.increment(twitters.size());
+
+    return twitters.size();
+  }
+
+  private static long toTick(LocalDateTime time) {
+    return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+  }
+
+  // Rounded up, so no twitter is published before its time
+  private static long deadlineTick(LocalDateTime publishAt) {
+    return toTick(publishAt) + (publishAt.getNano() > 0 ? 1 : 0);
+  }
+}
@@ -10,8 +10,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.project.simple.twitter.security.filter.ConcurrencyLimitFilter;
+import com.project.simple.twitter.security.filter.RateLimitFilter;
 import com.project.simple.twitter.security.filter.UserAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @EnableMethodSecurity
@@ -21,6 +24,8 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
   private final UserAuthenticationFilter userAuthenticationFilter;
+  private final ConcurrencyLimitFilter concurrencyLimitFilter;
+  private final RateLimitFilter rateLimitFilter;
 
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -28,13 +33,20 @@ public class SecurityConfig {
     return http
         .csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(authorizer -> authorizer
+            // Streamed responses finish in an async dispatch of a request that was already authorized
+            .dispatcherTypeMatchers(DispatcherType.ASYNC)
+            .permitAll()
             .requestMatchers(SecurityConstants.getNoAuthenticationEndpointMatchers())
             .permitAll()
+            .requestMatchers("/actuator/**")
+            .hasAuthority("ADMIN")
             .requestMatchers("/twitters")
             .hasAuthority("USER")
             .anyRequest()
             .authenticated())
         .addFilterBefore(userAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterBefore(concurrencyLimitFilter, UserAuthenticationFilter.class)
+        .addFilterBefore(rateLimitFilter, ConcurrencyLimitFilter.class)
         .build();
   }
 
@@ -0,0 +1,133 @@
+package com.project.simple.twitter.security.filter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.simple.twitter.exception.details.ExceptionDetails;
+import com.project.simple.twitter.security.limiter.EndpointClass;
+import com.project.simple.twitter.security.limiter.GradientLimiter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@Log4j2
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private static final String PROPERTY_PREFIX = "twitter.concurrency-limit.";
+
+  private final Map<EndpointClass, GradientLimiter> limiters = new EnumMap<>(EndpointClass.class);
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final String retryAfterSeconds;
+
+  public ConcurrencyLimitFilter(ObjectMapper objectMapper, Environment environment,
+      @Value("${twitter.concurrency-limit.enabled:true}") boolean enabled,
+      @Value("${twitter.concurrency-limit.retry-after:PT1S}") Duration retryAfter) {
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+
+    for (EndpointClass endpointClass : EndpointClass.values()) {
+      String prefix = PROPERTY_PREFIX + endpointClass.getKey() + ".";
+
+      limiters.put(endpointClass, new GradientLimiter(endpointClass.getKey(),
+          environment.getProperty(prefix + "initial-limit", Integer.class, endpointClass.getInitialLimit()),
+          environment.getProperty(prefix + "min-limit", Integer.class, endpointClass.getMinLimit()),
+          environment.getProperty(prefix + "max-limit", Integer.class, endpointClass.getMaxLimit())));
+    }
+  }
+
+  public GradientLimiter getLimiter(EndpointClass endpointClass) {
+    return limiters.get(endpointClass);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+
+    if (!enabled) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    GradientLimiter limiter = limiters.get(EndpointClass.of(request));
+
+    if (!limiter.tryAcquire()) {
+      handleRejectedRequest(response, limiter);
+      return;
+    }
+
+    long startedAt = System.nanoTime();
+    boolean released = false;
+
+    try {
+      filterChain.doFilter(request, response);
+
+      // A streamed response keeps its permit until it completes, but only the time to start responding is a
+      // meaningful latency sample; the transfer itself is paced by the client
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(new ReleaseOnCompletion(limiter, System.nanoTime() - startedAt));
+        released = true;
+      }
+    } finally {
+      if (!released)
+        limiter.release(System.nanoTime() - startedAt, response.getStatus() >= 500);
+    }
+  }
+
+  private void handleRejectedRequest(HttpServletResponse response, GradientLimiter limiter) throws IOException {
+    log.debug("Shedding {} request, limit {} reached", limiter.getName(), limiter.getLimit());
+
+    ExceptionDetails exceptionDetails = ExceptionDetails.builder()
+        .title("Service Unavailable Exception")
+        .timestamp(LocalDateTime.now())
+        .details("Server is overloaded, retry later")
+        .status(HttpServletResponse.SC_SERVICE_UNAVAILABLE)
+        .developerMessage(getClass().getName())
+        .build();
+
+    response.setContentType("application/json");
+    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+    response.getWriter().write(objectMapper.writeValueAsString(exceptionDetails));
+  }
+
+  private record ReleaseOnCompletion(GradientLimiter limiter, long rttNanos) implements AsyncListener {
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+
+      limiter.release(rttNanos, response.getStatus() >= 500);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      event.getAsyncContext().addListener(this);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.project.simple.twitter.security.filter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.simple.twitter.exception.details.ExceptionDetails;
+import com.project.simple.twitter.security.limiter.RateLimitedEndpoint;
+import com.project.simple.twitter.security.limiter.TokenBucket;
+import com.project.simple.twitter.security.limiter.TokenBucketStore;
+import com.project.simple.twitter.service.JwtTokenService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private final TokenBucketStore tokenBucketStore;
+  private final JwtTokenService jwtTokenService;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final Map<RateLimitedEndpoint, Counter> throttledByIp = new EnumMap<>(RateLimitedEndpoint.class);
+  private final Map<RateLimitedEndpoint, Counter> throttledByUser = new EnumMap<>(RateLimitedEndpoint.class);
+
+  public RateLimitFilter(TokenBucketStore tokenBucketStore, JwtTokenService jwtTokenService, ObjectMapper objectMapper,
+      MeterRegistry meterRegistry, @Value("${twitter.rate-limit.enabled:true}") boolean enabled) {
+    this.tokenBucketStore = tokenBucketStore;
+    this.jwtTokenService = jwtTokenService;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+
+    // Registered up front so a throttled request only increments; user keys exist on principal endpoints only
+    for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+      throttledByIp.put(endpoint, throttledCounter(meterRegistry, endpoint, "ip"));
+      if (endpoint.isKeyedByPrincipal())
+        throttledByUser.put(endpoint, throttledCounter(meterRegistry, endpoint, "user"));
+    }
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+
+    RateLimitedEndpoint endpoint = enabled ? RateLimitedEndpoint.of(request) : null;
+
+    if (endpoint == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    String principal = endpoint.isKeyedByPrincipal() ? getTokenSubject(request) : null;
+    String clientKey = principal != null ? "user:" + principal : "ip:" + request.getRemoteAddr();
+
+    TokenBucket bucket = tokenBucketStore.getBucket(endpoint, clientKey);
+    long now = tokenBucketStore.now();
+
+    if (!bucket.tryConsume(now)) {
+      (principal != null ? throttledByUser : throttledByIp).get(endpoint).increment();
+      handleThrottledRequest(response, bucket.nanosUntilAvailable(now));
+      return;
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  // Only the token signature is checked here; the user itself is loaded later by UserAuthenticationFilter
+  private String getTokenSubject(HttpServletRequest request) {
+    String tokenHeader = request.getHeader("Authorization");
+
+    if (tokenHeader == null)
+      return null;
+
+    try {
+      return jwtTokenService.getTokenSubject(tokenHeader.replace("Bearer ", ""));
+    } catch (JWTVerificationException | IllegalArgumentException exception) {
+      return null;
+    }
+  }
+
+  private static Counter throttledCounter(MeterRegistry meterRegistry, RateLimitedEndpoint endpoint, String keyType) {
+    return Counter.builder("twitter.rate_limit.throttled")
+        .description("Requests rejected by the per client rate limit")
+        .tag("endpoint", endpoint.getKey())
+        .tag("key", keyType)
+        .register(meterRegistry);
+  }
+
+  private void handleThrottledRequest(HttpServletResponse response, long nanosUntilAvailable) throws IOException {
+    long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanosUntilAvailable + 999_999_999L));
+
+    ExceptionDetails exceptionDetails = ExceptionDetails.builder()
+        .title("Too Many Requests Exception")
+        .timestamp(LocalDateTime.now())
+        .details("Rate limit exceeded, retry in " + retryAfterSeconds + " seconds")
+        .status(HttpStatus.TOO_MANY_REQUESTS.value())
+        .developerMessage(getClass().getName())
+        .build();
+
+    response.setContentType("application/json");
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.getWriter().write(objectMapper.writeValueAsString(exceptionDetails));
+  }
+}
@@ -14,6 +14,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.simple.twitter.exception.details.ExceptionDetails;
+import com.project.simple.twitter.profiling.RequestEndpoints;
+import com.project.simple.twitter.profiling.TokenVerificationEvent;
+import com.project.simple.twitter.profiling.UserLoadEvent;
 import com.project.simple.twitter.security.SecurityConstants;
 import com.project.simple.twitter.service.JwtTokenService;
 import com.project.simple.twitter.service.UserService;
@@ -59,9 +62,49 @@ public class UserAuthenticationFilter extends OncePerRequestFilter {
     if (token == null)
       throw new JWTVerificationException("Token is not valid");
 
-    String tokenSubject = jwtTokenService.getTokenSubject(token);
+    return loadUser(verifyToken(token));
+  }
+
+  private String verifyToken(String token) throws JWTVerificationException {
+    TokenVerificationEvent event = new TokenVerificationEvent();
+    boolean valid = false;
+    event.begin();
+
+    try {
+      String tokenSubject = jwtTokenService.getTokenSubject(token);
+      valid = true;
+
+      return tokenSubject;
+    } finally {
+      event.end();
 
-    return userService.loadUserByUsername(tokenSubject);
+      if (event.shouldCommit()) {
+        event.setEndpoint(RequestEndpoints.current());
+        event.setValid(valid);
+        event.commit();
+      }
+    }
+  }
+
+  private UserDetails loadUser(String username) throws UsernameNotFoundException {
+    UserLoadEvent event = new UserLoadEvent();
+    boolean found = false;
+    event.begin();
+
+    try {
+      UserDetails userDetails = userService.loadUserByUsername(username);
+      found = true;
+
+      return userDetails;
+    } finally {
+      event.end();
+
+      if (event.shouldCommit()) {
+        event.setEndpoint(RequestEndpoints.current());
+        event.setFound(found);
+        event.commit();
+      }
+    }
   }
 
   private void setUserAuthentication(UserDetails userDetails) {
@@ -0,0 +1,31 @@
+package com.project.simple.twitter.security.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum EndpointClass {
+
+  READ("read", 40, 8, 400),
+  WRITE("write", 20, 4, 200),
+  LOGIN("login", 8, 2, 50);
+
+  private final String key;
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+
+  public static EndpointClass of(HttpServletRequest request) {
+    String method = request.getMethod();
+
+    if ("POST".equals(method) && "/users/login".equals(request.getRequestURI()))
+      return LOGIN;
+
+    if ("GET".equals(method) || "HEAD".equals(method))
+      return READ;
+
+    return WRITE;
+  }
+}
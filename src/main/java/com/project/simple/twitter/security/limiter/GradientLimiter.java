@@ -0,0 +1,105 @@
+package com.project.simple.twitter.security.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+
+// Latency driven concurrency limit: the limit grows while the latest round trip stays close to the long term
+// average and shrinks proportionally as soon as requests start queueing behind a slower database.
+public class GradientLimiter {
+
+  private static final double SMOOTHING = 0.2;
+  private static final double RTT_TOLERANCE = 1.5;
+  private static final int LONG_RTT_WINDOW = 600;
+  private static final double DROP_BACKOFF = 0.9;
+
+  @Getter
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile int limit;
+  private double estimatedLimit;
+  private double longRttNanos;
+  private long samples;
+
+  public GradientLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit)
+      throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+
+    this.name = name;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = initialLimit;
+    this.estimatedLimit = initialLimit;
+  }
+
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit)
+        return false;
+
+      if (inFlight.compareAndSet(current, current + 1))
+        return true;
+    }
+  }
+
+  public void release(long rttNanos, boolean dropped) {
+    int inFlightAtRelease = inFlight.getAndDecrement();
+
+    if (dropped)
+      onDropped();
+    else
+      onSample(rttNanos, inFlightAtRelease);
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public synchronized long getLongRttNanos() {
+    return (long) longRttNanos;
+  }
+
+  private synchronized void onSample(long rttNanos, int inFlightAtRelease) {
+    if (rttNanos <= 0)
+      return;
+
+    samples++;
+    if (samples == 1) {
+      longRttNanos = rttNanos;
+    } else {
+      double alpha = 2.0 / (Math.min(samples, LONG_RTT_WINDOW) + 1);
+      longRttNanos += (rttNanos - longRttNanos) * alpha;
+    }
+
+    // After a long slow period the average lags behind a recovered database; pull it back down quickly
+    if (longRttNanos / rttNanos > 2)
+      longRttNanos *= 0.95;
+
+    // Only adjust while the limit is actually being exercised, otherwise an idle endpoint would grow forever
+    if (inFlightAtRelease < estimatedLimit / 2)
+      return;
+
+    double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+    double queueSize = Math.sqrt(estimatedLimit);
+    double newLimit = estimatedLimit * gradient + queueSize;
+
+    updateLimit(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+  }
+
+  private synchronized void onDropped() {
+    updateLimit(estimatedLimit * DROP_BACKOFF);
+  }
+
+  private void updateLimit(double newLimit) {
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    limit = (int) estimatedLimit;
+  }
+}
@@ -0,0 +1,30 @@
+package com.project.simple.twitter.security.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RateLimitedEndpoint {
+
+  CREATE_TWITTER("create-twitter", "POST", "/twitters", true, 30, 0.5),
+  LOGIN("login", "POST", "/users/login", false, 10, 0.2),
+  SIGNUP("signup", "POST", "/users", false, 5, 0.05);
+
+  private final String key;
+  private final String method;
+  private final String path;
+  private final boolean keyedByPrincipal;
+  private final long capacity;
+  private final double refillPerSecond;
+
+  public static RateLimitedEndpoint of(HttpServletRequest request) {
+    for (RateLimitedEndpoint endpoint : values()) {
+      if (endpoint.method.equals(request.getMethod()) && endpoint.path.equals(request.getRequestURI()))
+        return endpoint;
+    }
+
+    return null;
+  }
+}
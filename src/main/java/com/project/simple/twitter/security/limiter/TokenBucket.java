@@ -0,0 +1,57 @@
+package com.project.simple.twitter.security.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.Getter;
+
+public class TokenBucket {
+
+  @Getter
+  private final long capacity;
+  private final double tokensPerNano;
+  private final AtomicReference<State> state;
+
+  public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+    if (capacity < 1 || refillPerSecond <= 0)
+      throw new IllegalArgumentException("Capacity and refill rate must be positive");
+
+    this.capacity = capacity;
+    this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.state = new AtomicReference<>(new State(capacity, nowNanos));
+  }
+
+  public boolean tryConsume(long nowNanos) {
+    while (true) {
+      State current = state.get();
+      double available = availableTokens(current, nowNanos);
+
+      if (available < 1)
+        return false;
+
+      State next = new State(available - 1, Math.max(nowNanos, current.updatedAt()));
+      if (state.compareAndSet(current, next))
+        return true;
+    }
+  }
+
+  public long nanosUntilAvailable(long nowNanos) {
+    double missing = 1 - availableTokens(state.get(), nowNanos);
+
+    return missing <= 0 ? 0 : (long) Math.ceil(missing / tokensPerNano);
+  }
+
+  // A full bucket carries no state a freshly created one would not have, so it can be dropped safely
+  public boolean isFull(long nowNanos) {
+    return availableTokens(state.get(), nowNanos) >= capacity;
+  }
+
+  private double availableTokens(State current, long nowNanos) {
+    long elapsed = Math.max(0, nowNanos - current.updatedAt());
+
+    return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+  }
+
+  private record State(double tokens, long updatedAt) {
+  }
+}
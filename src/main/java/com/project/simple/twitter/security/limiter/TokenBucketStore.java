@@ -0,0 +1,119 @@
+package com.project.simple.twitter.security.limiter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class TokenBucketStore {
+
+  private static final String PROPERTY_PREFIX = "twitter.rate-limit.";
+
+  // Oldest buckets looked at for one to replace when the store is full
+  static final int EVICTION_PROBES = 8;
+
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+  private final Map<RateLimitedEndpoint, Limit> limits = new EnumMap<>(RateLimitedEndpoint.class);
+  private final Map<RateLimitedEndpoint, TokenBucket> overflowBuckets = new EnumMap<>(RateLimitedEndpoint.class);
+  private final int maxBuckets;
+  private final LongSupplier clock;
+
+  @Autowired
+  public TokenBucketStore(Environment environment, MeterRegistry meterRegistry,
+      @Value("${twitter.rate-limit.max-buckets:100000}") int maxBuckets) {
+    this(environment, meterRegistry, maxBuckets, System::nanoTime);
+  }
+
+  public TokenBucketStore(Environment environment, MeterRegistry meterRegistry, int maxBuckets, LongSupplier clock) {
+    this.maxBuckets = maxBuckets;
+    this.clock = clock;
+
+    for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+      String prefix = PROPERTY_PREFIX + endpoint.getKey() + ".";
+      Limit limit = new Limit(
+          environment.getProperty(prefix + "capacity", Long.class, endpoint.getCapacity()),
+          environment.getProperty(prefix + "refill-per-second", Double.class, endpoint.getRefillPerSecond()));
+
+      limits.put(endpoint, limit);
+      overflowBuckets.put(endpoint, limit.newBucket(clock.getAsLong()));
+    }
+
+    Gauge.builder("twitter.rate_limit.buckets", buckets, Map::size)
+        .description("Token buckets currently held in memory")
+        .register(meterRegistry);
+  }
+
+  public TokenBucket getBucket(RateLimitedEndpoint endpoint, String clientKey) {
+    String key = endpoint.getKey() + ':' + clientKey;
+
+    TokenBucket bucket = buckets.get(key);
+    if (bucket != null)
+      return bucket;
+
+    // Full: a refilled bucket among the oldest few makes room, since it is no different from a new one. Only when
+    // all of those are in use do new clients share a single bucket, so clients rotating addresses cannot make
+    // every request scan the store, and they lock others out only while they keep every bucket they looked at busy
+    if (buckets.size() >= maxBuckets && !evictOldestFullBucket(clock.getAsLong()))
+      return overflowBuckets.get(endpoint);
+
+    return buckets.computeIfAbsent(key, ignored -> {
+      insertionOrder.add(key);
+      return limits.get(endpoint).newBucket(clock.getAsLong());
+    });
+  }
+
+  public long now() {
+    return clock.getAsLong();
+  }
+
+  public int size() {
+    return buckets.size();
+  }
+
+  @Scheduled(fixedDelayString = "${twitter.rate-limit.eviction-interval:PT1M}")
+  public void evictFullBuckets() {
+    long now = clock.getAsLong();
+
+    buckets.values().removeIf(bucket -> bucket.isFull(now));
+    insertionOrder.removeIf(key -> !buckets.containsKey(key));
+  }
+
+  // Buckets still in use go to the back of the line, so the next probes look at others
+  private boolean evictOldestFullBucket(long now) {
+    for (int probe = 0; probe < EVICTION_PROBES; probe++) {
+      String oldest = insertionOrder.poll();
+      if (oldest == null)
+        return false;
+
+      TokenBucket bucket = buckets.get(oldest);
+      if (bucket == null)
+        continue;
+      if (bucket.isFull(now) && buckets.remove(oldest, bucket))
+        return true;
+
+      insertionOrder.add(oldest);
+    }
+
+    return false;
+  }
+
+  private record Limit(long capacity, double refillPerSecond) {
+
+    TokenBucket newBucket(long nowNanos) {
+      return new TokenBucket(capacity, refillPerSecond, nowNanos);
+    }
+  }
+}
@@ -0,0 +1,295 @@
+package com.project.simple.twitter.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.project.simple.twitter.domain.Follow;
+import com.project.simple.twitter.domain.FollowSuggestion;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.dto.follow.FollowPageDto;
+import com.project.simple.twitter.dto.follow.FollowStatusDto;
+import com.project.simple.twitter.dto.follow.FollowSuggestionDto;
+import com.project.simple.twitter.dto.follow.FollowSuggestionsDto;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.UserFollowedEvent;
+import com.project.simple.twitter.event.UserUnfollowedEvent;
+import com.project.simple.twitter.exception.InvalidArgumentException;
+import com.project.simple.twitter.exception.InvalidCredentialsException;
+import com.project.simple.twitter.exception.NotFoundException;
+import com.project.simple.twitter.graph.FollowGraph;
+import com.project.simple.twitter.profiling.Profiled;
+import com.project.simple.twitter.repository.FollowRepository;
+import com.project.simple.twitter.repository.FollowSuggestionRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+
+// The follows table is the source of truth and FollowGraph answers every read. The graph is loaded when the
+// application starts and kept in step by follow and unfollow. Follows made on other instances are read from the
+// table every refresh-interval, and the graph is loaded again every reload-interval, which also brings in the
+// unfollows and account deletions of other instances.
+@Profiled
+@Service
+@Log4j2
+public class FollowService {
+
+  public static final int DEFAULT_PAGE_SIZE = 100;
+  public static final int MAX_PAGE_SIZE = 1000;
+  public static final int LOAD_CHUNK_SIZE = 10_000;
+
+  private final FollowRepository followRepository;
+  private final FollowSuggestionRepository followSuggestionRepository;
+  private final UserService userService;
+  private final FollowGraph followGraph;
+  private final DomainEventBus domainEventBus;
+  private final Duration refreshOverlap;
+
+  // Follows created from this time on have not been read from the table yet
+  private volatile LocalDateTime refreshedUntil = LocalDateTime.now();
+
+  @Setter
+  private UserDetails userDetails;
+
+  public FollowService(FollowRepository followRepository, FollowSuggestionRepository followSuggestionRepository,
+      UserService userService, FollowGraph followGraph, DomainEventBus domainEventBus,
+      @Value("${twitter.follow-graph.refresh-overlap:PT1M}") Duration refreshOverlap) {
+    this.followRepository = followRepository;
+    this.followSuggestionRepository = followSuggestionRepository;
+    this.userService = userService;
+    this.followGraph = followGraph;
+    this.domainEventBus = domainEventBus;
+    this.refreshOverlap = refreshOverlap;
+  }
+
+  @PostConstruct
+  public void loadGraph() {
+    long startedAt = System.nanoTime();
+    LocalDateTime loadedAt = LocalDateTime.now();
+
+    followGraph.load(this::readFollows);
+    refreshedUntil = loadedAt;
+
+    log.info("Loaded {} follows into the follow graph in {} ms, using {} KiB", followGraph.countEdges(),
+        (System.nanoTime() - startedAt) / 1_000_000, followGraph.memoryBytes() / 1024);
+  }
+
+  private void readFollows(BiConsumer<UUID, UUID> sink) {
+    List<Follow> chunk = followRepository.findFirstChunk(Limit.of(LOAD_CHUNK_SIZE));
+
+    while (!chunk.isEmpty()) {
+      chunk.forEach(follow -> sink.accept(follow.getFollowerId(), follow.getFolloweeId()));
+
+      if (chunk.size() < LOAD_CHUNK_SIZE)
+        break;
+
+      Follow last = chunk.get(chunk.size() - 1);
+      chunk = followRepository.findChunkAfter(last.getFollowerId(), last.getFolloweeId(), Limit.of(LOAD_CHUNK_SIZE));
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${twitter.follow-graph.reload-interval:PT1H}",
+      initialDelayString = "${twitter.follow-graph.reload-interval:PT1H}")
+  public void reloadGraph() {
+    try {
+      loadGraph();
+    } catch (RuntimeException exception) {
+      log.error("Reloading the follow graph failed", exception);
+    }
+  }
+
+  // Reads the follows created since the last refresh, going back refreshOverlap further for the ones whose
+  // transaction committed late or whose instance's clock is behind. Following again changes nothing, so reading a
+  // follow twice is harmless.
+  @Scheduled(fixedDelayString = "${twitter.follow-graph.refresh-interval:PT10S}",
+      initialDelayString = "${twitter.follow-graph.refresh-interval:PT10S}")
+  public void refreshGraph() {
+    try {
+      LocalDateTime startedAt = LocalDateTime.now();
+      int added = 0;
+
+      List<Follow> chunk = followRepository.findFirstCreatedChunk(refreshedUntil.minus(refreshOverlap),
+          Limit.of(LOAD_CHUNK_SIZE));
+      while (!chunk.isEmpty()) {
+        for (Follow follow : chunk) {
+          if (followGraph.follow(follow.getFollowerId(), follow.getFolloweeId()))
+            added++;
+        }
+
+        if (chunk.size() < LOAD_CHUNK_SIZE)
+          break;
+
+        Follow last = chunk.get(chunk.size() - 1);
+        chunk = followRepository.findCreatedChunkAfter(last.getCreatedAt(), last.getFollowerId(),
+            last.getFolloweeId(), Limit.of(LOAD_CHUNK_SIZE));
+      }
+
+      refreshedUntil = startedAt;
+      if (added > 0)
+        log.debug("Added {} follows made on other instances to the follow graph", added);
+    } catch (RuntimeException exception) {
+      log.error("Refreshing the follow graph failed", exception);
+    }
+  }
+
+  private User getAuthenticatedUser() throws InvalidCredentialsException {
+    return userService.getAuthenticatedUser(userDetails);
+  }
+
+  // Following someone already followed changes nothing. The primary key decides whether the follow is new, since
+  // the graph may not have seen the follows and unfollows made on other instances yet.
+  public void follow(String username) throws NotFoundException, InvalidArgumentException {
+    User follower = getAuthenticatedUser();
+    User followee = userService.findByUsername(username);
+
+    if (follower.getId().equals(followee.getId()))
+      throw new InvalidArgumentException("Users cannot follow themselves");
+
+    try {
+      followRepository.save(Follow.createNew(follower, followee));
+    } catch (DataIntegrityViolationException exception) {
+      // Already followed, by an earlier or a concurrent request on this or another instance
+      followGraph.follow(follower.getId(), followee.getId());
+      return;
+    }
+
+    followGraph.follow(follower.getId(), followee.getId());
+    domainEventBus.publish(new UserFollowedEvent(follower.getId(), followee.getId()));
+  }
+
+  public void unfollow(String username) throws NotFoundException {
+    User follower = getAuthenticatedUser();
+    User followee = userService.findByUsername(username);
+
+    int deleted = followRepository.deleteFollow(follower.getId(), followee.getId());
+
+    followGraph.unfollow(follower.getId(), followee.getId());
+
+    if (deleted > 0)
+      domainEventBus.publish(new UserUnfollowedEvent(follower.getId(), followee.getId()));
+  }
+
+  public FollowStatusDto getFollowStatus(String username) throws NotFoundException {
+    User user = getAuthenticatedUser();
+    User other = userService.findByUsername(username);
+
+    return FollowStatusDto.builder()
+        .following(followGraph.isFollowing(user.getId(), other.getId()))
+        .followedBy(followGraph.isFollowing(other.getId(), user.getId()))
+        .followerCount(followGraph.countFollowers(other.getId()))
+        .followingCount(followGraph.countFollowing(other.getId()))
+        .build();
+  }
+
+  public FollowPageDto getFollowers(String username, Integer offset, Integer limit)
+      throws NotFoundException, InvalidArgumentException {
+    User user = userService.findByUsername(username);
+
+    return page(followGraph.countFollowers(user.getId()), offset, limit,
+        (start, size) -> followGraph.getFollowers(user.getId(), start, size));
+  }
+
+  public FollowPageDto getFollowing(String username, Integer offset, Integer limit)
+      throws NotFoundException, InvalidArgumentException {
+    User user = userService.findByUsername(username);
+
+    return page(followGraph.countFollowing(user.getId()), offset, limit,
+        (start, size) -> followGraph.getFollowing(user.getId(), start, size));
+  }
+
+  public FollowPageDto getMutuals(String username, Integer offset, Integer limit)
+      throws NotFoundException, InvalidArgumentException {
+    User user = userService.findByUsername(username);
+
+    // Mutuals are not counted up front; the page is read one past its size to tell whether another follows
+    int start = validateOffset(offset);
+    int size = validateLimit(limit);
+    List<UUID> ids = followGraph.getMutuals(user.getId(), start, size + 1);
+    boolean hasMore = ids.size() > size;
+    List<String> usernames = userService.findUsernames(hasMore ? ids.subList(0, size) : ids);
+
+    return FollowPageDto.builder()
+        .usernames(usernames)
+        .nextOffset(hasMore ? start + size : null)
+        .build();
+  }
+
+  // Computed by FollowSuggestionJob; users followed since the last run are left out
+  public FollowSuggestionsDto getSuggestions() {
+    User user = getAuthenticatedUser();
+    FollowSuggestion stored = followSuggestionRepository.findById(user.getId()).orElse(null);
+
+    if (stored == null)
+      return FollowSuggestionsDto.builder().suggestions(List.of()).build();
+
+    List<UUID> ids = new ArrayList<>(stored.countSuggestions());
+    for (int position = 0; position < stored.countSuggestions(); position++)
+      ids.add(stored.getSuggestedUserId(position));
+
+    Map<UUID, String> usernames = userService.findUsernamesById(ids);
+    List<FollowSuggestionDto> suggestions = new ArrayList<>(ids.size());
+
+    for (int position = 0; position < ids.size(); position++) {
+      UUID id = ids.get(position);
+      if (!usernames.containsKey(id) || followGraph.isFollowing(user.getId(), id))
+        continue;
+
+      suggestions.add(FollowSuggestionDto.builder()
+          .username(usernames.get(id))
+          .score(stored.getScore(position))
+          .build());
+    }
+
+    return FollowSuggestionsDto.builder()
+        .suggestions(suggestions)
+        .computedAt(stored.getComputedAt())
+        .build();
+  }
+
+  private FollowPageDto page(int total, Integer offset, Integer limit, PageReader reader) {
+    int start = validateOffset(offset);
+    int size = validateLimit(limit);
+
+    List<String> usernames = userService.findUsernames(reader.read(start, size));
+
+    return FollowPageDto.builder()
+        .usernames(usernames)
+        .total(total)
+        .nextOffset(start + size < total ? start + size : null)
+        .build();
+  }
+
+  private static int validateOffset(Integer offset) throws InvalidArgumentException {
+    if (offset == null)
+      return 0;
+    if (offset < 0)
+      throw new InvalidArgumentException("Offset cannot be negative");
+    return offset;
+  }
+
+  private static int validateLimit(Integer limit) throws InvalidArgumentException {
+    if (limit == null)
+      return DEFAULT_PAGE_SIZE;
+    if (limit < 1 || limit > MAX_PAGE_SIZE)
+      throw new InvalidArgumentException(
+          String.format("Limit must be between 1 and %d", MAX_PAGE_SIZE));
+    return limit;
+  }
+
+  @FunctionalInterface
+  private interface PageReader {
+    List<UUID> read(int offset, int limit);
+  }
+}
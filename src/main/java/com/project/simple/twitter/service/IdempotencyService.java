@@ -0,0 +1,183 @@
+package com.project.simple.twitter.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.simple.twitter.exception.ConflictException;
+import com.project.simple.twitter.exception.InvalidArgumentException;
+import com.project.simple.twitter.exception.UnprocessableEntityException;
+import com.project.simple.twitter.service.idempotency.IdempotencyStore;
+import com.project.simple.twitter.service.idempotency.IdempotentResponse;
+
+import io.micrometer.common.util.StringUtils;
+
+@Service
+public class IdempotencyService {
+
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+  public static final int MAX_KEY_LENGTH = 100;
+
+  private static final Duration REMOTE_POLL_INTERVAL = Duration.ofMillis(50);
+
+  private final IdempotencyStore idempotencyStore;
+  private final ObjectMapper objectMapper;
+  private final Duration ttl;
+  private final Duration waitTimeout;
+
+  // Requests executing on this node, so concurrent duplicates wait on the same result
+  private final Map<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+  public IdempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+      @Value("${twitter.idempotency.ttl:PT24H}") Duration ttl,
+      @Value("${twitter.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+    this.idempotencyStore = idempotencyStore;
+    this.objectMapper = objectMapper;
+    this.ttl = ttl;
+    this.waitTimeout = waitTimeout;
+  }
+
+  // The request is fingerprinted with the key, so reusing the key for a different request is refused instead of
+  // replaying a response that belongs to another one
+  public ResponseEntity<Void> execute(String scope, String idempotencyKey, Object request,
+      Supplier<HttpStatus> action) throws InvalidArgumentException, ConflictException, UnprocessableEntityException {
+    if (StringUtils.isBlank(idempotencyKey))
+      return new ResponseEntity<>(action.get());
+
+    if (idempotencyKey.length() > MAX_KEY_LENGTH)
+      throw new InvalidArgumentException(
+          String.format("Idempotency-Key cannot be longer than %d characters", MAX_KEY_LENGTH));
+
+    String key = scope + ":" + idempotencyKey;
+    String requestHash = hash(key, request);
+
+    CompletableFuture<IdempotentResponse> result = new CompletableFuture<>();
+    CompletableFuture<IdempotentResponse> runningResult = inFlight.putIfAbsent(key, result);
+    if (runningResult != null)
+      return replay(await(runningResult), requestHash);
+
+    try {
+      Outcome outcome = executeOnce(key, requestHash, action);
+      result.complete(outcome.response());
+
+      if (outcome.replayed())
+        return replay(outcome.response(), requestHash);
+
+      return new ResponseEntity<>(HttpStatus.valueOf(outcome.response().getStatus()));
+    } catch (RuntimeException exception) {
+      result.completeExceptionally(exception);
+      throw exception;
+    } finally {
+      inFlight.remove(key, result);
+    }
+  }
+
+  private Outcome executeOnce(String key, String requestHash, Supplier<HttpStatus> action) {
+    Optional<IdempotentResponse> storedResponse = idempotencyStore.findCompleted(key);
+    if (storedResponse.isPresent())
+      return new Outcome(storedResponse.get(), true);
+
+    // Another node holds the key
+    if (!idempotencyStore.tryBegin(key, waitTimeout))
+      return new Outcome(awaitOtherNode(key), true);
+
+    HttpStatus status;
+    try {
+      status = action.get();
+    } catch (RuntimeException exception) {
+      idempotencyStore.release(key);
+      throw exception;
+    }
+
+    IdempotentResponse response = new IdempotentResponse(status.value(), requestHash);
+    idempotencyStore.complete(key, response, ttl);
+
+    return new Outcome(response, false);
+  }
+
+  private IdempotentResponse await(CompletableFuture<IdempotentResponse> runningResult) {
+    try {
+      return runningResult.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause)
+        throw cause;
+      throw new IllegalStateException(exception.getCause());
+    } catch (TimeoutException exception) {
+      throw inProgressConflict();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw inProgressConflict();
+    }
+  }
+
+  private IdempotentResponse awaitOtherNode(String key) {
+    long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+    while (System.nanoTime() < deadline) {
+      Optional<IdempotentResponse> storedResponse = idempotencyStore.findCompleted(key);
+      if (storedResponse.isPresent())
+        return storedResponse.get();
+
+      try {
+        Thread.sleep(REMOTE_POLL_INTERVAL.toMillis());
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    throw inProgressConflict();
+  }
+
+  private ResponseEntity<Void> replay(IdempotentResponse response, String requestHash) {
+    // Responses stored before requests were fingerprinted have no hash and are replayed as they are
+    if (response.getRequestHash() != null && !response.getRequestHash().equals(requestHash))
+      throw new UnprocessableEntityException("Idempotency-Key was already used for a different request");
+
+    return ResponseEntity.status(response.getStatus())
+        .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+        .build();
+  }
+
+  // The key salts the hash, so the same body under another key does not give away that it was sent before. The
+  // hash is stored, so secrets such as passwords must be write-only properties, which the JSON leaves out.
+  private String hash(String key, Object request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(key.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(objectMapper.writeValueAsBytes(request));
+
+      return Base64.getEncoder().encodeToString(digest.digest());
+    } catch (NoSuchAlgorithmException | JsonProcessingException exception) {
+      throw new IllegalStateException("Could not fingerprint the request", exception);
+    }
+  }
+
+  private ConflictException inProgressConflict() {
+    return new ConflictException("A request with this Idempotency-Key is still being processed");
+  }
+
+  private record Outcome(IdempotentResponse response, boolean replayed) {
+  }
+}
@@ -0,0 +1,107 @@
+package com.project.simple.twitter.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.project.simple.twitter.dto.profiling.RecordingDto;
+import com.project.simple.twitter.exception.ConflictException;
+import com.project.simple.twitter.exception.InvalidArgumentException;
+import com.project.simple.twitter.exception.NotFoundException;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+// Only one recording runs at a time; it stops by itself once its duration elapses and is kept until downloaded
+@Service
+public class ProfilingService {
+
+  private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+  private final Duration maxDuration;
+  private final DataSize maxSize;
+
+  private Recording recording;
+
+  public ProfilingService(@Value("${twitter.profiling.max-duration:PT5M}") Duration maxDuration,
+      @Value("${twitter.profiling.max-size:64MB}") DataSize maxSize) {
+    this.maxDuration = maxDuration;
+    this.maxSize = maxSize;
+  }
+
+  public synchronized RecordingDto start(Duration duration, String settings)
+      throws ConflictException, InvalidArgumentException {
+    if (recording != null)
+      throw new ConflictException("A recording is already in progress, stop it before starting a new one");
+
+    Duration recordingDuration = duration != null ? duration : maxDuration;
+    if (recordingDuration.isNegative() || recordingDuration.isZero() || recordingDuration.compareTo(maxDuration) > 0)
+      throw new InvalidArgumentException(
+          String.format("Duration must be positive and at most %s seconds", maxDuration.toSeconds()));
+
+    String recordingSettings = settings != null ? settings : "default";
+    if (!SETTINGS.contains(recordingSettings))
+      throw new InvalidArgumentException("Settings must be default or profile");
+
+    Recording newRecording = new Recording(getConfiguration(recordingSettings));
+    newRecording.setName("simple-twitter-" + System.currentTimeMillis());
+    newRecording.setDuration(recordingDuration);
+    newRecording.setMaxSize(maxSize.toBytes());
+    newRecording.setToDisk(true);
+    newRecording.start();
+    recording = newRecording;
+
+    return RecordingDto.builder()
+        .name(newRecording.getName())
+        .settings(recordingSettings)
+        .startedAt(newRecording.getStartTime())
+        .maxDuration(recordingDuration)
+        .maxSizeBytes(maxSize.toBytes())
+        .build();
+  }
+
+  // The caller owns the returned file and deletes it once it has been sent
+  public synchronized Path stop() throws NotFoundException {
+    if (recording == null)
+      throw new NotFoundException("There is no recording in progress");
+
+    try {
+      if (recording.getState() == RecordingState.RUNNING)
+        recording.stop();
+
+      Path file = Files.createTempFile(recording.getName(), ".jfr");
+      recording.dump(file);
+
+      return file;
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    } finally {
+      recording.close();
+      recording = null;
+    }
+  }
+
+  @PreDestroy
+  public synchronized void close() {
+    if (recording != null)
+      recording.close();
+  }
+
+  private Configuration getConfiguration(String name) {
+    try {
+      return Configuration.getConfiguration(name);
+    } catch (IOException | ParseException exception) {
+      throw new IllegalStateException("JFR settings " + name + " could not be read", exception);
+    }
+  }
+}
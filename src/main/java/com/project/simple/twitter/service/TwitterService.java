@@ -1,35 +1,98 @@
 package com.project.simple.twitter.service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.project.simple.twitter.cache.ProfileTimelineCache;
+import com.project.simple.twitter.cache.SingleFlightCache;
+import com.project.simple.twitter.domain.ScheduledTwitter;
 import com.project.simple.twitter.domain.Twitter;
 import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.dto.twitter.ScheduleTwitterDto;
+import com.project.simple.twitter.dto.twitter.ScheduledTwitterDto;
+import com.project.simple.twitter.dto.twitter.TwitterBatchDto;
 import com.project.simple.twitter.dto.twitter.TwitterDto;
+import com.project.simple.twitter.dto.twitter.TwitterPageDto;
+import com.project.simple.twitter.dto.twitter.TwitterViewsDto;
 import com.project.simple.twitter.dto.twitter.UpdateTwitterDto;
 import com.project.simple.twitter.dto.twitter.CreateTwitterDto;
+import com.project.simple.twitter.duplicate.DuplicateTwitterDetector;
+import com.project.simple.twitter.enums.twitter.TwitterField;
 import com.project.simple.twitter.enums.twitter.TwitterPermission;
 import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.TwitterCreatedEvent;
+import com.project.simple.twitter.event.TwitterDeletedEvent;
+import com.project.simple.twitter.event.TwitterUpdatedEvent;
+import com.project.simple.twitter.event.TwitterViewedEvent;
+import com.project.simple.twitter.exception.ConflictException;
 import com.project.simple.twitter.exception.InvalidArgumentException;
 import com.project.simple.twitter.exception.InvalidCredentialsException;
 import com.project.simple.twitter.exception.NotFoundException;
 import com.project.simple.twitter.exception.PermissionDeniedException;
+import com.project.simple.twitter.impression.ImpressionTracker;
+import com.project.simple.twitter.moderation.ContentModerator;
+import com.project.simple.twitter.profiling.Profiled;
+import com.project.simple.twitter.repository.ScheduledTwitterRepository;
 import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.schedule.TwitterScheduler;
 
 import io.micrometer.common.util.StringUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+@Profiled
 @Setter
 @RequiredArgsConstructor
 @Service
 public class TwitterService {
 
+  public static final int MAX_BATCH_SIZE = 200;
+
+  public static final int PROFILE_PAGE_SIZE = 20;
+
+  public static final int STREAM_CHUNK_SIZE = 100;
+
+  // Ids and create_at are assigned in nearly the same order; the margin keeps the create_at bound of the keyset
+  // queries from cutting off rows whose transaction stamped them a little before committing
+  public static final Duration CREATED_AT_SKEW = Duration.ofDays(1);
+
+  public static final Duration HOT_READ_TTL = Duration.ofMillis(100);
+
+  public static final Duration MAX_SCHEDULE_AHEAD = Duration.ofDays(365);
+
+  public static final Duration MAX_TIME_TO_LIVE = Duration.ofDays(30);
+
   private final TwitterRepository twitterRepository;
   private final UserService userService;
+  private final ProfileTimelineCache profileTimelineCache;
+  private final DomainEventBus domainEventBus;
+  private final ImpressionTracker impressionTracker;
+  private final ScheduledTwitterRepository scheduledTwitterRepository;
+  private final TwitterScheduler twitterScheduler;
+  private final DuplicateTwitterDetector duplicateDetector;
+  private final ContentModerator contentModerator;
+
+  private final SingleFlightCache<Long, Optional<Twitter>> twitterReads = new SingleFlightCache<>(HOT_READ_TTL,
+      10_000);
 
   private UserDetails userDetails;
 
@@ -46,50 +109,278 @@ public class TwitterService {
       throw new PermissionDeniedException("User does not have permission to modify this twitter");
   }
 
-  private void validateCreateDto(CreateTwitterDto dto) {
+  private void validateCreateDto(CreateTwitterDto dto) throws InvalidArgumentException {
     if (dto == null)
       throw new IllegalArgumentException("CreateTwitter object cannot be null");
     if (StringUtils.isEmpty(dto.getContent()))
       throw new IllegalArgumentException("Content cannot be null or empty");
+    if (dto.getExpiresIn() != null && (dto.getExpiresIn().isNegative() || dto.getExpiresIn().isZero()
+        || dto.getExpiresIn().compareTo(MAX_TIME_TO_LIVE) > 0))
+      throw new InvalidArgumentException(
+          String.format("Time to live must be positive and at most %d days", MAX_TIME_TO_LIVE.toDays()));
   }
 
-  public Twitter findById(Long id) throws NotFoundException {
-    return twitterRepository.findById(id)
+  private void validateScheduleDto(ScheduleTwitterDto dto) throws InvalidArgumentException {
+    if (dto == null)
+      throw new IllegalArgumentException("ScheduleTwitter object cannot be null");
+    if (StringUtils.isEmpty(dto.getContent()))
+      throw new IllegalArgumentException("Content cannot be null or empty");
+    if (dto.getPublishAt() == null)
+      throw new InvalidArgumentException("Publish time is required");
+
+    LocalDateTime now = LocalDateTime.now();
+
+    if (!dto.getPublishAt().isAfter(now))
+      throw new InvalidArgumentException("Publish time must be in the future");
+    if (dto.getPublishAt().isAfter(now.plus(MAX_SCHEDULE_AHEAD)))
+      throw new InvalidArgumentException(
+          String.format("Twitters can be scheduled at most %d days ahead", MAX_SCHEDULE_AHEAD.toDays()));
+  }
+
+  // Expired twitters and those of deleted accounts are not found, though TwitterExpiryReaper and UserDeletionJob
+  // may not have deleted them yet
+  private Twitter findReadable(Optional<Twitter> twitter) throws NotFoundException {
+    return twitter
+        .filter(found -> !found.isExpiredAt(LocalDateTime.now()))
+        .filter(found -> found.getAuthor() == null || !found.getAuthor().isDeleted())
         .orElseThrow(() -> new NotFoundException("Twitter not found"));
   }
 
-  public void create(CreateTwitterDto dto)
-      throws NotFoundException, InvalidCredentialsException, IllegalArgumentException {
+  public Twitter findById(Long id) throws NotFoundException {
+    return findReadable(twitterRepository.findById(id));
+  }
+
+  public void create(CreateTwitterDto dto) throws NotFoundException, InvalidArgumentException,
+      InvalidCredentialsException, ConflictException, IllegalArgumentException {
     validateCreateDto(dto);
+    contentModerator.check(dto.getContent());
 
     User user = getAuthenticatedUser();
+    OptionalLong fingerprint = duplicateDetector.check(user.getId(), dto.getContent());
 
     Twitter twitter = Twitter.createNew(dto.getContent(), user);
+    if (dto.getExpiresIn() != null)
+      twitter.setExpiresAt(twitter.getCreatedAt().plus(dto.getExpiresIn()));
 
     twitterRepository.save(twitter);
+    fingerprint.ifPresent(value -> duplicateDetector.record(user.getId(), value));
+
+    profileTimelineCache.evict(user.getUsername());
+    domainEventBus.publish(new TwitterCreatedEvent(twitter.getId(), user.getId(), user.getUsername()));
+  }
+
+  // Published by TwitterScheduler once the publish time is reached
+  public ScheduledTwitterDto schedule(ScheduleTwitterDto dto)
+      throws InvalidArgumentException, InvalidCredentialsException, IllegalArgumentException {
+    validateScheduleDto(dto);
+    contentModerator.check(dto.getContent());
+
+    TwitterVisibility visibility = dto.getVisibilityValue() == null
+        ? TwitterVisibility.PUBLIC
+        : TwitterVisibility.parse(dto.getVisibilityValue());
+
+    User user = getAuthenticatedUser();
+
+    ScheduledTwitter scheduled = scheduledTwitterRepository.save(
+        ScheduledTwitter.createNew(dto.getContent(), user, visibility, dto.getPublishAt()));
+
+    twitterScheduler.add(scheduled.getId(), scheduled.getPublishAt());
+
+    return ScheduledTwitterDto.parse(scheduled);
+  }
+
+  public List<ScheduledTwitterDto> getScheduledTwitters() throws InvalidCredentialsException {
+    User user = getAuthenticatedUser();
+
+    return scheduledTwitterRepository.findAllByAuthorId(user.getId())
+        .stream()
+        .map(ScheduledTwitterDto::parse)
+        .toList();
+  }
+
+  public void cancelScheduled(Long id)
+      throws NotFoundException, PermissionDeniedException, InvalidCredentialsException {
+    User user = getAuthenticatedUser();
+
+    ScheduledTwitter foundScheduled = scheduledTwitterRepository.findById(id)
+        .orElseThrow(() -> new NotFoundException("Scheduled twitter not found"));
+
+    if (!foundScheduled.isUserOwner(user))
+      throw new PermissionDeniedException("User does not have permission to modify this twitter");
+
+    // Nothing is deleted when the twitter was published in the meantime
+    if (scheduledTwitterRepository.deletePending(id) == 0)
+      throw new NotFoundException("Scheduled twitter not found");
+
+    twitterScheduler.cancel(id);
   }
 
   public List<TwitterDto> getUserTwitters() throws InvalidCredentialsException {
     User user = getAuthenticatedUser();
 
-    List<Twitter> twitters = twitterRepository.findAllByAuthorId(user.getId());
+    List<Twitter> twitters = twitterRepository.findAllByAuthorId(user.getId(), LocalDateTime.now());
 
     return twitters.stream()
         .map(TwitterDto::parse)
         .toList();
   }
 
+  public List<TwitterDto> getUserTwitters(Set<TwitterField> fields) throws InvalidCredentialsException {
+    if (fields.containsAll(TwitterField.all()))
+      return getUserTwitters();
+
+    User user = getAuthenticatedUser();
+
+    return twitterRepository.findProjectedByAuthorId(user.getId(), LocalDateTime.now(), fields);
+  }
+
+  // Each chunk is fetched in its own short read, only when the previous one has been consumed, so a slow
+  // client holds neither a database connection nor more than one chunk of twitters in memory
+  public Iterator<List<TwitterDto>> streamUserTwitters() throws InvalidCredentialsException {
+    User user = getAuthenticatedUser();
+
+    return new Iterator<>() {
+
+      private List<Twitter> chunk;
+      private long beforeId = Long.MAX_VALUE;
+      private LocalDateTime createdBefore = LocalDateTime.now().plus(CREATED_AT_SKEW);
+      private boolean exhausted;
+
+      @Override
+      public boolean hasNext() {
+        if (chunk == null && !exhausted) {
+          chunk = twitterRepository.findChunkByAuthorId(user.getId(), beforeId, createdBefore,
+              LocalDateTime.now(), Limit.of(STREAM_CHUNK_SIZE));
+          exhausted = chunk.size() < STREAM_CHUNK_SIZE;
+
+          if (chunk.isEmpty())
+            chunk = null;
+        }
+
+        return chunk != null;
+      }
+
+      @Override
+      public List<TwitterDto> next() {
+        if (!hasNext())
+          throw new NoSuchElementException();
+
+        List<Twitter> current = chunk;
+        chunk = null;
+        Twitter last = current.get(current.size() - 1);
+        beforeId = last.getId();
+        createdBefore = last.getCreatedAt().plus(CREATED_AT_SKEW);
+
+        return current.stream()
+            .map(TwitterDto::parse)
+            .toList();
+      }
+    };
+  }
+
   public TwitterDto getSingleTwitter(Long id)
       throws NotFoundException, PermissionDeniedException, InvalidCredentialsException {
     User user = getAuthenticatedUser();
 
-    Twitter foundTwitter = findById(id);
+    Twitter foundTwitter = findReadable(twitterReads.get(id, twitterRepository::findById));
 
     validatePermission(foundTwitter, user, TwitterPermission.VIEW);
 
+    // Views are approximate, so a full event buffer drops this one rather than blocking the read
+    domainEventBus.tryPublish(new TwitterViewedEvent(foundTwitter.getId(), foundTwitter.getAuthor().getId(),
+        foundTwitter.getAuthor().getUsername(), user.getId()));
+
     return TwitterDto.parse(foundTwitter);
   }
 
+  public TwitterViewsDto getViews(Long id)
+      throws NotFoundException, PermissionDeniedException, InvalidCredentialsException {
+    User user = getAuthenticatedUser();
+
+    Twitter foundTwitter = findReadable(twitterReads.get(id, twitterRepository::findById));
+
+    validatePermission(foundTwitter, user, TwitterPermission.VIEW);
+
+    LocalDate today = LocalDate.now();
+
+    return TwitterViewsDto.builder()
+        .id(foundTwitter.getId())
+        .uniqueViewersDay(impressionTracker.countViewers(foundTwitter.getId(), today, today))
+        .uniqueViewersWeek(impressionTracker.countViewers(foundTwitter.getId(), today.minusDays(6), today))
+        .build();
+  }
+
+  public TwitterBatchDto getTwittersByIds(List<Long> ids)
+      throws InvalidArgumentException, InvalidCredentialsException {
+    return getTwittersByIds(ids, TwitterField.all());
+  }
+
+  public TwitterBatchDto getTwittersByIds(List<Long> ids, Set<TwitterField> fields)
+      throws InvalidArgumentException, InvalidCredentialsException {
+    if (ids == null || ids.isEmpty())
+      throw new InvalidArgumentException("At least one twitter id is required");
+
+    Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+    if (uniqueIds.size() > MAX_BATCH_SIZE)
+      throw new InvalidArgumentException(
+          String.format("A maximum of %d twitter ids can be requested at once", MAX_BATCH_SIZE));
+
+    User user = getAuthenticatedUser();
+
+    LocalDateTime now = LocalDateTime.now();
+    List<TwitterDto> foundTwitters = fields.containsAll(TwitterField.all())
+        ? twitterRepository.findAllVisibleByIdIn(uniqueIds, user.getId(), TwitterVisibility.PUBLIC, now)
+            .stream()
+            .map(TwitterDto::parse)
+            .toList()
+        : twitterRepository.findProjectedVisibleByIdIn(uniqueIds, user.getId(), TwitterVisibility.PUBLIC, now,
+            fields);
+
+    Map<Long, TwitterDto> visibleTwitters = foundTwitters.stream()
+        .collect(Collectors.toMap(TwitterDto::getId, Function.identity()));
+
+    return TwitterBatchDto.builder()
+        .twitters(uniqueIds.stream()
+            .filter(visibleTwitters::containsKey)
+            .map(visibleTwitters::get)
+            .toList())
+        .unavailableIds(uniqueIds.stream()
+            .filter(id -> !visibleTwitters.containsKey(id))
+            .toList())
+        .build();
+  }
+
+  // Cached under the stored username, which is the one writes evict whatever the spelling of the path. The cached
+  // page goes stale when its first twitter expires.
+  public byte[] getProfileTwittersFirstPage(String username, MediaType mediaType) throws NotFoundException {
+    User author = userService.findByUsername(username);
+
+    return profileTimelineCache.getOrRender(author.getUsername(), mediaType, () -> getProfileTwitters(author, null),
+        page -> page.getTwitters().stream()
+            .map(TwitterDto::getExpiresAt)
+            .filter(Objects::nonNull)
+            .min(Comparator.naturalOrder())
+            .orElse(null));
+  }
+
+  public TwitterPageDto getProfileTwitters(String username, Long beforeId) throws NotFoundException {
+    return getProfileTwitters(userService.findByUsername(username), beforeId);
+  }
+
+  private TwitterPageDto getProfileTwitters(User author, Long beforeId) {
+    List<Twitter> twitters = twitterRepository.findPageByAuthorId(author.getId(), TwitterVisibility.PUBLIC,
+        beforeId == null ? Long.MAX_VALUE : beforeId, LocalDateTime.now(), Limit.of(PROFILE_PAGE_SIZE));
+
+    Long nextCursor = twitters.size() < PROFILE_PAGE_SIZE ? null : twitters.get(twitters.size() - 1).getId();
+
+    return TwitterPageDto.builder()
+        .twitters(twitters.stream()
+            .map(TwitterDto::parse)
+            .toList())
+        .nextCursor(nextCursor)
+        .build();
+  }
+
   public Twitter update(Long id, UpdateTwitterDto dto)
       throws NotFoundException, InvalidArgumentException {
     if(dto == null)
@@ -101,8 +392,10 @@ public class TwitterService {
 
     validatePermission(foundTwitter, user, TwitterPermission.MODIFY);
 
-    if (StringUtils.isNotBlank(dto.getContent()))
+    if (StringUtils.isNotBlank(dto.getContent())) {
+      contentModerator.check(dto.getContent());
       foundTwitter.setContent(dto.getContent());
+    }
 
     if (dto.getVisibilityValue() != null)
       foundTwitter.setVisibility(TwitterVisibility.parse(dto.getVisibilityValue()));
@@ -112,7 +405,13 @@ public class TwitterService {
 
     foundTwitter.setUpdatedAt(LocalDateTime.now());
 
-    return twitterRepository.save(foundTwitter);
+    Twitter updatedTwitter = twitterRepository.save(foundTwitter);
+
+    twitterReads.invalidate(id);
+    profileTimelineCache.evict(user.getUsername());
+    domainEventBus.publish(new TwitterUpdatedEvent(foundTwitter.getId(), user.getId(), user.getUsername()));
+
+    return updatedTwitter;
   }
 
   public void delete(Long id) throws NotFoundException, PermissionDeniedException, InvalidCredentialsException {
@@ -123,6 +422,10 @@ public class TwitterService {
     validatePermission(foundTwitter, user, TwitterPermission.MODIFY);
 
     twitterRepository.deleteById(foundTwitter.getId());
+
+    twitterReads.invalidate(id);
+    profileTimelineCache.evict(user.getUsername());
+    domainEventBus.publish(new TwitterDeletedEvent(foundTwitter.getId(), user.getId(), user.getUsername()));
   }
 
 }
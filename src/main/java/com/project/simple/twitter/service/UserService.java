@@ -1,18 +1,29 @@
 package com.project.simple.twitter.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.project.simple.twitter.autocomplete.UserAutocomplete;
+import com.project.simple.twitter.cache.ProfileTimelineCache;
+import com.project.simple.twitter.cache.SingleFlightCache;
 import com.project.simple.twitter.domain.CustomUserDetails;
 import com.project.simple.twitter.domain.Role;
 import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.domain.UserDeletion;
 import com.project.simple.twitter.dto.response.GenericResponseDto;
 import com.project.simple.twitter.dto.user.AccessUserDto;
 import com.project.simple.twitter.dto.user.ConfirmUserDto;
@@ -20,11 +31,21 @@ import com.project.simple.twitter.dto.user.CreateUserDto;
 import com.project.simple.twitter.dto.user.LoginUserDto;
 import com.project.simple.twitter.dto.user.UpdateUserDto;
 import com.project.simple.twitter.dto.user.UserDto;
+import com.project.simple.twitter.dto.user.UserMatchDto;
 import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.UserConfirmedEvent;
+import com.project.simple.twitter.event.UserDeletedEvent;
+import com.project.simple.twitter.event.UserUpdatedEvent;
 import com.project.simple.twitter.exception.BadRequestException;
+import com.project.simple.twitter.exception.InvalidArgumentException;
 import com.project.simple.twitter.exception.InvalidCredentialsException;
 import com.project.simple.twitter.exception.NotFoundException;
+import com.project.simple.twitter.graph.FollowGraph;
+import com.project.simple.twitter.profiling.Profiled;
+import com.project.simple.twitter.repository.UserDeletionRepository;
 import com.project.simple.twitter.repository.UserRepository;
+import com.project.simple.twitter.repository.UserRepository.UsernameView;
 import com.project.simple.twitter.security.SecurityConfig;
 
 import io.micrometer.common.util.StringUtils;
@@ -32,15 +53,28 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 
+@Profiled
 @Service
 @RequiredArgsConstructor
 @Setter
 @Log4j2
 public class UserService implements UserDetailsService {
 
+  public static final Duration HOT_READ_TTL = Duration.ofMillis(100);
+  public static final int DEFAULT_AUTOCOMPLETE_SIZE = 10;
+  public static final int MAX_AUTOCOMPLETE_SIZE = 20;
+
   private final UserRepository userRepository;
   private final RoleService roleService;
   private final JwtTokenService jwtTokenService;
+  private final DomainEventBus domainEventBus;
+  private final UserDeletionRepository userDeletionRepository;
+  private final ProfileTimelineCache profileTimelineCache;
+  private final FollowGraph followGraph;
+  private final TransactionTemplate transactionTemplate;
+  private final UserAutocomplete userAutocomplete;
+
+  private final SingleFlightCache<String, Optional<User>> userReads = new SingleFlightCache<>(HOT_READ_TTL, 10_000);
 
   private UserDetails userDetails;
 
@@ -98,7 +132,11 @@ public class UserService implements UserDetailsService {
         .roles(List.of(userRole))
         .build();
 
-    return userRepository.save(newUser);
+    User createdUser = userRepository.save(newUser);
+
+    userAutocomplete.put(createdUser);
+
+    return createdUser;
   }
 
   public User findByEmail(String email) throws NotFoundException {
@@ -106,8 +144,10 @@ public class UserService implements UserDetailsService {
         .orElseThrow(() -> new NotFoundException("User not found"));
   }
 
+  // Deleted accounts are not found, though UserDeletionJob may not have purged them yet
   private Optional<User> findByEmailOptional(String email) {
-    return Optional.ofNullable(userRepository.findByEmail(email));
+    return Optional.ofNullable(userRepository.findByEmail(email))
+        .filter(user -> !user.isDeleted());
   }
 
   public User findByUsername(String username) throws NotFoundException {
@@ -116,7 +156,27 @@ public class UserService implements UserDetailsService {
   }
 
   private Optional<User> findByUsernameOptional(String username) {
-    return Optional.ofNullable(userRepository.findByUsername(username));
+    return userReads.get(username, name -> Optional.ofNullable(userRepository.findByUsername(name)))
+        .filter(user -> !user.isDeleted());
+  }
+
+  // Usernames in the order of the ids; ids without a user are left out
+  public List<String> findUsernames(List<UUID> ids) {
+    Map<UUID, String> usernames = findUsernamesById(ids);
+
+    return ids.stream()
+        .map(usernames::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  public Map<UUID, String> findUsernamesById(Collection<UUID> ids) {
+    if (ids.isEmpty())
+      return Map.of();
+
+    return userRepository.findUsernamesByIdIn(ids)
+        .stream()
+        .collect(Collectors.toMap(UsernameView::getId, UsernameView::getUsername));
   }
 
   public GenericResponseDto confirm(ConfirmUserDto dto) {
@@ -134,14 +194,22 @@ public class UserService implements UserDetailsService {
 
     userRepository.save(foundUser);
 
+    userReads.invalidate(foundUser.getUsername());
+    userAutocomplete.put(foundUser);
+    domainEventBus.publish(new UserConfirmedEvent(foundUser.getId(), foundUser.getUsername()));
+
     return new GenericResponseDto("User was confirmed successfully");
   }
 
   public GenericResponseDto update(UpdateUserDto dto) {
     if (dto == null)
       throw new IllegalArgumentException("UpdateUser object cannot be null");
+    if (this.userDetails == null)
+      throw new InvalidCredentialsException("User is not authenticated");
 
-    User foundUser = getAuthenticatedUser();
+    // Loaded outside the coalesced reads so the entity being modified is never shared
+    User foundUser = Optional.ofNullable(userRepository.findByUsername(this.userDetails.getUsername()))
+        .orElseThrow(() -> new NotFoundException("User not found"));
 
     if (!foundUser.isRegistered())
       return new GenericResponseDto("User has not confirmed his account yet");
@@ -156,9 +224,65 @@ public class UserService implements UserDetailsService {
 
     userRepository.save(foundUser);
 
+    userReads.invalidate(foundUser.getUsername());
+    userAutocomplete.put(foundUser);
+    domainEventBus.publish(new UserUpdatedEvent(foundUser.getId(), foundUser.getUsername()));
+
     return new GenericResponseDto("User was updated successfully");
   }
 
+  // The account is marked deleted, which hides it and its twitters at once, and UserDeletionJob purges its rows
+  // later, a chunk at a time. The caches are cleared once both rows are committed, so they cannot be filled again
+  // from the account as it was.
+  public GenericResponseDto delete() throws InvalidCredentialsException, NotFoundException {
+    if (this.userDetails == null)
+      throw new InvalidCredentialsException("User is not authenticated");
+
+    User deletedUser = transactionTemplate.execute(status -> {
+      User foundUser = Optional.ofNullable(userRepository.findByUsername(this.userDetails.getUsername()))
+          .filter(user -> !user.isDeleted())
+          .orElseThrow(() -> new NotFoundException("User not found"));
+      LocalDateTime now = LocalDateTime.now();
+
+      foundUser.setStatus(UserStatus.DELETED);
+      foundUser.setUpdatedAt(now);
+
+      userRepository.save(foundUser);
+      userDeletionRepository.save(UserDeletion.createNew(foundUser, now));
+
+      return foundUser;
+    });
+
+    userReads.invalidate(deletedUser.getUsername());
+    profileTimelineCache.evict(deletedUser.getUsername());
+    followGraph.removeUser(deletedUser.getId());
+    userAutocomplete.put(deletedUser);
+    domainEventBus.publish(new UserDeletedEvent(deletedUser.getId(), deletedUser.getUsername()));
+
+    return new GenericResponseDto("User was deleted successfully");
+  }
+
+  // Active users whose username or display name starts with the prefix, for mentions; a leading @ is ignored
+  public List<UserMatchDto> autocomplete(String prefix, Integer limit) throws InvalidArgumentException {
+    String query = prefix == null ? "" : prefix.strip();
+    if (query.startsWith("@"))
+      query = query.substring(1);
+    if (query.isBlank())
+      throw new InvalidArgumentException("Prefix cannot be empty");
+    if (limit != null && (limit < 1 || limit > MAX_AUTOCOMPLETE_SIZE))
+      throw new InvalidArgumentException(
+          String.format("Limit must be between 1 and %d", MAX_AUTOCOMPLETE_SIZE));
+
+    return userAutocomplete.complete(query, limit == null ? DEFAULT_AUTOCOMPLETE_SIZE : limit)
+        .stream()
+        .map(match -> UserMatchDto.builder()
+            .username(match.username())
+            .displayName(match.displayName())
+            .followers(match.followers())
+            .build())
+        .toList();
+  }
+
   public UserDto getUser() {
     User foundUser = getAuthenticatedUser();
 
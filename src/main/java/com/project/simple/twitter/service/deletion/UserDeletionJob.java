@@ -0,0 +1,220 @@
+package com.project.simple.twitter.service.deletion;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.domain.UserDeletion;
+import com.project.simple.twitter.enums.UserDeletionStage;
+import com.project.simple.twitter.repository.FollowRepository;
+import com.project.simple.twitter.repository.FollowSuggestionRepository;
+import com.project.simple.twitter.repository.ScheduledTwitterRepository;
+import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.repository.TwitterRepository.TwitterKeyView;
+import com.project.simple.twitter.repository.UserDeletionRepository;
+import com.project.simple.twitter.repository.UserRepository;
+import com.project.simple.twitter.service.pacing.AdaptivePacer;
+import com.project.simple.twitter.service.pacing.PacingSettings;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+
+// Purges the accounts UserService marked deleted. Reads already hide them, so there is no hurry: instead of one
+// statement that would lock hundreds of thousands of twitters at once, every stage (see UserDeletionStage) deletes a
+// small chunk per statement, each in a transaction of its own together with the progress it makes in
+// user_deletions. A run that dies halfway is resumed by the next one from the last chunk committed. AdaptivePacer
+// sizes the chunks and the pauses between them from how long the database took for the previous chunk, and a run
+// stops after the configured time, leaving the rest to the next one. Statements only delete the rows still there,
+// so instances purging the same account at once do no harm.
+@Component
+@Log4j2
+public class UserDeletionJob {
+
+  public static final int PENDING_CHUNK_SIZE = 10;
+
+  private final UserDeletionRepository userDeletionRepository;
+  private final UserRepository userRepository;
+  private final TwitterRepository twitterRepository;
+  private final ScheduledTwitterRepository scheduledTwitterRepository;
+  private final FollowRepository followRepository;
+  private final FollowSuggestionRepository followSuggestionRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final PacingSettings pacing;
+  private final Counter purged;
+  private final Timer chunkDuration;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private volatile long pending;
+
+  public UserDeletionJob(UserDeletionRepository userDeletionRepository, UserRepository userRepository,
+      TwitterRepository twitterRepository, ScheduledTwitterRepository scheduledTwitterRepository,
+      FollowRepository followRepository, FollowSuggestionRepository followSuggestionRepository,
+      TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+      @Value("${twitter.deletion.enabled:true}") boolean enabled,
+      @Value("${twitter.deletion.max-run-time:PT30S}") Duration maxRunTime,
+      @Value("${twitter.deletion.initial-chunk-size:100}") int initialChunkSize,
+      @Value("${twitter.deletion.min-chunk-size:10}") int minChunkSize,
+      @Value("${twitter.deletion.max-chunk-size:1000}") int maxChunkSize,
+      @Value("${twitter.deletion.target-latency:PT0.05S}") Duration targetLatency,
+      @Value("${twitter.deletion.duty-cycle:0.5}") double dutyCycle) {
+    this.userDeletionRepository = userDeletionRepository;
+    this.userRepository = userRepository;
+    this.twitterRepository = twitterRepository;
+    this.scheduledTwitterRepository = scheduledTwitterRepository;
+    this.followRepository = followRepository;
+    this.followSuggestionRepository = followSuggestionRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.enabled = enabled;
+    this.pacing = new PacingSettings(maxRunTime, initialChunkSize, minChunkSize, maxChunkSize, targetLatency,
+        dutyCycle);
+    this.purged = Counter.builder("twitter.deletion.purged")
+        .description("Rows purged from deleted accounts")
+        .register(meterRegistry);
+    this.chunkDuration = Timer.builder("twitter.deletion.chunk.duration")
+        .description("Time taken to read and delete one chunk of a deleted account")
+        .register(meterRegistry);
+
+    Gauge.builder("twitter.deletion.pending", this, job -> job.pending)
+        .description("Deleted accounts not purged yet, as of the last run")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${twitter.deletion.interval:PT10S}")
+  public void run() {
+    if (!enabled || !running.compareAndSet(false, true))
+      return;
+
+    try {
+      purgePending();
+      pending = userDeletionRepository.countPending();
+    } catch (RuntimeException exception) {
+      log.error("Purging deleted accounts failed", exception);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  // Returns the number of rows purged. The oldest deletions go first.
+  public long purgePending() {
+    AdaptivePacer pacer = new AdaptivePacer(pacing);
+    long count = 0;
+
+    for (UserDeletion deletion : userDeletionRepository.findPending(Limit.of(PENDING_CHUNK_SIZE))) {
+      UserDeletionStage stage = deletion.getStage();
+
+      while (stage != UserDeletionStage.COMPLETED) {
+        long startedAt = System.nanoTime();
+        int chunkSize = pacer.getChunkSize();
+        Chunk chunk = purgeChunk(deletion.getUserId(), stage, chunkSize, LocalDateTime.now());
+
+        count += chunk.purged();
+        purged.increment(chunk.purged());
+        if (chunk.found() < chunkSize)
+          stage = stage.next();
+        if (stage == UserDeletionStage.COMPLETED)
+          log.info("Purged the deleted account of {}", deletion.getUsername());
+
+        Duration latency = Duration.ofNanos(System.nanoTime() - startedAt);
+        chunkDuration.record(latency);
+
+        if (!pacer.pauseAfter(latency))
+          return count;
+      }
+    }
+
+    return count;
+  }
+
+  // Deletes up to chunkSize rows of the stage and records them, moving to the next stage when fewer were found
+  private Chunk purgeChunk(UUID userId, UserDeletionStage stage, int chunkSize, LocalDateTime now) {
+    return transactionTemplate.execute(status -> {
+      Chunk chunk = switch (stage) {
+        case SCHEDULED_TWITTERS -> purgeScheduledTwitters(userId, chunkSize);
+        case TWITTERS -> purgeTwitters(userId, chunkSize);
+        case FOLLOWING -> purgeFollowing(userId, chunkSize);
+        case FOLLOWERS -> purgeFollowers(userId, chunkSize);
+        case ACCOUNT -> purgeAccount(userId);
+        case COMPLETED -> new Chunk(0, 0);
+      };
+
+      if (chunk.purged() > 0)
+        userDeletionRepository.addPurgedRows(userId, chunk.purged(), now);
+
+      if (stage == UserDeletionStage.ACCOUNT)
+        userDeletionRepository.complete(userId, now);
+      else if (chunk.found() < chunkSize)
+        userDeletionRepository.advanceStage(userId, stage, stage.next(), now);
+
+      return chunk;
+    });
+  }
+
+  // Rows a TwitterScheduler loaded already are skipped when they come due
+  private Chunk purgeScheduledTwitters(UUID userId, int chunkSize) {
+    List<Long> ids = scheduledTwitterRepository.findIdsByAuthorId(userId, Limit.of(chunkSize));
+
+    return new Chunk(ids.size(), ids.isEmpty() ? 0 : scheduledTwitterRepository.deleteAllByIdIn(ids));
+  }
+
+  private Chunk purgeTwitters(UUID userId, int chunkSize) {
+    List<TwitterKeyView> keys = twitterRepository.findKeysByAuthorId(userId, Limit.of(chunkSize));
+    if (keys.isEmpty())
+      return new Chunk(0, 0);
+
+    LocalDateTime createdFrom = keys.stream()
+        .map(TwitterKeyView::getCreatedAt)
+        .min(Comparator.naturalOrder())
+        .orElseThrow();
+    LocalDateTime createdTo = keys.stream()
+        .map(TwitterKeyView::getCreatedAt)
+        .max(Comparator.naturalOrder())
+        .orElseThrow();
+
+    return new Chunk(keys.size(), twitterRepository.deleteAllByIdIn(keys.stream().map(TwitterKeyView::getId).toList(),
+        createdFrom, createdTo));
+  }
+
+  private Chunk purgeFollowing(UUID userId, int chunkSize) {
+    List<UUID> followeeIds = followRepository.findFolloweeIds(userId, Limit.of(chunkSize));
+
+    return new Chunk(followeeIds.size(), followeeIds.isEmpty() ? 0 : followRepository.deleteFollowing(userId,
+        followeeIds));
+  }
+
+  private Chunk purgeFollowers(UUID userId, int chunkSize) {
+    List<UUID> followerIds = followRepository.findFollowerIds(userId, Limit.of(chunkSize));
+
+    return new Chunk(followerIds.size(), followerIds.isEmpty() ? 0 : followRepository.deleteFollowers(userId,
+        followerIds));
+  }
+
+  // A handful of rows, deleted together; removing the user removes its users_roles rows first
+  private Chunk purgeAccount(UUID userId) {
+    int count = followSuggestionRepository.deleteAllByUserIdIn(List.of(userId));
+
+    User user = userRepository.findById(userId).orElse(null);
+    if (user != null) {
+      count += user.getRoles().size() + 1;
+      userRepository.delete(user);
+    }
+
+    return new Chunk(0, count);
+  }
+
+  private record Chunk(int found, int purged) {
+  }
+}
@@ -0,0 +1,154 @@
+package com.project.simple.twitter.service.expiry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.simple.twitter.cache.ProfileTimelineCache;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.TwitterDeletedEvent;
+import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.repository.TwitterRepository.ExpiredView;
+import com.project.simple.twitter.service.pacing.AdaptivePacer;
+import com.project.simple.twitter.service.pacing.PacingSettings;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+
+// Deletes expired twitters. Reads already leave them out, so there is no hurry: instead of one statement that
+// would lock every expired row and the index range around them at once, each run walks idx_twitter_expires_at in
+// keyset order and deletes a small chunk per statement, each in a transaction of its own. AdaptivePacer sizes the
+// chunks and the pauses between them from how long the database took for the previous chunk, and a run stops after
+// the configured time, leaving the rest to the next one.
+@Component
+@Log4j2
+public class TwitterExpiryReaper {
+
+  private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  private final TwitterRepository twitterRepository;
+  private final ProfileTimelineCache profileTimelineCache;
+  private final DomainEventBus domainEventBus;
+  private final boolean enabled;
+  private final PacingSettings pacing;
+  private final Counter deleted;
+  private final Timer chunkDuration;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private volatile int lastChunkSize;
+
+  public TwitterExpiryReaper(TwitterRepository twitterRepository, ProfileTimelineCache profileTimelineCache,
+      DomainEventBus domainEventBus, MeterRegistry meterRegistry,
+      @Value("${twitter.expiry.enabled:true}") boolean enabled,
+      @Value("${twitter.expiry.max-run-time:PT30S}") Duration maxRunTime,
+      @Value("${twitter.expiry.initial-chunk-size:100}") int initialChunkSize,
+      @Value("${twitter.expiry.min-chunk-size:10}") int minChunkSize,
+      @Value("${twitter.expiry.max-chunk-size:1000}") int maxChunkSize,
+      @Value("${twitter.expiry.target-latency:PT0.05S}") Duration targetLatency,
+      @Value("${twitter.expiry.duty-cycle:0.5}") double dutyCycle) {
+    this.twitterRepository = twitterRepository;
+    this.profileTimelineCache = profileTimelineCache;
+    this.domainEventBus = domainEventBus;
+    this.enabled = enabled;
+    this.pacing = new PacingSettings(maxRunTime, initialChunkSize, minChunkSize, maxChunkSize, targetLatency,
+        dutyCycle);
+    this.deleted = Counter.builder("twitter.expiry.deleted")
+        .description("Expired twitters deleted")
+        .register(meterRegistry);
+    this.chunkDuration = Timer.builder("twitter.expiry.chunk.duration")
+        .description("Time taken to read and delete one chunk of expired twitters")
+        .register(meterRegistry);
+
+    Gauge.builder("twitter.expiry.chunk.size", this, reaper -> reaper.lastChunkSize)
+        .description("Size of the last chunk of expired twitters deleted")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${twitter.expiry.interval:PT1M}")
+  public void run() {
+    if (!enabled || !running.compareAndSet(false, true))
+      return;
+
+    try {
+      reapExpired(LocalDateTime.now());
+    } catch (RuntimeException exception) {
+      log.error("Deleting expired twitters failed", exception);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  // Returns the number of twitters deleted. Twitters expiring while the run goes on are left to the next one.
+  public int reapExpired(LocalDateTime now) {
+    AdaptivePacer pacer = new AdaptivePacer(pacing);
+    LocalDateTime afterExpiresAt = BEGINNING;
+    long afterId = 0;
+    int count = 0;
+
+    while (true) {
+      long startedAt = System.nanoTime();
+      int chunkSize = pacer.getChunkSize();
+      List<ExpiredView> chunk = twitterRepository.findExpiredChunk(afterExpiresAt, afterId, now,
+          Limit.of(chunkSize));
+
+      if (chunk.isEmpty())
+        break;
+
+      count += delete(chunk, now);
+
+      Duration latency = Duration.ofNanos(System.nanoTime() - startedAt);
+      chunkDuration.record(latency);
+      lastChunkSize = chunk.size();
+
+      if (chunk.size() < chunkSize || !pacer.pauseAfter(latency))
+        break;
+
+      ExpiredView last = chunk.get(chunk.size() - 1);
+      afterExpiresAt = last.getExpiresAt();
+      afterId = last.getId();
+    }
+
+    if (count > 0)
+      log.info("Deleted {} expired twitters", count);
+
+    return count;
+  }
+
+  private int delete(List<ExpiredView> chunk, LocalDateTime now) {
+    LocalDateTime createdFrom = chunk.stream()
+        .map(ExpiredView::getCreatedAt)
+        .min(Comparator.naturalOrder())
+        .orElseThrow();
+    LocalDateTime createdTo = chunk.stream()
+        .map(ExpiredView::getCreatedAt)
+        .max(Comparator.naturalOrder())
+        .orElseThrow();
+
+    int count = twitterRepository.deleteExpired(chunk.stream().map(ExpiredView::getId).toList(), createdFrom,
+        createdTo, now);
+
+    // Twitters whose author deleted them in the meantime, or that another instance reaped, are announced again
+    for (ExpiredView expired : chunk) {
+      if (expired.getAuthorUsername() == null)
+        continue;
+
+      profileTimelineCache.evict(expired.getAuthorUsername());
+      domainEventBus.publish(new TwitterDeletedEvent(expired.getId(), expired.getAuthorId(),
+          expired.getAuthorUsername()));
+    }
+
+    deleted.increment(count);
+
+    return count;
+  }
+}
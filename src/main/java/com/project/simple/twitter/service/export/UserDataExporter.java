@@ -0,0 +1,208 @@
+package com.project.simple.twitter.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.project.simple.twitter.dto.twitter.TwitterDto;
+import com.project.simple.twitter.dto.user.UserDto;
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+import com.project.simple.twitter.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+
+// Writes a user's data as a zip archive holding profile.json and twitters.jsonl, one twitter per line. Twitters
+// are read through a forward-only JDBC cursor and written to the response as they arrive, so an export uses the
+// same memory whatever the size of the account. The cursor holds a connection for the whole download, paced by the
+// client, so only a few exports may run at once; the others are turned away instead of waiting for a connection
+// that interactive requests need.
+@Component
+@Log4j2
+public class UserDataExporter {
+
+  public static final String PROFILE_ENTRY = "profile.json";
+  public static final String TWITTERS_ENTRY = "twitters.jsonl";
+
+  // Rows fetched per round trip; MySQL streams row by row instead, as it would otherwise read the whole result
+  public static final int FETCH_SIZE = 500;
+
+  // Non-locking consistent read, served by the username index and idx_twitter_author_id_id in id order
+  private static final String TWITTERS_QUERY = "SELECT t.id, t.content, t.visibility, t.likes, t.create_at, "
+      + "t.updated_at, t.expires_at FROM twitter t JOIN users u ON u.id = t.author_id "
+      + "WHERE u.username = ? AND (t.expires_at IS NULL OR t.expires_at > ?) ORDER BY t.id";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectWriter profileWriter;
+  private final ObjectWriter twitterWriter;
+  private final int maxConcurrent;
+  private final Semaphore permits;
+  private final Counter rejected;
+
+  public UserDataExporter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+      @Value("${twitter.export.max-concurrent:2}") int maxConcurrent) {
+    if (maxConcurrent < 1)
+      throw new IllegalArgumentException("twitter.export.max-concurrent must be at least 1");
+
+    this.jdbcTemplate = jdbcTemplate;
+    this.profileWriter = objectMapper.writerFor(UserDto.class)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.twitterWriter = objectMapper.writerFor(TwitterDto.class)
+        .withRootValueSeparator("")
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.maxConcurrent = maxConcurrent;
+    this.permits = new Semaphore(maxConcurrent);
+    this.rejected = Counter.builder("twitter.export.rejected")
+        .description("Exports turned away because the maximum number was already running")
+        .register(meterRegistry);
+
+    Gauge.builder("twitter.export.active", this, UserDataExporter::countActive)
+        .description("Exports being written")
+        .register(meterRegistry);
+  }
+
+  // Takes a permit right away, so a rejected export is answered with an error before anything is written; the
+  // permit is returned once the body has been written, or when the request completes without writing it
+  public ExportBody export(UserDto profile) throws TooManyRequestsException {
+    if (!permits.tryAcquire()) {
+      rejected.increment();
+      throw new TooManyRequestsException("Too many exports are running, retry later");
+    }
+
+    return new ExportBody(profile);
+  }
+
+  public int countActive() {
+    return maxConcurrent - permits.availablePermits();
+  }
+
+  private void write(UserDto profile, OutputStream outputStream) throws IOException {
+    long startedAt = System.nanoTime();
+    ZipOutputStream zip = new ZipOutputStream(outputStream);
+    JsonGenerator generator = twitterWriter.createGenerator(zip);
+
+    zip.putNextEntry(new ZipEntry(PROFILE_ENTRY));
+    profileWriter.writeValue(generator, profile);
+    generator.flush();
+    zip.closeEntry();
+
+    zip.putNextEntry(new ZipEntry(TWITTERS_ENTRY));
+    long twitters = writeTwitters(profile.getUsername(), generator);
+    generator.flush();
+    zip.closeEntry();
+
+    // Writes the central directory without closing the response
+    zip.finish();
+
+    log.info("Exported the profile and {} twitters of {} in {} ms", twitters, profile.getUsername(),
+        (System.nanoTime() - startedAt) / 1_000_000);
+  }
+
+  private long writeTwitters(String username, JsonGenerator generator) throws IOException {
+    LocalDateTime now = LocalDateTime.now();
+    long[] count = new long[1];
+
+    try {
+      jdbcTemplate.query(connection -> prepareTwittersQuery(connection, username, now),
+          (RowCallbackHandler) resultSet -> {
+            try {
+              twitterWriter.writeValue(generator, toDto(resultSet, username));
+              generator.writeRaw('\n');
+              count[0]++;
+            } catch (IOException exception) {
+              throw new UncheckedIOException(exception);
+            }
+          });
+    } catch (UncheckedIOException exception) {
+      // Usually the client going away; the cursor is closed on the way out
+      throw exception.getCause();
+    }
+
+    return count[0];
+  }
+
+  private static PreparedStatement prepareTwittersQuery(Connection connection, String username, LocalDateTime now)
+      throws SQLException {
+    PreparedStatement statement = connection.prepareStatement(TWITTERS_QUERY, ResultSet.TYPE_FORWARD_ONLY,
+        ResultSet.CONCUR_READ_ONLY);
+
+    statement.setFetchSize(isMySql(connection) ? Integer.MIN_VALUE : FETCH_SIZE);
+    statement.setString(1, username);
+    statement.setObject(2, now);
+
+    return statement;
+  }
+
+  private static TwitterDto toDto(ResultSet resultSet, String username) throws SQLException {
+    LocalDateTime createdAt = resultSet.getObject("create_at", LocalDateTime.class);
+
+    return TwitterDto.builder()
+        .id(resultSet.getLong("id"))
+        .content(resultSet.getString("content"))
+        .author(username)
+        .createdAt(createdAt)
+        .visibility(TwitterVisibility.valueOf(resultSet.getString("visibility")).name().toLowerCase())
+        .likes(resultSet.getLong("likes"))
+        .edited(!createdAt.equals(resultSet.getObject("updated_at", LocalDateTime.class)))
+        .expiresAt(resultSet.getObject("expires_at", LocalDateTime.class))
+        .build();
+  }
+
+  private static boolean isMySql(Connection connection) throws SQLException {
+    return "MySQL".equals(connection.getMetaData().getDatabaseProductName());
+  }
+
+  // The body only runs once the async dispatch starts, which a timeout, a client going away or a rejected task
+  // prevents, so it is also registered as an interceptor of that dispatch and releases its permit on completion
+  public class ExportBody implements StreamingResponseBody, CallableProcessingInterceptor {
+
+    private final UserDto profile;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private ExportBody(UserDto profile) {
+      this.profile = profile;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+      try {
+        write(profile, outputStream);
+      } finally {
+        release();
+      }
+    }
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+      release();
+    }
+
+    private void release() {
+      if (released.compareAndSet(false, true))
+        permits.release();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.project.simple.twitter.service.idempotency;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.simple.twitter.domain.IdempotencyRecord;
+import com.project.simple.twitter.repository.IdempotencyRecordRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@RequiredArgsConstructor
+@Log4j2
+@ConditionalOnProperty(name = "twitter.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+  private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+  @Override
+  public Optional<IdempotentResponse> findCompleted(String key) {
+    LocalDateTime now = LocalDateTime.now();
+
+    return idempotencyRecordRepository.findById(key)
+        .filter(IdempotencyRecord::isCompleted)
+        .filter(record -> !record.isExpired(now))
+        .map(record -> new IdempotentResponse(record.getStatus(), record.getRequestHash()));
+  }
+
+  @Override
+  public boolean tryBegin(String key, Duration pendingTimeout) {
+    LocalDateTime now = LocalDateTime.now();
+
+    idempotencyRecordRepository.deleteExpired(key, now);
+
+    try {
+      return idempotencyRecordRepository.insertPending(key, now.plus(pendingTimeout)) == 1;
+    } catch (DataIntegrityViolationException exception) {
+      return false;
+    }
+  }
+
+  @Override
+  public void complete(String key, IdempotentResponse response, Duration ttl) {
+    idempotencyRecordRepository.save(IdempotencyRecord.builder()
+        .key(key)
+        .status(response.getStatus())
+        .requestHash(response.getRequestHash())
+        .expiresAt(LocalDateTime.now().plus(ttl))
+        .build());
+  }
+
+  @Override
+  public void release(String key) {
+    idempotencyRecordRepository.deletePending(key);
+  }
+
+  @Scheduled(fixedDelayString = "${twitter.idempotency.purge-interval:PT5M}")
+  public void purgeExpired() {
+    int purged = idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+    if (purged > 0)
+      log.debug("Purged {} expired idempotency keys", purged);
+  }
+}
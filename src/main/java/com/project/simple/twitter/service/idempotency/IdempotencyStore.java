@@ -0,0 +1,16 @@
+package com.project.simple.twitter.service.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+  public Optional<IdempotentResponse> findCompleted(String key);
+
+  public boolean tryBegin(String key, Duration pendingTimeout);
+
+  public void complete(String key, IdempotentResponse response, Duration ttl);
+
+  public void release(String key);
+
+}
@@ -0,0 +1,15 @@
+package com.project.simple.twitter.service.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class IdempotentResponse {
+
+  private final int status;
+
+  // SHA-256 of the request the response was given to, in Base64
+  private final String requestHash;
+
+}
@@ -0,0 +1,108 @@
+package com.project.simple.twitter.service.idempotency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.simple.twitter.exception.TooManyRequestsException;
+
+@Component
+@ConditionalOnProperty(name = "twitter.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  // Completed entries, oldest first, so a full store evicts a response without scanning; pending keys are never
+  // evicted, or a duplicate of a request still in flight would run it again. An entry replaced since it was queued,
+  // by a later request under the same key, is skipped rather than evicting its successor.
+  private final Queue<Completed> completed = new ConcurrentLinkedQueue<>();
+  private final int maxEntries;
+
+  public InMemoryIdempotencyStore(@Value("${twitter.idempotency.max-entries:100000}") int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  @Override
+  public Optional<IdempotentResponse> findCompleted(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null || entry.response == null)
+      return Optional.empty();
+
+    if (entry.isExpired(System.nanoTime())) {
+      entries.remove(key, entry);
+      return Optional.empty();
+    }
+
+    return Optional.of(entry.response);
+  }
+
+  @Override
+  public boolean tryBegin(String key, Duration pendingTimeout) {
+    Entry pending = new Entry(null, System.nanoTime() + pendingTimeout.toNanos());
+    Entry current = entries.get(key);
+    if (current == null) {
+      makeRoom();
+
+      current = entries.putIfAbsent(key, pending);
+      if (current == null)
+        return true;
+    }
+
+    return current.isExpired(System.nanoTime()) && entries.replace(key, current, pending);
+  }
+
+  @Override
+  public void complete(String key, IdempotentResponse response, Duration ttl) {
+    Entry entry = new Entry(response, System.nanoTime() + ttl.toNanos());
+    entries.put(key, entry);
+    completed.add(new Completed(key, entry));
+  }
+
+  @Override
+  public void release(String key) {
+    entries.computeIfPresent(key, (ignored, entry) -> entry.response == null ? null : entry);
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  @Scheduled(fixedDelayString = "${twitter.idempotency.purge-interval:PT5M}")
+  public void purgeExpired() {
+    long now = System.nanoTime();
+
+    entries.values().removeIf(entry -> entry.isExpired(now));
+    completed.removeIf(queued -> !queued.isCurrent(entries));
+  }
+
+  private void makeRoom() {
+    while (entries.size() >= maxEntries) {
+      Completed oldest = completed.poll();
+      if (oldest == null)
+        throw new TooManyRequestsException("Too many requests with an Idempotency-Key are in progress");
+
+      entries.computeIfPresent(oldest.key(), (ignored, entry) -> entry == oldest.entry() ? null : entry);
+    }
+  }
+
+  private record Completed(String key, Entry entry) {
+
+    boolean isCurrent(Map<String, Entry> entries) {
+      return entries.get(key) == entry;
+    }
+  }
+
+  private record Entry(IdempotentResponse response, long expiresAtNanos) {
+
+    boolean isExpired(long now) {
+      return now - expiresAtNanos > 0;
+    }
+  }
+}
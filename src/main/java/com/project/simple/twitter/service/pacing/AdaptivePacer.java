@@ -0,0 +1,54 @@
+package com.project.simple.twitter.service.pacing;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Paces a background job that works through a table in chunks, from the time the database took for each chunk.
+// The chunk grows by a fixed step while chunks finish within the target latency and is halved as soon as one does
+// not, so the job backs off quickly when the database is busy and recovers slowly. After each chunk the job pauses
+// for long enough that it keeps the database busy for at most the duty cycle fraction of the time, and the run ends
+// once the next chunk would start after the maximum run time.
+// One pacer serves one run of a job and is not safe for use by several threads.
+public class AdaptivePacer {
+
+  private final PacingSettings settings;
+  private final long stopAt;
+
+  private int chunkSize;
+
+  public AdaptivePacer(PacingSettings settings) {
+    this.settings = settings;
+    this.stopAt = System.nanoTime() + settings.maxRunTime().toNanos();
+    this.chunkSize = Math.max(settings.minChunkSize(), Math.min(settings.maxChunkSize(),
+        settings.initialChunkSize()));
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  // Adjusts the chunk size to the latency of the chunk just done and returns the pause before the next one
+  public Duration record(Duration latency) {
+    if (latency.compareTo(settings.targetLatency()) > 0)
+      chunkSize = Math.max(settings.minChunkSize(), chunkSize / 2);
+    else
+      chunkSize = Math.min(settings.maxChunkSize(), chunkSize + settings.minChunkSize());
+
+    return Duration.ofNanos((long) (latency.toNanos() * (1 - settings.dutyCycle()) / settings.dutyCycle()));
+  }
+
+  // Records the chunk just done and sleeps until the next one; false when the run is over or was interrupted
+  public boolean pauseAfter(Duration latency) {
+    Duration pause = record(latency);
+    if (System.nanoTime() + pause.toNanos() >= stopAt)
+      return false;
+
+    try {
+      TimeUnit.NANOSECONDS.sleep(pause.toNanos());
+      return true;
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.project.simple.twitter.service.pacing;
+
+import java.time.Duration;
+
+// How a background job paces itself, from the twitter.<job>.* properties: how long a run may last, the chunk sizes
+// AdaptivePacer moves between, the chunk time above which it backs off and the share of time spent working.
+// Checked when built, so a job fails at startup rather than on its first run.
+public record PacingSettings(Duration maxRunTime, int initialChunkSize, int minChunkSize, int maxChunkSize,
+    Duration targetLatency, double dutyCycle) {
+
+  public PacingSettings {
+    if (minChunkSize < 1 || minChunkSize > maxChunkSize)
+      throw new IllegalArgumentException("Chunk sizes must satisfy 1 <= minimum <= maximum");
+    if (dutyCycle <= 0 || dutyCycle > 1)
+      throw new IllegalArgumentException("Duty cycle must be greater than 0 and at most 1");
+  }
+}
@@ -0,0 +1,64 @@
+package com.project.simple.twitter.service.partition;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Monthly partitions are named pYYYYMM and hold the rows created during that month; p_future, which catches the
+// months not split off yet, is left alone
+@Getter
+@RequiredArgsConstructor
+public class MonthlyPartitionPlan {
+
+  private static final Pattern MONTHLY_PARTITION = Pattern.compile("p(\\d{6})");
+  private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private final List<YearMonth> monthsToCreate;
+  private final List<YearMonth> monthsToExpire;
+
+  public boolean isEmpty() {
+    return monthsToCreate.isEmpty() && monthsToExpire.isEmpty();
+  }
+
+  // New months can only be split off the top of the range, so they continue from the newest existing month even when
+  // maintenance has missed a few. A retention of zero months keeps every partition.
+  public static MonthlyPartitionPlan of(Collection<YearMonth> existing, YearMonth current, int monthsAhead,
+      int retentionMonths) {
+    YearMonth first = existing.stream()
+        .max(YearMonth::compareTo)
+        .map(newest -> newest.plusMonths(1))
+        .orElse(current);
+    YearMonth last = current.plusMonths(monthsAhead);
+
+    List<YearMonth> monthsToCreate = Stream.iterate(first, month -> !month.isAfter(last), month -> month.plusMonths(1))
+        .toList();
+
+    List<YearMonth> monthsToExpire = retentionMonths <= 0 ? List.of()
+        : existing.stream()
+            .filter(month -> month.isBefore(current.minusMonths(retentionMonths)))
+            .sorted()
+            .toList();
+
+    return new MonthlyPartitionPlan(monthsToCreate, monthsToExpire);
+  }
+
+  public static String partitionName(YearMonth month) {
+    return "p" + month.format(PARTITION_MONTH);
+  }
+
+  public static Optional<YearMonth> parsePartitionName(String name) {
+    Matcher matcher = MONTHLY_PARTITION.matcher(name);
+    if (!matcher.matches())
+      return Optional.empty();
+
+    return Optional.of(YearMonth.parse(matcher.group(1), PARTITION_MONTH));
+  }
+}
@@ -0,0 +1,157 @@
+package com.project.simple.twitter.service.partition;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+// Keeps the monthly partitions of the twitter table (see db/manual/mysql/partition_twitter_by_month.sql) ahead of
+// the clock and drops or archives the expired ones. Databases without partitioning, like the H2 one used by the
+// tests or a MySQL one that has not been partitioned yet, are left alone.
+@Component
+@Log4j2
+public class TwitterPartitionMaintenance {
+
+  private static final String LOCK_NAME = "twitter_partition_maintenance";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean enabled;
+  private final int monthsAhead;
+  private final int retentionMonths;
+  private final boolean archive;
+
+  public TwitterPartitionMaintenance(JdbcTemplate jdbcTemplate,
+      @Value("${twitter.partitions.enabled:true}") boolean enabled,
+      @Value("${twitter.partitions.months-ahead:3}") int monthsAhead,
+      @Value("${twitter.partitions.retention-months:0}") int retentionMonths,
+      @Value("${twitter.partitions.archive:true}") boolean archive) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.enabled = enabled;
+    this.monthsAhead = monthsAhead;
+    this.retentionMonths = retentionMonths;
+    this.archive = archive;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${twitter.partitions.maintenance-cron:0 0 3 * * *}")
+  public void maintain() {
+    if (!enabled)
+      return;
+
+    try {
+      jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+        if (isMySql(connection))
+          maintain(new JdbcTemplate(new SingleConnectionDataSource(connection, true)));
+        return null;
+      });
+    } catch (DataAccessException exception) {
+      log.error("Twitter partition maintenance failed", exception);
+    }
+  }
+
+  private void maintain(JdbcTemplate connection) {
+    // Every instance runs the schedule; the named lock lets only one of them change the partitions at a time
+    if (!Boolean.TRUE.equals(connection.queryForObject("SELECT GET_LOCK(?, 0) = 1", Boolean.class, LOCK_NAME)))
+      return;
+
+    try {
+      List<String> partitions = connection.queryForList("SELECT partition_name FROM information_schema.partitions "
+          + "WHERE table_schema = DATABASE() AND table_name = 'twitter' AND partition_name IS NOT NULL "
+          + "ORDER BY partition_ordinal_position", String.class);
+
+      if (partitions.isEmpty())
+        return;
+
+      List<YearMonth> existing = partitions.stream()
+          .map(MonthlyPartitionPlan::parsePartitionName)
+          .flatMap(Optional::stream)
+          .toList();
+
+      MonthlyPartitionPlan plan = MonthlyPartitionPlan.of(existing, YearMonth.now(), monthsAhead, retentionMonths);
+
+      if (!plan.getMonthsToCreate().isEmpty())
+        createPartitions(connection, plan.getMonthsToCreate());
+
+      plan.getMonthsToExpire().forEach(month -> expirePartition(connection, month));
+    } finally {
+      connection.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+    }
+  }
+
+  private void createPartitions(JdbcTemplate connection, List<YearMonth> months) {
+    String partitions = months.stream()
+        .map(month -> String.format("PARTITION %s VALUES LESS THAN ('%s')",
+            MonthlyPartitionPlan.partitionName(month), month.plusMonths(1).atDay(1)))
+        .collect(Collectors.joining(", "));
+
+    connection.execute("ALTER TABLE twitter REORGANIZE PARTITION p_future INTO (" + partitions
+        + ", PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+
+    log.info("Created twitter partitions for {}", months);
+  }
+
+  private void expirePartition(JdbcTemplate connection, YearMonth month) {
+    String partition = MonthlyPartitionPlan.partitionName(month);
+
+    if (archive && !archivePartition(connection, partition))
+      return;
+
+    connection.execute("ALTER TABLE twitter DROP PARTITION " + partition);
+
+    log.info("Dropped twitter partition {}", partition);
+  }
+
+  // Exchanging swaps the partition with an empty table of the same shape without copying rows, leaving an empty
+  // partition behind to drop. A run that died halfway left the archive table behind: empty, it is created again in
+  // case twitter changed since; holding the rows of an emptied partition, the exchange is already done. Returns
+  // false when both hold rows, which needs a look by hand before anything is dropped.
+  private boolean archivePartition(JdbcTemplate connection, String partition) {
+    String archiveTable = "twitter_archive_" + partition;
+    boolean archiveHasRows = tableExists(connection, archiveTable) && hasRows(connection, archiveTable);
+    boolean partitionHasRows = hasRows(connection, "twitter PARTITION (" + partition + ")");
+
+    if (archiveHasRows && partitionHasRows) {
+      log.error("Twitter partition {} and its archive {} both hold rows, neither is dropped", partition,
+          archiveTable);
+      return false;
+    }
+
+    if (!archiveHasRows) {
+      connection.execute("DROP TABLE IF EXISTS " + archiveTable);
+      connection.execute("CREATE TABLE " + archiveTable + " LIKE twitter");
+      connection.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+      connection.execute("ALTER TABLE twitter EXCHANGE PARTITION " + partition + " WITH TABLE " + archiveTable);
+    }
+
+    log.info("Archived twitter partition {} into {}", partition, archiveTable);
+    return true;
+  }
+
+  private static boolean tableExists(JdbcTemplate connection, String table) {
+    return Boolean.TRUE.equals(connection.queryForObject("SELECT COUNT(*) > 0 FROM information_schema.tables "
+        + "WHERE table_schema = DATABASE() AND table_name = ?", Boolean.class, table));
+  }
+
+  private static boolean hasRows(JdbcTemplate connection, String table) {
+    return Boolean.TRUE.equals(connection.queryForObject("SELECT EXISTS (SELECT 1 FROM " + table + ")",
+        Boolean.class));
+  }
+
+  private static boolean isMySql(Connection connection) throws SQLException {
+    return "MySQL".equals(connection.getMetaData().getDatabaseProductName());
+  }
+}
@@ -0,0 +1,174 @@
+package com.project.simple.twitter.service.suggestion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.simple.twitter.domain.FollowSuggestion;
+import com.project.simple.twitter.graph.FollowGraph;
+import com.project.simple.twitter.repository.FollowSuggestionRepository;
+import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.repository.TwitterRepository.AuthorActivityView;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+
+// Ranks "who to follow" suggestions for every user in the follow graph and stores them in follow_suggestions.
+// Users are ranked in batches on a fork/join pool of their own, one SuggestionRanker per worker, and each batch
+// is written while the next one is ranked. The graph is this instance's copy, so the job only has to run on one
+// instance.
+@Component
+@Log4j2
+public class FollowSuggestionJob {
+
+  private final FollowGraph followGraph;
+  private final TwitterRepository twitterRepository;
+  private final FollowSuggestionRepository followSuggestionRepository;
+  private final boolean enabled;
+  private final int topK;
+  private final int parallelism;
+  private final int batchSize;
+  private final int activityDays;
+  private final Timer duration;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private volatile double usersPerSecond;
+
+  public FollowSuggestionJob(FollowGraph followGraph, TwitterRepository twitterRepository,
+      FollowSuggestionRepository followSuggestionRepository, MeterRegistry meterRegistry,
+      @Value("${twitter.suggestions.enabled:true}") boolean enabled,
+      @Value("${twitter.suggestions.top-k:20}") int topK,
+      @Value("${twitter.suggestions.parallelism:0}") int parallelism,
+      @Value("${twitter.suggestions.batch-size:5000}") int batchSize,
+      @Value("${twitter.suggestions.activity-days:30}") int activityDays) {
+    if (topK < 1 || topK > FollowSuggestion.MAX_SUGGESTIONS)
+      throw new IllegalArgumentException(
+          String.format("twitter.suggestions.top-k must be between 1 and %d", FollowSuggestion.MAX_SUGGESTIONS));
+
+    this.followGraph = followGraph;
+    this.twitterRepository = twitterRepository;
+    this.followSuggestionRepository = followSuggestionRepository;
+    this.enabled = enabled;
+    this.topK = topK;
+    this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.batchSize = batchSize;
+    this.activityDays = activityDays;
+    this.duration = Timer.builder("twitter.suggestions.duration")
+        .description("Time taken to rank and store the suggestions of every user")
+        .register(meterRegistry);
+
+    Gauge.builder("twitter.suggestions.throughput", this, job -> job.usersPerSecond)
+        .description("Users ranked and stored per second by the last run")
+        .baseUnit("users/s")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${twitter.suggestions.cron:0 0 4 * * *}")
+  public void run() {
+    if (!enabled || !running.compareAndSet(false, true))
+      return;
+
+    try {
+      computeSuggestions();
+    } catch (RuntimeException exception) {
+      log.error("Follow suggestion job failed", exception);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  // Returns the number of users ranked
+  public int computeSuggestions() {
+    long startedAt = System.nanoTime();
+    LocalDateTime computedAt = LocalDateTime.now();
+
+    // Users who join the graph while the job runs wait for the next run
+    int users = followGraph.countUsers();
+    int[] activity = loadActivity(users, computedAt.minusDays(activityDays));
+    ThreadLocal<SuggestionRanker> rankers = ThreadLocal.withInitial(
+        () -> new SuggestionRanker(followGraph, activity, topK));
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    long written = 0;
+
+    try {
+      SuggestionBatch previous = null;
+      ForkJoinTask<?> previousRanking = null;
+
+      for (int first = 0; first < users; first += batchSize) {
+        SuggestionBatch batch = new SuggestionBatch(first, Math.min(batchSize, users - first), topK);
+        ForkJoinTask<?> ranking = pool.submit(batch.rankWith(rankers));
+
+        if (previous != null)
+          written += write(previous, previousRanking, computedAt);
+
+        previous = batch;
+        previousRanking = ranking;
+      }
+
+      if (previous != null)
+        written += write(previous, previousRanking, computedAt);
+    } finally {
+      pool.shutdownNow();
+    }
+
+    long elapsed = System.nanoTime() - startedAt;
+    duration.record(elapsed, TimeUnit.NANOSECONDS);
+    usersPerSecond = users / (elapsed / 1e9);
+
+    log.info("Ranked follow suggestions for {} users in {} ms on {} threads ({} users/s), stored {}", users,
+        elapsed / 1_000_000, parallelism, Math.round(usersPerSecond), written);
+
+    return users;
+  }
+
+  private int[] loadActivity(int users, LocalDateTime since) {
+    int[] activity = new int[users];
+
+    for (AuthorActivityView view : twitterRepository.countByAuthorSince(since)) {
+      int index = followGraph.indexOf(view.getAuthorId());
+      if (index >= 0 && index < users)
+        activity[index] = (int) Math.min(Integer.MAX_VALUE, view.getTwitterCount());
+    }
+
+    return activity;
+  }
+
+  private int write(SuggestionBatch batch, ForkJoinTask<?> ranking, LocalDateTime computedAt) {
+    ranking.join();
+
+    List<UUID> userIds = new ArrayList<>(batch.size);
+    List<FollowSuggestion> suggestions = new ArrayList<>();
+    UUID[] suggestedUserIds = new UUID[topK];
+    int[] scores = new int[topK];
+
+    for (int i = 0; i < batch.size; i++) {
+      UUID userId = followGraph.userAt(batch.first + i);
+      userIds.add(userId);
+
+      int count = batch.counts[i];
+      if (count == 0)
+        continue;
+
+      for (int position = 0; position < count; position++) {
+        suggestedUserIds[position] = followGraph.userAt(batch.ids[i * topK + position]);
+        scores[position] = batch.scores[i * topK + position];
+      }
+      suggestions.add(FollowSuggestion.createNew(userId, suggestedUserIds, scores, count, computedAt));
+    }
+
+    followSuggestionRepository.replace(userIds, suggestions);
+    return suggestions.size();
+  }
+}
@@ -0,0 +1,57 @@
+package com.project.simple.twitter.service.suggestion;
+
+import java.util.concurrent.RecursiveAction;
+
+// The suggestions of the users first to first + size - 1, topK slots per user in flat arrays
+class SuggestionBatch {
+
+  // Users ranked by one task before it stops splitting
+  private static final int LEAF_SIZE = 256;
+
+  final int first;
+  final int size;
+  final int topK;
+  final int[] ids;
+  final int[] scores;
+  final int[] counts;
+
+  SuggestionBatch(int first, int size, int topK) {
+    this.first = first;
+    this.size = size;
+    this.topK = topK;
+    this.ids = new int[size * topK];
+    this.scores = new int[size * topK];
+    this.counts = new int[size];
+  }
+
+  RecursiveAction rankWith(ThreadLocal<SuggestionRanker> rankers) {
+    return new RankTask(rankers, 0, size);
+  }
+
+  // Halves its range until it is small enough for one worker, so idle workers steal the other halves
+  private class RankTask extends RecursiveAction {
+
+    private final ThreadLocal<SuggestionRanker> rankers;
+    private final int from;
+    private final int to;
+
+    private RankTask(ThreadLocal<SuggestionRanker> rankers, int from, int to) {
+      this.rankers = rankers;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= LEAF_SIZE) {
+        SuggestionRanker ranker = rankers.get();
+        for (int i = from; i < to; i++)
+          counts[i] = ranker.rank(first + i, ids, scores, i * topK);
+        return;
+      }
+
+      int middle = (from + to) >>> 1;
+      invokeAll(new RankTask(rankers, from, middle), new RankTask(rankers, middle, to));
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.project.simple.twitter.service.suggestion;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+import com.project.simple.twitter.graph.FollowGraph;
+
+// Friends of friends of one user at a time: counts how many of the users someone follows follow each candidate
+// and keeps the topK candidates with the highest counts, breaking ties by recent activity and then by the lower
+// index. The counts live in an array indexed by user that is reused for every user and reset through the list of
+// candidates it touched, so ranking allocates nothing but the list iterators. Not thread safe; the job keeps one
+// per worker thread.
+public class SuggestionRanker {
+
+  // Bounds the work for users who follow thousands of accounts
+  static final int MAX_FRIENDS = 1000;
+  static final int MAX_FRIEND_FOLLOWEES = 1000;
+
+  private final FollowGraph graph;
+  private final int[] activity;
+  private final int topK;
+
+  // Followers in common per candidate; -1 marks the user and the users they already follow
+  private final int[] counts;
+  private int[] touched = new int[1024];
+  private int touchedCount;
+
+  // Min-heap of the best candidates so far, the weakest at the root
+  private final int[] heapIds;
+  private final long[] heapKeys;
+  private int heapSize;
+
+  public SuggestionRanker(FollowGraph graph, int[] activity, int topK) {
+    this.graph = graph;
+    this.activity = activity;
+    this.topK = topK;
+    this.counts = new int[activity.length];
+    this.heapIds = new int[topK];
+    this.heapKeys = new long[topK];
+  }
+
+  // Writes the user's suggestions and their scores from offset on, best first, and returns how many there are
+  public int rank(int user, int[] ids, int[] scores, int offset) {
+    exclude(user);
+    PrimitiveIterator.OfInt followees = graph.followingOf(user).iterator();
+    while (followees.hasNext())
+      exclude(followees.nextInt());
+
+    PrimitiveIterator.OfInt friends = graph.followingOf(user).iterator();
+    for (int i = 0; i < MAX_FRIENDS && friends.hasNext(); i++) {
+      PrimitiveIterator.OfInt candidates = graph.followingOf(friends.nextInt()).iterator();
+      for (int j = 0; j < MAX_FRIEND_FOLLOWEES && candidates.hasNext(); j++) {
+        int candidate = candidates.nextInt();
+        // Users who joined the graph after the job started are left for the next run
+        if (candidate >= counts.length || counts[candidate] < 0)
+          continue;
+        if (counts[candidate]++ == 0)
+          touch(candidate);
+      }
+    }
+
+    heapSize = 0;
+    for (int i = 0; i < touchedCount; i++) {
+      int candidate = touched[i];
+      if (counts[candidate] > 0)
+        offer(candidate, ((long) counts[candidate] << 32) | activity[candidate]);
+      counts[candidate] = 0;
+    }
+    touchedCount = 0;
+
+    int count = heapSize;
+    for (int position = count - 1; position >= 0; position--) {
+      ids[offset + position] = heapIds[0];
+      scores[offset + position] = (int) (heapKeys[0] >>> 32);
+      removeRoot();
+    }
+
+    return count;
+  }
+
+  private void exclude(int id) {
+    if (id >= counts.length || counts[id] < 0)
+      return;
+
+    counts[id] = -1;
+    touch(id);
+  }
+
+  private void touch(int id) {
+    if (touchedCount == touched.length)
+      touched = Arrays.copyOf(touched, touchedCount * 2);
+    touched[touchedCount++] = id;
+  }
+
+  private void offer(int id, long key) {
+    if (heapSize < topK) {
+      heapIds[heapSize] = id;
+      heapKeys[heapSize] = key;
+      siftUp(heapSize++);
+    } else if (weaker(heapIds[0], heapKeys[0], id, key)) {
+      heapIds[0] = id;
+      heapKeys[0] = key;
+      siftDown(0);
+    }
+  }
+
+  private void removeRoot() {
+    heapSize--;
+    heapIds[0] = heapIds[heapSize];
+    heapKeys[0] = heapKeys[heapSize];
+    siftDown(0);
+  }
+
+  private void siftUp(int position) {
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+      if (!weaker(heapIds[position], heapKeys[position], heapIds[parent], heapKeys[parent]))
+        return;
+      swap(position, parent);
+      position = parent;
+    }
+  }
+
+  private void siftDown(int position) {
+    while (true) {
+      int weakest = position;
+      for (int child = 2 * position + 1; child <= 2 * position + 2 && child < heapSize; child++) {
+        if (weaker(heapIds[child], heapKeys[child], heapIds[weakest], heapKeys[weakest]))
+          weakest = child;
+      }
+      if (weakest == position)
+        return;
+      swap(position, weakest);
+      position = weakest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    int id = heapIds[a];
+    heapIds[a] = heapIds[b];
+    heapIds[b] = id;
+
+    long key = heapKeys[a];
+    heapKeys[a] = heapKeys[b];
+    heapKeys[b] = key;
+  }
+
+  private static boolean weaker(int id, long key, int otherId, long otherKey) {
+    return key < otherKey || (key == otherKey && id > otherId);
+  }
+}
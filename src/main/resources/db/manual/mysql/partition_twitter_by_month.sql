@@ -0,0 +1,62 @@
+-- Partitions twitter by month of create_at, so time-bounded queries only touch the months they ask for and expired
+-- months are dropped as whole partitions instead of deleted row by row. It is not a Flyway migration: partitioning
+-- copies the whole table with ALGORITHM=COPY, which blocks writes for its duration, so it is run by hand in a
+-- maintenance window, after V4:
+--
+--   mysql -u root -p <database> < src/main/resources/db/manual/mysql/partition_twitter_by_month.sql
+--
+-- MySQL requires every unique key of a partitioned table to contain the partitioning column and does not support
+-- foreign keys on partitioned InnoDB tables, so the primary key becomes (id, create_at) and the author_id foreign
+-- key is dropped; UserDeletionJob removes an author's twitters before the author. Every month from the oldest
+-- twitter to the current one gets its own pYYYYMM partition, so a retention applies to all of them, and p_future
+-- catches the rest until TwitterPartitionMaintenance splits the upcoming months off it. A table that is already
+-- partitioned is left alone.
+SET @partitioned = (
+  SELECT COUNT(*) > 0
+  FROM information_schema.partitions
+  WHERE table_schema = DATABASE()
+    AND table_name = 'twitter'
+    AND partition_name IS NOT NULL);
+
+SET @author_foreign_key = (
+  SELECT constraint_name
+  FROM information_schema.referential_constraints
+  WHERE constraint_schema = DATABASE()
+    AND table_name = 'twitter'
+    AND referenced_table_name = 'users'
+  LIMIT 1);
+
+SET @drop_author_foreign_key = IF(@partitioned OR @author_foreign_key IS NULL, 'DO 0',
+  CONCAT('ALTER TABLE twitter DROP FOREIGN KEY `', @author_foreign_key, '`'));
+
+PREPARE drop_author_foreign_key FROM @drop_author_foreign_key;
+EXECUTE drop_author_foreign_key;
+DEALLOCATE PREPARE drop_author_foreign_key;
+
+-- One partition is about 60 characters, past the default limit of 1024 after a year and a half
+SET SESSION group_concat_max_len = 1048576;
+
+SET @first_month = (SELECT DATE_FORMAT(COALESCE(MIN(create_at), CURRENT_DATE), '%Y-%m-01') FROM twitter);
+
+SET @monthly_partitions = (
+  WITH RECURSIVE months (month_start) AS (
+    SELECT CAST(@first_month AS DATE)
+    UNION ALL
+    SELECT month_start + INTERVAL 1 MONTH
+    FROM months
+    WHERE month_start < DATE_FORMAT(CURRENT_DATE, '%Y-%m-01'))
+  SELECT GROUP_CONCAT(
+      CONCAT('PARTITION p', DATE_FORMAT(month_start, '%Y%m'),
+        ' VALUES LESS THAN (''', month_start + INTERVAL 1 MONTH, ''')')
+      ORDER BY month_start SEPARATOR ', ')
+  FROM months);
+
+-- The key change and the partitioning share a single copy of the table
+SET @partition_twitter = IF(@partitioned, 'DO 0', CONCAT(
+  'ALTER TABLE twitter DROP PRIMARY KEY, ADD PRIMARY KEY (id, create_at) ',
+  'PARTITION BY RANGE COLUMNS (create_at) (', @monthly_partitions,
+  ', PARTITION p_future VALUES LESS THAN (MAXVALUE))'));
+
+PREPARE partition_twitter FROM @partition_twitter;
+EXECUTE partition_twitter;
+DEALLOCATE PREPARE partition_twitter;
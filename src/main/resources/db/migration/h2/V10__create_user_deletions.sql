@@ -0,0 +1,15 @@
+-- H2 counterpart of mysql/V10__create_user_deletions.sql
+ALTER TABLE users ALTER COLUMN status ENUM ('ACTIVE','BLOCKED','INACTIVE','UNREGISTERED','DELETED');
+
+CREATE TABLE user_deletions (
+  user_id UUID NOT NULL,
+  username VARCHAR(255) NOT NULL,
+  stage ENUM ('SCHEDULED_TWITTERS','TWITTERS','FOLLOWING','FOLLOWERS','ACCOUNT','COMPLETED') NOT NULL,
+  purged_rows BIGINT NOT NULL,
+  requested_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL,
+  completed_at TIMESTAMP(6),
+  PRIMARY KEY (user_id)
+);
+
+CREATE INDEX idx_user_deletions_completed_at_requested_at ON user_deletions (completed_at, requested_at);
@@ -0,0 +1,10 @@
+-- H2 counterpart of mysql/V11__create_idempotency_keys.sql
+CREATE TABLE idempotency_keys (
+  idempotency_key VARCHAR(255) NOT NULL,
+  status INTEGER,
+  request_hash VARCHAR(44),
+  expires_at TIMESTAMP(6) NOT NULL,
+  PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
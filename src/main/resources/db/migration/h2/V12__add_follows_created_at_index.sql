@@ -0,0 +1,2 @@
+-- H2 counterpart of mysql/V12__add_follows_created_at_index.sql
+CREATE INDEX idx_follows_created_at ON follows (created_at, follower_id, followee_id);
@@ -0,0 +1,49 @@
+-- H2 counterpart of mysql/V1__baseline_schema.sql, used by the tests and the loadtest profile
+
+CREATE TABLE roles (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  name VARCHAR(255),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE twitter (
+  create_at TIMESTAMP(6),
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  likes BIGINT NOT NULL,
+  updated_at TIMESTAMP(6),
+  author_id UUID,
+  content VARCHAR(255),
+  visibility ENUM ('PRIVATE','PUBLIC'),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+  birth_date DATE,
+  create_at TIMESTAMP(6),
+  registered_at TIMESTAMP(6),
+  updated_at TIMESTAMP(6),
+  id UUID NOT NULL,
+  display_name VARCHAR(255),
+  email VARCHAR(255) NOT NULL,
+  password VARCHAR(255),
+  username VARCHAR(255) NOT NULL,
+  status ENUM ('ACTIVE','BLOCKED','INACTIVE','UNREGISTERED'),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE users_roles (
+  role_id BIGINT NOT NULL,
+  user_id UUID NOT NULL
+);
+
+ALTER TABLE users ADD CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+
+ALTER TABLE users ADD CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username);
+
+ALTER TABLE twitter ADD CONSTRAINT FKby793h0t90u0kmerqse0x7uxa FOREIGN KEY (author_id) REFERENCES users (id);
+
+ALTER TABLE users_roles ADD CONSTRAINT FKj6m8fwv7oqv74fcehir1a9ffy FOREIGN KEY (role_id) REFERENCES roles (id);
+
+ALTER TABLE users_roles ADD CONSTRAINT FK2o0jvgh89lemvvo17cbqvdxaa FOREIGN KEY (user_id) REFERENCES users (id);
+
+INSERT INTO roles (name) VALUES ('USER');
@@ -0,0 +1,7 @@
+-- H2 counterpart of mysql/V2__add_access_path_indexes.sql. H2 databases are always created from scratch, so
+-- there is no counterpart of mysql/V3 either.
+CREATE INDEX idx_twitter_author_id_id ON twitter (author_id, id);
+
+CREATE INDEX idx_twitter_author_id_visibility_id ON twitter (author_id, visibility, id);
+
+CREATE INDEX idx_roles_name ON roles (name);
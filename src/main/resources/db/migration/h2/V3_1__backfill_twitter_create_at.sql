@@ -0,0 +1,3 @@
+-- H2 counterpart of mysql/V3_1__backfill_twitter_create_at.sql. H2 databases are always created empty, so one
+-- statement does.
+UPDATE twitter SET create_at = COALESCE(updated_at, CURRENT_TIMESTAMP(6)) WHERE create_at IS NULL;
@@ -0,0 +1,8 @@
+-- H2 counterpart of mysql/V4__make_twitter_create_at_not_null.sql
+ALTER TABLE twitter ALTER COLUMN create_at SET NOT NULL;
+
+-- H2 always gives a foreign key an index of its own, and its planner prefers that index on author_id over
+-- idx_twitter_author_id_id, which hides from IndexUsageTest whether the twitter queries are covered by the index
+-- MySQL reads them through (MySQL backs the foreign key with it since V3). The tests run without the constraint, as
+-- a partitioned MySQL table does.
+ALTER TABLE twitter DROP CONSTRAINT FKby793h0t90u0kmerqse0x7uxa;
@@ -0,0 +1,13 @@
+-- H2 counterpart of mysql/V5__create_follows.sql
+CREATE TABLE follows (
+  follower_id UUID NOT NULL,
+  followee_id UUID NOT NULL,
+  created_at TIMESTAMP(6) NOT NULL,
+  PRIMARY KEY (follower_id, followee_id)
+);
+
+CREATE INDEX idx_follows_followee_id_follower_id ON follows (followee_id, follower_id);
+
+ALTER TABLE follows ADD CONSTRAINT fk_follows_follower_id FOREIGN KEY (follower_id) REFERENCES users (id);
+
+ALTER TABLE follows ADD CONSTRAINT fk_follows_followee_id FOREIGN KEY (followee_id) REFERENCES users (id);
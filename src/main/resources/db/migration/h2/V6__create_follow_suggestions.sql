@@ -0,0 +1,12 @@
+-- H2 counterpart of mysql/V6__create_follow_suggestions.sql
+CREATE TABLE follow_suggestions (
+  user_id UUID NOT NULL,
+  suggestions VARBINARY(1000) NOT NULL,
+  computed_at TIMESTAMP(6) NOT NULL,
+  PRIMARY KEY (user_id)
+);
+
+ALTER TABLE follow_suggestions ADD CONSTRAINT fk_follow_suggestions_user_id FOREIGN KEY (user_id)
+  REFERENCES users (id);
+
+CREATE INDEX idx_twitter_create_at_author_id ON twitter (create_at, author_id);
@@ -0,0 +1,9 @@
+-- H2 counterpart of mysql/V7__create_twitter_impressions.sql
+CREATE TABLE twitter_impressions (
+  twitter_id BIGINT NOT NULL,
+  viewed_on DATE NOT NULL,
+  sketch VARBINARY(2050) NOT NULL,
+  PRIMARY KEY (twitter_id, viewed_on)
+);
+
+CREATE INDEX idx_twitter_impressions_viewed_on ON twitter_impressions (viewed_on);
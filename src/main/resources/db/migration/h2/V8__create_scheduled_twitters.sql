@@ -0,0 +1,17 @@
+-- H2 counterpart of mysql/V8__create_scheduled_twitters.sql
+CREATE TABLE scheduled_twitters (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  author_id UUID NOT NULL,
+  content VARCHAR(255) NOT NULL,
+  visibility ENUM ('PRIVATE','PUBLIC') NOT NULL,
+  publish_at TIMESTAMP(6) NOT NULL,
+  created_at TIMESTAMP(6) NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_scheduled_twitters_publish_at ON scheduled_twitters (publish_at);
+
+CREATE INDEX idx_scheduled_twitters_author_id_publish_at ON scheduled_twitters (author_id, publish_at);
+
+ALTER TABLE scheduled_twitters ADD CONSTRAINT fk_scheduled_twitters_author_id FOREIGN KEY (author_id)
+  REFERENCES users (id);
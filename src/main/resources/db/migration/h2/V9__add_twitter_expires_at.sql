@@ -0,0 +1,4 @@
+-- H2 counterpart of mysql/V9__add_twitter_expires_at.sql
+ALTER TABLE twitter ADD COLUMN expires_at TIMESTAMP(6);
+
+CREATE INDEX idx_twitter_expires_at ON twitter (expires_at);
@@ -0,0 +1,22 @@
+-- Accounts are deleted in two steps: the users row is marked DELETED at once, which hides the account and its
+-- twitters from every read, and UserDeletionJob then purges its rows a chunk at a time. Appending a value to the
+-- end of the ENUM only changes the metadata.
+ALTER TABLE users
+  MODIFY COLUMN status ENUM ('ACTIVE','BLOCKED','INACTIVE','UNREGISTERED','DELETED'),
+  ALGORITHM=INSTANT;
+
+-- Progress of every account deletion. A row outlives the account it tracks, so there is no foreign key to users.
+-- stage and purged_rows are updated in the transaction of each chunk, so a job restarted after a crash carries
+-- on from the last chunk committed.
+-- (completed_at, requested_at): the deletions still in progress, oldest first
+CREATE TABLE user_deletions (
+  user_id BINARY(16) NOT NULL,
+  username VARCHAR(255) NOT NULL,
+  stage ENUM ('SCHEDULED_TWITTERS','TWITTERS','FOLLOWING','FOLLOWERS','ACCOUNT','COMPLETED') NOT NULL,
+  purged_rows BIGINT NOT NULL,
+  requested_at DATETIME(6) NOT NULL,
+  updated_at DATETIME(6) NOT NULL,
+  completed_at DATETIME(6) NULL,
+  PRIMARY KEY (user_id),
+  INDEX idx_user_deletions_completed_at_requested_at (completed_at, requested_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,12 @@
+-- Responses of the requests sent with an Idempotency-Key, replayed when the key comes again. The table did not
+-- exist before, so databases baselined at V1 create it here like new ones.
+-- request_hash: fingerprint of the request the key was first used for, so a reuse for a different request is refused
+-- (expires_at): purge of expired keys
+CREATE TABLE idempotency_keys (
+  idempotency_key VARCHAR(255) NOT NULL,
+  status INTEGER NULL,
+  request_hash VARCHAR(44) NULL,
+  expires_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (idempotency_key),
+  INDEX idx_idempotency_keys_expires_at (expires_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,5 @@
+-- (created_at, follower_id, followee_id): the follows made since a point in time, read by every instance to bring
+-- its FollowGraph up to date with the others
+ALTER TABLE follows
+  ADD INDEX idx_follows_created_at (created_at, follower_id, followee_id),
+  ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,50 @@
+-- Schema as hibernate ddl-auto=update created it. Databases that already have it are baselined at this
+-- version (spring.flyway.baseline-on-migrate) and only run the migrations after it.
+
+CREATE TABLE roles (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(255),
+  PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE twitter (
+  create_at DATETIME(6),
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  likes BIGINT NOT NULL,
+  updated_at DATETIME(6),
+  author_id BINARY(16),
+  content VARCHAR(255),
+  visibility ENUM ('PRIVATE','PUBLIC'),
+  PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE users (
+  birth_date DATE,
+  create_at DATETIME(6),
+  registered_at DATETIME(6),
+  updated_at DATETIME(6),
+  id BINARY(16) NOT NULL,
+  display_name VARCHAR(255),
+  email VARCHAR(255) NOT NULL,
+  password VARCHAR(255),
+  username VARCHAR(255) NOT NULL,
+  status ENUM ('ACTIVE','BLOCKED','INACTIVE','UNREGISTERED'),
+  PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE users_roles (
+  role_id BIGINT NOT NULL,
+  user_id BINARY(16) NOT NULL
+) ENGINE=InnoDB;
+
+ALTER TABLE users ADD CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+
+ALTER TABLE users ADD CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username);
+
+ALTER TABLE twitter ADD CONSTRAINT FKby793h0t90u0kmerqse0x7uxa FOREIGN KEY (author_id) REFERENCES users (id);
+
+ALTER TABLE users_roles ADD CONSTRAINT FKj6m8fwv7oqv74fcehir1a9ffy FOREIGN KEY (role_id) REFERENCES roles (id);
+
+ALTER TABLE users_roles ADD CONSTRAINT FK2o0jvgh89lemvvo17cbqvdxaa FOREIGN KEY (user_id) REFERENCES users (id);
+
+INSERT INTO roles (name) VALUES ('USER');
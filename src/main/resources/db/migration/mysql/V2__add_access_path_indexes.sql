@@ -0,0 +1,11 @@
+-- Built in place without locking, so reads and writes continue while the indexes are created.
+-- (author_id, id): twitters of a user and the streamed timeline, newest first
+-- (author_id, visibility, id): public profile pages, newest first
+ALTER TABLE twitter
+  ADD INDEX idx_twitter_author_id_id (author_id, id),
+  ADD INDEX idx_twitter_author_id_visibility_id (author_id, visibility, id),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE roles
+  ADD INDEX idx_roles_name (name),
+  ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,27 @@
+-- Gives the twitters without a creation time one, before V4 makes the column NOT NULL. The table is walked in
+-- primary key ranges of 10000 ids, each updated and committed on its own, so no statement locks more than one
+-- range at a time or keeps a long transaction open on the largest table.
+DELIMITER //
+
+CREATE PROCEDURE backfill_twitter_create_at()
+BEGIN
+  DECLARE chunk_start BIGINT DEFAULT 0;
+  DECLARE last_id BIGINT;
+
+  SELECT COALESCE(MAX(id), 0) INTO last_id FROM twitter;
+
+  WHILE chunk_start < last_id DO
+    UPDATE twitter
+    SET create_at = COALESCE(updated_at, CURRENT_TIMESTAMP(6))
+    WHERE id > chunk_start AND id <= chunk_start + 10000 AND create_at IS NULL;
+    COMMIT;
+
+    SET chunk_start = chunk_start + 10000;
+  END WHILE;
+END //
+
+DELIMITER ;
+
+CALL backfill_twitter_create_at();
+
+DROP PROCEDURE backfill_twitter_create_at;
@@ -0,0 +1,19 @@
+-- Twitter.author used to be mapped @OneToOne, and ddl-auto=update never removes the unique key that mapping
+-- left on author_id, limiting those databases to one twitter per user. Its name was generated, so it is looked
+-- up. The foreign key on author_id is backed by idx_twitter_author_id_id from V2 once the key is gone.
+SET @unique_key = (
+  SELECT index_name
+  FROM information_schema.statistics
+  WHERE table_schema = DATABASE()
+    AND table_name = 'twitter'
+    AND column_name = 'author_id'
+    AND non_unique = 0
+    AND seq_in_index = 1
+  LIMIT 1);
+
+SET @drop_unique_key = IF(@unique_key IS NULL, 'DO 0',
+  CONCAT('ALTER TABLE twitter DROP INDEX `', @unique_key, '`, ALGORITHM=INPLACE, LOCK=NONE'));
+
+PREPARE drop_unique_key FROM @drop_unique_key;
+EXECUTE drop_unique_key;
+DEALLOCATE PREPARE drop_unique_key;
@@ -0,0 +1,6 @@
+-- Every twitter gets a creation time, so queries bounding create_at, like the stream chunks, cannot miss rows and
+-- the table can be partitioned by it later (see db/manual/mysql/partition_twitter_by_month.sql). Making the column
+-- NOT NULL rebuilds the table in place while it stays writable; V3_1 has filled in the missing values already.
+ALTER TABLE twitter
+  MODIFY create_at DATETIME(6) NOT NULL,
+  ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,11 @@
+-- Who follows whom. The primary key serves a user's followees and the loading of FollowGraph;
+-- (followee_id, follower_id) serves a user's followers and backs the foreign key on followee_id.
+CREATE TABLE follows (
+  follower_id BINARY(16) NOT NULL,
+  followee_id BINARY(16) NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (follower_id, followee_id),
+  INDEX idx_follows_followee_id_follower_id (followee_id, follower_id),
+  CONSTRAINT fk_follows_follower_id FOREIGN KEY (follower_id) REFERENCES users (id),
+  CONSTRAINT fk_follows_followee_id FOREIGN KEY (followee_id) REFERENCES users (id)
+) ENGINE=InnoDB;
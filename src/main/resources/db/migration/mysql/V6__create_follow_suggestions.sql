@@ -0,0 +1,14 @@
+-- Follow suggestions written by FollowSuggestionJob, one row per user. suggestions packs the suggested user ids
+-- with their scores (see FollowSuggestion), so a user's suggestions are read and replaced as a single row.
+CREATE TABLE follow_suggestions (
+  user_id BINARY(16) NOT NULL,
+  suggestions VARBINARY(1000) NOT NULL,
+  computed_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (user_id),
+  CONSTRAINT fk_follow_suggestions_user_id FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+-- (create_at, author_id): recent twitters counted per author by FollowSuggestionJob, read from the index alone
+ALTER TABLE twitter
+  ADD INDEX idx_twitter_create_at_author_id (create_at, author_id),
+  ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,11 @@
+-- Unique viewers of a twitter per day as serialized HyperLogLog sketches (see impression/HyperLogLog), at most
+-- 2 KiB each however many views there are. There is no foreign key to twitter, so that the table can still be
+-- partitioned (see db/manual/mysql/partition_twitter_by_month.sql); rows of deleted twitters age out with the rest.
+-- (viewed_on): purge of the days past the retention
+CREATE TABLE twitter_impressions (
+  twitter_id BIGINT NOT NULL,
+  viewed_on DATE NOT NULL,
+  sketch VARBINARY(2050) NOT NULL,
+  PRIMARY KEY (twitter_id, viewed_on),
+  INDEX idx_twitter_impressions_viewed_on (viewed_on)
+) ENGINE=InnoDB;
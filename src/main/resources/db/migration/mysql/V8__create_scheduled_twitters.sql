@@ -0,0 +1,16 @@
+-- Twitters waiting for their publish time. TwitterScheduler loads the ones due within its window into a timing
+-- wheel and deletes each row in the transaction that inserts its twitter.
+-- (publish_at): the window of pending twitters read at startup and on every refill
+-- (author_id, publish_at): a user's pending twitters, soonest first
+CREATE TABLE scheduled_twitters (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  author_id BINARY(16) NOT NULL,
+  content VARCHAR(255) NOT NULL,
+  visibility ENUM ('PRIVATE','PUBLIC') NOT NULL,
+  publish_at DATETIME(6) NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (id),
+  INDEX idx_scheduled_twitters_publish_at (publish_at),
+  INDEX idx_scheduled_twitters_author_id_publish_at (author_id, publish_at),
+  CONSTRAINT fk_scheduled_twitters_author_id FOREIGN KEY (author_id) REFERENCES users (id)
+) ENGINE=InnoDB;
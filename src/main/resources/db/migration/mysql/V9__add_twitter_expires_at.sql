@@ -0,0 +1,11 @@
+-- Twitters created with a time to live are hidden from every read once expires_at has passed and deleted later by
+-- TwitterExpiryReaper, a few rows at a time. The column is nullable, so adding it only changes the metadata.
+-- (expires_at): expired twitters in the order the reaper deletes them; the primary key columns it carries make
+-- (expires_at, id) the keyset
+ALTER TABLE twitter
+  ADD COLUMN expires_at DATETIME(6) NULL,
+  ALGORITHM=INSTANT;
+
+ALTER TABLE twitter
+  ADD INDEX idx_twitter_expires_at (expires_at),
+  ALGORITHM=INPLACE, LOCK=NONE;
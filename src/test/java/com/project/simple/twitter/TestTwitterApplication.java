@@ -0,0 +1,16 @@
+package com.project.simple.twitter;
+
+import java.util.stream.Stream;
+
+import org.springframework.boot.SpringApplication;
+
+public class TestTwitterApplication {
+
+  public static void main(String[] args) {
+    String[] arguments = Stream.concat(Stream.of("--spring.profiles.active=loadtest"), Stream.of(args))
+        .toArray(String[]::new);
+
+    SpringApplication.from(TwitterApplication::main).run(arguments);
+  }
+
+}
@@ -0,0 +1,111 @@
+package com.project.simple.twitter.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PrefixIndex Test")
+class PrefixIndexTest {
+
+  @Test
+  @DisplayName("keys should hold the folded username and the display name from each word on")
+  void keys_ShouldFoldUsernameAndDisplayNameWords() {
+    // Act & Assert
+    Assertions.assertThat(PrefixIndex.keys("BrunoLucas", "  Lucas   Brunó  "))
+        .containsExactly("brunolucas", "lucas bruno", "bruno");
+    Assertions.assertThat(PrefixIndex.keys("bruno", "Bruno")).containsExactly("bruno");
+    Assertions.assertThat(PrefixIndex.keys("bruno", null)).containsExactly("bruno");
+  }
+
+  @Test
+  @DisplayName("top should return the users with the prefix once each, the highest score first")
+  void top_ShouldReturnUsersWithPrefixByScore() {
+    // Arrange
+    UUID lucas = UUID.randomUUID();
+    PrefixIndex index = new PrefixIndex.Builder(4)
+        .add(UUID.randomUUID(), "brunolucas", "Bruno Lucas", 5)
+        .add(lucas, "lucasbruno", "Lucas Bruno", 9)
+        .add(UUID.randomUUID(), "brunomars", null, 5)
+        .add(UUID.randomUUID(), "anna", "Ánna Bell", 1)
+        .build();
+
+    // Act & Assert
+    Assertions.assertThat(usernames(index, index.top("bru", 10, user -> true)))
+        .containsExactly("lucasbruno", "brunolucas", "brunomars");
+    Assertions.assertThat(usernames(index, index.top("bru", 2, user -> true)))
+        .containsExactly("lucasbruno", "brunolucas");
+    Assertions.assertThat(usernames(index, index.top("lucas", 10, user -> true)))
+        .containsExactly("lucasbruno", "brunolucas");
+    Assertions.assertThat(usernames(index, index.top("lucas b", 10, user -> true))).containsExactly("lucasbruno");
+    Assertions.assertThat(usernames(index, index.top("anna b", 10, user -> true))).containsExactly("anna");
+    Assertions.assertThat(usernames(index, index.top("bru", 10, user -> !index.idAt(user).equals(lucas))))
+        .containsExactly("brunolucas", "brunomars");
+    Assertions.assertThat(index.top("zed", 10, user -> true)).isEmpty();
+
+    int anna = index.top("anna", 1, user -> true)[0];
+    Assertions.assertThat(index.displayNameAt(anna)).isEqualTo("Ánna Bell");
+    Assertions.assertThat(index.displayNameAt(index.top("brunomars", 1, user -> true)[0])).isNull();
+    Assertions.assertThat(index.scoreAt(anna)).isEqualTo(1);
+    Assertions.assertThat(PrefixIndex.EMPTY.top("a", 10, user -> true)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("top should match sorting every user with the prefix by score on random users")
+  void top_ShouldMatchBruteForce_OnRandomUsers() {
+    // Arrange
+    Random random = new Random(13);
+    List<String> usernames = new ArrayList<>();
+    List<String> displayNames = new ArrayList<>();
+    int[] scores = new int[3000];
+    PrefixIndex.Builder builder = new PrefixIndex.Builder(16);
+
+    for (int user = 0; user < scores.length; user++) {
+      usernames.add(word(random) + user);
+      displayNames.add(random.nextBoolean() ? null : word(random) + " " + word(random));
+      scores[user] = random.nextInt(50);
+      builder.add(UUID.randomUUID(), usernames.get(user), displayNames.get(user), scores[user]);
+    }
+    PrefixIndex index = builder.build();
+
+    // Act & Assert
+    for (int query = 0; query < 300; query++) {
+      String prefix = word(random).substring(0, 1 + random.nextInt(2));
+      int limit = 1 + random.nextInt(10);
+
+      List<Integer> expected = IntStream.range(0, scores.length)
+          .filter(user -> PrefixIndex.keys(usernames.get(user), displayNames.get(user)).stream()
+              .anyMatch(key -> key.startsWith(prefix)))
+          .boxed()
+          .sorted(Comparator.comparingInt((Integer user) -> scores[user]).reversed())
+          .toList();
+      int[] found = index.top(prefix, limit, user -> true);
+
+      Assertions.assertThat(found).hasSize(Math.min(limit, expected.size()));
+      for (int i = 0; i < found.length; i++) {
+        // Ties may come in any order, so only the scores are compared
+        Assertions.assertThat(index.scoreAt(found[i])).isEqualTo(scores[expected.get(i)]);
+        Assertions.assertThat(PrefixIndex.keys(index.usernameAt(found[i]), index.displayNameAt(found[i])))
+            .anyMatch(key -> key.startsWith(prefix));
+      }
+      Assertions.assertThat(found).doesNotHaveDuplicates();
+    }
+  }
+
+  private static List<String> usernames(PrefixIndex index, int[] users) {
+    return IntStream.of(users).mapToObj(index::usernameAt).toList();
+  }
+
+  private static String word(Random random) {
+    StringBuilder word = new StringBuilder();
+    for (int length = 3 + random.nextInt(4); length > 0; length--)
+      word.append((char) ('a' + random.nextInt(5)));
+    return word.toString();
+  }
+}
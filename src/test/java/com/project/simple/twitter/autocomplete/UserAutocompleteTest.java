@@ -0,0 +1,123 @@
+package com.project.simple.twitter.autocomplete;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.project.simple.twitter.autocomplete.UserAutocomplete.Match;
+import com.project.simple.twitter.domain.Role;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.graph.FollowGraph;
+import com.project.simple.twitter.repository.RoleRepository;
+import com.project.simple.twitter.repository.UserRepository;
+import com.project.simple.twitter.security.SecurityConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@DisplayName("UserAutocomplete Test")
+class UserAutocompleteTest {
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private RoleRepository roleRepository;
+
+  private FollowGraph followGraph;
+  private UserAutocomplete autocomplete;
+  private User bruno;
+  private User lucas;
+
+  @BeforeEach
+  void initUtils() {
+    bruno = saveUser("brunolucas", "Bruno Lucas", UserStatus.ACTIVE);
+    lucas = saveUser("lucasbruno", "Lucas Bruno", UserStatus.ACTIVE);
+    saveUser("brunounregistered", null, UserStatus.UNREGISTERED);
+    saveUser("brunoblocked", null, UserStatus.BLOCKED);
+
+    followGraph = new FollowGraph();
+    followGraph.follow(bruno.getId(), lucas.getId());
+
+    autocomplete = new UserAutocomplete(userRepository, followGraph, new SimpleMeterRegistry(), true);
+  }
+
+  @Test
+  @DisplayName("rebuild should index the active users only, the most followed first")
+  void rebuild_ShouldIndexActiveUsersByFollowers() {
+    // Act
+    autocomplete.rebuild();
+
+    // Assert
+    Assertions.assertThat(usernames(autocomplete.complete("BRU", 10))).containsExactly("lucasbruno", "brunolucas");
+    Assertions.assertThat(autocomplete.complete("lucas b", 10))
+        .containsExactly(new Match(lucas.getId(), "lucasbruno", "Lucas Bruno", 1));
+    Assertions.assertThat(autocomplete.complete("bru", 1)).hasSize(1);
+    Assertions.assertThat(autocomplete.complete(" ", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("complete should reflect users put since the rebuild until the next one")
+  void complete_ShouldApplyChangesPutSinceRebuild() {
+    // Arrange
+    autocomplete.rebuild();
+
+    User carol = saveUser("carol", "Bruna Carol", UserStatus.ACTIVE);
+    lucas.setDisplayName("Someone Else");
+    bruno.setStatus(UserStatus.DELETED);
+
+    // Act
+    autocomplete.put(carol);
+    autocomplete.put(lucas);
+    autocomplete.put(bruno);
+
+    // Assert
+    Assertions.assertThat(usernames(autocomplete.complete("bru", 10))).containsExactly("carol");
+    Assertions.assertThat(usernames(autocomplete.complete("some", 10))).containsExactly("lucasbruno");
+
+    // Verify that a rebuild reads the same changes from the database
+    autocomplete.rebuild();
+    Assertions.assertThat(usernames(autocomplete.complete("bru", 10))).containsExactly("carol");
+    Assertions.assertThat(usernames(autocomplete.complete("some", 10))).containsExactly("lucasbruno");
+  }
+
+  @Test
+  @DisplayName("complete should list a changed user once when several of their keys have the prefix")
+  void complete_ShouldListChangedUserOnce_WhenSeveralKeysMatch() {
+    // Arrange
+    autocomplete.rebuild();
+    User carol = saveUser("brunacarol", "Bruna Carol", UserStatus.ACTIVE);
+
+    // Act
+    autocomplete.put(carol);
+    autocomplete.put(carol);
+
+    // Assert
+    Assertions.assertThat(usernames(autocomplete.complete("bru", 10)))
+        .containsExactly("lucasbruno", "brunacarol", "brunolucas");
+    Assertions.assertThat(usernames(autocomplete.complete("carol", 10))).containsExactly("brunacarol");
+  }
+
+  private static List<String> usernames(List<Match> matches) {
+    return matches.stream().map(Match::username).toList();
+  }
+
+  private User saveUser(String username, String displayName, UserStatus status) {
+    Role role = roleRepository.findByName("USER");
+
+    return userRepository.save(User.builder()
+        .username(username)
+        .email(username + "@gmail.com")
+        .password(SecurityConfig.passwordEncoder().encode("bruno123"))
+        .displayName(displayName)
+        .status(status)
+        .roles(List.of(role))
+        .build());
+  }
+}
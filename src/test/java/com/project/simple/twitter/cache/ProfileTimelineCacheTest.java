@@ -0,0 +1,116 @@
+package com.project.simple.twitter.cache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.project.simple.twitter.config.BinaryFormatConfig;
+
+@DisplayName("ProfileTimelineCache Test")
+class ProfileTimelineCacheTest {
+
+  private ProfileTimelineCache profileTimelineCache;
+
+  @BeforeEach
+  void initUtils() {
+    profileTimelineCache = new ProfileTimelineCache(List.of(
+        new MappingJackson2HttpMessageConverter(new ObjectMapper()),
+        new MappingJackson2SmileHttpMessageConverter(new ObjectMapper(new SmileFactory()))), 2);
+  }
+
+  @Test
+  @DisplayName("getOrRender should render once and serve cached bytes until evicted")
+  void getOrRender_ShouldServeCachedBytes_UntilEvicted() {
+    // Arrange
+    AtomicInteger renders = new AtomicInteger();
+
+    // Act
+    byte[] firstPage = profileTimelineCache.getOrRender("brunolucas", MediaType.APPLICATION_JSON, () -> Map.of("page", renders.incrementAndGet()));
+    byte[] secondPage = profileTimelineCache.getOrRender("brunolucas", MediaType.APPLICATION_JSON, () -> Map.of("page", renders.incrementAndGet()));
+
+    profileTimelineCache.evict("brunolucas");
+
+    byte[] thirdPage = profileTimelineCache.getOrRender("brunolucas", MediaType.APPLICATION_JSON, () -> Map.of("page", renders.incrementAndGet()));
+
+    // Assert
+    Assertions.assertThat(renders.get()).isEqualTo(2);
+    Assertions.assertThat(secondPage).isSameAs(firstPage);
+    Assertions.assertThat(new String(thirdPage)).isEqualTo("{\"page\":2}");
+  }
+
+  @Test
+  @DisplayName("getOrRender should render the page again once the time it is valid until has passed")
+  void getOrRender_ShouldRenderAgain_WhenPageIsNoLongerValid() {
+    // Arrange
+    AtomicInteger renders = new AtomicInteger();
+
+    // Act
+    profileTimelineCache.getOrRender("brunolucas", MediaType.APPLICATION_JSON, () -> Map.of("page", renders.incrementAndGet()), page -> LocalDateTime.now().minusSeconds(1));
+    profileTimelineCache.getOrRender("brunolucas", MediaType.APPLICATION_JSON, () -> Map.of("page", renders.incrementAndGet()), page -> LocalDateTime.now().plusMinutes(1));
+    byte[] thirdPage = profileTimelineCache.getOrRender("brunolucas", MediaType.APPLICATION_JSON, () -> Map.of("page", renders.incrementAndGet()));
+
+    // Assert
+    Assertions.assertThat(renders.get()).isEqualTo(2);
+    Assertions.assertThat(new String(thirdPage)).isEqualTo("{\"page\":2}");
+  }
+
+  @Test
+  @DisplayName("getOrRender should not cache a page rendered while the profile was invalidated")
+  void getOrRender_ShouldNotCachePage_WhenEvictedDuringRender() {
+    // Act
+    byte[] stalePage = profileTimelineCache.getOrRender("brunolucas", MediaType.APPLICATION_JSON, () -> {
+      profileTimelineCache.evict("brunolucas");
+      return Map.of("page", "stale");
+    });
+
+    // Assert
+    Assertions.assertThat(new String(stalePage)).isEqualTo("{\"page\":\"stale\"}");
+    Assertions.assertThat(profileTimelineCache.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("getOrRender should keep the number of cached profiles bounded")
+  void getOrRender_ShouldKeepCacheBounded_WhenManyProfilesAreRendered() {
+    // Act
+    for (int i = 0; i < 10; i++)
+      profileTimelineCache.getOrRender("user" + i, MediaType.APPLICATION_JSON, () -> Map.of("page", 1));
+
+    // Assert
+    Assertions.assertThat(profileTimelineCache.size()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("getOrRender should cache each format separately and evict all formats of a profile together")
+  void getOrRender_ShouldCacheEachFormat_WhenDifferentMediaTypesAreRequested() throws Exception {
+    // Arrange
+    ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    // Act
+    byte[] jsonPage = profileTimelineCache.getOrRender("brunolucas", MediaType.APPLICATION_JSON,
+        () -> Map.of("page", 1));
+    byte[] smilePage = profileTimelineCache.getOrRender("brunolucas", BinaryFormatConfig.APPLICATION_SMILE,
+        () -> Map.of("page", 1));
+
+    int cachedBeforeEviction = profileTimelineCache.size();
+    profileTimelineCache.evict("brunolucas");
+
+    // Assert
+    Assertions.assertThat(new String(jsonPage)).isEqualTo("{\"page\":1}");
+    Assertions.assertThat(smileMapper.readTree(smilePage).get("page").asInt()).isEqualTo(1);
+    Assertions.assertThat(cachedBeforeEviction).isEqualTo(2);
+    Assertions.assertThat(profileTimelineCache.size()).isZero();
+    Assertions.assertThatThrownBy(() -> profileTimelineCache.getOrRender("brunolucas", MediaType.APPLICATION_XML,
+        () -> Map.of("page", 1))).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,201 @@
+package com.project.simple.twitter.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SingleFlightCache Test")
+class SingleFlightCacheTest {
+
+  private static final int THREADS = 64;
+
+  private ExecutorService executor;
+
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void initUtils() {
+    executor = Executors.newFixedThreadPool(THREADS);
+    loads = new AtomicInteger();
+  }
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("get should run the loader once when many threads miss the same key concurrently")
+  void get_ShouldRunLoaderOnce_WhenManyThreadsMissSameKeyConcurrently() throws Exception {
+    // Arrange
+    SingleFlightCache<Long, String> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 100);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<String>> results = new ArrayList<>();
+
+    // Act
+    for (int i = 0; i < THREADS; i++) {
+      results.add(executor.submit(() -> {
+        start.await();
+        return cache.get(1L, this::slowLoad);
+      }));
+    }
+    start.countDown();
+
+    // Assert
+    for (Future<String> result : results)
+      Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value-1");
+
+    Assertions.assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("get should load a hot key at most once per TTL interval regardless of concurrency")
+  void get_ShouldLoadHotKeyOncePerInterval_WhenReadContinuously() throws Exception {
+    // Arrange
+    Duration ttl = Duration.ofMillis(100);
+    SingleFlightCache<Long, String> cache = new SingleFlightCache<>(ttl, 100);
+    long runNanos = TimeUnit.MILLISECONDS.toNanos(1000);
+    AtomicInteger reads = new AtomicInteger();
+    List<Future<?>> readers = new ArrayList<>();
+
+    // Act
+    long startedAt = System.nanoTime();
+    for (int i = 0; i < THREADS; i++) {
+      readers.add(executor.submit(() -> {
+        while (System.nanoTime() - startedAt < runNanos) {
+          cache.get(1L, this::slowLoad);
+          reads.incrementAndGet();
+        }
+      }));
+    }
+    for (Future<?> reader : readers)
+      reader.get(5, TimeUnit.SECONDS);
+
+    // Assert
+    long intervals = runNanos / ttl.toNanos();
+    Assertions.assertThat(reads.get()).isGreaterThan(THREADS * 10);
+    Assertions.assertThat(loads.get()).isBetween(1, (int) intervals + 1);
+  }
+
+  @Test
+  @DisplayName("get should not cache failures and should rethrow them to the caller")
+  void get_ShouldNotCacheFailures_WhenLoaderThrows() {
+    // Arrange
+    SingleFlightCache<Long, String> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 100);
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> cache.get(1L, key -> {
+      throw new IllegalStateException("database unavailable");
+    })).isInstanceOf(IllegalStateException.class).hasMessage("database unavailable");
+
+    Assertions.assertThat(cache.get(1L, this::slowLoad)).isEqualTo("value-1");
+    Assertions.assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("get should not cache new keys while the cache is full of unexpired entries")
+  void get_ShouldNotCacheNewKeys_WhenFullOfUnexpiredEntries() {
+    // Arrange
+    SingleFlightCache<Long, String> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 2);
+    cache.get(1L, this::slowLoad);
+    cache.get(2L, this::slowLoad);
+
+    // Act
+    for (long key = 3; key <= 10; key++)
+      Assertions.assertThat(cache.get(key, this::slowLoad)).isEqualTo("value-" + key);
+    cache.get(3L, this::slowLoad);
+    cache.get(1L, this::slowLoad);
+
+    // Assert
+    Assertions.assertThat(cache.size()).isEqualTo(2);
+    Assertions.assertThat(loads.get()).isEqualTo(11);
+  }
+
+  @Test
+  @DisplayName("get should still coalesce concurrent loads of a new key while the cache is full")
+  void get_ShouldCoalesceConcurrentLoads_WhenCacheIsFull() throws Exception {
+    // Arrange
+    SingleFlightCache<Long, String> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 1);
+    cache.get(1L, this::slowLoad);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<String>> results = new ArrayList<>();
+
+    // Act
+    for (int i = 0; i < THREADS; i++) {
+      results.add(executor.submit(() -> {
+        start.await();
+        return cache.get(2L, key -> {
+          loads.incrementAndGet();
+          sleep(200);
+          return "value-" + key;
+        });
+      }));
+    }
+    start.countDown();
+
+    // Assert
+    for (Future<String> result : results)
+      Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value-2");
+
+    Assertions.assertThat(loads.get()).isEqualTo(2);
+    Assertions.assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("get should cache new keys again once the periodic sweep has removed the expired entries")
+  void get_ShouldCacheNewKeys_WhenSweepRemovedExpiredEntries() {
+    // Arrange
+    SingleFlightCache<Long, String> cache = new SingleFlightCache<>(Duration.ofMillis(50), 1);
+    cache.get(1L, this::slowLoad);
+    sleep(100);
+
+    // Act
+    cache.get(2L, this::slowLoad);
+    cache.get(2L, this::slowLoad);
+
+    // Assert
+    Assertions.assertThat(cache.size()).isEqualTo(1);
+    Assertions.assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("invalidate should force the next read to load again")
+  void invalidate_ShouldForceReload_WhenKeyIsInvalidated() {
+    // Arrange
+    SingleFlightCache<Long, String> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 100);
+    cache.get(1L, this::slowLoad);
+
+    // Act
+    cache.invalidate(1L);
+    cache.get(1L, this::slowLoad);
+
+    // Assert
+    Assertions.assertThat(loads.get()).isEqualTo(2);
+  }
+
+  private String slowLoad(Long key) {
+    loads.incrementAndGet();
+    sleep(20);
+    return "value-" + key;
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
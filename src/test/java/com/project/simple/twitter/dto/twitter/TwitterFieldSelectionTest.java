@@ -0,0 +1,65 @@
+package com.project.simple.twitter.dto.twitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.simple.twitter.enums.twitter.TwitterField;
+
+@DisplayName("TwitterFieldSelection Test")
+class TwitterFieldSelectionTest {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private final TwitterBatchDto batch = TwitterBatchDto.builder()
+      .twitters(List.of(TwitterDto.builder()
+          .id(1L)
+          .content("content")
+          .author("brunolucas")
+          .createdAt(LocalDateTime.of(2026, 10, 19, 12, 0))
+          .visibility("PUBLIC")
+          .build()))
+      .unavailableIds(List.of(2L))
+      .build();
+
+  @Test
+  @DisplayName("serialize should write only the requested twitter fields and the rest of the body unchanged")
+  void serialize_ShouldWriteOnlyRequestedFields() throws Exception {
+    // Act
+    JsonNode written = objectMapper.readTree(objectMapper.writeValueAsBytes(
+        new TwitterFieldSelection(batch, TwitterField.parse("id,created_at"))));
+
+    // Assert
+    Assertions.assertThat(written.get("twitters").get(0).fieldNames()).toIterable()
+        .containsExactly("id", "created_at");
+    Assertions.assertThat(written.get("unavailable_ids").get(0).asLong()).isEqualTo(2L);
+  }
+
+  @Test
+  @DisplayName("serialize should write the same bytes as the mapper itself when every field is requested")
+  void serialize_ShouldMatchMapper_WhenAllFieldsAreRequested() throws Exception {
+    // Act
+    byte[] selected = objectMapper.writeValueAsBytes(new TwitterFieldSelection(batch, TwitterField.all()));
+
+    // Assert
+    Assertions.assertThat(selected).isEqualTo(objectMapper.writeValueAsBytes(batch));
+  }
+
+  @Test
+  @DisplayName("writerFor should build one writer per mapper and field set")
+  void writerFor_ShouldReuseWriter_WhenFieldSetRepeats() {
+    // Arrange
+    ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+
+    // Act & Assert
+    Assertions.assertThat(TwitterFieldSelection.writerFor(objectMapper, TwitterField.parse("id,content")))
+        .isSameAs(TwitterFieldSelection.writerFor(objectMapper, TwitterField.parse("content,id")))
+        .isNotSameAs(TwitterFieldSelection.writerFor(smileMapper, TwitterField.parse("id,content")));
+  }
+}
@@ -0,0 +1,78 @@
+package com.project.simple.twitter.duplicate;
+
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SimHashIndex Test")
+class SimHashIndexTest {
+
+  private static final long WINDOW = 60_000;
+
+  @Test
+  @DisplayName("find should match fingerprints within the distance and tell the author apart from the others")
+  void find_ShouldMatchWithinDistance() {
+    // Arrange
+    SimHashIndex index = new SimHashIndex(100, WINDOW, 3);
+    long fingerprint = 0x0123456789abcdefL;
+    // Three bits flipped, one in each of three different bands
+    long near = fingerprint ^ (1L << 2) ^ (1L << 20) ^ (1L << 40);
+    long far = fingerprint ^ 0xFFL ^ (0xFFL << 16) ^ (0xFFL << 32) ^ (0xFFL << 48);
+
+    index.add(fingerprint, 1, 1000);
+    index.add(fingerprint, 2, 1000);
+    index.add(near, 3, 1000);
+
+    // Act & Assert
+    Assertions.assertThat(index.find(near, 1, 2000, 3)).isEqualTo(new SimHashIndex.Matches(true, 2));
+    Assertions.assertThat(index.find(fingerprint, 4, 2000, 3)).isEqualTo(new SimHashIndex.Matches(false, 3));
+    Assertions.assertThat(index.find(fingerprint, 4, 2000, 2)).isEqualTo(new SimHashIndex.Matches(false, 2));
+    Assertions.assertThat(index.find(far, 1, 2000, 3)).isEqualTo(new SimHashIndex.Matches(false, 0));
+  }
+
+  @Test
+  @DisplayName("find should ignore entries older than the window or overwritten by newer ones")
+  void find_ShouldIgnoreExpiredAndOverwrittenEntries() {
+    // Arrange
+    SimHashIndex index = new SimHashIndex(4, WINDOW, 3);
+    long fingerprint = 0x0123456789abcdefL;
+    index.add(fingerprint, 1, 1000);
+
+    // Act & Assert
+    Assertions.assertThat(index.find(fingerprint, 1, 1000 + WINDOW, 1).sameAuthor()).isTrue();
+    Assertions.assertThat(index.find(fingerprint, 1, 1001 + WINDOW, 1).sameAuthor()).isFalse();
+
+    Random random = new Random(3);
+    for (int i = 0; i < 4; i++)
+      index.add(random.nextLong(), 2, 2000);
+
+    Assertions.assertThat(index.find(fingerprint, 1, 2000, 1).sameAuthor()).isFalse();
+    Assertions.assertThat(index.size()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("find should find every fingerprint within the distance among many random ones")
+  void find_ShouldMatchBruteForce_WhenIndexIsFull() {
+    // Arrange
+    Random random = new Random(17);
+    SimHashIndex index = new SimHashIndex(5000, WINDOW, 3);
+    long[] added = new long[5000];
+    for (int i = 0; i < added.length; i++) {
+      added[i] = random.nextLong();
+      index.add(added[i], i, 1000);
+    }
+
+    // Act & Assert
+    for (int i = 0; i < 200; i++) {
+      int target = random.nextInt(added.length);
+      long query = added[target];
+      for (int flips = random.nextInt(4); flips > 0; flips--)
+        query ^= 1L << random.nextInt(64);
+
+      SimHashIndex.Matches matches = index.find(query, target, 2000, 1);
+      Assertions.assertThat(matches.sameAuthor()).isTrue();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.project.simple.twitter.duplicate;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SimHash Test")
+class SimHashTest {
+
+  @Test
+  @DisplayName("normalize should drop case, accents, links and punctuation variations but keep digits")
+  void normalize_ShouldRemoveVariations() {
+    // Act & Assert
+    Assertions.assertThat(SimHash.normalize("  Promoção!!! Visit https://spam.example/a?b=1 NOW, 50% off 2024  "))
+        .isEqualTo("promocao visit url now 50 off 2024");
+    Assertions.assertThat(SimHash.normalize("Promocao visit www.other.example now... 50% OFF, 2024"))
+        .isEqualTo("promocao visit url now 50 off 2024");
+  }
+
+  @Test
+  @DisplayName("fingerprint should be close for near duplicates and far for unrelated texts")
+  void fingerprint_ShouldBeCloseForNearDuplicates() {
+    // Arrange
+    String original = SimHash.normalize("Big sale today on every pair of running shoes in the store, come early");
+    String edited = SimHash.normalize("BIG SALE today on every pair of running shoes in the store!!! come early :)");
+    String unrelated = SimHash.normalize("Finished reading a great book about the history of the printing press");
+
+    // Act
+    long originalFingerprint = SimHash.fingerprint(original);
+    long editedFingerprint = SimHash.fingerprint(edited);
+    long unrelatedFingerprint = SimHash.fingerprint(unrelated);
+
+    // Assert
+    Assertions.assertThat(SimHash.fingerprint(original)).isEqualTo(originalFingerprint);
+    Assertions.assertThat(SimHash.distance(originalFingerprint, editedFingerprint)).isLessThanOrEqualTo(3);
+    Assertions.assertThat(SimHash.distance(originalFingerprint, unrelatedFingerprint)).isGreaterThan(10);
+  }
+
+  @Test
+  @DisplayName("fingerprint should keep the twitters of a numbered series apart")
+  void fingerprint_ShouldKeepNumberedSeriesApart() {
+    // Arrange
+    long[] fingerprints = {
+        SimHash.fingerprint(SimHash.normalize("Day 1 of my workout challenge")),
+        SimHash.fingerprint(SimHash.normalize("Day 2 of my workout challenge")),
+        SimHash.fingerprint(SimHash.normalize("Day 3 of my workout challenge")),
+        SimHash.fingerprint(SimHash.normalize("Day 10 of my workout challenge")) };
+
+    // Assert that no day is within the default max-distance of another
+    for (int i = 0; i < fingerprints.length; i++) {
+      for (int j = i + 1; j < fingerprints.length; j++)
+        Assertions.assertThat(SimHash.distance(fingerprints[i], fingerprints[j])).isGreaterThan(3);
+    }
+  }
+}
@@ -0,0 +1,253 @@
+package com.project.simple.twitter.event;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("DomainEventBus Test")
+class DomainEventBusTest {
+
+  private static final UUID AUTHOR_ID = UUID.randomUUID();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private DomainEventBus bus;
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive())
+      TransactionSynchronizationManager.clearSynchronization();
+    if (bus != null)
+      bus.stop();
+  }
+
+  @Test
+  @DisplayName("publish should deliver every event to every consumer in publication order")
+  void publish_ShouldDeliverEventsToEveryConsumerInOrder() throws Exception {
+    // Arrange
+    RecordingConsumer first = new RecordingConsumer("first", 3);
+    RecordingConsumer second = new RecordingConsumer("second", 3);
+    bus = startBus(List.of(first, second));
+
+    // Act
+    for (long id = 1; id <= 3; id++)
+      bus.publish(new TwitterCreatedEvent(id, AUTHOR_ID, "author"));
+
+    // Assert
+    Assertions.assertThat(first.await()).isTrue();
+    Assertions.assertThat(second.await()).isTrue();
+    Assertions.assertThat(first.getEvents()).extracting(event -> ((TwitterEvent) event).getTwitterId())
+        .containsExactly(1L, 2L, 3L);
+    Assertions.assertThat(second.getEvents()).extracting(event -> ((TwitterEvent) event).getTwitterId())
+        .containsExactly(1L, 2L, 3L);
+    Assertions.assertThat(meterRegistry.get("twitter.events.published").tag("type", "TwitterCreatedEvent")
+        .counter().count()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("constructor should register the published counter of every event type before anything is published")
+  void constructor_ShouldRegisterPublishedCounters_WhenBusIsCreated() {
+    // Act
+    bus = startBus(List.of());
+
+    // Assert
+    Assertions.assertThat(meterRegistry.find("twitter.events.published").counters())
+        .extracting(counter -> counter.getId().getTag("type"))
+        .contains("TwitterCreatedEvent", "TwitterViewedEvent", "UserDeletedEvent", "UserFollowedEvent");
+  }
+
+  @Test
+  @DisplayName("publish should release an event from its slot once every consumer has read it")
+  void publish_ShouldReleaseEventFromSlot_WhenEveryConsumerHasReadIt() throws Exception {
+    // Arrange
+    RecordingConsumer first = new RecordingConsumer("first", 1);
+    RecordingConsumer second = new RecordingConsumer("second", 1);
+    bus = startBus(List.of(first, second));
+    WeakReference<DomainEvent> published = publishCreated(bus);
+
+    // Act
+    Assertions.assertThat(first.await()).isTrue();
+    Assertions.assertThat(second.await()).isTrue();
+    first.getEvents().clear();
+    second.getEvents().clear();
+
+    // Assert
+    for (int attempt = 0; attempt < 50 && published.get() != null; attempt++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    Assertions.assertThat(published.get()).isNull();
+  }
+
+  @Test
+  @DisplayName("publish should hold events until the transaction commits and drop them on rollback")
+  void publish_ShouldPublishAfterCommit_WhenTransactionIsActive() throws Exception {
+    // Arrange
+    RecordingConsumer consumer = new RecordingConsumer("consumer", 1);
+    bus = startBus(List.of(consumer));
+
+    // Act
+    TransactionSynchronizationManager.initSynchronization();
+    bus.publish(new UserConfirmedEvent(AUTHOR_ID, "rolled-back"));
+    TransactionSynchronizationManager.clearSynchronization();
+
+    TransactionSynchronizationManager.initSynchronization();
+    bus.publish(new UserConfirmedEvent(AUTHOR_ID, "committed"));
+
+    // Verify that nothing is delivered before the commit
+    Assertions.assertThat(consumer.await(200)).isFalse();
+
+    TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+    // Assert
+    Assertions.assertThat(consumer.await()).isTrue();
+    Assertions.assertThat(consumer.getEvents()).extracting(event -> ((UserEvent) event).getUsername())
+        .containsExactly("committed");
+  }
+
+  @Test
+  @DisplayName("publish should keep delivering to a consumer after it fails on an event")
+  void publish_ShouldKeepDelivering_WhenConsumerFails() throws Exception {
+    // Arrange
+    RecordingConsumer consumer = new RecordingConsumer("failing", 2) {
+
+      @Override
+      public void onEvent(DomainEvent event, boolean endOfBatch) throws Exception {
+        super.onEvent(event, endOfBatch);
+        if (event instanceof TwitterDeletedEvent)
+          throw new IllegalStateException("consumer failure");
+      }
+    };
+    bus = startBus(List.of(consumer));
+
+    // Act
+    bus.publish(new TwitterDeletedEvent(1, AUTHOR_ID, "author"));
+    bus.publish(new TwitterUpdatedEvent(2, AUTHOR_ID, "author"));
+
+    // Assert
+    Assertions.assertThat(consumer.await()).isTrue();
+    Assertions.assertThat(meterRegistry.get("twitter.events.failures").tag("consumer", "failing").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("tryPublish should drop and count events instead of waiting when the buffer is full")
+  void tryPublish_ShouldDropEvents_WhenBufferIsFull() throws Exception {
+    // Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingConsumer blocked = new RecordingConsumer("blocked", 8) {
+
+      @Override
+      public void onEvent(DomainEvent event, boolean endOfBatch) throws Exception {
+        release.await();
+        super.onEvent(event, endOfBatch);
+      }
+    };
+    bus = startBus(List.of(blocked));
+
+    // Act
+    for (long id = 1; id <= 10; id++)
+      bus.tryPublish(new TwitterViewedEvent(id, AUTHOR_ID, "author", UUID.randomUUID()));
+
+    // Assert
+    Assertions.assertThat(meterRegistry.get("twitter.events.dropped").counter().count()).isEqualTo(2);
+    Assertions.assertThat(meterRegistry.get("twitter.events.publish_blocked").counter().count()).isZero();
+
+    release.countDown();
+
+    Assertions.assertThat(blocked.await()).isTrue();
+    Assertions.assertThat(blocked.getEvents()).extracting(event -> ((TwitterEvent) event).getTwitterId())
+        .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+  }
+
+  @Test
+  @DisplayName("lag should report the events a blocked consumer has not read yet")
+  void lag_ShouldReportUnconsumedEvents_WhenConsumerIsBlocked() throws Exception {
+    // Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingConsumer blocked = new RecordingConsumer("blocked", 5) {
+
+      @Override
+      public void onEvent(DomainEvent event, boolean endOfBatch) throws Exception {
+        release.await();
+        super.onEvent(event, endOfBatch);
+      }
+    };
+    bus = startBus(List.of(blocked));
+
+    // Act
+    for (long id = 1; id <= 5; id++)
+      bus.publish(new TwitterCreatedEvent(id, AUTHOR_ID, "author"));
+
+    // Assert
+    Assertions.assertThat(meterRegistry.get("twitter.events.lag").tag("consumer", "blocked").gauge().value())
+        .isEqualTo(5);
+    Assertions.assertThat(meterRegistry.get("twitter.events.remaining_capacity").gauge().value()).isEqualTo(3);
+
+    release.countDown();
+
+    Assertions.assertThat(blocked.await()).isTrue();
+    Assertions.assertThat(meterRegistry.get("twitter.events.lag").tag("consumer", "blocked").gauge().value())
+        .isZero();
+  }
+
+  // Keeps no strong reference to the event, so only the bus and the consumers can hold on to it
+  private static WeakReference<DomainEvent> publishCreated(DomainEventBus bus) {
+    DomainEvent event = new TwitterCreatedEvent(1, AUTHOR_ID, "author");
+    bus.publish(event);
+    return new WeakReference<>(event);
+  }
+
+  private DomainEventBus startBus(List<DomainEventConsumer> consumers) {
+    DomainEventBus started = new DomainEventBus(consumers, meterRegistry, 8, "blocking");
+    started.start();
+    return started;
+  }
+
+  private static class RecordingConsumer implements DomainEventConsumer {
+
+    private final String name;
+    private final CountDownLatch received;
+    private final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+
+    RecordingConsumer(String name, int expectedEvents) {
+      this.name = name;
+      this.received = new CountDownLatch(expectedEvents);
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event, boolean endOfBatch) throws Exception {
+      events.add(event);
+      received.countDown();
+    }
+
+    List<DomainEvent> getEvents() {
+      return events;
+    }
+
+    boolean await() throws InterruptedException {
+      return await(5000);
+    }
+
+    boolean await(long millis) throws InterruptedException {
+      return received.await(millis, TimeUnit.MILLISECONDS);
+    }
+  }
+}
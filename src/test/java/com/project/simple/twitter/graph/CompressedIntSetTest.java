@@ -0,0 +1,60 @@
+package com.project.simple.twitter.graph;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CompressedIntSet Test")
+class CompressedIntSetTest {
+
+  @Test
+  @DisplayName("of should keep every value in order across blocks and gap sizes")
+  void of_ShouldKeepEveryValueInOrder_WhenValuesSpanSeveralBlocks() {
+    // Arrange
+    Random random = new Random(42);
+    int[] values = new int[1000];
+    for (int i = 1; i < values.length; i++)
+      values[i] = values[i - 1] + 1 + (i % 100 == 0 ? 5_000_000 : random.nextInt(300));
+
+    // Act
+    CompressedIntSet set = CompressedIntSet.of(values);
+
+    // Assert
+    Assertions.assertThat(set.size()).isEqualTo(values.length);
+    Assertions.assertThat(set.toArray()).containsExactly(values);
+    Assertions.assertThat(set.memoryBytes()).isLessThan(values.length * 4L);
+  }
+
+  @Test
+  @DisplayName("contains should find every member and reject the values between them")
+  void contains_ShouldFindMembersOnly() {
+    // Arrange
+    int[] values = IntStream.range(0, 500).map(i -> i * 3 + 1).toArray();
+    CompressedIntSet set = CompressedIntSet.of(values);
+
+    // Act & Assert
+    for (int value = 0; value < 1600; value++)
+      Assertions.assertThat(set.contains(value)).as("contains %d", value).isEqualTo(value % 3 == 1 && value < 1500);
+  }
+
+  @Test
+  @DisplayName("contains should be false for any value when the set is empty")
+  void contains_ShouldBeFalse_WhenSetIsEmpty() {
+    // Act & Assert
+    Assertions.assertThat(CompressedIntSet.of().contains(0)).isFalse();
+    Assertions.assertThat(CompressedIntSet.EMPTY.iterator().hasNext()).isFalse();
+  }
+
+  @Test
+  @DisplayName("of should throw IllegalArgumentException when values are not sorted and distinct")
+  void of_ShouldThrowIllegalArgumentException_WhenValuesAreNotSorted() {
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> CompressedIntSet.of(1, 3, 3))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThatThrownBy(() -> CompressedIntSet.of(5, 2))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
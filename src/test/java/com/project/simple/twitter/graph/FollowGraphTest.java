@@ -0,0 +1,180 @@
+package com.project.simple.twitter.graph;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FollowGraph Test")
+class FollowGraphTest {
+
+  private final UUID alice = UUID.randomUUID();
+  private final UUID bob = UUID.randomUUID();
+  private final UUID carol = UUID.randomUUID();
+
+  @Test
+  @DisplayName("follow should record the edge in both directions only once")
+  void follow_ShouldRecordEdgeInBothDirections() {
+    // Arrange
+    FollowGraph graph = new FollowGraph();
+
+    // Act
+    boolean followed = graph.follow(alice, bob);
+    boolean followedAgain = graph.follow(alice, bob);
+
+    // Assert
+    Assertions.assertThat(followed).isTrue();
+    Assertions.assertThat(followedAgain).isFalse();
+    Assertions.assertThat(graph.isFollowing(alice, bob)).isTrue();
+    Assertions.assertThat(graph.isFollowing(bob, alice)).isFalse();
+    Assertions.assertThat(graph.getFollowers(bob, 0, 10)).containsExactly(alice);
+    Assertions.assertThat(graph.getFollowing(alice, 0, 10)).containsExactly(bob);
+    Assertions.assertThat(graph.countEdges()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("unfollow should remove the edge and ignore unknown users")
+  void unfollow_ShouldRemoveEdge() {
+    // Arrange
+    FollowGraph graph = new FollowGraph();
+    graph.follow(alice, bob);
+
+    // Act & Assert
+    Assertions.assertThat(graph.unfollow(alice, bob)).isTrue();
+    Assertions.assertThat(graph.unfollow(alice, bob)).isFalse();
+    Assertions.assertThat(graph.unfollow(carol, bob)).isFalse();
+    Assertions.assertThat(graph.isFollowing(alice, bob)).isFalse();
+    Assertions.assertThat(graph.countFollowers(bob)).isZero();
+    Assertions.assertThat(graph.countEdges()).isZero();
+  }
+
+  @Test
+  @DisplayName("removeUser should drop every edge to and from the user and leave the others")
+  void removeUser_ShouldDropEdgesOfUser() {
+    // Arrange
+    FollowGraph graph = new FollowGraph();
+    graph.follow(alice, bob);
+    graph.follow(bob, alice);
+    graph.follow(carol, bob);
+    graph.follow(carol, alice);
+
+    // Act
+    int removed = graph.removeUser(bob);
+
+    // Assert
+    Assertions.assertThat(removed).isEqualTo(3);
+    Assertions.assertThat(graph.removeUser(UUID.randomUUID())).isZero();
+    Assertions.assertThat(graph.countEdges()).isEqualTo(1);
+    Assertions.assertThat(graph.countFollowers(bob)).isZero();
+    Assertions.assertThat(graph.countFollowing(bob)).isZero();
+    Assertions.assertThat(graph.getFollowing(alice, 0, 10)).isEmpty();
+    Assertions.assertThat(graph.getFollowers(alice, 0, 10)).containsExactly(carol);
+    Assertions.assertThat(graph.getFollowing(carol, 0, 10)).containsExactly(alice);
+  }
+
+  @Test
+  @DisplayName("getMutuals should return the users who follow back")
+  void getMutuals_ShouldReturnUsersWhoFollowBack() {
+    // Arrange
+    FollowGraph graph = new FollowGraph();
+    graph.follow(alice, bob);
+    graph.follow(bob, alice);
+    graph.follow(alice, carol);
+
+    // Act & Assert
+    Assertions.assertThat(graph.getMutuals(alice, 0, 10)).containsExactly(bob);
+    Assertions.assertThat(graph.getMutuals(carol, 0, 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("load should build the same graph as following one edge at a time")
+  void load_ShouldMatchIncrementalFollows_WhenEdgesContainDuplicates() {
+    // Arrange
+    List<UUID> users = IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toList();
+    Random random = new Random(7);
+    int[][] edges = new int[2000][];
+    for (int i = 0; i < edges.length; i++)
+      edges[i] = new int[] { random.nextInt(users.size()), random.nextInt(users.size()) };
+
+    FollowGraph incremental = new FollowGraph();
+    for (int[] edge : edges)
+      incremental.follow(users.get(edge[0]), users.get(edge[1]));
+
+    // Act
+    FollowGraph loaded = new FollowGraph();
+    loaded.load(sink -> {
+      for (int[] edge : edges)
+        sink.accept(users.get(edge[0]), users.get(edge[1]));
+    });
+
+    // Assert
+    Assertions.assertThat(loaded.countEdges()).isEqualTo(incremental.countEdges());
+    for (UUID user : users) {
+      Assertions.assertThat(loaded.getFollowers(user, 0, 100))
+          .containsExactlyInAnyOrderElementsOf(incremental.getFollowers(user, 0, 100));
+      Assertions.assertThat(loaded.getFollowing(user, 0, 100))
+          .containsExactlyInAnyOrderElementsOf(incremental.getFollowing(user, 0, 100));
+    }
+  }
+
+  @Test
+  @DisplayName("load should keep serving the old edges and keep the changes made while the source is read")
+  void load_ShouldKeepChangesMadeDuringLoad_WhenReloaded() {
+    // Arrange
+    FollowGraph graph = new FollowGraph();
+    graph.follow(alice, bob);
+    graph.follow(alice, carol);
+    int aliceIndex = graph.indexOf(alice);
+    boolean[] servedDuringLoad = { false };
+
+    // Act
+    graph.load(sink -> {
+      sink.accept(alice, bob);
+      sink.accept(alice, carol);
+      servedDuringLoad[0] = graph.isFollowing(alice, carol);
+
+      // Changed after the source read these rows
+      graph.unfollow(alice, carol);
+      graph.follow(bob, carol);
+    });
+
+    // Assert
+    Assertions.assertThat(servedDuringLoad[0]).isTrue();
+    Assertions.assertThat(graph.indexOf(alice)).isEqualTo(aliceIndex);
+    Assertions.assertThat(graph.getFollowing(alice, 0, 10)).containsExactly(bob);
+    Assertions.assertThat(graph.getFollowers(carol, 0, 10)).containsExactly(bob);
+    Assertions.assertThat(graph.countEdges()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("AdjacencyList should match a sorted set through additions, removals and compactions")
+  void adjacencyList_ShouldMatchSortedSet_WhenChangedRepeatedly() {
+    // Arrange
+    Random random = new Random(11);
+    TreeSet<Integer> expected = new TreeSet<>();
+    AdjacencyList list = AdjacencyList.EMPTY;
+
+    // Act
+    for (int i = 0; i < 20_000; i++) {
+      int id = random.nextInt(2000);
+      if (random.nextInt(3) == 0) {
+        expected.remove(id);
+        list = list.without(id);
+      } else {
+        expected.add(id);
+        list = list.with(id);
+      }
+    }
+
+    // Assert
+    Assertions.assertThat(list.size()).isEqualTo(expected.size());
+    Assertions.assertThat(list.toArray()).containsExactly(expected.stream().mapToInt(Integer::intValue).toArray());
+    for (int id = 0; id < 2000; id++)
+      Assertions.assertThat(list.contains(id)).isEqualTo(expected.contains(id));
+  }
+}
@@ -0,0 +1,60 @@
+package com.project.simple.twitter.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UserIndex Test")
+class UserIndexTest {
+
+  @Test
+  @DisplayName("indexFor should number users densely and keep them findable across resizes")
+  void indexFor_ShouldNumberUsersDensely_WhenTableResizes() {
+    // Arrange
+    UserIndex index = new UserIndex();
+    List<UUID> users = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++)
+      users.add(UUID.randomUUID());
+
+    // Act
+    for (int i = 0; i < users.size(); i++)
+      Assertions.assertThat(index.indexFor(users.get(i))).isEqualTo(i);
+
+    // Assert
+    Assertions.assertThat(index.size()).isEqualTo(users.size());
+    for (int i = 0; i < users.size(); i++) {
+      Assertions.assertThat(index.indexOf(users.get(i))).isEqualTo(i);
+      Assertions.assertThat(index.userAt(i)).isEqualTo(users.get(i));
+    }
+  }
+
+  @Test
+  @DisplayName("indexFor should return the existing index when the user was already added")
+  void indexFor_ShouldReturnExistingIndex_WhenUserWasAdded() {
+    // Arrange
+    UserIndex index = new UserIndex();
+    UUID user = UUID.randomUUID();
+    index.indexFor(UUID.randomUUID());
+    index.indexFor(user);
+
+    // Act & Assert
+    Assertions.assertThat(index.indexFor(user)).isEqualTo(1);
+    Assertions.assertThat(index.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("indexOf should return -1 when the user was never added")
+  void indexOf_ShouldReturnMinusOne_WhenUserIsUnknown() {
+    // Arrange
+    UserIndex index = new UserIndex();
+    index.indexFor(UUID.randomUUID());
+
+    // Act & Assert
+    Assertions.assertThat(index.indexOf(UUID.randomUUID())).isEqualTo(-1);
+    Assertions.assertThat(index.indexOf(new UUID(0, 0))).isEqualTo(-1);
+  }
+}
@@ -0,0 +1,90 @@
+package com.project.simple.twitter.impression;
+
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HyperLogLog Test")
+class HyperLogLogTest {
+
+  @Test
+  @DisplayName("estimate should be exact for a handful of viewers and close for many")
+  void estimate_ShouldStayWithinErrorBound_WhenManyValuesAreAdded() {
+    // Arrange
+    HyperLogLog few = sketchOf(10);
+    HyperLogLog many = sketchOf(200_000);
+
+    // Act & Assert
+    Assertions.assertThat(few.estimate()).isEqualTo(10);
+    Assertions.assertThat(many.estimate()).isBetween(190_000L, 210_000L);
+  }
+
+  @Test
+  @DisplayName("offer should not count a viewer twice")
+  void offer_ShouldNotCountDuplicates_WhenSameViewerIsAddedAgain() {
+    // Arrange
+    HyperLogLog sketch = new HyperLogLog();
+    UUID viewer = UUID.randomUUID();
+
+    // Act
+    for (int i = 0; i < 1000; i++)
+      sketch.offer(HyperLogLog.hash(viewer));
+
+    // Assert
+    Assertions.assertThat(sketch.estimate()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("memoryBytes should stay at the register count however many viewers are added")
+  void memoryBytes_ShouldBeBounded_WhenSketchGrows() {
+    // Act & Assert
+    Assertions.assertThat(sketchOf(10).memoryBytes()).isLessThan(HyperLogLog.REGISTERS);
+    Assertions.assertThat(sketchOf(1_000_000).memoryBytes()).isEqualTo(HyperLogLog.REGISTERS);
+  }
+
+  @Test
+  @DisplayName("merge should estimate the union of both sketches")
+  void merge_ShouldEstimateUnion_WhenSketchesOverlap() {
+    // Arrange
+    HyperLogLog monday = new HyperLogLog();
+    HyperLogLog tuesday = new HyperLogLog();
+    for (long viewer = 0; viewer < 30_000; viewer++) {
+      monday.offer(HyperLogLog.hash(new UUID(0, viewer)));
+      tuesday.offer(HyperLogLog.hash(new UUID(0, viewer + 20_000)));
+    }
+
+    // Act
+    monday.merge(tuesday);
+
+    // Assert
+    Assertions.assertThat(monday.estimate()).isBetween(47_500L, 52_500L);
+  }
+
+  @Test
+  @DisplayName("fromBytes should restore the sketch written by toBytes in both formats")
+  void fromBytes_ShouldRestoreSketch_WhenSparseOrDense() {
+    // Arrange
+    HyperLogLog sparse = sketchOf(50);
+    HyperLogLog dense = sketchOf(50_000);
+
+    // Act
+    byte[] sparseBytes = sparse.toBytes();
+    byte[] denseBytes = dense.toBytes();
+
+    // Assert
+    Assertions.assertThat(sparseBytes).hasSizeLessThan(HyperLogLog.REGISTERS / 4);
+    Assertions.assertThat(denseBytes).hasSize(HyperLogLog.REGISTERS + 2);
+    Assertions.assertThat(HyperLogLog.fromBytes(sparseBytes).estimate()).isEqualTo(sparse.estimate());
+    Assertions.assertThat(HyperLogLog.fromBytes(denseBytes).estimate()).isEqualTo(dense.estimate());
+    Assertions.assertThat(HyperLogLog.fromBytes(denseBytes).toBytes()).isEqualTo(denseBytes);
+  }
+
+  private static HyperLogLog sketchOf(long viewers) {
+    HyperLogLog sketch = new HyperLogLog();
+    for (long viewer = 0; viewer < viewers; viewer++)
+      sketch.offer(HyperLogLog.hash(new UUID(viewer, viewer * 31)));
+    return sketch;
+  }
+}
@@ -0,0 +1,125 @@
+package com.project.simple.twitter.impression;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.project.simple.twitter.domain.TwitterImpression;
+import com.project.simple.twitter.domain.TwitterImpressionId;
+import com.project.simple.twitter.event.TwitterViewedEvent;
+import com.project.simple.twitter.repository.TwitterImpressionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ImpressionTracker Test")
+class ImpressionTrackerTest {
+
+  private final LocalDate today = LocalDate.now();
+
+  private TwitterImpressionRepository twitterImpressionRepository;
+  private ImpressionTracker impressionTracker;
+
+  @BeforeEach
+  void initUtils() {
+    twitterImpressionRepository = mock(TwitterImpressionRepository.class);
+    impressionTracker = new ImpressionTracker(twitterImpressionRepository, new SimpleMeterRegistry(), 35);
+    when(twitterImpressionRepository.findAllByTwitterIdBetween(anyLong(), any(LocalDate.class),
+        any(LocalDate.class))).thenReturn(List.of());
+  }
+
+  @Test
+  @DisplayName("countViewers should count recorded viewers once each before they are flushed")
+  void countViewers_ShouldCountUniqueViewers_WhenViewsAreNotFlushed() {
+    // Arrange
+    UUID viewer = UUID.randomUUID();
+    impressionTracker.onEvent(new TwitterViewedEvent(1L, UUID.randomUUID(), "author", viewer), true);
+    impressionTracker.onEvent(new TwitterViewedEvent(1L, UUID.randomUUID(), "author", viewer), true);
+    impressionTracker.onEvent(new TwitterViewedEvent(1L, UUID.randomUUID(), "author", UUID.randomUUID()), true);
+    impressionTracker.onEvent(new TwitterViewedEvent(2L, UUID.randomUUID(), "author", viewer), true);
+
+    // Act & Assert
+    Assertions.assertThat(impressionTracker.countViewers(1L, today, today)).isEqualTo(2);
+    Assertions.assertThat(impressionTracker.countViewers(2L, today, today)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("countViewers should merge stored days with the ones not flushed yet")
+  void countViewers_ShouldMergeStoredAndPendingSketches_WhenWindowSpansSeveralDays() {
+    // Arrange
+    UUID returningViewer = UUID.randomUUID();
+    HyperLogLog yesterday = new HyperLogLog();
+    yesterday.offer(HyperLogLog.hash(returningViewer));
+    yesterday.offer(HyperLogLog.hash(UUID.randomUUID()));
+    when(twitterImpressionRepository.findAllByTwitterIdBetween(1L, today.minusDays(6), today)).thenReturn(List.of(
+        TwitterImpression.createNew(new TwitterImpressionId(1L, today.minusDays(1)), yesterday)));
+
+    impressionTracker.record(1L, returningViewer, today);
+    impressionTracker.record(1L, UUID.randomUUID(), today);
+
+    // Act & Assert
+    Assertions.assertThat(impressionTracker.countViewers(1L, today.minusDays(6), today)).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("flush should merge the pending sketches into the repository and forget them")
+  void flush_ShouldMergePendingSketches_WhenViewsWereRecorded() {
+    // Arrange
+    Map<Long, Long> flushed = new HashMap<>();
+    doAnswer(invocation -> {
+      Map<Long, HyperLogLog> viewers = invocation.getArgument(1);
+      viewers.forEach((twitterId, sketch) -> flushed.put(twitterId, sketch.estimate()));
+      return null;
+    }).when(twitterImpressionRepository).mergeViewers(eq(today), anyMap());
+
+    impressionTracker.record(1L, UUID.randomUUID(), today);
+    impressionTracker.record(1L, UUID.randomUUID(), today);
+    impressionTracker.record(2L, UUID.randomUUID(), today);
+
+    // Act
+    impressionTracker.flush();
+    impressionTracker.flush();
+
+    // Assert
+    Assertions.assertThat(flushed).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 2L, 2L, 1L));
+    Assertions.assertThat(impressionTracker.countViewers(1L, today, today)).isZero();
+
+    // Verify that the second flush had nothing to write
+    verify(twitterImpressionRepository, times(1)).mergeViewers(eq(today), anyMap());
+  }
+
+  @Test
+  @DisplayName("flush should keep the sketches for the next flush when the repository fails")
+  void flush_ShouldKeepSketches_WhenRepositoryFails() {
+    // Arrange
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(twitterImpressionRepository).mergeViewers(eq(today), anyMap());
+
+    impressionTracker.record(1L, UUID.randomUUID(), today);
+
+    // Act
+    impressionTracker.flush();
+    impressionTracker.record(1L, UUID.randomUUID(), today);
+
+    // Assert
+    Assertions.assertThat(impressionTracker.countViewers(1L, today, today)).isEqualTo(2);
+  }
+}
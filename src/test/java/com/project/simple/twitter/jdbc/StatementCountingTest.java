@@ -0,0 +1,150 @@
+package com.project.simple.twitter.jdbc;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.project.simple.twitter.domain.CustomUserDetails;
+import com.project.simple.twitter.domain.Role;
+import com.project.simple.twitter.domain.Twitter;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.dto.twitter.TwitterBatchDto;
+import com.project.simple.twitter.dto.twitter.TwitterDto;
+import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.repository.UserRepository;
+import com.project.simple.twitter.security.SecurityConfig;
+import com.project.simple.twitter.service.TwitterService;
+import com.project.simple.twitter.service.UserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Import({ StatementCountingTest.MetricsConfig.class, StatementBudget.class, StatementCountingListener.class,
+    StatementCountingPostProcessor.class })
+@DisplayName("Tests for SQL statement counting")
+class StatementCountingTest {
+
+  @TestConfiguration
+  static class MetricsConfig {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private TwitterRepository twitterRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  private TwitterService twitterService;
+
+  private User user;
+
+  @BeforeEach
+  void initUtils() {
+    twitterService = new TwitterService(twitterRepository,
+        new UserService(userRepository, null, null, null, null, null, null, null, null), null, null, null, null, null,
+        null, null);
+
+    Role role = entityManager.persist(new Role(null, "USER"));
+    user = saveUser("brunolucas", role);
+
+    twitterService.setUserDetails(CustomUserDetails.builder()
+        .username(user.getUsername())
+        .build());
+  }
+
+  @Test
+  @DisplayName("getUserTwitters should run at most two statements whatever the number of twitters")
+  void getUserTwitters_ShouldRunAtMostTwoStatements_WhenUserHasManyTwitters() {
+    // Arrange
+    IntStream.range(0, 20).forEach(index -> twitterRepository.save(Twitter.createNew("Twitter " + index, user)));
+    clearPersistenceContext();
+
+    // Act
+    List<TwitterDto> twitters;
+    try (StatementScope scope = StatementCounter.open("getUserTwitters")) {
+      twitters = twitterService.getUserTwitters();
+
+      // Assert
+      Assertions.assertThat(scope.getStatements()).isLessThanOrEqualTo(2);
+    }
+
+    Assertions.assertThat(twitters).hasSize(20);
+  }
+
+  @Test
+  @DisplayName("getTwittersByIds should not run a statement per author")
+  void getTwittersByIds_ShouldNotRunStatementPerAuthor_WhenTwittersHaveDifferentAuthors() {
+    // Arrange
+    Role role = entityManager.persist(new Role(null, "AUTHOR"));
+    List<Long> ids = IntStream.range(0, 10)
+        .mapToObj(index -> twitterRepository.save(Twitter.createNew("Twitter " + index, saveUser("author" + index, role))))
+        .map(Twitter::getId)
+        .toList();
+    clearPersistenceContext();
+
+    // Act
+    TwitterBatchDto batch;
+    try (StatementScope scope = StatementCounter.open("getTwittersByIds")) {
+      batch = twitterService.getTwittersByIds(ids);
+
+      // Assert
+      Assertions.assertThat(scope.getStatements()).isLessThanOrEqualTo(3);
+    }
+
+    Assertions.assertThat(batch.getTwitters()).hasSize(10);
+  }
+
+  @Test
+  @DisplayName("recordTransaction should count transactions above the budget")
+  void recordTransaction_ShouldIncrementExceededCounter_WhenStatementsAreAboveBudget() {
+    // Arrange
+    MeterRegistry registry = new SimpleMeterRegistry();
+    StatementBudget statementBudget = new StatementBudget(registry, 10, 2);
+    StatementScope scope = StatementCounter.open("transaction");
+    IntStream.range(0, 3).forEach(index -> StatementCounter.record(1_000));
+    scope.close();
+
+    // Act
+    statementBudget.recordTransaction(scope);
+
+    // Assert
+    Assertions.assertThat(registry.counter("twitter.statement_budget.exceeded", "scope", "transaction").count())
+        .isEqualTo(1);
+  }
+
+  private User saveUser(String username, Role role) {
+    return userRepository.save(User.builder()
+        .username(username)
+        .email(username + "@gmail.com")
+        .password(SecurityConfig.passwordEncoder().encode("bruno123"))
+        .status(UserStatus.ACTIVE)
+        .roles(List.of(role))
+        .build());
+  }
+
+  private void clearPersistenceContext() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+}
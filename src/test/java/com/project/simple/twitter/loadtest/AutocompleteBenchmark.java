@@ -0,0 +1,78 @@
+package com.project.simple.twitter.loadtest;
+
+import java.util.Random;
+import java.util.UUID;
+
+import org.HdrHistogram.Histogram;
+
+import com.project.simple.twitter.autocomplete.PrefixIndex;
+
+// Builds a PrefixIndex of loadtest.autocomplete.users random users, with names made of syllables so that short
+// prefixes are shared by many of them and follower counts skewed like a real follow graph, and reports its build
+// time, its size and the latency of a top-10 query by prefix length, which is how an autocomplete grows its query.
+public class AutocompleteBenchmark {
+
+  private static final int USERS = Integer.getInteger("loadtest.autocomplete.users", 10_000_000);
+  private static final int QUERIES = Integer.getInteger("loadtest.autocomplete.queries", 200_000);
+  private static final int LIMIT = 10;
+  private static final String[] SYLLABLES = { "ba", "be", "bru", "ca", "da", "el", "fi", "ga", "jo", "ka", "la",
+      "lu", "ma", "mi", "na", "no", "pe", "ra", "ri", "sa", "so", "ta", "to", "vi", "an", "or", "us", "is" };
+
+  public static void main(String[] args) {
+    Random random = new Random(42);
+
+    long startedAt = System.nanoTime();
+    PrefixIndex.Builder builder = new PrefixIndex.Builder(USERS);
+    for (int user = 0; user < USERS; user++) {
+      String first = name(random);
+      String last = name(random);
+      String username = random.nextBoolean() ? first + last + user : first + user;
+      String displayName = random.nextInt(4) == 0 ? null : capitalize(first) + " " + capitalize(last);
+      builder.add(new UUID(random.nextLong(), random.nextLong()), username, displayName, followers(random));
+    }
+    System.out.printf("%d users generated in %.1f s%n", USERS, (System.nanoTime() - startedAt) / 1e9);
+
+    startedAt = System.nanoTime();
+    PrefixIndex index = builder.build();
+    System.out.printf("index built in %.1f s: %d keys, %.0f MiB%n", (System.nanoTime() - startedAt) / 1e9,
+        index.countKeys(), index.memoryBytes() / 1048576.0);
+
+    for (int length = 1; length <= 4; length++) {
+      Histogram histogram = new Histogram(3);
+      long found = 0;
+      for (int round = 0; round < 2; round++) {
+        // The first round warms up the JIT
+        histogram.reset();
+        found = 0;
+        for (int query = 0; query < QUERIES; query++) {
+          String prefix = name(random);
+          prefix = prefix.substring(0, Math.min(length, prefix.length()));
+
+          long queryStartedAt = System.nanoTime();
+          found += index.top(prefix, LIMIT, user -> true).length;
+          histogram.recordValue(System.nanoTime() - queryStartedAt);
+        }
+      }
+
+      System.out.printf("prefix of %d: mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us, %.1f users per query%n",
+          length, histogram.getMean() / 1e3, histogram.getValueAtPercentile(50) / 1e3,
+          histogram.getValueAtPercentile(99) / 1e3, histogram.getMaxValue() / 1e3, (double) found / QUERIES);
+    }
+  }
+
+  private static String name(Random random) {
+    StringBuilder name = new StringBuilder();
+    for (int syllables = 2 + random.nextInt(2); syllables > 0; syllables--)
+      name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    return name.toString();
+  }
+
+  private static String capitalize(String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  // Most users have a handful of followers and a few have millions
+  private static int followers(Random random) {
+    return (int) Math.min(Integer.MAX_VALUE, Math.pow(random.nextDouble(), -2.5) - 1);
+  }
+}
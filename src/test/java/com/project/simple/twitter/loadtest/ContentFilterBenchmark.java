@@ -0,0 +1,82 @@
+package com.project.simple.twitter.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import com.project.simple.twitter.moderation.AhoCorasick;
+
+// Compiles an AhoCorasick automaton from loadtest.moderation.terms random terms and reports its size and how many
+// MB of twitter-sized content per second it checks, most of which contains no term, like real traffic. For
+// comparison it times the regular expression per term that the automaton replaces, on a sample of the same
+// content.
+public class ContentFilterBenchmark {
+
+  private static final int TERMS = Integer.getInteger("loadtest.moderation.terms", 50_000);
+  private static final int TWITTERS = Integer.getInteger("loadtest.moderation.twitters", 100_000);
+  private static final int REGEX_TWITTERS = 20;
+
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    List<String> terms = new ArrayList<>(TERMS);
+    for (int i = 0; i < TERMS; i++)
+      terms.add(word(random, 5, 10) + (random.nextInt(5) == 0 ? " " + word(random, 3, 8) : ""));
+
+    String[] twitters = new String[TWITTERS];
+    long bytes = 0;
+    for (int i = 0; i < TWITTERS; i++) {
+      StringBuilder twitter = new StringBuilder();
+      while (twitter.length() < 200)
+        twitter.append(word(random, 1, 8)).append(random.nextInt(8) == 0 ? ", " : " ");
+      if (random.nextInt(100) == 0)
+        twitter.append(terms.get(random.nextInt(TERMS)).toUpperCase());
+      twitters[i] = twitter.toString();
+      bytes += twitters[i].getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    long startedAt = System.nanoTime();
+    AhoCorasick automaton = AhoCorasick.compile(terms);
+    System.out.printf("%d terms compiled in %.0f ms: %d states, %.1f MiB%n", automaton.size(),
+        (System.nanoTime() - startedAt) / 1e6, automaton.countStates(), automaton.memoryBytes() / 1048576.0);
+
+    int matched = 0;
+    double seconds = 0;
+    for (int round = 0; round < 3; round++) {
+      // The first rounds warm up the JIT
+      matched = 0;
+      startedAt = System.nanoTime();
+      for (String twitter : twitters) {
+        if (automaton.findFirst(twitter).isPresent())
+          matched++;
+      }
+      seconds = (System.nanoTime() - startedAt) / 1e9;
+    }
+
+    System.out.printf("automaton: %.1f MB/s, %.1f us per twitter, %d of %d twitters matched%n",
+        bytes / seconds / 1e6, seconds * 1e6 / TWITTERS, matched, TWITTERS);
+
+    List<Pattern> patterns = terms.stream()
+        .map(term -> Pattern.compile("\\b" + Pattern.quote(term) + "\\b", Pattern.CASE_INSENSITIVE))
+        .toList();
+    startedAt = System.nanoTime();
+    long regexBytes = 0;
+    for (int i = 0; i < REGEX_TWITTERS; i++) {
+      String twitter = twitters[i];
+      regexBytes += twitter.getBytes(StandardCharsets.UTF_8).length;
+      patterns.stream().anyMatch(pattern -> pattern.matcher(twitter).find());
+    }
+    seconds = (System.nanoTime() - startedAt) / 1e9;
+
+    System.out.printf("regex per term: %.3f MB/s, %.0f us per twitter%n", regexBytes / seconds / 1e6,
+        seconds * 1e6 / REGEX_TWITTERS);
+  }
+
+  private static String word(Random random, int minLength, int maxLength) {
+    StringBuilder word = new StringBuilder();
+    for (int length = minLength + random.nextInt(maxLength - minLength + 1); length > 0; length--)
+      word.append((char) ('a' + random.nextInt(26)));
+    return word.toString();
+  }
+}
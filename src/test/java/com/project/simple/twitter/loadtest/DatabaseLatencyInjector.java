@@ -0,0 +1,63 @@
+package com.project.simple.twitter.loadtest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// Slows every statement of the in-memory database down so overload behaviour can be reproduced locally
+@Component
+@Profile("loadtest")
+public class DatabaseLatencyInjector implements BeanPostProcessor {
+
+  private final long latencyMillis;
+
+  public DatabaseLatencyInjector(@Value("${loadtest.db-latency:PT0S}") Duration latency) {
+    this.latencyMillis = latency.toMillis();
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (latencyMillis <= 0 || !(bean instanceof DataSource dataSource))
+      return bean;
+
+    return proxy(DataSource.class, dataSource);
+  }
+
+  private <T> T proxy(Class<T> type, Object target) {
+    Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (instance, method, args) -> {
+      if (target instanceof Statement && method.getName().startsWith("execute"))
+        Thread.sleep(latencyMillis);
+
+      Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (InvocationTargetException exception) {
+        throw exception.getTargetException();
+      }
+
+      if (result instanceof Connection connection)
+        return proxy(Connection.class, connection);
+      if (result instanceof CallableStatement statement)
+        return proxy(CallableStatement.class, statement);
+      if (result instanceof PreparedStatement statement)
+        return proxy(PreparedStatement.class, statement);
+      if (result instanceof Statement statement)
+        return proxy(Statement.class, statement);
+
+      return result;
+    });
+
+    return type.cast(proxy);
+  }
+}
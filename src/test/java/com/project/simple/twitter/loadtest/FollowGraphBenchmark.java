@@ -0,0 +1,90 @@
+package com.project.simple.twitter.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.project.simple.twitter.graph.FollowGraph;
+
+// Builds a FollowGraph the size of a production follows table and reports its footprint and the cost of the
+// lookups FollowService serves. Followees are drawn from a skewed distribution so a few users have millions of
+// followers, as on the real site.
+public class FollowGraphBenchmark {
+
+  private static final int USERS = Integer.getInteger("loadtest.follow.users", 1_000_000);
+  private static final long EDGES = Long.getLong("loadtest.follow.edges", 20_000_000L);
+  private static final int LOOKUPS = Integer.getInteger("loadtest.follow.lookups", 5_000_000);
+
+  public static void main(String[] args) throws Exception {
+    UUID[] users = new UUID[USERS];
+    for (int i = 0; i < USERS; i++)
+      users[i] = UUID.randomUUID();
+
+    long heapBefore = usedHeapAfterGc();
+    long startedAt = System.nanoTime();
+
+    FollowGraph graph = new FollowGraph();
+    graph.load(sink -> {
+      Random random = new Random(42);
+      for (long i = 0; i < EDGES; i++)
+        sink.accept(users[random.nextInt(USERS)], users[skewed(random)]);
+    });
+
+    double loadSeconds = (System.nanoTime() - startedAt) / 1e9;
+    long heapAfter = usedHeapAfterGc();
+
+    System.out.printf("%d users, %d distinct edges loaded in %.1f s%n", USERS, graph.countEdges(), loadSeconds);
+    System.out.printf("graph arrays: %.1f MiB (%.2f bytes per edge and direction)%n",
+        graph.memoryBytes() / 1048576.0, graph.memoryBytes() / (2.0 * graph.countEdges()));
+    System.out.printf("heap retained by the graph, user index included: %.1f MiB%n",
+        (heapAfter - heapBefore) / 1048576.0);
+
+    // Queries are drawn up front and copied, as a request brings its own UUIDs, so only the lookups are timed
+    Random random = new Random(7);
+    int batch = (int) Math.min(LOOKUPS, 1_000_000);
+    UUID[] followers = new UUID[batch];
+    UUID[] followees = new UUID[batch];
+    for (int i = 0; i < batch; i++) {
+      UUID follower = users[random.nextInt(USERS)];
+      UUID followee = users[skewed(random)];
+      followers[i] = new UUID(follower.getMostSignificantBits(), follower.getLeastSignificantBits());
+      followees[i] = new UUID(followee.getMostSignificantBits(), followee.getLeastSignificantBits());
+    }
+
+    long hits = 0;
+    for (int round = 0; round < 2; round++) {
+      // The first round warms up the JIT
+      hits = 0;
+      startedAt = System.nanoTime();
+      for (long i = 0; i < LOOKUPS; i++) {
+        if (graph.isFollowing(followers[(int) (i % batch)], followees[(int) (i % batch)]))
+          hits++;
+      }
+    }
+    double lookupNanos = (System.nanoTime() - startedAt) / (double) LOOKUPS;
+
+    startedAt = System.nanoTime();
+    int pages = 10_000;
+    for (int i = 0; i < pages; i++)
+      graph.getFollowers(users[skewed(random)], 0, 100);
+    double pageMicros = (System.nanoTime() - startedAt) / 1000.0 / pages;
+
+    System.out.printf("isFollowing: %.0f ns per lookup (%d hits)%n", lookupNanos, hits);
+    System.out.printf("getFollowers first page of 100: %.1f us%n", pageMicros);
+    System.out.printf("most followed user: %d followers%n", graph.countFollowers(users[0]));
+  }
+
+  // Zipf-like: user 0 is the most followed, and the odds fall off with the index
+  private static int skewed(Random random) {
+    return (int) Math.min(USERS - 1, Math.floor(Math.pow(USERS, random.nextDouble())) - 1);
+  }
+
+  private static long usedHeapAfterGc() throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      TimeUnit.MILLISECONDS.sleep(200);
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,69 @@
+package com.project.simple.twitter.loadtest;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import com.project.simple.twitter.graph.FollowGraph;
+import com.project.simple.twitter.repository.FollowSuggestionRepository;
+import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.service.suggestion.FollowSuggestionJob;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Runs FollowSuggestionJob over a synthetic follow graph with 1, 2, 4... threads up to the number of cores and
+// reports users ranked per second. The repositories do nothing, so only the ranking and the building of the rows
+// are measured.
+public class FollowSuggestionBenchmark {
+
+  private static final int USERS = Integer.getInteger("loadtest.suggestions.users", 1_000_000);
+  private static final long EDGES = Long.getLong("loadtest.suggestions.edges", 20_000_000L);
+  private static final int TOP_K = Integer.getInteger("loadtest.suggestions.topK", 20);
+
+  public static void main(String[] args) {
+    UUID[] users = new UUID[USERS];
+    for (int i = 0; i < USERS; i++)
+      users[i] = UUID.randomUUID();
+
+    FollowGraph graph = new FollowGraph();
+    graph.load(sink -> {
+      Random random = new Random(42);
+      for (long i = 0; i < EDGES; i++)
+        sink.accept(users[random.nextInt(USERS)], users[skewed(random)]);
+    });
+    System.out.printf("%d users, %d distinct edges%n", graph.countUsers(), graph.countEdges());
+
+    TwitterRepository twitterRepository = doNothing(TwitterRepository.class);
+    FollowSuggestionRepository followSuggestionRepository = doNothing(FollowSuggestionRepository.class);
+    int cores = Runtime.getRuntime().availableProcessors();
+
+    for (int threads = 1; ; threads = Math.min(cores, threads * 2)) {
+      FollowSuggestionJob job = new FollowSuggestionJob(graph, twitterRepository, followSuggestionRepository,
+          new SimpleMeterRegistry(), true, TOP_K, threads, 5000, 30);
+
+      // The first run warms up the JIT
+      job.computeSuggestions();
+      long startedAt = System.nanoTime();
+      int ranked = job.computeSuggestions();
+      double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+      System.out.printf("%2d threads: %.1f s, %.0f users/s%n", threads, seconds, ranked / seconds);
+
+      if (threads == cores)
+        break;
+    }
+  }
+
+  // Every method returns an empty list or null
+  @SuppressWarnings("unchecked")
+  private static <T> T doNothing(Class<T> type) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+        (proxy, method, arguments) -> List.class.equals(method.getReturnType()) ? List.of() : null);
+  }
+
+  // Zipf-like: user 0 is the most followed, and the odds fall off with the index
+  private static int skewed(Random random) {
+    return (int) Math.min(USERS - 1, Math.floor(Math.pow(USERS, random.nextDouble())) - 1);
+  }
+}
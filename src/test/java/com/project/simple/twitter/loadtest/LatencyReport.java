@@ -0,0 +1,87 @@
+package com.project.simple.twitter.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+public class LatencyReport {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+  private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+  private final Map<Operation, LongAdder> shed = new EnumMap<>(Operation.class);
+
+  public LatencyReport() {
+    for (Operation operation : Operation.values()) {
+      histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+      errors.put(operation, new LongAdder());
+      shed.put(operation, new LongAdder());
+    }
+  }
+
+  public void record(Operation operation, long latencyNanos, boolean successful) {
+    long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+    histograms.get(operation).recordValue(micros);
+
+    if (!successful)
+      errors.get(operation).increment();
+  }
+
+  // Requests rejected by the server's concurrency limiter; they count as errors as well
+  public void recordShed(Operation operation) {
+    shed.get(operation).increment();
+  }
+
+  public void print(PrintStream out, Duration measuredDuration) {
+    double seconds = Math.max(measuredDuration.toMillis() / 1000.0, 0.001);
+
+    out.printf("%-8s %9s %8s %8s %9s %9s %9s %9s %9s %9s %9s%n",
+        "endpoint", "requests", "errors", "shed", "req/s", "goodput/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+
+    Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    long totalErrors = 0;
+    long totalShed = 0;
+
+    for (Operation operation : Operation.values()) {
+      Histogram histogram = histograms.get(operation);
+      long operationErrors = errors.get(operation).sum();
+      long operationShed = shed.get(operation).sum();
+      if (histogram.getTotalCount() == 0)
+        continue;
+
+      printLine(out, operation.getKey(), histogram, operationErrors, operationShed, seconds);
+      total.add(histogram);
+      totalErrors += operationErrors;
+      totalShed += operationShed;
+    }
+
+    printLine(out, "total", total, totalErrors, totalShed, seconds);
+  }
+
+  private void printLine(PrintStream out, String name, Histogram histogram, long errorCount, long shedCount,
+      double seconds) {
+    out.printf("%-8s %9d %8d %8d %9.1f %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+        name,
+        histogram.getTotalCount(),
+        errorCount,
+        shedCount,
+        histogram.getTotalCount() / seconds,
+        (histogram.getTotalCount() - errorCount) / seconds,
+        millis(histogram.getValueAtPercentile(50)),
+        millis(histogram.getValueAtPercentile(90)),
+        millis(histogram.getValueAtPercentile(99)),
+        millis(histogram.getValueAtPercentile(99.9)),
+        millis(histogram.getMaxValue()));
+  }
+
+  private double millis(long micros) {
+    return micros / 1000.0;
+  }
+}
@@ -0,0 +1,76 @@
+package com.project.simple.twitter.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class LoadTestConfig {
+
+  private static final String DEFAULT_MIX = "signup=2,confirm=2,login=4,create=15,read=40,update=10,delete=5,list=22";
+
+  private final String baseUrl;
+
+  private final double ratePerSecond;
+
+  private final Duration warmup;
+
+  private final Duration duration;
+
+  private final int seedUsers;
+
+  private final boolean poissonArrivals;
+
+  private final Duration requestTimeout;
+
+  private final Map<Operation, Integer> mix;
+
+  public static LoadTestConfig fromSystemProperties() {
+    return LoadTestConfig.builder()
+        .baseUrl(System.getProperty("loadtest.baseUrl", "http://localhost:8080"))
+        .ratePerSecond(Double.parseDouble(System.getProperty("loadtest.rate", "50")))
+        .warmup(Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)))
+        .duration(Duration.ofSeconds(Long.getLong("loadtest.duration", 60)))
+        .seedUsers(Integer.getInteger("loadtest.seedUsers", 20))
+        .poissonArrivals(!"uniform".equalsIgnoreCase(System.getProperty("loadtest.arrival", "poisson")))
+        .requestTimeout(Duration.ofSeconds(Long.getLong("loadtest.timeout", 30)))
+        .mix(parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)))
+        .build();
+  }
+
+  public static Map<Operation, Integer> parseMix(String value) {
+    Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+    for (String entry : value.split(",")) {
+      String[] keyAndWeight = entry.split("=");
+      if (keyAndWeight.length != 2)
+        throw new IllegalArgumentException(String.format("Invalid traffic mix entry '%s'", entry));
+
+      Operation operation = Operation.fromKey(keyAndWeight[0])
+          .orElseThrow(() -> new IllegalArgumentException(
+              String.format("Unknown operation '%s' in traffic mix", keyAndWeight[0])));
+
+      int weight = Integer.parseInt(keyAndWeight[1].trim());
+      if (weight < 0)
+        throw new IllegalArgumentException("Traffic mix weights cannot be negative");
+
+      mix.put(operation, weight);
+    }
+
+    if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0)
+      throw new IllegalArgumentException("Traffic mix must have at least one positive weight");
+
+    return mix;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("baseUrl=%s rate=%.1f/s arrivals=%s warmup=%ds duration=%ds seedUsers=%d mix=%s",
+        baseUrl, ratePerSecond, poissonArrivals ? "poisson" : "uniform", warmup.toSeconds(),
+        duration.toSeconds(), seedUsers, mix);
+  }
+}
@@ -0,0 +1,63 @@
+package com.project.simple.twitter.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class LoadTestRunner {
+
+  private static final int SEED_TWITTERS_PER_USER = 3;
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+    ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "loadtest-http");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    TwitterApiClient client = new TwitterApiClient(config.getBaseUrl(), config.getRequestTimeout(), executor);
+    SessionPool sessionPool = new SessionPool();
+    LatencyReport report = new LatencyReport();
+
+    System.out.println("Load test: " + config);
+
+    seed(config, client, sessionPool);
+
+    System.out.printf("Seeded %d users, running %ds warmup and %ds measurement%n", sessionPool.loggedInCount(),
+        config.getWarmup().toSeconds(), config.getDuration().toSeconds());
+
+    OpenModelLoadGenerator generator = new OpenModelLoadGenerator(config, client, sessionPool, report);
+    report.print(System.out, generator.run());
+
+    System.out.printf("Max requests in flight: %d%n", generator.getMaxInFlight());
+    executor.shutdownNow();
+  }
+
+  private static void seed(LoadTestConfig config, TwitterApiClient client, SessionPool sessionPool) throws Exception {
+    for (int i = 0; i < config.getSeedUsers(); i++) {
+      VirtualUser user = sessionPool.newUser();
+
+      send(client, client.signup(user));
+      send(client, client.confirm(user));
+      user.setAccessToken(client.readAccessToken(send(client, client.login(user)).body()));
+
+      for (int j = 0; j < SEED_TWITTERS_PER_USER; j++)
+        send(client, client.createTwitter(user, "seed twitter " + j));
+
+      user.getTwitterIds().addAll(client.readTwitterIds(send(client, client.listTwitters(user)).body()));
+      sessionPool.markLoggedIn(user);
+    }
+  }
+
+  private static HttpResponse<String> send(TwitterApiClient client, HttpRequest request) {
+    HttpResponse<String> response = client.send(request).join();
+
+    if (response.statusCode() / 100 != 2)
+      throw new IllegalStateException(String.format("Seeding failed on %s %s with status %d: %s",
+          request.method(), request.uri(), response.statusCode(), response.body()));
+
+    return response;
+  }
+}
@@ -0,0 +1,186 @@
+package com.project.simple.twitter.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.log4j.Log4j2;
+
+// Open workload model: requests are scheduled at a fixed arrival rate regardless of how fast the
+// server answers, and latency is measured from the intended start time so a stalled server shows
+// up in the percentiles instead of silently lowering the offered load (coordinated omission).
+@Log4j2
+public class OpenModelLoadGenerator {
+
+  private static final ResponseHandler NO_OP = response -> {
+  };
+
+  private final LoadTestConfig config;
+  private final TwitterApiClient client;
+  private final SessionPool sessionPool;
+  private final LatencyReport report;
+  private final TrafficMix trafficMix;
+  private final Random random = new Random();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  public OpenModelLoadGenerator(LoadTestConfig config, TwitterApiClient client, SessionPool sessionPool,
+      LatencyReport report) {
+    this.config = config;
+    this.client = client;
+    this.sessionPool = sessionPool;
+    this.report = report;
+    this.trafficMix = new TrafficMix(config.getMix());
+  }
+
+  public Duration run() {
+    long meanIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRatePerSecond());
+    long start = System.nanoTime();
+    long measureFrom = start + config.getWarmup().toNanos();
+    long end = measureFrom + config.getDuration().toNanos();
+
+    long intendedStart = start;
+    while (intendedStart < end) {
+      long now = System.nanoTime();
+      if (intendedStart > now)
+        LockSupport.parkNanos(intendedStart - now);
+
+      dispatch(trafficMix.pick(random), intendedStart, intendedStart >= measureFrom);
+      intendedStart += nextInterval(meanIntervalNanos);
+    }
+
+    awaitInFlight();
+
+    return config.getDuration();
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight.get();
+  }
+
+  private long nextInterval(long meanIntervalNanos) {
+    if (!config.isPoissonArrivals())
+      return meanIntervalNanos;
+
+    return (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos);
+  }
+
+  private void dispatch(Operation requested, long intendedStart, boolean measured) {
+    PlannedRequest planned = plan(requested);
+
+    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+    client.send(planned.request()).whenComplete((response, error) -> {
+      long latency = System.nanoTime() - intendedStart;
+      boolean successful = error == null && response.statusCode() / 100 == 2;
+
+      if (measured) {
+        report.record(planned.operation(), latency, successful);
+
+        if (error == null && response.statusCode() == 503)
+          report.recordShed(planned.operation());
+      }
+
+      if (successful)
+        applyResult(planned, response);
+
+      inFlight.decrementAndGet();
+    });
+  }
+
+  private void applyResult(PlannedRequest planned, HttpResponse<String> response) {
+    try {
+      planned.onSuccess().accept(response);
+    } catch (Exception exception) {
+      log.warn("Could not apply result of {}: {}", planned.operation(), exception.getMessage());
+    }
+  }
+
+  private PlannedRequest plan(Operation operation) {
+    return switch (operation) {
+      case SIGNUP -> planSignup();
+      case CONFIRM -> planConfirm();
+      case LOGIN -> planLogin();
+      case CREATE_TWITTER, GET_TWITTER, UPDATE_TWITTER, DELETE_TWITTER, LIST_TWITTERS -> planTwitter(operation);
+    };
+  }
+
+  private PlannedRequest planSignup() {
+    VirtualUser user = sessionPool.newUser();
+
+    return new PlannedRequest(Operation.SIGNUP, client.signup(user), response -> sessionPool.markSignedUp(user));
+  }
+
+  private PlannedRequest planConfirm() {
+    VirtualUser user = sessionPool.pollUnconfirmed();
+    if (user == null)
+      return planSignup();
+
+    return new PlannedRequest(Operation.CONFIRM, client.confirm(user), response -> sessionPool.markConfirmed(user));
+  }
+
+  private PlannedRequest planLogin() {
+    VirtualUser firstLogin = sessionPool.pollConfirmed();
+    VirtualUser user = firstLogin != null ? firstLogin : sessionPool.randomLoggedIn(random);
+    if (user == null)
+      return planSignup();
+
+    return new PlannedRequest(Operation.LOGIN, client.login(user), response -> {
+      user.setAccessToken(client.readAccessToken(response.body()));
+      if (user == firstLogin)
+        sessionPool.markLoggedIn(user);
+    });
+  }
+
+  private PlannedRequest planTwitter(Operation operation) {
+    VirtualUser user = sessionPool.randomLoggedIn(random);
+    if (user == null)
+      return planLogin();
+
+    if (operation == Operation.CREATE_TWITTER)
+      return new PlannedRequest(operation, client.createTwitter(user, content()), NO_OP);
+
+    if (operation == Operation.LIST_TWITTERS)
+      return new PlannedRequest(operation, client.listTwitters(user),
+          response -> user.getTwitterIds().addAll(client.readTwitterIds(response.body())));
+
+    Long twitterId = user.randomTwitterId(random);
+    if (twitterId == null)
+      return planTwitter(Operation.LIST_TWITTERS);
+
+    return switch (operation) {
+      case GET_TWITTER -> new PlannedRequest(operation, client.getTwitter(user, twitterId), NO_OP);
+      case UPDATE_TWITTER -> new PlannedRequest(operation, client.updateTwitter(user, twitterId, content()), NO_OP);
+      default -> {
+        user.getTwitterIds().remove(twitterId);
+        yield new PlannedRequest(operation, client.deleteTwitter(user, twitterId), NO_OP);
+      }
+    };
+  }
+
+  private String content() {
+    return "load test twitter " + Long.toHexString(random.nextLong());
+  }
+
+  private void awaitInFlight() {
+    long deadline = System.nanoTime() + config.getRequestTimeout().toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < deadline)
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+
+    if (inFlight.get() > 0)
+      log.warn("{} requests were still in flight when the run finished", inFlight.get());
+  }
+
+  private record PlannedRequest(Operation operation, HttpRequest request, ResponseHandler onSuccess) {
+  }
+
+  @FunctionalInterface
+  private interface ResponseHandler {
+    void accept(HttpResponse<String> response) throws Exception;
+  }
+}
@@ -0,0 +1,31 @@
+package com.project.simple.twitter.loadtest;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum Operation {
+  SIGNUP("signup"),
+  CONFIRM("confirm"),
+  LOGIN("login"),
+  CREATE_TWITTER("create"),
+  GET_TWITTER("read"),
+  UPDATE_TWITTER("update"),
+  DELETE_TWITTER("delete"),
+  LIST_TWITTERS("list");
+
+  private final String key;
+
+  Operation(String key) {
+    this.key = key;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public static Optional<Operation> fromKey(String key) {
+    return Arrays.stream(values())
+        .filter(operation -> operation.key.equalsIgnoreCase(key.trim()))
+        .findFirst();
+  }
+}
@@ -0,0 +1,236 @@
+package com.project.simple.twitter.loadtest;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import com.project.simple.twitter.service.partition.MonthlyPartitionPlan;
+
+// Compares the twitter table before and after db/manual/mysql/partition_twitter_by_month.sql on a MySQL server,
+// e.g. the one from docker-compose.yaml: inserts, time-bounded reads and expiring a month, each against an
+// unpartitioned copy and a copy partitioned by month of create_at. Both tables live in a scratch schema.
+public class PartitionBenchmark {
+
+  private static final String URL = System.getProperty("loadtest.partition.url",
+      "jdbc:mysql://localhost:3306/twitter_partition_benchmark?createDatabaseIfNotExist=true"
+          + "&rewriteBatchedStatements=true");
+  private static final String USER = System.getProperty("loadtest.partition.user", "root");
+  private static final String PASSWORD = System.getProperty("loadtest.partition.password",
+      System.getenv("DATABASE_ROOT_PASSWORD"));
+
+  private static final int ROWS = Integer.getInteger("loadtest.partition.rows", 2_000_000);
+  private static final int MONTHS = Integer.getInteger("loadtest.partition.months", 24);
+  private static final int AUTHORS = Integer.getInteger("loadtest.partition.authors", 1000);
+  private static final int INSERTS = Integer.getInteger("loadtest.partition.inserts", 5000);
+  private static final int QUERIES = Integer.getInteger("loadtest.partition.queries", 500);
+
+  private static final YearMonth CURRENT = YearMonth.now();
+  private static final YearMonth OLDEST = CURRENT.minusMonths(MONTHS - 1);
+
+  public static void main(String[] args) throws Exception {
+    List<UUID> authors = new ArrayList<>();
+    for (int i = 0; i < AUTHORS; i++)
+      authors.add(UUID.randomUUID());
+
+    try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD)) {
+      System.out.printf("%d rows over %d months, %d authors%n", ROWS, MONTHS, AUTHORS);
+      System.out.printf("%-12s %10s %10s %10s %10s %10s %12s%n", "table", "load(s)", "insert/s", "month(ms)",
+          "recent(ms)", "chunk(ms)", "expire(ms)");
+
+      run(connection, "plain", plainTable(), authors);
+      run(connection, "partitioned", partitionedTable(), authors);
+
+      System.out.println();
+      explain(connection, authors.get(0));
+    }
+  }
+
+  private static void run(Connection connection, String name, String definition, List<UUID> authors)
+      throws SQLException {
+    String table = "twitter_" + name;
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS " + table);
+      statement.execute(String.format(definition, table));
+    }
+
+    long loadStartedAt = System.nanoTime();
+    load(connection, table, authors);
+    double loadSeconds = (System.nanoTime() - loadStartedAt) / 1e9;
+
+    double insertsPerSecond = insertCurrent(connection, table, authors);
+
+    Random random = new Random(42);
+    Histogram month = new Histogram(3);
+    Histogram recent = new Histogram(3);
+    Histogram chunk = new Histogram(3);
+
+    for (int i = 0; i < QUERIES; i++) {
+      YearMonth queriedMonth = OLDEST.plusMonths(random.nextInt(MONTHS));
+      byte[] author = bytes(authors.get(random.nextInt(AUTHORS)));
+
+      time(month, connection, "SELECT COUNT(*) FROM " + table + " WHERE create_at >= ? AND create_at < ?",
+          Timestamp.valueOf(queriedMonth.atDay(1).atStartOfDay()),
+          Timestamp.valueOf(queriedMonth.plusMonths(1).atDay(1).atStartOfDay()));
+      time(recent, connection, "SELECT id FROM " + table + " WHERE author_id = ? AND create_at >= ? "
+          + "ORDER BY id DESC LIMIT 20", author, Timestamp.valueOf(LocalDateTime.now().minusDays(30)));
+      time(chunk, connection, "SELECT id FROM " + table + " WHERE author_id = ? AND id < ? AND create_at < ? "
+          + "ORDER BY id DESC LIMIT 100", author, (long) ROWS / 2,
+          Timestamp.valueOf(queriedMonth.atDay(1).atStartOfDay()));
+    }
+
+    double expireMillis = expireOldest(connection, name, table);
+
+    System.out.printf("%-12s %10.1f %10.0f %10.2f %10.2f %10.2f %12.0f%n", name, loadSeconds, insertsPerSecond,
+        millis(month), millis(recent), millis(chunk), expireMillis);
+  }
+
+  // Row ids follow create_at, as they do when twitters are inserted as they are written
+  private static void load(Connection connection, String table, List<UUID> authors) throws SQLException {
+    Random random = new Random(7);
+    long monthNanos = TimeUnit.DAYS.toNanos(28);
+
+    connection.setAutoCommit(false);
+    try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table
+        + " (id, content, author_id, visibility, likes, create_at, updated_at) VALUES (?, ?, ?, 'PUBLIC', 0, ?, ?)")) {
+      for (int row = 1; row <= ROWS; row++) {
+        long offset = (long) ((row - 1) / (double) ROWS * MONTHS * monthNanos);
+        YearMonth month = OLDEST.plusMonths(offset / monthNanos);
+        Timestamp createdAt = Timestamp.valueOf(month.atDay(1).atStartOfDay().plusNanos(offset % monthNanos));
+
+        insert.setLong(1, row);
+        insert.setString(2, "benchmark twitter " + row);
+        insert.setBytes(3, bytes(authors.get(random.nextInt(AUTHORS))));
+        insert.setTimestamp(4, createdAt);
+        insert.setTimestamp(5, createdAt);
+        insert.addBatch();
+
+        if (row % 1000 == 0) {
+          insert.executeBatch();
+          connection.commit();
+        }
+      }
+
+      insert.executeBatch();
+      connection.commit();
+    } finally {
+      connection.setAutoCommit(true);
+    }
+  }
+
+  // Single-row autocommit inserts of new twitters, the way POST /twitters writes them
+  private static double insertCurrent(Connection connection, String table, List<UUID> authors) throws SQLException {
+    Random random = new Random(11);
+    long startedAt = System.nanoTime();
+
+    try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table
+        + " (content, author_id, visibility, likes, create_at, updated_at) VALUES (?, ?, 'PUBLIC', 0, ?, ?)")) {
+      for (int i = 0; i < INSERTS; i++) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        insert.setString(1, "new twitter " + i);
+        insert.setBytes(2, bytes(authors.get(random.nextInt(AUTHORS))));
+        insert.setTimestamp(3, now);
+        insert.setTimestamp(4, now);
+        insert.executeUpdate();
+      }
+    }
+
+    return INSERTS / ((System.nanoTime() - startedAt) / 1e9);
+  }
+
+  private static double expireOldest(Connection connection, String name, String table) throws SQLException {
+    long startedAt = System.nanoTime();
+
+    try (Statement statement = connection.createStatement()) {
+      if (name.equals("partitioned"))
+        statement.execute("ALTER TABLE " + table + " DROP PARTITION " + MonthlyPartitionPlan.partitionName(OLDEST));
+      else
+        statement.executeUpdate("DELETE FROM " + table + " WHERE create_at < '" + OLDEST.plusMonths(1).atDay(1)
+            + "'");
+    }
+
+    return (System.nanoTime() - startedAt) / 1e6;
+  }
+
+  private static void explain(Connection connection, UUID author) throws SQLException {
+    Timestamp lastMonth = Timestamp.valueOf(CURRENT.minusMonths(1).atDay(1).atStartOfDay());
+
+    try (PreparedStatement explain = connection.prepareStatement("EXPLAIN SELECT id FROM twitter_partitioned "
+        + "WHERE author_id = ? AND create_at >= ? ORDER BY id DESC LIMIT 20")) {
+      explain.setBytes(1, bytes(author));
+      explain.setTimestamp(2, lastMonth);
+
+      try (ResultSet plan = explain.executeQuery()) {
+        while (plan.next())
+          System.out.printf("recent twitters read partitions %s using %s%n", plan.getString("partitions"),
+              plan.getString("key"));
+      }
+    }
+  }
+
+  private static void time(Histogram histogram, Connection connection, String sql, Object... parameters)
+      throws SQLException {
+    long startedAt = System.nanoTime();
+
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      for (int i = 0; i < parameters.length; i++)
+        statement.setObject(i + 1, parameters[i]);
+
+      try (ResultSet result = statement.executeQuery()) {
+        while (result.next()) {
+          // Drain the rows so the whole query is timed
+        }
+      }
+    }
+
+    histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt));
+  }
+
+  // The indexes twitter has after the migrations, so each query reads the way it does in production
+  private static String plainTable() {
+    return "CREATE TABLE %s (id BIGINT NOT NULL AUTO_INCREMENT, content VARCHAR(255), author_id BINARY(16), "
+        + "visibility ENUM ('PRIVATE','PUBLIC'), likes BIGINT NOT NULL, create_at DATETIME(6) NOT NULL, "
+        + "updated_at DATETIME(6), PRIMARY KEY (id), KEY idx_twitter_author_id_id (author_id, id), "
+        + "KEY idx_twitter_create_at_author_id (create_at, author_id)) ENGINE=InnoDB";
+  }
+
+  // Same shape as the table after partition_twitter_by_month.sql, with one partition per benchmarked month
+  private static String partitionedTable() {
+    StringBuilder partitions = new StringBuilder();
+    for (YearMonth month = OLDEST; !month.isAfter(CURRENT); month = month.plusMonths(1))
+      partitions.append(String.format("PARTITION %s VALUES LESS THAN ('%s'), ",
+          MonthlyPartitionPlan.partitionName(month), month.plusMonths(1).atDay(1)));
+
+    return "CREATE TABLE %s (id BIGINT NOT NULL AUTO_INCREMENT, content VARCHAR(255), author_id BINARY(16), "
+        + "visibility ENUM ('PRIVATE','PUBLIC'), likes BIGINT NOT NULL, create_at DATETIME(6) NOT NULL, "
+        + "updated_at DATETIME(6), PRIMARY KEY (id, create_at), KEY idx_twitter_author_id_id (author_id, id), "
+        + "KEY idx_twitter_create_at_author_id (create_at, author_id)) ENGINE=InnoDB PARTITION BY RANGE COLUMNS (create_at) (" + partitions
+        + "PARTITION p_future VALUES LESS THAN (MAXVALUE))";
+  }
+
+  private static byte[] bytes(UUID uuid) {
+    return ByteBuffer.allocate(16)
+        .putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits())
+        .array();
+  }
+
+  private static double millis(Histogram histogram) {
+    return histogram.getMean() / 1000.0;
+  }
+}
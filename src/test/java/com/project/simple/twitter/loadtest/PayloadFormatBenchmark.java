@@ -0,0 +1,98 @@
+package com.project.simple.twitter.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.simple.twitter.dto.twitter.TwitterDto;
+import com.project.simple.twitter.dto.twitter.TwitterPageDto;
+
+// Encode/decode cost and payload size of a timeline page in each format the API negotiates, using mappers
+// configured the same way as the application's message converters
+public class PayloadFormatBenchmark {
+
+  private static final int TWITTERS = Integer.getInteger("loadtest.payload.twitters", 200);
+  private static final int ITERATIONS = Integer.getInteger("loadtest.payload.iterations", 5000);
+
+  public static void main(String[] args) throws Exception {
+    Map<String, ObjectMapper> mappers = Map.of(
+        "json", Jackson2ObjectMapperBuilder.json().build(),
+        "smile", Jackson2ObjectMapperBuilder.smile().build(),
+        "cbor", Jackson2ObjectMapperBuilder.cbor().build());
+    TwitterPageDto page = page();
+
+    System.out.printf("%d twitters per page, %d iterations%n", TWITTERS, ITERATIONS);
+    System.out.printf("%-6s %10s %10s %12s %12s%n", "format", "bytes", "gzip", "encode(us)", "decode(us)");
+
+    for (String format : List.of("json", "smile", "cbor")) {
+      ObjectMapper mapper = mappers.get(format);
+      byte[] encoded = mapper.writeValueAsBytes(page);
+
+      // Warm up both directions before measuring
+      measure(mapper, page, encoded, ITERATIONS);
+      double[] micros = measure(mapper, page, encoded, ITERATIONS);
+
+      System.out.printf("%-6s %10d %10d %12.1f %12.1f%n", format, encoded.length, gzip(encoded).length, micros[0],
+          micros[1]);
+    }
+  }
+
+  private static double[] measure(ObjectMapper mapper, TwitterPageDto page, byte[] encoded, int iterations)
+      throws IOException {
+    long checksum = 0;
+
+    long startedAt = System.nanoTime();
+    for (int i = 0; i < iterations; i++)
+      checksum += mapper.writeValueAsBytes(page).length;
+    long encodeNanos = System.nanoTime() - startedAt;
+
+    startedAt = System.nanoTime();
+    for (int i = 0; i < iterations; i++)
+      checksum += mapper.readValue(encoded, TwitterPageDto.class).getTwitters().size();
+    long decodeNanos = System.nanoTime() - startedAt;
+
+    if (checksum == 0)
+      throw new IllegalStateException("Nothing was encoded");
+
+    return new double[] { encodeNanos / 1000.0 / iterations, decodeNanos / 1000.0 / iterations };
+  }
+
+  private static TwitterPageDto page() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    LocalDateTime now = LocalDateTime.now();
+
+    List<TwitterDto> twitters = LongStream.range(0, TWITTERS)
+        .mapToObj(id -> TwitterDto.builder()
+            .id(1_000_000 - id)
+            .content("benchmark twitter " + Long.toHexString(random.nextLong()) + " with some ordinary text")
+            .author("user" + random.nextInt(1000))
+            .createdAt(now.minusMinutes(id))
+            .visibility("public")
+            .likes(random.nextInt(10_000))
+            .edited(random.nextBoolean())
+            .build())
+        .toList();
+
+    return TwitterPageDto.builder()
+        .twitters(twitters)
+        .nextCursor(1_000_000L - TWITTERS)
+        .build();
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+      gzip.write(bytes);
+    }
+
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,53 @@
+package com.project.simple.twitter.loadtest;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SessionPool {
+
+  private final String runId = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong userSequence = new AtomicLong();
+
+  private final Queue<VirtualUser> unconfirmed = new ConcurrentLinkedQueue<>();
+  private final Queue<VirtualUser> confirmed = new ConcurrentLinkedQueue<>();
+  private final List<VirtualUser> loggedIn = new CopyOnWriteArrayList<>();
+
+  public VirtualUser newUser() {
+    return new VirtualUser(String.format("lt%s_%d", runId, userSequence.incrementAndGet()));
+  }
+
+  public void markSignedUp(VirtualUser user) {
+    unconfirmed.add(user);
+  }
+
+  public VirtualUser pollUnconfirmed() {
+    return unconfirmed.poll();
+  }
+
+  public void markConfirmed(VirtualUser user) {
+    confirmed.add(user);
+  }
+
+  public VirtualUser pollConfirmed() {
+    return confirmed.poll();
+  }
+
+  public void markLoggedIn(VirtualUser user) {
+    loggedIn.add(user);
+  }
+
+  public VirtualUser randomLoggedIn(Random random) {
+    if (loggedIn.isEmpty())
+      return null;
+
+    return loggedIn.get(random.nextInt(loggedIn.size()));
+  }
+
+  public int loggedInCount() {
+    return loggedIn.size();
+  }
+}
@@ -0,0 +1,194 @@
+package com.project.simple.twitter.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.project.simple.twitter.TwitterApplication;
+
+// Compares GET /twitters, which renders the whole list at once, with the chunked GET /twitters/stream.
+// The server runs in this JVM so process CPU time and heap usage can be attributed to the two endpoints.
+public class StreamingBenchmark {
+
+  private static final int TWITTERS = Integer.getInteger("loadtest.stream.twitters", 2000);
+  private static final int CLIENTS = Integer.getInteger("loadtest.stream.clients", 8);
+  private static final int OPEN_CONNECTIONS = Integer.getInteger("loadtest.stream.connections", 100);
+  private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.stream.duration", 20));
+
+  public static void main(String[] args) throws Exception {
+    ConfigurableApplicationContext context = SpringApplication.from(TwitterApplication::main).run(
+        "--spring.profiles.active=loadtest", "--server.port=0", "--twitter.concurrency-limit.enabled=false",
+        "--logging.level.root=WARN").getApplicationContext();
+    int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+
+    ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "benchmark-http");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    try {
+      TwitterApiClient client = new TwitterApiClient("http://localhost:" + port, Duration.ofSeconds(60), executor);
+      VirtualUser user = seed(client);
+
+      System.out.printf("%d twitters, %d clients, %ds per endpoint, %d cores%n", TWITTERS, CLIENTS,
+          DURATION.toSeconds(), Runtime.getRuntime().availableProcessors());
+      System.out.printf("%-8s %9s %12s %16s %14s%n", "endpoint", "req/s", "twitters/s", "twitters/cpu-s",
+          "KiB/connection");
+
+      report("list", client.listTwitters(user), body -> client.readTwitterIds(body).size(), client, executor,
+          port, user);
+      report("stream", client.streamTwitters(user), body -> (int) body.lines().count(), client, executor, port,
+          user);
+    } finally {
+      executor.shutdownNow();
+      context.close();
+    }
+  }
+
+  private static VirtualUser seed(TwitterApiClient client) throws Exception {
+    VirtualUser user = new SessionPool().newUser();
+
+    send(client, client.signup(user));
+    send(client, client.confirm(user));
+    user.setAccessToken(client.readAccessToken(send(client, client.login(user)).body()));
+
+    for (int i = 0; i < TWITTERS; i++)
+      send(client, client.createTwitter(user, "benchmark twitter " + i));
+
+    return user;
+  }
+
+  private static void report(String name, HttpRequest request, CheckedCounter counter, TwitterApiClient client,
+      ExecutorService executor, int port, VirtualUser user) throws Exception {
+    // Warm up so JIT compilation is not attributed to the first endpoint
+    runClients(request, counter, client, executor, Duration.ofSeconds(3));
+
+    long cpuBefore = processCpuNanos();
+    long startedAt = System.nanoTime();
+    long[] totals = runClients(request, counter, client, executor, DURATION);
+    double seconds = (System.nanoTime() - startedAt) / 1e9;
+    double cpuSeconds = (processCpuNanos() - cpuBefore) / 1e9;
+
+    double kibPerConnection = memoryPerOpenConnection(port, request.uri().getPath(),
+        request.headers().firstValue("Accept").orElse("*/*"), user) / 1024.0;
+
+    System.out.printf("%-8s %9.1f %12.0f %16.0f %14.1f%n", name, totals[0] / seconds, totals[1] / seconds,
+        totals[1] / Math.max(cpuSeconds, 0.001), kibPerConnection);
+  }
+
+  private static long[] runClients(HttpRequest request, CheckedCounter counter, TwitterApiClient client,
+      ExecutorService executor, Duration duration) throws Exception {
+    long deadline = System.nanoTime() + duration.toNanos();
+    List<Future<long[]>> results = new ArrayList<>();
+
+    for (int i = 0; i < CLIENTS; i++) {
+      results.add(executor.submit(() -> {
+        long requests = 0;
+        long twitters = 0;
+
+        while (System.nanoTime() < deadline) {
+          twitters += counter.count(send(client, request).body());
+          requests++;
+        }
+
+        return new long[] { requests, twitters };
+      }));
+    }
+
+    long[] totals = new long[2];
+    for (Future<long[]> result : results) {
+      long[] clientTotals = result.get();
+      totals[0] += clientTotals[0];
+      totals[1] += clientTotals[1];
+    }
+
+    return totals;
+  }
+
+  // Opens connections that stop reading after the first bytes, the way a slow mobile client would, and
+  // measures how much heap the server keeps for each of them
+  private static double memoryPerOpenConnection(int port, String path, String accept, VirtualUser user)
+      throws Exception {
+    long baseline = usedHeapAfterGc();
+    List<Socket> sockets = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < OPEN_CONNECTIONS; i++) {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", port));
+        sockets.add(socket);
+
+        OutputStream output = socket.getOutputStream();
+        output.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nAccept: " + accept
+            + "\r\nAuthorization: Bearer " + user.getAccessToken() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        output.flush();
+      }
+
+      for (Socket socket : sockets)
+        readFirstByte(socket);
+
+      TimeUnit.SECONDS.sleep(2);
+
+      return Math.max(0, usedHeapAfterGc() - baseline) / (double) OPEN_CONNECTIONS;
+    } finally {
+      for (Socket socket : sockets)
+        socket.close();
+    }
+  }
+
+  private static void readFirstByte(Socket socket) throws IOException {
+    socket.setSoTimeout(30_000);
+    InputStream input = socket.getInputStream();
+    input.read();
+  }
+
+  private static long usedHeapAfterGc() throws InterruptedException {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      TimeUnit.MILLISECONDS.sleep(200);
+    }
+
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  private static long processCpuNanos() {
+    return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+        .getProcessCpuTime();
+  }
+
+  private static HttpResponse<String> send(TwitterApiClient client, HttpRequest request) {
+    HttpResponse<String> response = client.send(request).join();
+
+    if (response.statusCode() / 100 != 2)
+      throw new IllegalStateException(String.format("%s %s failed with status %d: %s", request.method(),
+          request.uri(), response.statusCode(), response.body()));
+
+    return response;
+  }
+
+  @FunctionalInterface
+  private interface CheckedCounter {
+    int count(String body) throws Exception;
+  }
+}
@@ -0,0 +1,74 @@
+package com.project.simple.twitter.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.project.simple.twitter.schedule.TimingWheel;
+
+// Fills a TimingWheel with the scheduled twitters of a busy window and reports its footprint and the cost of the
+// operations TwitterScheduler runs: schedule on every scheduled twitter and refill, cancel, and the one-second
+// advance that hands out the due ids.
+public class TimingWheelBenchmark {
+
+  private static final int PENDING = Integer.getInteger("loadtest.schedule.pending", 5_000_000);
+  private static final int WINDOW_SECONDS = Integer.getInteger("loadtest.schedule.window-seconds", 3_600);
+  private static final long START = 1_760_000_000L;
+
+  public static void main(String[] args) throws Exception {
+    Random random = new Random(42);
+    long[] deadlines = new long[PENDING];
+    for (int i = 0; i < PENDING; i++)
+      deadlines[i] = START + 1 + random.nextInt(WINDOW_SECONDS);
+
+    long heapBefore = usedHeapAfterGc();
+    TimingWheel wheel = null;
+    double scheduleNanos = 0;
+
+    for (int round = 0; round < 2; round++) {
+      // The first round warms up the JIT
+      wheel = null;
+      long startedAt = System.nanoTime();
+      TimingWheel filling = new TimingWheel(START);
+      for (int i = 0; i < PENDING; i++)
+        filling.schedule(i + 1, deadlines[i]);
+      scheduleNanos = (System.nanoTime() - startedAt) / (double) PENDING;
+      wheel = filling;
+    }
+
+    long heapAfter = usedHeapAfterGc();
+
+    System.out.printf("%d pending ids over %d s%n", wheel.size(), WINDOW_SECONDS);
+    System.out.printf("wheel arrays: %.1f MiB (%.1f bytes per id), heap retained: %.1f MiB%n",
+        wheel.memoryBytes() / 1048576.0, wheel.memoryBytes() / (double) PENDING,
+        (heapAfter - heapBefore) / 1048576.0);
+    System.out.printf("schedule: %.0f ns per id%n", scheduleNanos);
+
+    int cancels = PENDING / 10;
+    long startedAt = System.nanoTime();
+    for (int i = 0; i < cancels; i++)
+      wheel.cancel(1 + random.nextInt(PENDING));
+    System.out.printf("cancel: %.0f ns per id%n", (System.nanoTime() - startedAt) / (double) cancels);
+
+    long[] expired = new long[1];
+    long slowestTick = 0;
+    startedAt = System.nanoTime();
+    for (long tick = START + 1; tick <= START + WINDOW_SECONDS; tick++) {
+      long tickStartedAt = System.nanoTime();
+      wheel.advance(tick, id -> expired[0]++);
+      slowestTick = Math.max(slowestTick, System.nanoTime() - tickStartedAt);
+    }
+    double advanceNanos = (System.nanoTime() - startedAt) / (double) expired[0];
+
+    System.out.printf("advance: %.0f ns per expired id, slowest tick %.1f ms for about %d ids%n", advanceNanos,
+        slowestTick / 1e6, PENDING / WINDOW_SECONDS);
+  }
+
+  private static long usedHeapAfterGc() throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      TimeUnit.MILLISECONDS.sleep(200);
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
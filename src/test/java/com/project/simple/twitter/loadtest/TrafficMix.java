@@ -0,0 +1,34 @@
+package com.project.simple.twitter.loadtest;
+
+import java.util.Map;
+import java.util.Random;
+
+public class TrafficMix {
+
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+  private final int totalWeight;
+
+  public TrafficMix(Map<Operation, Integer> weights) {
+    this.operations = weights.keySet().toArray(new Operation[0]);
+    this.cumulativeWeights = new int[operations.length];
+
+    int total = 0;
+    for (int i = 0; i < operations.length; i++) {
+      total += weights.get(operations[i]);
+      cumulativeWeights[i] = total;
+    }
+    this.totalWeight = total;
+  }
+
+  public Operation pick(Random random) {
+    int value = random.nextInt(totalWeight);
+
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i])
+        return operations[i];
+    }
+
+    return operations[operations.length - 1];
+  }
+}
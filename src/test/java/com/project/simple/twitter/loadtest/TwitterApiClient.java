@@ -0,0 +1,112 @@
+package com.project.simple.twitter.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class TwitterApiClient {
+
+  private final String baseUrl;
+  private final Duration requestTimeout;
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  public TwitterApiClient(String baseUrl, Duration requestTimeout, Executor executor) {
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.requestTimeout = requestTimeout;
+    this.httpClient = HttpClient.newBuilder()
+        .connectTimeout(requestTimeout)
+        .executor(executor)
+        .build();
+  }
+
+  public CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  public HttpRequest signup(VirtualUser user) {
+    return json("/users", "POST", null, Map.of(
+        "username", user.getUsername(),
+        "email", user.getEmail(),
+        "password", user.getPassword()));
+  }
+
+  public HttpRequest confirm(VirtualUser user) {
+    return json("/users/confirm", "PATCH", null, Map.of("email", user.getEmail()));
+  }
+
+  public HttpRequest login(VirtualUser user) {
+    return json("/users/login", "POST", null, Map.of(
+        "email", user.getEmail(),
+        "password", user.getPassword()));
+  }
+
+  public HttpRequest createTwitter(VirtualUser user, String content) {
+    return json("/twitters", "POST", user, Map.of("content", content));
+  }
+
+  public HttpRequest getTwitter(VirtualUser user, long id) {
+    return request("/twitters/" + id, user).GET().build();
+  }
+
+  public HttpRequest updateTwitter(VirtualUser user, long id, String content) {
+    return json("/twitters/" + id, "PATCH", user, Map.of("content", content, "visibility", "public"));
+  }
+
+  public HttpRequest deleteTwitter(VirtualUser user, long id) {
+    return request("/twitters/" + id, user).DELETE().build();
+  }
+
+  public HttpRequest listTwitters(VirtualUser user) {
+    return request("/twitters", user).GET().build();
+  }
+
+  public HttpRequest streamTwitters(VirtualUser user) {
+    return request("/twitters/stream", user).setHeader("Accept", "application/x-ndjson").GET().build();
+  }
+
+  public String readAccessToken(String body) throws JsonProcessingException {
+    return objectMapper.readTree(body).path("accessToken").asText(null);
+  }
+
+  public List<Long> readTwitterIds(String body) throws JsonProcessingException {
+    List<Long> ids = new ArrayList<>();
+    for (JsonNode twitter : objectMapper.readTree(body))
+      ids.add(twitter.path("id").asLong());
+
+    return ids;
+  }
+
+  private HttpRequest json(String path, String method, VirtualUser user, Map<String, Object> body) {
+    try {
+      return request(path, user)
+          .header("Content-Type", "application/json")
+          .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+          .build();
+    } catch (JsonProcessingException exception) {
+      throw new IllegalStateException("Could not serialize request body", exception);
+    }
+  }
+
+  private HttpRequest.Builder request(String path, VirtualUser user) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(requestTimeout)
+        .header("Accept", "application/json");
+
+    if (user != null && user.getAccessToken() != null)
+      builder.header("Authorization", "Bearer " + user.getAccessToken());
+
+    return builder;
+  }
+}
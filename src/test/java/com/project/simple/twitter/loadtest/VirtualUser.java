@@ -0,0 +1,35 @@
+package com.project.simple.twitter.loadtest;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+public class VirtualUser {
+
+  private final String username;
+  private final String email;
+  private final String password;
+  private final Set<Long> twitterIds = ConcurrentHashMap.newKeySet();
+
+  @Setter
+  private volatile String accessToken;
+
+  public VirtualUser(String username) {
+    this.username = username;
+    this.email = username + "@loadtest.local";
+    this.password = "loadtest-" + username;
+  }
+
+  public Long randomTwitterId(Random random) {
+    List<Long> ids = List.copyOf(twitterIds);
+    if (ids.isEmpty())
+      return null;
+
+    return ids.get(random.nextInt(ids.size()));
+  }
+}
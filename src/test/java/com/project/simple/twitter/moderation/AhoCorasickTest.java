@@ -0,0 +1,80 @@
+package com.project.simple.twitter.moderation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AhoCorasick Test")
+class AhoCorasickTest {
+
+  @Test
+  @DisplayName("findFirst should find terms whatever their case, accents and spacing, as whole words only")
+  void findFirst_ShouldMatchFoldedWholeWords() {
+    // Arrange
+    AhoCorasick automaton = AhoCorasick.compile(List.of("Ass", "evil term", "café", "  ", "$$$"));
+
+    // Act & Assert
+    Assertions.assertThat(automaton.size()).isEqualTo(4);
+    Assertions.assertThat(automaton.findFirst("What an ASS!")).contains("ass");
+    Assertions.assertThat(automaton.findFirst("First class passage")).isEmpty();
+    Assertions.assertThat(automaton.findFirst("This is an ÉVIL   Term.")).contains("evil term");
+    Assertions.assertThat(automaton.findFirst("Coffee at the CAFÉ")).contains("cafe");
+    Assertions.assertThat(automaton.findFirst("Make $$$ fast")).contains("$$$");
+    Assertions.assertThat(automaton.findFirst("Make a$$$b fast")).contains("$$$");
+    Assertions.assertThat(AhoCorasick.EMPTY.findFirst("anything")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("findFirst should find terms ending inside longer ones and overlapping ones")
+  void findFirst_ShouldFollowFailureAndOutputLinks() {
+    // Arrange
+    AhoCorasick automaton = AhoCorasick.compile(List.of("he", "she", "hers", "his"));
+
+    // Act & Assert
+    Assertions.assertThat(automaton.findFirst("ushers")).isEmpty();
+    Assertions.assertThat(automaton.findFirst("u she rs")).contains("she");
+    Assertions.assertThat(automaton.findFirst("us hers")).contains("hers");
+    Assertions.assertThat(automaton.findFirst("this is his")).contains("his");
+  }
+
+  @Test
+  @DisplayName("findFirst should agree with a regular expression per term on random texts")
+  void findFirst_ShouldMatchRegexPerTerm_OnRandomTexts() {
+    // Arrange
+    Random random = new Random(5);
+    List<String> terms = new ArrayList<>();
+    for (int i = 0; i < 300; i++)
+      terms.add(word(random) + (random.nextInt(4) == 0 ? " " + word(random) : ""));
+    AhoCorasick automaton = AhoCorasick.compile(terms);
+    List<Pattern> patterns = terms.stream()
+        .map(term -> Pattern.compile("(?<![\\p{L}\\p{N}])" + Pattern.quote(term) + "(?![\\p{L}\\p{N}])"))
+        .toList();
+
+    // Act & Assert
+    for (int i = 0; i < 500; i++) {
+      StringBuilder text = new StringBuilder();
+      for (int words = 0; words < 12; words++)
+        text.append(word(random)).append(random.nextInt(5) == 0 ? ", " : " ");
+
+      boolean expected = patterns.stream().anyMatch(pattern -> pattern.matcher(text).find());
+      Optional<String> found = automaton.findFirst(text.toString());
+
+      Assertions.assertThat(found.isPresent()).as(text.toString()).isEqualTo(expected);
+      found.ifPresent(term -> Assertions.assertThat(terms).contains(term));
+    }
+  }
+
+  // Short words over a small alphabet, so texts often contain terms
+  private static String word(Random random) {
+    StringBuilder word = new StringBuilder();
+    for (int length = 1 + random.nextInt(3); length > 0; length--)
+      word.append((char) ('a' + random.nextInt(4)));
+    return word.toString();
+  }
+}
@@ -0,0 +1,87 @@
+package com.project.simple.twitter.moderation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.project.simple.twitter.exception.InvalidArgumentException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ContentModerator Test")
+class ContentModeratorTest {
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  @DisplayName("check should reject content with a banned term and reload should pick up a changed file")
+  void check_ShouldUseTermsOfLatestFile() throws IOException {
+    // Arrange
+    Path file = directory.resolve("banned-terms.txt");
+    write(file, "# Banned terms\nspam\n\nbuy followers\n", 1000);
+
+    ContentModerator moderator = new ContentModerator(new SimpleMeterRegistry(), file.toString());
+    moderator.reload();
+
+    // Act & Assert
+    Assertions.assertThat(moderator.countTerms()).isEqualTo(2);
+    Assertions.assertThatThrownBy(() -> moderator.check("Cheap: BUY   followers now"))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Twitter contains a banned term");
+    Assertions.assertThatNoException().isThrownBy(() -> moderator.check("Spammer is a word of its own"));
+
+    write(file, "scam\n", 2000);
+    moderator.reload();
+
+    Assertions.assertThat(moderator.countTerms()).isEqualTo(1);
+    Assertions.assertThatNoException().isThrownBy(() -> moderator.check("Cheap: buy followers now"));
+    Assertions.assertThatThrownBy(() -> moderator.check("This is a scam"))
+        .isInstanceOf(InvalidArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("reload should keep the loaded terms when the file cannot be read")
+  void reload_ShouldKeepLoadedTerms_WhenFileIsMissing() throws IOException {
+    // Arrange
+    Path file = directory.resolve("banned-terms.txt");
+    write(file, "spam\n", 1000);
+
+    ContentModerator moderator = new ContentModerator(new SimpleMeterRegistry(), file.toString());
+    moderator.reload();
+
+    // Act
+    Files.delete(file);
+    moderator.reload();
+
+    // Assert
+    Assertions.assertThat(moderator.countTerms()).isEqualTo(1);
+    Assertions.assertThatThrownBy(() -> moderator.check("spam"))
+        .isInstanceOf(InvalidArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("check should let everything through when no terms file is configured")
+  void check_ShouldAllowEverything_WhenNoFileIsConfigured() {
+    // Arrange
+    ContentModerator moderator = new ContentModerator(new SimpleMeterRegistry(), "");
+    moderator.reload();
+
+    // Act & Assert
+    Assertions.assertThat(moderator.countTerms()).isZero();
+    Assertions.assertThatNoException().isThrownBy(() -> moderator.check("spam"));
+  }
+
+  // Sets the modification time explicitly, since two writes may fall in the same clock tick
+  private static void write(Path file, String content, long modifiedAt) throws IOException {
+    Files.writeString(file, content);
+    Files.setLastModifiedTime(file, FileTime.from(Instant.ofEpochMilli(modifiedAt)));
+  }
+}
@@ -0,0 +1,356 @@
+package com.project.simple.twitter.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.simple.twitter.domain.Role;
+import com.project.simple.twitter.domain.Twitter;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.dto.user.UserDto;
+import com.project.simple.twitter.enums.UserDeletionStage;
+import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.enums.twitter.TwitterField;
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+import com.project.simple.twitter.security.SecurityConfig;
+import com.project.simple.twitter.service.export.UserDataExporter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// Runs each finder against the migrated schema and checks the plan of the statement it issued with EXPLAIN
+@DataJpaTest
+@DisplayName("Tests for index usage of repository queries")
+class IndexUsageTest {
+
+  @TestConfiguration
+  static class StatementCaptureConfig {
+
+    @Bean
+    static BeanPostProcessor statementCapturingPostProcessor() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          if (!(bean instanceof DataSource dataSource))
+            return bean;
+
+          return ProxyDataSourceBuilder.create(dataSource)
+              .listener(new StatementCapture())
+              .build();
+        }
+      };
+    }
+  }
+
+  // Keeps the last statement Hibernate ran together with the parameters it was bound with
+  static class StatementCapture implements QueryExecutionListener {
+
+    private static QueryInfo lastQuery;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+      QueryInfo queryInfo = queryInfoList.get(0);
+
+      if (!queryInfo.getQuery().startsWith("EXPLAIN"))
+        lastQuery = queryInfo;
+    }
+  }
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private TwitterRepository twitterRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private RoleRepository roleRepository;
+
+  @Autowired
+  private IdempotencyRecordRepository idempotencyRecordRepository;
+
+  @Autowired
+  private FollowRepository followRepository;
+
+  @Autowired
+  private FollowSuggestionRepository followSuggestionRepository;
+
+  @Autowired
+  private TwitterImpressionRepository twitterImpressionRepository;
+
+  @Autowired
+  private ScheduledTwitterRepository scheduledTwitterRepository;
+
+  @Autowired
+  private UserDeletionRepository userDeletionRepository;
+
+  private User user;
+
+  @BeforeEach
+  void initUtils() {
+    Role role = roleRepository.findByName("USER");
+    user = userRepository.save(User.builder()
+        .username("brunolucas")
+        .email("brunolucas23@gmail.com")
+        .password(SecurityConfig.passwordEncoder().encode("bruno123"))
+        .status(UserStatus.ACTIVE)
+        .roles(List.of(role))
+        .build());
+
+    for (int index = 0; index < 10; index++) {
+      twitterRepository.save(Twitter.createNew("Twitter " + index, user));
+    }
+    twitterRepository.flush();
+  }
+
+  @Test
+  void userFinders_ShouldUseUniqueIndexes_WhenUserIsLookedUp() throws Exception {
+    userRepository.findByUsername(user.getUsername());
+    assertUsesIndex(explainLastStatement(), "UKR43AF9AP4EDM43MMTQ01ODDJ6");
+
+    userRepository.findByEmail(user.getEmail());
+    assertUsesIndex(explainLastStatement(), "UK6DOTKOTT2KJSP8VW4D0M25FB7");
+  }
+
+  @Test
+  void findByName_ShouldUseRoleNameIndex_WhenRoleIsLookedUp() throws Exception {
+    roleRepository.findByName("USER");
+
+    assertUsesIndex(explainLastStatement(), "IDX_ROLES_NAME");
+  }
+
+  @Test
+  void twitterFinders_ShouldUseAuthorIndexes_WhenTimelinesAreRead() throws Exception {
+    LocalDateTime now = LocalDateTime.now();
+
+    twitterRepository.findAllByAuthorId(user.getId(), now);
+    assertUsesIndex(explainLastStatement(), "AUTHOR_ID = ?1");
+
+    twitterRepository.findProjectedByAuthorId(user.getId(), now, Set.of(TwitterField.ID, TwitterField.CONTENT));
+    assertUsesIndex(explainLastStatement(), "AUTHOR_ID = ?1");
+
+    twitterRepository.findPageByAuthorId(user.getId(), TwitterVisibility.PUBLIC, Long.MAX_VALUE, now, Limit.of(20));
+    assertUsesIndex(explainLastStatement(), "IDX_TWITTER_AUTHOR_ID_");
+
+    twitterRepository.findChunkByAuthorId(user.getId(), Long.MAX_VALUE, now, now, Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "IDX_TWITTER_AUTHOR_ID_ID");
+  }
+
+  @Test
+  void findAllVisibleByIdIn_ShouldUsePrimaryKey_WhenTwittersAreReadById() throws Exception {
+    twitterRepository.findAllVisibleByIdIn(List.of(1L, 2L), user.getId(), TwitterVisibility.PUBLIC,
+        LocalDateTime.now());
+
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+  }
+
+  @Test
+  void findUsernamesByIdIn_ShouldUsePrimaryKey_WhenUsernamesAreResolved() throws Exception {
+    userRepository.findUsernamesByIdIn(List.of(user.getId()));
+
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+  }
+
+  @Test
+  void activeNamesChunks_ShouldUsePrimaryKey_WhenAutocompleteIndexIsBuilt() throws Exception {
+    userRepository.findActiveNamesFirstChunk(Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    userRepository.findActiveNamesChunkAfter(user.getId(), Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+  }
+
+  @Test
+  void followChunks_ShouldUsePrimaryKey_WhenFollowGraphIsLoaded() throws Exception {
+    followRepository.findFirstChunk(Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    followRepository.findChunkAfter(user.getId(), user.getId(), Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+  }
+
+  @Test
+  void createdFollowChunks_ShouldUseCreatedAtIndex_WhenFollowGraphIsRefreshed() throws Exception {
+    followRepository.findFirstCreatedChunk(LocalDateTime.now().minusMinutes(1), Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "IDX_FOLLOWS_CREATED_AT");
+
+    followRepository.findCreatedChunkAfter(LocalDateTime.now(), user.getId(), user.getId(), Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "IDX_FOLLOWS_CREATED_AT");
+  }
+
+  @Test
+  void countByAuthorSince_ShouldUseCreateAtIndex_WhenActivityIsCounted() throws Exception {
+    twitterRepository.countByAuthorSince(LocalDateTime.now().minusDays(30));
+
+    assertUsesIndex(explainLastStatement(), "IDX_TWITTER_CREATE_AT_AUTHOR_ID");
+  }
+
+  @Test
+  void suggestionQueries_ShouldUsePrimaryKey_WhenSuggestionsAreReadAndReplaced() throws Exception {
+    followSuggestionRepository.findById(user.getId());
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    followSuggestionRepository.deleteAllByUserIdIn(List.of(user.getId()));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+  }
+
+  @Test
+  void impressionQueries_ShouldUseIndexes_WhenViewersAreCountedFlushedAndPurged() throws Exception {
+    LocalDate today = LocalDate.now();
+
+    twitterImpressionRepository.findAllByTwitterIdBetween(1L, today.minusDays(6), today);
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    twitterImpressionRepository.findAllForUpdate(today, List.of(1L, 2L));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    twitterImpressionRepository.deleteAllViewedBefore(today.minusDays(35));
+    assertUsesIndex(explainLastStatement(), "IDX_TWITTER_IMPRESSIONS_VIEWED_ON");
+  }
+
+  @Test
+  void scheduledQueries_ShouldUseIndexes_WhenWindowIsLoadedAndTwittersArePublished() throws Exception {
+    LocalDateTime now = LocalDateTime.now();
+
+    scheduledTwitterRepository.findPendingChunk(now, 0, now.plusHours(1), Limit.of(10_000));
+    assertUsesIndex(explainLastStatement(), "IDX_SCHEDULED_TWITTERS_PUBLISH_AT");
+
+    scheduledTwitterRepository.findAllByAuthorId(user.getId());
+    assertUsesIndex(explainLastStatement(), "AUTHOR_ID = ?1");
+
+    scheduledTwitterRepository.findAllForUpdate(List.of(1L, 2L));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    scheduledTwitterRepository.deletePending(1L);
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+  }
+
+  @Test
+  void expiryQueries_ShouldUseIndexes_WhenExpiredTwittersAreReaped() throws Exception {
+    LocalDateTime now = LocalDateTime.now();
+
+    twitterRepository.findExpiredChunk(LocalDateTime.of(1970, 1, 1, 0, 0), 0, now, Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "IDX_TWITTER_EXPIRES_AT");
+
+    twitterRepository.deleteExpired(List.of(1L, 2L), now.minusDays(1), now, now);
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+  }
+
+  @Test
+  void exportQuery_ShouldUseAuthorIndex_WhenTwittersAreExported() throws Exception {
+    UserDataExporter exporter = new UserDataExporter(new JdbcTemplate(dataSource), new ObjectMapper()
+        .findAndRegisterModules(), new SimpleMeterRegistry(), 1);
+
+    exporter.export(UserDto.builder().username(user.getUsername()).build()).writeTo(new ByteArrayOutputStream());
+
+    assertUsesIndex(explainLastStatement(), "IDX_TWITTER_AUTHOR_ID_ID");
+  }
+
+  @Test
+  void deletionQueries_ShouldUseIndexes_WhenDeletedAccountIsPurged() throws Exception {
+    LocalDateTime now = LocalDateTime.now();
+
+    userDeletionRepository.findPending(Limit.of(10));
+    assertUsesIndex(explainLastStatement(), "IDX_USER_DELETIONS_COMPLETED_AT_REQUESTED_AT");
+
+    userDeletionRepository.countPending();
+    assertUsesIndex(explainLastStatement(), "IDX_USER_DELETIONS_COMPLETED_AT_REQUESTED_AT");
+
+    userDeletionRepository.addPurgedRows(user.getId(), 10, now);
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    userDeletionRepository.advanceStage(user.getId(), UserDeletionStage.TWITTERS, UserDeletionStage.FOLLOWING, now);
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    userDeletionRepository.complete(user.getId(), now);
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    scheduledTwitterRepository.findIdsByAuthorId(user.getId(), Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "AUTHOR_ID = ?1");
+
+    scheduledTwitterRepository.deleteAllByIdIn(List.of(1L, 2L));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    twitterRepository.findKeysByAuthorId(user.getId(), Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "IDX_TWITTER_AUTHOR_ID_ID");
+
+    twitterRepository.deleteAllByIdIn(List.of(1L, 2L), now.minusDays(1), now);
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    followRepository.findFolloweeIds(user.getId(), Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    followRepository.deleteFollowing(user.getId(), List.of(user.getId(), UUID.randomUUID()));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+
+    followRepository.findFollowerIds(user.getId(), Limit.of(100));
+    assertUsesIndex(explainLastStatement(), "IDX_FOLLOWS_FOLLOWEE_ID_FOLLOWER_ID");
+
+    followRepository.deleteFollowers(user.getId(), List.of(user.getId(), UUID.randomUUID()));
+    assertUsesIndex(explainLastStatement(), "PRIMARY_KEY");
+  }
+
+  @Test
+  void deleteAllExpired_ShouldUseExpiresAtIndex_WhenExpiredKeysArePurged() throws Exception {
+    idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+
+    assertUsesIndex(explainLastStatement(), "IDX_IDEMPOTENCY_KEYS_EXPIRES_AT");
+  }
+
+  // H2 names the index it reads each table through in a comment, or marks the table with tableScan
+  private void assertUsesIndex(String plan, String expectedIndexAccess) {
+    Assertions.assertThat(plan)
+        .doesNotContain(".tableScan")
+        .contains(expectedIndexAccess);
+  }
+
+  private String explainLastStatement() throws Exception {
+    QueryInfo queryInfo = StatementCapture.lastQuery;
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+
+    try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + queryInfo.getQuery())) {
+      for (ParameterSetOperation operation : queryInfo.getParametersList().get(0)) {
+        operation.getMethod().invoke(statement, operation.getArgs());
+      }
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        resultSet.next();
+
+        return resultSet.getString(1);
+      }
+    }
+  }
+
+}
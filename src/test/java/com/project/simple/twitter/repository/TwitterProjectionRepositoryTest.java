@@ -0,0 +1,99 @@
+package com.project.simple.twitter.repository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.project.simple.twitter.domain.Twitter;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.dto.twitter.TwitterDto;
+import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.enums.twitter.TwitterField;
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+import com.project.simple.twitter.security.SecurityConfig;
+
+@DataJpaTest
+@DisplayName("Tests for Twitter projection queries")
+class TwitterProjectionRepositoryTest {
+
+  @Autowired
+  private TwitterRepository twitterRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Test
+  void findProjectedByAuthorId_ShouldFillOnlyRequestedFields_WhenSomeFieldsAreRequested() {
+    User author = saveUser("brunolucas", "brunolucas23@gmail.com");
+    twitterRepository.save(Twitter.createNew("Projected content", author));
+
+    List<TwitterDto> twitters = twitterRepository.findProjectedByAuthorId(author.getId(), LocalDateTime.now(),
+        TwitterField.parse("content,author"));
+
+    Assertions.assertThat(twitters).hasSize(1);
+    Assertions.assertThat(twitters.get(0).getId()).isPositive();
+    Assertions.assertThat(twitters.get(0).getContent()).isEqualTo("Projected content");
+    Assertions.assertThat(twitters.get(0).getAuthor()).isEqualTo(author.getUsername());
+    Assertions.assertThat(twitters.get(0).getCreatedAt()).isNull();
+    Assertions.assertThat(twitters.get(0).getVisibility()).isNull();
+  }
+
+  @Test
+  void findProjectedVisibleByIdIn_ShouldSkipPrivateTwittersOfOtherUsers_WhenUserIsNotTheAuthor() {
+    User author = saveUser("brunolucas", "brunolucas23@gmail.com");
+    User reader = saveUser("anotheruser", "anotheruser@gmail.com");
+
+    Twitter publicTwitter = twitterRepository.save(Twitter.createNew("Public content", author));
+    Twitter privateTwitter = Twitter.createNew("Private content", author);
+    privateTwitter.setVisibility(TwitterVisibility.PRIVATE);
+    privateTwitter = twitterRepository.save(privateTwitter);
+
+    List<TwitterDto> twitters = twitterRepository.findProjectedVisibleByIdIn(
+        List.of(publicTwitter.getId(), privateTwitter.getId()), reader.getId(), TwitterVisibility.PUBLIC,
+        LocalDateTime.now(), TwitterField.parse("id,visibility,edited"));
+
+    Assertions.assertThat(twitters)
+        .extracting(TwitterDto::getId)
+        .containsExactly(publicTwitter.getId());
+    Assertions.assertThat(twitters.get(0).getVisibility()).isEqualTo("public");
+    Assertions.assertThat(twitters.get(0).isEdited()).isEqualTo(publicTwitter.isEdited());
+    Assertions.assertThat(twitters.get(0).getContent()).isNull();
+  }
+
+  @Test
+  void findProjectedByAuthorId_ShouldSkipExpiredTwitters_WhenTheyAreNotDeletedYet() {
+    User author = saveUser("brunolucas", "brunolucas23@gmail.com");
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    Twitter expiredTwitter = Twitter.createNew("Expired content", author);
+    expiredTwitter.setExpiresAt(now.minusMinutes(1));
+    twitterRepository.save(expiredTwitter);
+    Twitter expiringTwitter = Twitter.createNew("Expiring content", author);
+    expiringTwitter.setExpiresAt(now.plusMinutes(1));
+    expiringTwitter = twitterRepository.save(expiringTwitter);
+
+    List<TwitterDto> twitters = twitterRepository.findProjectedByAuthorId(author.getId(), now,
+        TwitterField.parse("id,expires_at"));
+
+    Assertions.assertThat(twitters)
+        .extracting(TwitterDto::getId)
+        .containsExactly(expiringTwitter.getId());
+    Assertions.assertThat(twitters.get(0).getExpiresAt()).isEqualTo(expiringTwitter.getExpiresAt());
+  }
+
+  private User saveUser(String username, String email) {
+    return userRepository.save(User.builder()
+        .username(username)
+        .email(email)
+        .password(SecurityConfig.passwordEncoder().encode("bruno123"))
+        .status(UserStatus.ACTIVE)
+        .build());
+  }
+
+}
@@ -0,0 +1,116 @@
+package com.project.simple.twitter.schedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TimingWheel Test")
+class TimingWheelTest {
+
+  private static final long START = 1_760_000_000L;
+
+  @Test
+  @DisplayName("advance should expire every id at its own tick across all levels")
+  void advance_ShouldExpireEachIdAtItsDeadline_WhenDeadlinesSpanSeveralLevels() {
+    // Arrange
+    TimingWheel wheel = new TimingWheel(START);
+    Random random = new Random(42);
+    Map<Long, Long> deadlines = new HashMap<>();
+    for (long id = 1; id <= 20_000; id++) {
+      long deadline = START + 1 + random.nextInt(id % 10 == 0 ? 3_000_000 : 5_000);
+      deadlines.put(id, deadline);
+      wheel.schedule(id, deadline);
+    }
+
+    // Act
+    Map<Long, Long> expiredAt = new HashMap<>();
+    for (long tick = START + 1; tick <= START + 3_000_000; tick += 1 + random.nextInt(50)) {
+      long now = tick;
+      wheel.advance(now, id -> expiredAt.put(id, now));
+    }
+    wheel.advance(START + 3_000_001, id -> expiredAt.put(id, START + 3_000_001));
+
+    // Assert
+    Assertions.assertThat(wheel.size()).isZero();
+    Assertions.assertThat(expiredAt).hasSize(deadlines.size());
+    deadlines.forEach((id, deadline) -> Assertions.assertThat(expiredAt.get(id))
+        .as("id %d due at %d", id, deadline)
+        .isBetween(deadline, deadline + 50));
+  }
+
+  @Test
+  @DisplayName("advance should hand expired ids in deadline order")
+  void advance_ShouldExpireInDeadlineOrder_WhenSeveralTicksArePassedAtOnce() {
+    // Arrange
+    TimingWheel wheel = new TimingWheel(START);
+    wheel.schedule(3, START + 4_100);
+    wheel.schedule(1, START + 5);
+    wheel.schedule(2, START + 70);
+
+    // Act
+    List<Long> expired = new ArrayList<>();
+    wheel.advance(START + 10_000, expired::add);
+
+    // Assert
+    Assertions.assertThat(expired).containsExactly(1L, 2L, 3L);
+  }
+
+  @Test
+  @DisplayName("cancel should keep an id from expiring and schedule should move it")
+  void cancel_ShouldRemoveId_AndScheduleShouldMoveIt() {
+    // Arrange
+    TimingWheel wheel = new TimingWheel(START);
+    for (long id = 1; id <= 5_000; id++)
+      wheel.schedule(id, START + id);
+
+    // Act
+    for (long id = 2; id <= 5_000; id += 2)
+      wheel.cancel(id);
+    wheel.schedule(1, START + 9_000);
+    List<Long> expired = new ArrayList<>();
+    wheel.advance(START + 5_000, expired::add);
+
+    // Assert
+    Assertions.assertThat(wheel.cancel(2)).isFalse();
+    Assertions.assertThat(expired).hasSize(2_499).allMatch(id -> id % 2 == 1).doesNotContain(1L);
+    Assertions.assertThat(wheel.contains(1)).isTrue();
+    Assertions.assertThat(wheel.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("schedule should make a deadline in the past due on the next tick")
+  void schedule_ShouldExpireOnNextTick_WhenDeadlineHasPassed() {
+    // Arrange
+    TimingWheel wheel = new TimingWheel(START);
+    wheel.schedule(1, START - 3_600);
+
+    // Act
+    List<Long> expired = new ArrayList<>();
+    wheel.advance(START, expired::add);
+    wheel.advance(START + 1, expired::add);
+
+    // Assert
+    Assertions.assertThat(expired).containsExactly(1L);
+  }
+
+  @Test
+  @DisplayName("memoryBytes should stay within a few dozen bytes per pending id")
+  void memoryBytes_ShouldStayCompact_WhenManyIdsArePending() {
+    // Arrange
+    TimingWheel wheel = new TimingWheel(START);
+
+    // Act
+    for (long id = 0; id < 1_000_000; id++)
+      wheel.schedule(id * 7919, START + 1 + id % 3_600);
+
+    // Assert
+    Assertions.assertThat(wheel.size()).isEqualTo(1_000_000);
+    Assertions.assertThat(wheel.memoryBytes()).isLessThan(1_000_000L * 48);
+  }
+}
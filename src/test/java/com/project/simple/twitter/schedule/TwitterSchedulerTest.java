@@ -0,0 +1,188 @@
+package com.project.simple.twitter.schedule;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.simple.twitter.cache.ProfileTimelineCache;
+import com.project.simple.twitter.domain.ScheduledTwitter;
+import com.project.simple.twitter.domain.Twitter;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.TwitterCreatedEvent;
+import com.project.simple.twitter.repository.ScheduledTwitterRepository;
+import com.project.simple.twitter.repository.ScheduledTwitterRepository.PendingView;
+import com.project.simple.twitter.repository.TwitterRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("TwitterScheduler Test")
+class TwitterSchedulerTest {
+
+  private final User author = User.builder()
+      .id(UUID.randomUUID())
+      .username("brunolucas")
+      .build();
+
+  private ScheduledTwitterRepository scheduledTwitterRepository;
+  private TwitterRepository twitterRepository;
+  private ProfileTimelineCache profileTimelineCache;
+  private DomainEventBus domainEventBus;
+  private TwitterScheduler twitterScheduler;
+
+  @BeforeEach
+  void initUtils() {
+    scheduledTwitterRepository = mock(ScheduledTwitterRepository.class);
+    twitterRepository = mock(TwitterRepository.class);
+    profileTimelineCache = mock(ProfileTimelineCache.class);
+    domainEventBus = mock(DomainEventBus.class);
+    twitterScheduler = new TwitterScheduler(scheduledTwitterRepository, twitterRepository, profileTimelineCache,
+        domainEventBus, new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+        Duration.ofHours(1), Duration.ofMinutes(5));
+
+    when(twitterRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+  }
+
+  @Test
+  @DisplayName("publishDue should publish the loaded twitters once their publish time is reached")
+  void publishDue_ShouldPublishLoadedTwitters_WhenPublishTimeIsReached() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    when(scheduledTwitterRepository.findPendingChunk(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class),
+        any(Limit.class))).thenReturn(List.of(pending(1L, now.minusMinutes(1)), pending(2L, now.plusMinutes(30))));
+    when(scheduledTwitterRepository.findAllForUpdate(List.of(1L)))
+        .thenReturn(List.of(scheduled(1L, now.minusMinutes(1))));
+
+    twitterScheduler.refill();
+
+    // Act
+    int published = twitterScheduler.publishDue(now.plusSeconds(2));
+
+    // Assert
+    Assertions.assertThat(published).isEqualTo(1);
+    Assertions.assertThat(twitterScheduler.countPending()).isEqualTo(1);
+
+    // Verify that the row was deleted along with the insert and the creation was published
+    verify(scheduledTwitterRepository, times(1)).deleteAllInBatch(anyList());
+    verify(twitterRepository, times(1)).saveAll(anyList());
+    verify(profileTimelineCache, times(1)).evict(eq(author.getUsername()));
+    verify(domainEventBus, times(1)).publish(any(TwitterCreatedEvent.class));
+  }
+
+  @Test
+  @DisplayName("add should only take twitters due within the loaded window")
+  void add_ShouldOnlyTakeTwitters_WhenDueWithinLoadedWindow() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    when(scheduledTwitterRepository.findPendingChunk(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class),
+        any(Limit.class))).thenReturn(List.of());
+
+    // Act
+    twitterScheduler.add(1L, now.plusMinutes(10));
+    twitterScheduler.refill();
+    twitterScheduler.add(2L, now.plusMinutes(10));
+    twitterScheduler.add(3L, now.plusHours(2));
+
+    // Assert
+    Assertions.assertThat(twitterScheduler.countPending()).isEqualTo(1);
+    Assertions.assertThat(twitterScheduler.publishDue(now.plusMinutes(5))).isZero();
+  }
+
+  @Test
+  @DisplayName("publishDue should retry the twitters of a failed publication a few seconds later")
+  void publishDue_ShouldRetryLater_WhenPublicationFails() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    when(scheduledTwitterRepository.findPendingChunk(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class),
+        any(Limit.class))).thenReturn(List.of());
+    when(scheduledTwitterRepository.findAllForUpdate(List.of(1L)))
+        .thenThrow(new QueryTimeoutException("timeout"))
+        .thenReturn(List.of(scheduled(1L, now.plusSeconds(1))));
+
+    twitterScheduler.refill();
+    twitterScheduler.add(1L, now.plusSeconds(1));
+
+    // Act & Assert
+    Assertions.assertThat(twitterScheduler.publishDue(now.plusSeconds(2))).isZero();
+    Assertions.assertThat(twitterScheduler.countPending()).isEqualTo(1);
+    Assertions.assertThat(twitterScheduler.publishDue(now.plusSeconds(5))).isZero();
+    Assertions.assertThat(twitterScheduler.publishDue(now.plus(TwitterScheduler.RETRY_DELAY).plusSeconds(3)))
+        .isEqualTo(1);
+
+    // Verify that the creation was published once
+    verify(domainEventBus, times(1)).publish(any(TwitterCreatedEvent.class));
+  }
+
+  @Test
+  @DisplayName("publishDue should skip twitters that were cancelled or published elsewhere")
+  void publishDue_ShouldSkipTwitters_WhenRowsAreGone() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    when(scheduledTwitterRepository.findPendingChunk(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class),
+        any(Limit.class))).thenReturn(List.of(pending(1L, now.minusMinutes(1))));
+    when(scheduledTwitterRepository.findAllForUpdate(List.of(1L))).thenReturn(List.of());
+
+    twitterScheduler.refill();
+
+    // Act & Assert
+    Assertions.assertThat(twitterScheduler.publishDue(now.plusSeconds(2))).isZero();
+    Assertions.assertThat(twitterScheduler.countPending()).isZero();
+
+    // Verify that nothing was announced
+    verify(domainEventBus, never()).publish(any(TwitterCreatedEvent.class));
+  }
+
+  @Test
+  @DisplayName("constructor should throw IllegalArgumentException when window is not longer than refill interval")
+  void constructor_ShouldThrowIllegalArgumentException_WhenWindowIsTooShort() {
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> new TwitterScheduler(scheduledTwitterRepository, twitterRepository,
+        profileTimelineCache, domainEventBus, null, new SimpleMeterRegistry(), Duration.ofMinutes(5),
+        Duration.ofMinutes(5)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private ScheduledTwitter scheduled(long id, LocalDateTime publishAt) {
+    ScheduledTwitter scheduled = ScheduledTwitter.createNew("Test Content", author, TwitterVisibility.PUBLIC,
+        publishAt);
+    scheduled.setId(id);
+
+    return scheduled;
+  }
+
+  private static PendingView pending(long id, LocalDateTime publishAt) {
+    return new PendingView() {
+
+      @Override
+      public long getId() {
+        return id;
+      }
+
+      @Override
+      public LocalDateTime getPublishAt() {
+        return publishAt;
+      }
+    };
+  }
+}
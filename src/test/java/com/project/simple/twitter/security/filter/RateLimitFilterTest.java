@@ -0,0 +1,153 @@
+package com.project.simple.twitter.security.filter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.User;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.simple.twitter.security.limiter.TokenBucketStore;
+import com.project.simple.twitter.service.JwtTokenService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+@DisplayName("RateLimitFilter Test")
+class RateLimitFilterTest {
+
+  private final JwtTokenService jwtTokenService = new JwtTokenService();
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private RateLimitFilter rateLimitFilter;
+
+  @BeforeEach
+  void initUtils() {
+    MockEnvironment environment = new MockEnvironment()
+        .withProperty("twitter.rate-limit.create-twitter.capacity", "2")
+        .withProperty("twitter.rate-limit.login.capacity", "1");
+
+    meterRegistry = new SimpleMeterRegistry();
+    TokenBucketStore tokenBucketStore = new TokenBucketStore(environment, meterRegistry, 100, clock::get);
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    rateLimitFilter = new RateLimitFilter(tokenBucketStore, jwtTokenService, objectMapper, meterRegistry, true);
+  }
+
+  @Test
+  @DisplayName("doFilter should throttle a user once the bucket is empty without touching the rest of the chain")
+  void doFilter_ShouldThrottleUser_WhenBucketIsEmpty() throws Exception {
+    // Arrange
+    String token = tokenFor("username");
+
+    // Act
+    MockHttpServletResponse first = filter(createTwitterRequest(token, "10.0.0.1"));
+    MockHttpServletResponse second = filter(createTwitterRequest(token, "10.0.0.2"));
+    FilterChain chain = mock(FilterChain.class);
+    MockHttpServletResponse third = new MockHttpServletResponse();
+    rateLimitFilter.doFilter(createTwitterRequest(token, "10.0.0.3"), third, chain);
+
+    // Assert
+    Assertions.assertThat(first.getStatus()).isEqualTo(200);
+    Assertions.assertThat(second.getStatus()).isEqualTo(200);
+    Assertions.assertThat(third.getStatus()).isEqualTo(429);
+    Assertions.assertThat(third.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    Assertions.assertThat(meterRegistry.get("twitter.rate_limit.throttled")
+        .tag("endpoint", "create-twitter").tag("key", "user").counter().count()).isEqualTo(1);
+
+    // Verify that the rest of the chain was never called for the throttled request
+    verify(chain, times(0)).doFilter(any(), any());
+  }
+
+  @Test
+  @DisplayName("doFilter should keep separate buckets per user and fall back to the client address without a valid token")
+  void doFilter_ShouldKeepSeparateBuckets_WhenPrincipalsDiffer() throws Exception {
+    // Act
+    filter(createTwitterRequest(tokenFor("first"), "10.0.0.1"));
+    filter(createTwitterRequest(tokenFor("first"), "10.0.0.1"));
+    MockHttpServletResponse otherUser = filter(createTwitterRequest(tokenFor("second"), "10.0.0.1"));
+    MockHttpServletResponse invalidToken = filter(createTwitterRequest("invalid", "10.0.0.1"));
+
+    // Assert
+    Assertions.assertThat(otherUser.getStatus()).isEqualTo(200);
+    Assertions.assertThat(invalidToken.getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  @DisplayName("doFilter should throttle login attempts per client address and refill over time")
+  void doFilter_ShouldThrottleLoginPerAddress_WhenAttemptsExceedCapacity() throws Exception {
+    // Act & Assert
+    Assertions.assertThat(filter(loginRequest("10.0.0.1")).getStatus()).isEqualTo(200);
+    Assertions.assertThat(filter(loginRequest("10.0.0.1")).getStatus()).isEqualTo(429);
+    Assertions.assertThat(filter(loginRequest("10.0.0.2")).getStatus()).isEqualTo(200);
+
+    clock.addAndGet(5_000_000_000L);
+
+    Assertions.assertThat(filter(loginRequest("10.0.0.1")).getStatus()).isEqualTo(200);
+    Assertions.assertThat(meterRegistry.get("twitter.rate_limit.throttled")
+        .tag("endpoint", "login").tag("key", "ip").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("constructor should register the throttle counters before any request is throttled")
+  void constructor_ShouldRegisterThrottledCounters_WhenCreated() {
+    // Assert
+    Assertions.assertThat(meterRegistry.find("twitter.rate_limit.throttled").counters())
+        .extracting(counter -> counter.getId().getTag("endpoint") + "/" + counter.getId().getTag("key"))
+        .containsExactlyInAnyOrder("create-twitter/ip", "create-twitter/user", "login/ip", "signup/ip");
+  }
+
+  @Test
+  @DisplayName("doFilter should not rate limit endpoints without a configured limit")
+  void doFilter_ShouldNotRateLimit_WhenEndpointHasNoLimit() throws Exception {
+    // Arrange
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/twitters");
+
+    // Act & Assert
+    for (int i = 0; i < 50; i++)
+      Assertions.assertThat(filter(request).getStatus()).isEqualTo(200);
+  }
+
+  private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    rateLimitFilter.doFilter(request, response, new MockFilterChain());
+
+    return response;
+  }
+
+  private MockHttpServletRequest createTwitterRequest(String token, String remoteAddress) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/twitters");
+    request.addHeader("Authorization", "Bearer " + token);
+    request.setRemoteAddr(remoteAddress);
+
+    return request;
+  }
+
+  private MockHttpServletRequest loginRequest(String remoteAddress) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/login");
+    request.setRemoteAddr(remoteAddress);
+
+    return request;
+  }
+
+  private String tokenFor(String username) {
+    return jwtTokenService.generateToken(User.withUsername(username).password("password").build());
+  }
+}
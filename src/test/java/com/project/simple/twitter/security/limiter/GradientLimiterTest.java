@@ -0,0 +1,92 @@
+package com.project.simple.twitter.security.limiter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GradientLimiter Test")
+class GradientLimiterTest {
+
+  private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+  @Test
+  @DisplayName("tryAcquire should reject requests when the limit is reached")
+  void tryAcquire_ShouldRejectRequests_WhenLimitIsReached() {
+    // Arrange
+    GradientLimiter limiter = new GradientLimiter("read", 2, 1, 10);
+
+    // Act & Assert
+    Assertions.assertThat(limiter.tryAcquire()).isTrue();
+    Assertions.assertThat(limiter.tryAcquire()).isTrue();
+    Assertions.assertThat(limiter.tryAcquire()).isFalse();
+
+    limiter.release(BASE_RTT, false);
+
+    Assertions.assertThat(limiter.tryAcquire()).isTrue();
+    Assertions.assertThat(limiter.getInFlight()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("release should raise the limit when the limit is saturated and latency is stable")
+  void release_ShouldRaiseLimit_WhenSaturatedAndLatencyIsStable() {
+    // Arrange
+    GradientLimiter limiter = new GradientLimiter("read", 10, 2, 100);
+
+    // Act
+    runSaturated(limiter, BASE_RTT, 200);
+
+    // Assert
+    Assertions.assertThat(limiter.getLimit()).isGreaterThan(10);
+  }
+
+  @Test
+  @DisplayName("release should lower the limit when latency rises above the long term average")
+  void release_ShouldLowerLimit_WhenLatencyRises() {
+    // Arrange
+    GradientLimiter limiter = new GradientLimiter("read", 50, 2, 100);
+    runSaturated(limiter, BASE_RTT, 100);
+    int limitBeforeSlowdown = limiter.getLimit();
+
+    // Act
+    runSaturated(limiter, BASE_RTT * 10, 20);
+
+    // Assert
+    Assertions.assertThat(limiter.getLimit()).isLessThan(limitBeforeSlowdown / 2);
+  }
+
+  @Test
+  @DisplayName("release should back off but never drop below the minimum limit when requests fail")
+  void release_ShouldBackOffToMinimumLimit_WhenRequestsAreDropped() {
+    // Arrange
+    GradientLimiter limiter = new GradientLimiter("write", 20, 4, 100);
+
+    // Act
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire();
+      limiter.release(BASE_RTT, true);
+    }
+
+    // Assert
+    Assertions.assertThat(limiter.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("constructor should throw IllegalArgumentException when the limits are inconsistent")
+  void constructor_ShouldThrowIllegalArgumentException_WhenLimitsAreInconsistent() {
+    Assertions.assertThatThrownBy(() -> new GradientLimiter("read", 1, 2, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void runSaturated(GradientLimiter limiter, long rttNanos, int rounds) {
+    for (int round = 0; round < rounds; round++) {
+      int acquired = 0;
+      while (limiter.tryAcquire())
+        acquired++;
+
+      for (int i = 0; i < acquired; i++)
+        limiter.release(rttNanos, false);
+    }
+  }
+}
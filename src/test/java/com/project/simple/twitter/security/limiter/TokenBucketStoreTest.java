@@ -0,0 +1,88 @@
+package com.project.simple.twitter.security.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("TokenBucketStore Test")
+class TokenBucketStoreTest {
+
+  @Test
+  @DisplayName("getBucket should replace the oldest refilled bucket when the store is full")
+  void getBucket_ShouldReplaceRefilledBucket_WhenStoreIsFull() {
+    // Arrange
+    AtomicLong clock = new AtomicLong();
+    TokenBucketStore store = new TokenBucketStore(new MockEnvironment(), new SimpleMeterRegistry(), 3, clock::get);
+    for (int client = 0; client < 3; client++)
+      store.getBucket(RateLimitedEndpoint.LOGIN, "client-" + client).tryConsume(clock.get());
+
+    // Only client-0 has refilled; client-1 and client-2 keep consuming
+    clock.set(TimeUnit.SECONDS.toNanos(5));
+    store.getBucket(RateLimitedEndpoint.LOGIN, "client-1").tryConsume(clock.get());
+    store.getBucket(RateLimitedEndpoint.LOGIN, "client-2").tryConsume(clock.get());
+    TokenBucket client1 = store.getBucket(RateLimitedEndpoint.LOGIN, "client-1");
+
+    // Act
+    TokenBucket newClient = store.getBucket(RateLimitedEndpoint.LOGIN, "new-client");
+
+    // Assert
+    Assertions.assertThat(store.size()).isEqualTo(3);
+    Assertions.assertThat(store.getBucket(RateLimitedEndpoint.LOGIN, "new-client")).isSameAs(newClient);
+    Assertions.assertThat(store.getBucket(RateLimitedEndpoint.LOGIN, "client-1")).isSameAs(client1);
+  }
+
+  @Test
+  @DisplayName("getBucket should hand new clients the overflow bucket only while every probed bucket is in use")
+  void getBucket_ShouldReturnOverflowBucket_WhenProbedBucketsAreInUse() {
+    // Arrange
+    AtomicLong clock = new AtomicLong();
+    TokenBucketStore store = new TokenBucketStore(new MockEnvironment(), new SimpleMeterRegistry(), 3, clock::get);
+    for (int client = 0; client < 3; client++)
+      store.getBucket(RateLimitedEndpoint.LOGIN, "client-" + client).tryConsume(clock.get());
+
+    // Act
+    TokenBucket first = store.getBucket(RateLimitedEndpoint.LOGIN, "new-client");
+    TokenBucket second = store.getBucket(RateLimitedEndpoint.LOGIN, "other-new-client");
+
+    // Assert
+    Assertions.assertThat(first).isSameAs(second);
+    Assertions.assertThat(store.size()).isEqualTo(3);
+
+    // Act & Assert (once a bucket has refilled, a new client gets its own)
+    clock.set(TimeUnit.SECONDS.toNanos(5));
+    Assertions.assertThat(store.getBucket(RateLimitedEndpoint.LOGIN, "new-client")).isNotSameAs(first);
+    Assertions.assertThat(store.size()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("getBucket should keep admitting new clients while addresses rotating slower than the refill fill the store")
+  void getBucket_ShouldAdmitNewClients_WhenRotatingAddressesFillTheStore() {
+    // Arrange
+    AtomicLong clock = new AtomicLong();
+    TokenBucketStore store = new TokenBucketStore(new MockEnvironment(), new SimpleMeterRegistry(), 100, clock::get);
+    int admitted = 0;
+
+    // Act: 4 signups a second, each from a new address, for ten minutes, and a real client signing up every second.
+    // 100 buckets refilling in 20 s can only be kept busy by 5 new addresses a second.
+    for (int second = 0; second < 600; second++) {
+      for (int request = 0; request < 4; request++) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        store.getBucket(RateLimitedEndpoint.SIGNUP, "ip:attacker-" + second + "-" + request)
+            .tryConsume(clock.get());
+      }
+
+      if (store.getBucket(RateLimitedEndpoint.SIGNUP, "ip:client-" + second).tryConsume(clock.get()))
+        admitted++;
+    }
+
+    // Assert
+    Assertions.assertThat(admitted).isEqualTo(600);
+    Assertions.assertThat(store.size()).isLessThanOrEqualTo(100);
+  }
+}
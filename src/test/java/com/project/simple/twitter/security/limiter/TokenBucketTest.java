@@ -0,0 +1,84 @@
+package com.project.simple.twitter.security.limiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TokenBucket Test")
+class TokenBucketTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  @DisplayName("tryConsume should allow a burst up to the capacity and reject the next request")
+  void tryConsume_ShouldAllowBurstUpToCapacity_WhenBucketIsFull() {
+    // Arrange
+    TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+    // Act & Assert
+    Assertions.assertThat(bucket.tryConsume(0)).isTrue();
+    Assertions.assertThat(bucket.tryConsume(0)).isTrue();
+    Assertions.assertThat(bucket.tryConsume(0)).isTrue();
+    Assertions.assertThat(bucket.tryConsume(0)).isFalse();
+    Assertions.assertThat(bucket.nanosUntilAvailable(0)).isEqualTo(SECOND);
+  }
+
+  @Test
+  @DisplayName("tryConsume should refill tokens at the configured rate without exceeding the capacity")
+  void tryConsume_ShouldRefillTokens_WhenTimePasses() {
+    // Arrange
+    TokenBucket bucket = new TokenBucket(2, 2, 0);
+    bucket.tryConsume(0);
+    bucket.tryConsume(0);
+
+    // Act & Assert
+    Assertions.assertThat(bucket.tryConsume(SECOND / 4)).isFalse();
+    Assertions.assertThat(bucket.tryConsume(SECOND / 2)).isTrue();
+    Assertions.assertThat(bucket.isFull(SECOND * 10)).isTrue();
+    Assertions.assertThat(bucket.tryConsume(SECOND * 10)).isTrue();
+    Assertions.assertThat(bucket.tryConsume(SECOND * 10)).isTrue();
+    Assertions.assertThat(bucket.tryConsume(SECOND * 10)).isFalse();
+  }
+
+  @Test
+  @DisplayName("tryConsume should grant exactly the capacity when many threads race for the same bucket")
+  void tryConsume_ShouldGrantExactlyCapacity_WhenThreadsRace() throws Exception {
+    // Arrange
+    int threads = 16;
+    TokenBucket bucket = new TokenBucket(1000, 0.001, 0);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> results = new ArrayList<>();
+
+    // Act
+    for (int i = 0; i < threads; i++) {
+      results.add(executor.submit(() -> {
+        start.await();
+        int granted = 0;
+        for (int attempt = 0; attempt < 500; attempt++) {
+          if (bucket.tryConsume(0))
+            granted++;
+        }
+        return granted;
+      }));
+    }
+    start.countDown();
+
+    int granted = 0;
+    for (Future<Integer> result : results)
+      granted += result.get(5, TimeUnit.SECONDS);
+
+    executor.shutdownNow();
+
+    // Assert
+    Assertions.assertThat(granted).isEqualTo(1000);
+  }
+}
@@ -0,0 +1,283 @@
+package com.project.simple.twitter.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.project.simple.twitter.domain.CustomUserDetails;
+import com.project.simple.twitter.domain.Follow;
+import com.project.simple.twitter.domain.FollowSuggestion;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.dto.follow.FollowPageDto;
+import com.project.simple.twitter.dto.follow.FollowStatusDto;
+import com.project.simple.twitter.dto.follow.FollowSuggestionsDto;
+import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.UserFollowedEvent;
+import com.project.simple.twitter.event.UserUnfollowedEvent;
+import com.project.simple.twitter.exception.InvalidArgumentException;
+import com.project.simple.twitter.graph.FollowGraph;
+import com.project.simple.twitter.repository.FollowRepository;
+import com.project.simple.twitter.repository.FollowSuggestionRepository;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("FollowService Test")
+class FollowServiceTest {
+
+  @InjectMocks
+  private FollowService followService;
+
+  @Mock
+  private FollowRepository followRepository;
+
+  @Mock
+  private FollowSuggestionRepository followSuggestionRepository;
+
+  @Mock
+  private UserService userService;
+
+  @Spy
+  private FollowGraph followGraph = new FollowGraph();
+
+  @Mock
+  private DomainEventBus domainEventBus;
+
+  private UserDetails userDetails;
+  private User user;
+  private User anotherUser;
+
+  @BeforeEach
+  void initUtils() {
+    userDetails = CustomUserDetails.builder()
+        .username("brunolucas")
+        .build();
+
+    followService.setUserDetails(userDetails);
+
+    user = User.builder()
+        .id(UUID.randomUUID())
+        .username(userDetails.getUsername())
+        .status(UserStatus.ACTIVE)
+        .build();
+
+    anotherUser = User.builder()
+        .id(UUID.randomUUID())
+        .username("anotheruser")
+        .status(UserStatus.ACTIVE)
+        .build();
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(userService.findByUsername(same(anotherUser.getUsername()))).thenReturn(anotherUser);
+  }
+
+  @Test
+  @DisplayName("follow should save the follow, update the graph and publish an event when not following yet")
+  void follow_ShouldSaveAndPublish_WhenNotFollowingYet() {
+    // Act
+    followService.follow(anotherUser.getUsername());
+
+    // Assert
+    Assertions.assertThat(followGraph.isFollowing(user.getId(), anotherUser.getId())).isTrue();
+
+    // Verify that the follow was stored and published
+    verify(followRepository, times(1)).save(any(Follow.class));
+    verify(domainEventBus, times(1)).publish(any(UserFollowedEvent.class));
+  }
+
+  @Test
+  @DisplayName("follow should save and publish when the graph still holds a follow removed on another instance")
+  void follow_ShouldSaveAndPublish_WhenGraphHoldsStaleFollow() {
+    // Arrange
+    followGraph.follow(user.getId(), anotherUser.getId());
+
+    // Act
+    followService.follow(anotherUser.getUsername());
+
+    // Assert
+    Assertions.assertThat(followGraph.isFollowing(user.getId(), anotherUser.getId())).isTrue();
+
+    // Verify that the table, not the graph, decided that the follow is new
+    verify(followRepository, times(1)).save(any(Follow.class));
+    verify(domainEventBus, times(1)).publish(any(UserFollowedEvent.class));
+  }
+
+  @Test
+  @DisplayName("follow should update the graph without publishing when the follow is already stored")
+  void follow_ShouldNotPublish_WhenFollowIsAlreadyStored() {
+    // Arrange
+    when(followRepository.save(any(Follow.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+    // Act
+    followService.follow(anotherUser.getUsername());
+
+    // Assert
+    Assertions.assertThat(followGraph.isFollowing(user.getId(), anotherUser.getId())).isTrue();
+
+    // Verify that only the request that stored the follow publishes it
+    verify(domainEventBus, never()).publish(any());
+  }
+
+  @Test
+  @DisplayName("refreshGraph should add the follows stored by other instances since the last refresh")
+  void refreshGraph_ShouldAddFollowsStoredByOtherInstances() {
+    // Arrange
+    FollowService service = new FollowService(followRepository, followSuggestionRepository, userService,
+        followGraph, domainEventBus, Duration.ofMinutes(1));
+    Follow follow = Follow.createNew(anotherUser, user);
+    when(followRepository.findFirstCreatedChunk(any(LocalDateTime.class), any(Limit.class)))
+        .thenReturn(List.of(follow));
+
+    // Act
+    LocalDateTime refreshedAt = LocalDateTime.now();
+    service.refreshGraph();
+
+    // Assert
+    Assertions.assertThat(followGraph.isFollowing(anotherUser.getId(), user.getId())).isTrue();
+
+    // Verify that the read went back by the overlap, for follows committed late
+    ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(followRepository).findFirstCreatedChunk(since.capture(), any(Limit.class));
+    Assertions.assertThat(since.getValue()).isBefore(refreshedAt.minusSeconds(59));
+  }
+
+  @Test
+  @DisplayName("follow should throw InvalidArgumentException when users try to follow themselves")
+  void follow_ShouldThrowInvalidArgumentException_WhenFollowingThemselves() {
+    // Arrange
+    when(userService.findByUsername(same(user.getUsername()))).thenReturn(user);
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> followService.follow(user.getUsername()))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Users cannot follow themselves");
+  }
+
+  @Test
+  @DisplayName("unfollow should publish an event only when a follow was deleted")
+  void unfollow_ShouldPublishOnlyWhenFollowWasDeleted() {
+    // Arrange
+    followGraph.follow(user.getId(), anotherUser.getId());
+    when(followRepository.deleteFollow(user.getId(), anotherUser.getId())).thenReturn(1, 0);
+
+    // Act
+    followService.unfollow(anotherUser.getUsername());
+    followService.unfollow(anotherUser.getUsername());
+
+    // Assert
+    Assertions.assertThat(followGraph.isFollowing(user.getId(), anotherUser.getId())).isFalse();
+
+    // Verify that the second unfollow, which deleted nothing, was not published
+    verify(domainEventBus, times(1)).publish(any(UserUnfollowedEvent.class));
+  }
+
+  @Test
+  @DisplayName("getFollowStatus should report both directions and the counts of the other user")
+  void getFollowStatus_ShouldReportBothDirections() {
+    // Arrange
+    followGraph.follow(anotherUser.getId(), user.getId());
+
+    // Act
+    FollowStatusDto status = followService.getFollowStatus(anotherUser.getUsername());
+
+    // Assert
+    Assertions.assertThat(status.isFollowing()).isFalse();
+    Assertions.assertThat(status.isFollowedBy()).isTrue();
+    Assertions.assertThat(status.getFollowerCount()).isZero();
+    Assertions.assertThat(status.getFollowingCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("getFollowers should page through the followers with a next offset")
+  void getFollowers_ShouldReturnNextOffset_WhenMoreFollowersRemain() {
+    // Arrange
+    List<UUID> followers = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    followers.forEach(follower -> followGraph.follow(follower, anotherUser.getId()));
+    when(userService.findUsernames(anyList())).thenReturn(List.of("first", "second"));
+
+    // Act
+    FollowPageDto page = followService.getFollowers(anotherUser.getUsername(), 0, 2);
+
+    // Assert
+    Assertions.assertThat(page.getUsernames()).containsExactly("first", "second");
+    Assertions.assertThat(page.getTotal()).isEqualTo(3);
+    Assertions.assertThat(page.getNextOffset()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("getFollowers should throw InvalidArgumentException when the limit is out of range")
+  void getFollowers_ShouldThrowInvalidArgumentException_WhenLimitIsOutOfRange() {
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> followService.getFollowers(anotherUser.getUsername(), 0,
+        FollowService.MAX_PAGE_SIZE + 1))
+        .isInstanceOf(InvalidArgumentException.class);
+    Assertions.assertThatThrownBy(() -> followService.getFollowers(anotherUser.getUsername(), -1, 10))
+        .isInstanceOf(InvalidArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("getSuggestions should return the stored suggestions without the users followed since")
+  void getSuggestions_ShouldLeaveOutFollowedUsers_WhenSuggestionsAreStored() {
+    // Arrange
+    UUID thirdUserId = UUID.randomUUID();
+    LocalDateTime computedAt = LocalDateTime.now();
+    FollowSuggestion stored = FollowSuggestion.createNew(user.getId(),
+        new UUID[] { anotherUser.getId(), thirdUserId }, new int[] { 5, 2 }, 2, computedAt);
+    followGraph.follow(user.getId(), anotherUser.getId());
+
+    when(followSuggestionRepository.findById(user.getId())).thenReturn(Optional.of(stored));
+    when(userService.findUsernamesById(anyList())).thenReturn(Map.of(
+        anotherUser.getId(), anotherUser.getUsername(),
+        thirdUserId, "thirduser"));
+
+    // Act
+    FollowSuggestionsDto result = followService.getSuggestions();
+
+    // Assert
+    Assertions.assertThat(result.getComputedAt()).isEqualTo(computedAt);
+    Assertions.assertThat(result.getSuggestions()).hasSize(1);
+    Assertions.assertThat(result.getSuggestions().get(0).getUsername()).isEqualTo("thirduser");
+    Assertions.assertThat(result.getSuggestions().get(0).getScore()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("getSuggestions should return no suggestions when none were computed for the user")
+  void getSuggestions_ShouldReturnEmpty_WhenNoneWereComputed() {
+    // Arrange
+    when(followSuggestionRepository.findById(user.getId())).thenReturn(Optional.empty());
+
+    // Act
+    FollowSuggestionsDto result = followService.getSuggestions();
+
+    // Assert
+    Assertions.assertThat(result.getSuggestions()).isEmpty();
+    Assertions.assertThat(result.getComputedAt()).isNull();
+
+    // Verify that no usernames were looked up
+    verify(userService, never()).findUsernamesById(anyList());
+  }
+}
@@ -0,0 +1,187 @@
+package com.project.simple.twitter.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.simple.twitter.dto.user.CreateUserDto;
+import com.project.simple.twitter.exception.InvalidArgumentException;
+import com.project.simple.twitter.exception.UnprocessableEntityException;
+import com.project.simple.twitter.service.idempotency.InMemoryIdempotencyStore;
+
+@DisplayName("IdempotencyService Test")
+class IdempotencyServiceTest {
+
+  private static final Map<String, String> REQUEST = Map.of("content", "Hello world");
+
+  private IdempotencyService idempotencyService;
+
+  private AtomicInteger executions;
+
+  @BeforeEach
+  void initUtils() {
+    idempotencyService = new IdempotencyService(new InMemoryIdempotencyStore(100), new ObjectMapper(),
+        Duration.ofHours(1), Duration.ofSeconds(5));
+    executions = new AtomicInteger();
+  }
+
+  @Test
+  @DisplayName("execute should run action every time when no idempotency key is given")
+  void execute_ShouldRunActionEveryTime_WhenNoKeyIsGiven() {
+
+    // Act
+    idempotencyService.execute("twitters:brunolucas", null, REQUEST, this::createdAction);
+    idempotencyService.execute("twitters:brunolucas", "", REQUEST, this::createdAction);
+
+    // Assert
+    Assertions.assertThat(executions.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("execute should replay the original response when the key is reused")
+  void execute_ShouldReplayOriginalResponse_WhenKeyIsReused() {
+
+    // Act
+    ResponseEntity<Void> original = idempotencyService.execute("twitters:brunolucas", "key-1", REQUEST, this::createdAction);
+    ResponseEntity<Void> replayed = idempotencyService.execute("twitters:brunolucas", "key-1", REQUEST, this::createdAction);
+
+    // Assert
+    Assertions.assertThat(executions.get()).isEqualTo(1);
+    Assertions.assertThat(original.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    Assertions.assertThat(original.getHeaders().containsKey(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER)).isFalse();
+    Assertions.assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    Assertions.assertThat(replayed.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER))
+        .isEqualTo("true");
+  }
+
+  @Test
+  @DisplayName("execute should throw UnprocessableEntityException when the key is reused for a different request")
+  void execute_ShouldThrowUnprocessableEntityException_WhenKeyIsReusedForDifferentRequest() {
+    // Arrange
+    idempotencyService.execute("twitters:brunolucas", "key-1", REQUEST, this::createdAction);
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> idempotencyService.execute("twitters:brunolucas", "key-1",
+        Map.of("content", "Something else"), this::createdAction))
+        .isInstanceOf(UnprocessableEntityException.class)
+        .hasMessage("Idempotency-Key was already used for a different request");
+
+    Assertions.assertThat(executions.get()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("execute should leave the password out of the fingerprint of a signup")
+  void execute_ShouldLeavePasswordOutOfFingerprint_WhenRequestIsSignup() {
+    // Arrange
+    idempotencyService.execute("users:bruno@gmail.com", "key-1",
+        new CreateUserDto("brunolucas", "bruno@gmail.com", "bruno123"), this::createdAction);
+
+    // Act
+    ResponseEntity<Void> replayed = idempotencyService.execute("users:bruno@gmail.com", "key-1",
+        new CreateUserDto("brunolucas", "bruno@gmail.com", "another-password"), this::createdAction);
+
+    // Assert
+    Assertions.assertThat(replayed.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER))
+        .isEqualTo("true");
+    Assertions.assertThat(executions.get()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("execute should run action again when the same key is used in a different scope")
+  void execute_ShouldRunActionAgain_WhenKeyIsUsedInDifferentScope() {
+
+    // Act
+    idempotencyService.execute("twitters:brunolucas", "key-1", REQUEST, this::createdAction);
+    idempotencyService.execute("twitters:anotheruser", "key-1", REQUEST, this::createdAction);
+
+    // Assert
+    Assertions.assertThat(executions.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("execute should release the key when the action fails")
+  void execute_ShouldReleaseKey_WhenActionFails() {
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> idempotencyService.execute("users", "key-1", REQUEST, () -> {
+      throw new IllegalArgumentException("Username cannot be null or empty");
+    })).isInstanceOf(IllegalArgumentException.class);
+
+    ResponseEntity<Void> retried = idempotencyService.execute("users", "key-1", REQUEST, this::createdAction);
+
+    // Assert
+    Assertions.assertThat(executions.get()).isEqualTo(1);
+    Assertions.assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+  }
+
+  @Test
+  @DisplayName("execute should throw InvalidArgumentException when the key is too long")
+  void execute_ShouldThrowInvalidArgumentException_WhenKeyIsTooLong() {
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> idempotencyService.execute("users", "k".repeat(101), REQUEST, this::createdAction))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Idempotency-Key cannot be longer than 100 characters");
+
+    Assertions.assertThat(executions.get()).isZero();
+  }
+
+  @Test
+  @DisplayName("execute should run action once when duplicates arrive concurrently")
+  void execute_ShouldRunActionOnce_WhenDuplicatesArriveConcurrently() throws Exception {
+    // Arrange
+    int duplicates = 16;
+    ExecutorService executor = Executors.newFixedThreadPool(duplicates);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<ResponseEntity<Void>>> responses = new ArrayList<>();
+
+    // Act
+    for (int i = 0; i < duplicates; i++) {
+      responses.add(executor.submit(() -> {
+        start.await();
+        return idempotencyService.execute("twitters:brunolucas", "key-1", REQUEST, () -> {
+          sleep(100);
+          return createdAction();
+        });
+      }));
+    }
+    start.countDown();
+
+    // Assert
+    for (Future<ResponseEntity<Void>> response : responses)
+      Assertions.assertThat(response.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+    Assertions.assertThat(executions.get()).isEqualTo(1);
+
+    executor.shutdownNow();
+  }
+
+  private HttpStatus createdAction() {
+    executions.incrementAndGet();
+
+    return HttpStatus.CREATED;
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
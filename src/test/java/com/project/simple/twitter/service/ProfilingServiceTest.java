@@ -0,0 +1,90 @@
+package com.project.simple.twitter.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.project.simple.twitter.dto.profiling.RecordingDto;
+import com.project.simple.twitter.exception.ConflictException;
+import com.project.simple.twitter.exception.InvalidArgumentException;
+import com.project.simple.twitter.exception.NotFoundException;
+import com.project.simple.twitter.profiling.TokenVerificationEvent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@DisplayName("ProfilingService Test")
+class ProfilingServiceTest {
+
+  private final ProfilingService profilingService = new ProfilingService(Duration.ofMinutes(1),
+      DataSize.ofMegabytes(8));
+
+  @AfterEach
+  void closeRecording() {
+    profilingService.close();
+  }
+
+  @Test
+  @DisplayName("stop should return a recording file containing the application events")
+  void stop_ShouldReturnRecordingWithApplicationEvents_WhenRecordingWasStarted() throws Exception {
+    // Arrange
+    RecordingDto recording = profilingService.start(Duration.ofSeconds(30), null);
+
+    TokenVerificationEvent event = new TokenVerificationEvent();
+    event.setEndpoint("GET /twitters");
+    event.setValid(true);
+    event.commit();
+
+    // Act
+    Path file = profilingService.stop();
+
+    // Assert
+    try {
+      Assertions.assertThat(recording.getSettings()).isEqualTo("default");
+      Assertions.assertThat(RecordingFile.readAllEvents(file))
+          .filteredOn(recordedEvent -> recordedEvent.getEventType().getName()
+              .equals("com.project.simple.twitter.TokenVerification"))
+          .extracting((RecordedEvent recordedEvent) -> recordedEvent.getString("endpoint"))
+          .containsExactly("GET /twitters");
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  @DisplayName("start should throw ConflictException when a recording is already in progress")
+  void start_ShouldThrowConflictException_WhenRecordingIsInProgress() {
+    // Arrange
+    profilingService.start(Duration.ofSeconds(30), "default");
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> profilingService.start(Duration.ofSeconds(30), "default"))
+        .isInstanceOf(ConflictException.class);
+  }
+
+  @Test
+  @DisplayName("start should throw InvalidArgumentException when duration or settings are invalid")
+  void start_ShouldThrowInvalidArgumentException_WhenDurationOrSettingsAreInvalid() {
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> profilingService.start(Duration.ofMinutes(2), "default"))
+        .isInstanceOf(InvalidArgumentException.class);
+
+    Assertions.assertThatThrownBy(() -> profilingService.start(Duration.ofSeconds(30), "everything"))
+        .isInstanceOf(InvalidArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("stop should throw NotFoundException when no recording was started")
+  void stop_ShouldThrowNotFoundException_WhenNoRecordingWasStarted() {
+    // Act & Assert
+    Assertions.assertThatThrownBy(profilingService::stop)
+        .isInstanceOf(NotFoundException.class);
+  }
+
+}
@@ -2,39 +2,74 @@ package com.project.simple.twitter.service;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.project.simple.twitter.cache.ProfileTimelineCache;
 import com.project.simple.twitter.domain.CustomUserDetails;
+import com.project.simple.twitter.domain.ScheduledTwitter;
 import com.project.simple.twitter.domain.Twitter;
 import com.project.simple.twitter.domain.User;
 import com.project.simple.twitter.dto.twitter.CreateTwitterDto;
+import com.project.simple.twitter.dto.twitter.ScheduleTwitterDto;
+import com.project.simple.twitter.dto.twitter.ScheduledTwitterDto;
+import com.project.simple.twitter.dto.twitter.TwitterBatchDto;
 import com.project.simple.twitter.dto.twitter.TwitterDto;
+import com.project.simple.twitter.dto.twitter.TwitterPageDto;
+import com.project.simple.twitter.dto.twitter.TwitterViewsDto;
 import com.project.simple.twitter.dto.twitter.UpdateTwitterDto;
+import com.project.simple.twitter.duplicate.DuplicateTwitterDetector;
 import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.enums.twitter.TwitterField;
 import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.TwitterCreatedEvent;
+import com.project.simple.twitter.event.TwitterDeletedEvent;
+import com.project.simple.twitter.event.TwitterViewedEvent;
+import com.project.simple.twitter.exception.ConflictException;
 import com.project.simple.twitter.exception.InvalidArgumentException;
 import com.project.simple.twitter.exception.NotFoundException;
 import com.project.simple.twitter.exception.PermissionDeniedException;
+import com.project.simple.twitter.impression.ImpressionTracker;
+import com.project.simple.twitter.moderation.ContentModerator;
+import com.project.simple.twitter.repository.ScheduledTwitterRepository;
 import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.schedule.TwitterScheduler;
 import com.project.simple.twitter.security.SecurityConfig;
 
 @ExtendWith(SpringExtension.class)
@@ -50,6 +85,27 @@ class TwitterServiceTest {
   @Mock
   private TwitterRepository twitterRepository;
 
+  @Mock
+  private ProfileTimelineCache profileTimelineCache;
+
+  @Mock
+  private DomainEventBus domainEventBus;
+
+  @Mock
+  private ImpressionTracker impressionTracker;
+
+  @Mock
+  private ScheduledTwitterRepository scheduledTwitterRepository;
+
+  @Mock
+  private TwitterScheduler twitterScheduler;
+
+  @Mock
+  private DuplicateTwitterDetector duplicateDetector;
+
+  @Mock
+  private ContentModerator contentModerator;
+
   private UserDetails userDetails;
   private User user;
   private User anotherUser;
@@ -145,7 +201,7 @@ class TwitterServiceTest {
   @DisplayName("create should not throw any exception when successfully")
   void create_ShouldNotThrowAnyException_WhenCreatedSuccesfully() {
     // Arrange
-    CreateTwitterDto dto = new CreateTwitterDto("Test Content");
+    CreateTwitterDto dto = new CreateTwitterDto("Test Content", null);
 
     when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
 
@@ -158,13 +214,76 @@ class TwitterServiceTest {
 
     // Verify that the TwitterRepository method 'save' was called correctly
     verify(twitterRepository, times(1)).save(any(Twitter.class));
+
+    // Verify that the author profile timeline cache was invalidated
+    verify(profileTimelineCache, times(1)).evict(same(user.getUsername()));
+
+    // Verify that the creation was published to the event consumers
+    verify(domainEventBus, times(1)).publish(any(TwitterCreatedEvent.class));
+  }
+
+  @Test
+  @DisplayName("create should record the fingerprint of the twitter once it is saved")
+  void create_ShouldRecordFingerprint_WhenTwitterIsSaved() {
+    // Arrange
+    CreateTwitterDto dto = new CreateTwitterDto("Test Content long enough to be checked", null);
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(duplicateDetector.check(same(user.getId()), same(dto.getContent()))).thenReturn(OptionalLong.of(42L));
+
+    // Act
+    twitterService.create(dto);
+
+    // Assert
+    verify(twitterRepository, times(1)).save(any(Twitter.class));
+    verify(duplicateDetector, times(1)).record(same(user.getId()), eq(42L));
+  }
+
+  @Test
+  @DisplayName("create should throw ConflictException and store nothing when the twitter is a near duplicate")
+  void create_ShouldThrowConflictException_WhenTwitterIsNearDuplicate() {
+    // Arrange
+    CreateTwitterDto dto = new CreateTwitterDto("Test Content long enough to be checked", null);
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(duplicateDetector.check(same(user.getId()), same(dto.getContent())))
+        .thenThrow(new ConflictException("Twitter is a near duplicate of a recent twitter"));
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> twitterService.create(dto))
+        .isInstanceOf(ConflictException.class)
+        .hasMessage("Twitter is a near duplicate of a recent twitter");
+
+    // Verify that nothing was stored, recorded or published
+    verify(twitterRepository, never()).save(any(Twitter.class));
+    verify(duplicateDetector, never()).record(any(UUID.class), anyLong());
+    verify(domainEventBus, never()).publish(any(TwitterCreatedEvent.class));
+  }
+
+  @Test
+  @DisplayName("create should throw InvalidArgumentException and store nothing when content has a banned term")
+  void create_ShouldThrowInvalidArgumentException_WhenContentHasBannedTerm() {
+    // Arrange
+    CreateTwitterDto dto = new CreateTwitterDto("Test Content with a banned term", null);
+
+    doThrow(new InvalidArgumentException("Twitter contains a banned term"))
+        .when(contentModerator).check(same(dto.getContent()));
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> twitterService.create(dto))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Twitter contains a banned term");
+
+    // Verify that nothing was checked for duplicates or stored
+    verify(duplicateDetector, never()).check(any(UUID.class), any(String.class));
+    verify(twitterRepository, never()).save(any(Twitter.class));
   }
 
   @Test
   @DisplayName("create should throw IllegalArgumentException when dto is invalid")
   void create_ShouldThrowIllegalArgumentException_WhenDtoIsInvalid() {
     // Arrange
-    CreateTwitterDto invalidContentDto = new CreateTwitterDto("");
+    CreateTwitterDto invalidContentDto = new CreateTwitterDto("", null);
 
     // Act & Assert (Dto is null)
     Assertions.assertThatThrownBy(() -> twitterService.create(null))
@@ -183,6 +302,136 @@ class TwitterServiceTest {
     verify(twitterRepository, never()).save(any(Twitter.class));
   }
 
+  @Test
+  @DisplayName("create should set the expiry time when a time to live is given")
+  void create_ShouldSetExpiresAt_WhenTimeToLiveIsGiven() {
+    // Arrange
+    CreateTwitterDto dto = new CreateTwitterDto("Test Content", Duration.ofHours(2));
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+
+    // Act
+    twitterService.create(dto);
+
+    // Assert
+    ArgumentCaptor<Twitter> saved = ArgumentCaptor.forClass(Twitter.class);
+    verify(twitterRepository, times(1)).save(saved.capture());
+    Assertions.assertThat(saved.getValue().getExpiresAt())
+        .isEqualTo(saved.getValue().getCreatedAt().plusHours(2));
+  }
+
+  @Test
+  @DisplayName("create should throw InvalidArgumentException when time to live is not positive or too long")
+  void create_ShouldThrowInvalidArgumentException_WhenTimeToLiveIsInvalid() {
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> twitterService.create(new CreateTwitterDto("Test Content", Duration.ZERO)))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Time to live must be positive and at most 30 days");
+    Assertions.assertThatThrownBy(() -> twitterService.create(
+        new CreateTwitterDto("Test Content", Duration.ofDays(31))))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Time to live must be positive and at most 30 days");
+
+    // Verify that nothing was stored
+    verify(twitterRepository, never()).save(any(Twitter.class));
+  }
+
+  @Test
+  @DisplayName("schedule should store the twitter and hand it to the scheduler when publish time is valid")
+  void schedule_ShouldStoreAndAddToScheduler_WhenPublishTimeIsValid() {
+    // Arrange
+    LocalDateTime publishAt = LocalDateTime.now().plusMinutes(10);
+    ScheduleTwitterDto dto = new ScheduleTwitterDto("Test Content", "private", publishAt);
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(scheduledTwitterRepository.save(any(ScheduledTwitter.class))).thenAnswer(invocation -> {
+      ScheduledTwitter scheduled = invocation.getArgument(0);
+      scheduled.setId(7L);
+      return scheduled;
+    });
+
+    // Act
+    ScheduledTwitterDto scheduled = twitterService.schedule(dto);
+
+    // Assert
+    Assertions.assertThat(scheduled.getId()).isEqualTo(7L);
+    Assertions.assertThat(scheduled.getVisibility()).isEqualTo("private");
+    Assertions.assertThat(scheduled.getPublishAt()).isEqualTo(publishAt);
+
+    // Verify that the twitter was handed to the scheduler and not published yet
+    verify(twitterScheduler, times(1)).add(7L, publishAt);
+    verify(twitterRepository, never()).save(any(Twitter.class));
+    verify(domainEventBus, never()).publish(any(TwitterCreatedEvent.class));
+  }
+
+  @Test
+  @DisplayName("schedule should throw InvalidArgumentException when publish time is missing, past or too far ahead")
+  void schedule_ShouldThrowInvalidArgumentException_WhenPublishTimeIsInvalid() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> twitterService.schedule(new ScheduleTwitterDto("Test Content", null, null)))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Publish time is required");
+    Assertions.assertThatThrownBy(() -> twitterService.schedule(
+        new ScheduleTwitterDto("Test Content", null, now.minusSeconds(1))))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Publish time must be in the future");
+    Assertions.assertThatThrownBy(() -> twitterService.schedule(
+        new ScheduleTwitterDto("Test Content", null, now.plusDays(400))))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Twitters can be scheduled at most 365 days ahead");
+
+    // Verify that nothing was stored
+    verify(scheduledTwitterRepository, never()).save(any(ScheduledTwitter.class));
+  }
+
+  @Test
+  @DisplayName("cancelScheduled should delete the twitter and remove it from the scheduler when user is the author")
+  void cancelScheduled_ShouldDeleteAndRemoveFromScheduler_WhenUserIsAuthor() {
+    // Arrange
+    ScheduledTwitter scheduled = ScheduledTwitter.createNew("Test Content", user, TwitterVisibility.PUBLIC,
+        LocalDateTime.now().plusHours(1));
+    scheduled.setId(7L);
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(scheduledTwitterRepository.findById(7L)).thenReturn(Optional.of(scheduled));
+    when(scheduledTwitterRepository.deletePending(7L)).thenReturn(1);
+
+    // Act & Assert
+    Assertions.assertThatNoException().isThrownBy(() -> twitterService.cancelScheduled(7L));
+
+    // Verify that the twitter will not be published
+    verify(twitterScheduler, times(1)).cancel(7L);
+  }
+
+  @Test
+  @DisplayName("cancelScheduled should throw when user is not the author or the twitter was already published")
+  void cancelScheduled_ShouldThrow_WhenUserIsNotAuthorOrTwitterWasPublished() {
+    // Arrange
+    ScheduledTwitter scheduled = ScheduledTwitter.createNew("Test Content", user, TwitterVisibility.PUBLIC,
+        LocalDateTime.now().plusHours(1));
+    scheduled.setId(7L);
+
+    when(scheduledTwitterRepository.findById(7L)).thenReturn(Optional.of(scheduled));
+    when(scheduledTwitterRepository.deletePending(7L)).thenReturn(0);
+
+    // Act & Assert (another user)
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(anotherUser);
+    Assertions.assertThatThrownBy(() -> twitterService.cancelScheduled(7L))
+        .isInstanceOf(PermissionDeniedException.class);
+
+    // Act & Assert (published while being cancelled)
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    Assertions.assertThatThrownBy(() -> twitterService.cancelScheduled(7L))
+        .isInstanceOf(NotFoundException.class)
+        .hasMessage("Scheduled twitter not found");
+
+    // Verify that the scheduler was left alone
+    verify(twitterScheduler, never()).cancel(anyLong());
+  }
+
   @Test
   @DisplayName("getUserTwitters should not return empty twitter list when twitters are found")
   void getUserTwitters_ShouldNotReturnEmptyTwitterList_WhenTwittersAreFound() {
@@ -193,7 +442,7 @@ class TwitterServiceTest {
         Twitter.createNew("Twitter Content 3", user));
 
     when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
-    when(twitterRepository.findAllByAuthorId(same(user.getId()))).thenReturn(twitters);
+    when(twitterRepository.findAllByAuthorId(same(user.getId()), any(LocalDateTime.class))).thenReturn(twitters);
 
     // Act
     List<TwitterDto> userTwitters = twitterService.getUserTwitters();
@@ -208,7 +457,30 @@ class TwitterServiceTest {
     verify(userService, times(1)).getAuthenticatedUser(same(userDetails));
 
     // Verify that TwitterRepository method 'findAllByAuthorId' was called correctly
-    verify(twitterRepository, times(1)).findAllByAuthorId(same(user.getId()));
+    verify(twitterRepository, times(1)).findAllByAuthorId(same(user.getId()), any(LocalDateTime.class));
+  }
+
+  @Test
+  @DisplayName("getUserTwitters should query the projection when only some fields are requested")
+  void getUserTwitters_ShouldQueryProjection_WhenOnlySomeFieldsAreRequested() {
+    // Arrange
+    Set<TwitterField> fields = TwitterField.parse("id,content");
+    List<TwitterDto> projectedTwitters = List.of(
+        TwitterDto.builder().id(1L).content("Twitter Content 1").build(),
+        TwitterDto.builder().id(2L).content("Twitter Content 2").build());
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(twitterRepository.findProjectedByAuthorId(same(user.getId()), any(LocalDateTime.class), same(fields))).thenReturn(projectedTwitters);
+
+    // Act
+    List<TwitterDto> userTwitters = twitterService.getUserTwitters(fields);
+
+    // Assert
+    Assertions.assertThat(userTwitters).isEqualTo(projectedTwitters);
+
+    // Verify that TwitterRepository method 'findProjectedByAuthorId' was called instead of loading the entities
+    verify(twitterRepository, times(1)).findProjectedByAuthorId(same(user.getId()), any(LocalDateTime.class), same(fields));
+    verify(twitterRepository, never()).findAllByAuthorId(any(), any());
   }
 
   @Test
@@ -216,7 +488,7 @@ class TwitterServiceTest {
   void getUserTwitters_ShouldReturnEmptyTwitterList_WhenNoTwittersAreFound() {
 
     when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
-    when(twitterRepository.findAllByAuthorId(same(user.getId()))).thenReturn(List.of());
+    when(twitterRepository.findAllByAuthorId(same(user.getId()), any(LocalDateTime.class))).thenReturn(List.of());
 
     // Act
     List<TwitterDto> userTwitters = twitterService.getUserTwitters();
@@ -230,7 +502,7 @@ class TwitterServiceTest {
     verify(userService, times(1)).getAuthenticatedUser(same(userDetails));
 
     // Verify that TwitterRepository method 'findAllByAuthorId' was called correctly
-    verify(twitterRepository, times(1)).findAllByAuthorId(same(user.getId()));
+    verify(twitterRepository, times(1)).findAllByAuthorId(same(user.getId()), any(LocalDateTime.class));
   }
 
   @Test
@@ -257,6 +529,9 @@ class TwitterServiceTest {
 
     // Verify that TwitterRepository method 'findById' was called correctly
     verify(twitterRepository, times(1)).findById(same(searchId));
+
+    // Verify that the view was published for the impression counts
+    verify(domainEventBus, times(1)).tryPublish(any(TwitterViewedEvent.class));
   }
 
   @Test
@@ -284,6 +559,285 @@ class TwitterServiceTest {
     verify(twitterRepository, times(1)).findById(same(searchId));
   }
 
+  @Test
+  @DisplayName("getSingleTwitter should throw NotFoundException when twitter has expired but is not deleted yet")
+  void getSingleTwitter_ShouldThrowNotFoundException_WhenTwitterHasExpired() {
+    // Arrange
+    Twitter expiredTwitter = getTwitterFromRepository();
+    expiredTwitter.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+    Long searchId = expiredTwitter.getId();
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(twitterRepository.findById(same(searchId))).thenReturn(Optional.of(expiredTwitter));
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> twitterService.getSingleTwitter(searchId))
+        .isInstanceOf(NotFoundException.class)
+        .hasMessage("Twitter not found");
+
+    // Verify that the expired twitter was not counted as viewed
+    verify(domainEventBus, never()).tryPublish(any(TwitterViewedEvent.class));
+  }
+
+  @Test
+  @DisplayName("getSingleTwitter should throw NotFoundException when the author is deleted but not purged yet")
+  void getSingleTwitter_ShouldThrowNotFoundException_WhenAuthorIsDeleted() {
+    // Arrange
+    User deletedAuthor = User.builder()
+        .id(UUID.randomUUID())
+        .username("deleted")
+        .status(UserStatus.DELETED)
+        .build();
+    Twitter twitter = getTwitterFromRepository();
+    twitter.setAuthor(deletedAuthor);
+    Long searchId = twitter.getId();
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(twitterRepository.findById(same(searchId))).thenReturn(Optional.of(twitter));
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> twitterService.getSingleTwitter(searchId))
+        .isInstanceOf(NotFoundException.class)
+        .hasMessage("Twitter not found");
+
+    // Verify that the twitter was not counted as viewed
+    verify(domainEventBus, never()).tryPublish(any(TwitterViewedEvent.class));
+  }
+
+  @Test
+  @DisplayName("getViews should count unique viewers of today and of the last seven days")
+  void getViews_ShouldCountDayAndWeekViewers_WhenUserHavePermissionToView() {
+    // Arrange
+    Twitter publicTwitterFromRepository = getTwitterFromRepository();
+    publicTwitterFromRepository.setVisibility(TwitterVisibility.PUBLIC);
+    Long searchId = publicTwitterFromRepository.getId();
+    LocalDate today = LocalDate.now();
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(twitterRepository.findById(same(searchId))).thenReturn(Optional.ofNullable(publicTwitterFromRepository));
+    when(impressionTracker.countViewers(searchId, today, today)).thenReturn(3L);
+    when(impressionTracker.countViewers(searchId, today.minusDays(6), today)).thenReturn(10L);
+
+    // Act
+    TwitterViewsDto views = twitterService.getViews(searchId);
+
+    // Assert
+    Assertions.assertThat(views.getId()).isEqualTo(searchId);
+    Assertions.assertThat(views.getUniqueViewersDay()).isEqualTo(3);
+    Assertions.assertThat(views.getUniqueViewersWeek()).isEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("getViews should throw PermissionDeniedException when user does not have permission to view")
+  void getViews_ShouldThrowPermissionDeniedException_WhenUserDoesNotHavePermissionToView() {
+    // Arrange
+    Twitter privateTwitterFromRepository = getTwitterFromRepository();
+    privateTwitterFromRepository.setAuthor(user);
+    privateTwitterFromRepository.setVisibility(TwitterVisibility.PRIVATE);
+    Long searchId = privateTwitterFromRepository.getId();
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(anotherUser);
+    when(twitterRepository.findById(same(searchId))).thenReturn(Optional.ofNullable(privateTwitterFromRepository));
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> twitterService.getViews(searchId))
+        .isInstanceOf(PermissionDeniedException.class);
+
+    // Verify that no viewers were counted
+    verify(impressionTracker, never()).countViewers(anyLong(), any(LocalDate.class), any(LocalDate.class));
+  }
+
+  @Test
+  @DisplayName("getSingleTwitter should query the repository once when the same twitter is read concurrently")
+  void getSingleTwitter_ShouldQueryRepositoryOnce_WhenSameTwitterIsReadConcurrently() throws Exception {
+    // Arrange
+    int readers = 32;
+    Twitter twitterFromRepository = getTwitterFromRepository();
+    Long searchId = twitterFromRepository.getId();
+    ExecutorService executor = Executors.newFixedThreadPool(readers);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<TwitterDto>> results = new ArrayList<>();
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(twitterRepository.findById(same(searchId))).thenAnswer(invocation -> {
+      Thread.sleep(50);
+      return Optional.of(twitterFromRepository);
+    });
+
+    // Act
+    for (int i = 0; i < readers; i++) {
+      results.add(executor.submit(() -> {
+        start.await();
+        return twitterService.getSingleTwitter(searchId);
+      }));
+    }
+    start.countDown();
+
+    // Assert
+    for (Future<TwitterDto> result : results)
+      Assertions.assertThat(result.get(5, TimeUnit.SECONDS).getId()).isEqualTo(searchId);
+
+    // Verify that TwitterRepository method 'findById' was called only once
+    verify(twitterRepository, times(1)).findById(same(searchId));
+
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("getTwittersByIds should return visible twitters and unavailable ids in request order")
+  void getTwittersByIds_ShouldReturnVisibleTwittersAndUnavailableIds_WhenSomeTwittersAreNotVisible() {
+    // Arrange
+    Twitter firstTwitter = getTwitterFromRepository();
+    Twitter secondTwitter = getTwitterCopy(firstTwitter);
+    List<Long> requestedIds = List.of(secondTwitter.getId(), 99L, firstTwitter.getId(), secondTwitter.getId());
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    // Repository returns only the visible twitters, in no particular order
+    when(twitterRepository.findAllVisibleByIdIn(any(), same(user.getId()), same(TwitterVisibility.PUBLIC),
+        any(LocalDateTime.class)))
+        .thenReturn(List.of(firstTwitter, secondTwitter));
+
+    // Act
+    TwitterBatchDto batch = twitterService.getTwittersByIds(requestedIds);
+
+    // Assert
+    Assertions.assertThat(batch.getTwitters())
+        .extracting(TwitterDto::getId)
+        .containsExactly(secondTwitter.getId(), firstTwitter.getId());
+    Assertions.assertThat(batch.getUnavailableIds()).containsExactly(99L);
+
+    // Verify that TwitterRepository method 'findAllVisibleByIdIn' was called once
+    // with the deduplicated ids
+    verify(twitterRepository, times(1)).findAllVisibleByIdIn(
+        eq(Set.of(firstTwitter.getId(), secondTwitter.getId(), 99L)), same(user.getId()),
+        same(TwitterVisibility.PUBLIC), any(LocalDateTime.class));
+    verify(twitterRepository, never()).findById(anyLong());
+  }
+
+  @Test
+  @DisplayName("getTwittersByIds should throw InvalidArgumentException when ids are empty or above the limit")
+  void getTwittersByIds_ShouldThrowInvalidArgumentException_WhenIdsAreEmptyOrAboveLimit() {
+    // Arrange
+    List<Long> tooManyIds = LongStream.rangeClosed(1, TwitterService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+    // Act & Assert (ids is empty)
+    Assertions.assertThatThrownBy(() -> twitterService.getTwittersByIds(List.of()))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("At least one twitter id is required");
+
+    // Act & Assert (ids above the limit)
+    Assertions.assertThatThrownBy(() -> twitterService.getTwittersByIds(tooManyIds))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("A maximum of 200 twitter ids can be requested at once");
+
+    // Verify that TwitterRepository method 'findAllVisibleByIdIn' was not called
+    verify(twitterRepository, never()).findAllVisibleByIdIn(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("getProfileTwitters should return public page with next cursor when page is full")
+  void getProfileTwitters_ShouldReturnPageWithNextCursor_WhenPageIsFull() {
+    // Arrange
+    List<Twitter> twitters = LongStream.range(0, TwitterService.PROFILE_PAGE_SIZE)
+        .mapToObj(offset -> {
+          Twitter twitter = getTwitterFromRepository();
+          twitter.setId(100L - offset);
+          return twitter;
+        })
+        .toList();
+
+    when(userService.findByUsername(same(user.getUsername()))).thenReturn(user);
+    when(twitterRepository.findPageByAuthorId(same(user.getId()), same(TwitterVisibility.PUBLIC), eq(101L),
+        any(LocalDateTime.class), eq(Limit.of(TwitterService.PROFILE_PAGE_SIZE)))).thenReturn(twitters);
+
+    // Act
+    TwitterPageDto page = twitterService.getProfileTwitters(user.getUsername(), 101L);
+
+    // Assert
+    Assertions.assertThat(page.getTwitters()).hasSize(TwitterService.PROFILE_PAGE_SIZE);
+    Assertions.assertThat(page.getNextCursor()).isEqualTo(twitters.get(twitters.size() - 1).getId());
+  }
+
+  @Test
+  @DisplayName("getProfileTwitters should return page without next cursor when first page is not full")
+  void getProfileTwitters_ShouldReturnPageWithoutNextCursor_WhenFirstPageIsNotFull() {
+    // Arrange
+    Twitter twitter = getTwitterFromRepository();
+
+    when(userService.findByUsername(same(user.getUsername()))).thenReturn(user);
+    when(twitterRepository.findPageByAuthorId(same(user.getId()), same(TwitterVisibility.PUBLIC),
+        eq(Long.MAX_VALUE), any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(twitter));
+
+    // Act
+    TwitterPageDto page = twitterService.getProfileTwitters(user.getUsername(), null);
+
+    // Assert
+    Assertions.assertThat(page.getTwitters()).extracting(TwitterDto::getId).containsExactly(twitter.getId());
+    Assertions.assertThat(page.getNextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("getProfileTwittersFirstPage should cache the page under the stored username of the author")
+  void getProfileTwittersFirstPage_ShouldUseStoredUsername_WhenPathDiffersInCase() {
+    // Arrange
+    String requestedUsername = user.getUsername().toUpperCase();
+
+    when(userService.findByUsername(same(requestedUsername))).thenReturn(user);
+    when(profileTimelineCache.getOrRender(any(String.class), any(MediaType.class), any(), any()))
+        .thenReturn(new byte[0]);
+
+    // Act
+    twitterService.getProfileTwittersFirstPage(requestedUsername, MediaType.APPLICATION_JSON);
+
+    // Verify that the page is cached under the key that writes evict
+    verify(profileTimelineCache, times(1)).getOrRender(eq(user.getUsername()), eq(MediaType.APPLICATION_JSON),
+        any(), any());
+  }
+
+  @Test
+  @DisplayName("streamUserTwitters should fetch each chunk only when the previous one has been consumed")
+  void streamUserTwitters_ShouldFetchChunksLazily_WhenChunksAreConsumed() {
+    // Arrange
+    List<Twitter> fullChunk = LongStream.range(0, TwitterService.STREAM_CHUNK_SIZE)
+        .mapToObj(offset -> {
+          Twitter twitter = getTwitterFromRepository();
+          twitter.setId(500L - offset);
+          return twitter;
+        })
+        .toList();
+    Twitter lastOfFirstChunk = fullChunk.get(fullChunk.size() - 1);
+    long lastIdOfFirstChunk = lastOfFirstChunk.getId();
+    Twitter lastTwitter = getTwitterFromRepository();
+    lastTwitter.setId(1L);
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(twitterRepository.findChunkByAuthorId(same(user.getId()), eq(Long.MAX_VALUE), any(LocalDateTime.class),
+        any(LocalDateTime.class), eq(Limit.of(TwitterService.STREAM_CHUNK_SIZE)))).thenReturn(fullChunk);
+    when(twitterRepository.findChunkByAuthorId(same(user.getId()), eq(lastIdOfFirstChunk),
+        eq(lastOfFirstChunk.getCreatedAt().plus(TwitterService.CREATED_AT_SKEW)), any(LocalDateTime.class), eq(Limit.of(TwitterService.STREAM_CHUNK_SIZE)))).thenReturn(List.of(lastTwitter));
+
+    // Act
+    Iterator<List<TwitterDto>> chunks = twitterService.streamUserTwitters();
+
+    // Verify that nothing is read from the repository before the stream is consumed
+    verify(twitterRepository, never()).findChunkByAuthorId(any(), anyLong(), any(), any(), any());
+
+    List<TwitterDto> firstChunk = chunks.next();
+
+    // Verify that the second chunk is not read before the first one has been consumed
+    verify(twitterRepository, times(1)).findChunkByAuthorId(any(), anyLong(), any(), any(), any());
+
+    List<TwitterDto> secondChunk = chunks.next();
+
+    // Assert
+    Assertions.assertThat(firstChunk).hasSize(TwitterService.STREAM_CHUNK_SIZE);
+    Assertions.assertThat(secondChunk).extracting(TwitterDto::getId).containsExactly(1L);
+    Assertions.assertThat(chunks.hasNext()).isFalse();
+
+    // Verify that a chunk smaller than the chunk size ends the stream without another query
+    verify(twitterRepository, times(2)).findChunkByAuthorId(any(), anyLong(), any(), any(), any());
+  }
+
   @Test
   @DisplayName("update should throw IllegalArgumentException when dto is null")
   void update_ShouldThrowIllegalArgumentException_WhenDtoIsNull() {
@@ -375,6 +929,31 @@ class TwitterServiceTest {
     verify(twitterRepository, times(1)).save(any(Twitter.class));
   }
 
+  @Test
+  @DisplayName("update should throw InvalidArgumentException and keep the twitter when new content has a banned term")
+  void update_ShouldThrowInvalidArgumentException_WhenNewContentHasBannedTerm() {
+    // Arrange
+    UpdateTwitterDto dto = UpdateTwitterDto.builder()
+        .content("Different Test Content with a banned term")
+        .build();
+    Twitter twitterFromRepository = getTwitterFromRepository();
+    Long searchId = twitterFromRepository.getId();
+
+    when(userService.getAuthenticatedUser(same(userDetails))).thenReturn(user);
+    when(twitterRepository.findById(same(searchId))).thenReturn(Optional.ofNullable(twitterFromRepository));
+    doThrow(new InvalidArgumentException("Twitter contains a banned term"))
+        .when(contentModerator).check(same(dto.getContent()));
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> twitterService.update(searchId, dto))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Twitter contains a banned term");
+    Assertions.assertThat(twitterFromRepository.getContent()).isEqualTo("Test Content");
+
+    // Verify that the TwitterRepository method 'save' was not called
+    verify(twitterRepository, never()).save(any(Twitter.class));
+  }
+
   @Test
   @DisplayName("update should throw InvalidArgumentException when twitter is found but the new visibility value is invalid")
   void update_ShouldThrowInvalidArgumentException_WhenTwitterIsFoundButNewVisibilityValueIsInvalid() {
@@ -456,5 +1035,8 @@ class TwitterServiceTest {
 
     // Verify that the TwitterRepository method 'deleteById' was called correctly
     verify(twitterRepository, times(1)).deleteById(same(deleteId));
+
+    // Verify that the deletion was published to the event consumers
+    verify(domainEventBus, times(1)).publish(any(TwitterDeletedEvent.class));
   }
 }
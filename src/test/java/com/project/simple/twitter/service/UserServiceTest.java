@@ -1,6 +1,7 @@
 package com.project.simple.twitter.service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.never;
@@ -18,6 +19,8 @@ import org.mockito.Mock;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
@@ -26,9 +29,13 @@ import java.time.temporal.ChronoUnit;
 import java.time.Instant;
 import java.time.LocalDate;
 
+import com.project.simple.twitter.autocomplete.UserAutocomplete;
+import com.project.simple.twitter.autocomplete.UserAutocomplete.Match;
+import com.project.simple.twitter.cache.ProfileTimelineCache;
 import com.project.simple.twitter.domain.CustomUserDetails;
 import com.project.simple.twitter.domain.Role;
 import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.domain.UserDeletion;
 import com.project.simple.twitter.dto.response.GenericResponseDto;
 import com.project.simple.twitter.dto.user.AccessUserDto;
 import com.project.simple.twitter.dto.user.ConfirmUserDto;
@@ -36,10 +43,17 @@ import com.project.simple.twitter.dto.user.CreateUserDto;
 import com.project.simple.twitter.dto.user.LoginUserDto;
 import com.project.simple.twitter.dto.user.UpdateUserDto;
 import com.project.simple.twitter.dto.user.UserDto;
+import com.project.simple.twitter.dto.user.UserMatchDto;
 import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.UserConfirmedEvent;
+import com.project.simple.twitter.event.UserDeletedEvent;
 import com.project.simple.twitter.exception.BadRequestException;
+import com.project.simple.twitter.exception.InvalidArgumentException;
 import com.project.simple.twitter.exception.InvalidCredentialsException;
 import com.project.simple.twitter.exception.NotFoundException;
+import com.project.simple.twitter.graph.FollowGraph;
+import com.project.simple.twitter.repository.UserDeletionRepository;
 import com.project.simple.twitter.repository.UserRepository;
 import com.project.simple.twitter.security.SecurityConfig;
 
@@ -59,6 +73,24 @@ public class UserServiceTest {
   @Mock
   private JwtTokenService jwtTokenServiceMock;
 
+  @Mock
+  private DomainEventBus domainEventBus;
+
+  @Mock
+  private UserDeletionRepository userDeletionRepository;
+
+  @Mock
+  private ProfileTimelineCache profileTimelineCache;
+
+  @Mock
+  private FollowGraph followGraph;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Mock
+  private UserAutocomplete userAutocomplete;
+
   private JwtTokenService jwtTokenService;
 
   @BeforeEach
@@ -364,6 +396,9 @@ public class UserServiceTest {
 
     // Verify that the UserRepository method 'save' was not called
     verify(userRepository, times(1)).save(any(User.class));
+
+    // Verify that the confirmation was published to the event consumers
+    verify(domainEventBus, times(1)).publish(any(UserConfirmedEvent.class));
   }
 
   @Test
@@ -445,6 +480,86 @@ public class UserServiceTest {
 
     // Verify that the UserRepository method 'save' was called correcly
     verify(userRepository, times(1)).save(any(User.class));
+
+    // Verify that the new display name is handed to the autocomplete
+    verify(userAutocomplete, times(1)).put(same(userFromRepository));
+  }
+
+  @Test
+  @DisplayName("delete should mark the user deleted, record the deletion and clear what is cached about the user")
+  void delete_ShouldMarkUserDeletedAndRecordDeletion_WhenUserIsAuthenticated() {
+    // Arrange
+    User userFromRepository = getUserFromRepository();
+    userFromRepository.setStatus(UserStatus.ACTIVE);
+    UserDetails userDetails = CustomUserDetails.builder()
+        .username(userFromRepository.getUsername())
+        .build();
+
+    userService.setUserDetails(userDetails);
+
+    when(userRepository.findByUsername(same(userDetails.getUsername()))).thenReturn(userFromRepository);
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+    // Act
+    GenericResponseDto genericResponseDto = userService.delete();
+
+    // Assert
+    Assertions.assertThat(genericResponseDto.getMessage()).isEqualTo("User was deleted successfully");
+    Assertions.assertThat(userFromRepository.isDeleted()).isTrue();
+    Assertions.assertThat(userFromRepository.getUpdatedAt()).isNotNull();
+
+    // Verify that the user and its deletion were saved, and the user is gone from the caches and the graph
+    verify(userRepository, times(1)).save(same(userFromRepository));
+    verify(userDeletionRepository, times(1)).save(any(UserDeletion.class));
+    verify(profileTimelineCache, times(1)).evict(userFromRepository.getUsername());
+    verify(followGraph, times(1)).removeUser(userFromRepository.getId());
+    verify(userAutocomplete, times(1)).put(same(userFromRepository));
+    verify(domainEventBus, times(1)).publish(any(UserDeletedEvent.class));
+
+    // Act & Assert (the account is no longer found)
+    Assertions.assertThatThrownBy(() -> userService.getAuthenticatedUser())
+        .isInstanceOf(NotFoundException.class)
+        .hasMessage("User not found");
+  }
+
+  @Test
+  @DisplayName("autocomplete should throw InvalidArgumentException when prefix or limit is invalid")
+  void autocomplete_ShouldThrowInvalidArgumentException_WhenPrefixOrLimitIsInvalid() {
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> userService.autocomplete(null, null))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Prefix cannot be empty");
+    Assertions.assertThatThrownBy(() -> userService.autocomplete(" @ ", null))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Prefix cannot be empty");
+    Assertions.assertThatThrownBy(() -> userService.autocomplete("bru", 0))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Limit must be between 1 and 20");
+    Assertions.assertThatThrownBy(() -> userService.autocomplete("bru", 21))
+        .isInstanceOf(InvalidArgumentException.class)
+        .hasMessage("Limit must be between 1 and 20");
+
+    // Verify that the autocomplete was never queried
+    verify(userAutocomplete, never()).complete(anyString(), anyInt());
+  }
+
+  @Test
+  @DisplayName("autocomplete should return the matching users without the leading @")
+  void autocomplete_ShouldReturnMatchingUsers_WhenPrefixIsValid() {
+    // Arrange
+    when(userAutocomplete.complete("bru", UserService.DEFAULT_AUTOCOMPLETE_SIZE))
+        .thenReturn(List.of(new Match(UUID.randomUUID(), "brunolucas", "Bruno Lucas", 3)));
+
+    // Act
+    List<UserMatchDto> matches = userService.autocomplete(" @bru", null);
+
+    // Assert
+    Assertions.assertThat(matches).containsExactly(UserMatchDto.builder()
+        .username("brunolucas")
+        .displayName("Bruno Lucas")
+        .followers(3)
+        .build());
   }
 
   @Test
@@ -664,4 +779,25 @@ public class UserServiceTest {
     // Verify that the UserRepository method 'findByUsername' was called correctly
     verify(userRepository, times(1)).findByUsername(same(username));
   }
+
+  @Test
+  @DisplayName("loadUserByUsername should throw UsernameNotFoundException when user is deleted")
+  void loadUserByUsername_ShouldThrowUsernameNotFoundException_WhenUserIsDeleted() {
+    // Arrange
+    User userFromRepository = getUserFromRepository();
+    userFromRepository.setStatus(UserStatus.DELETED);
+
+    when(userRepository.findByUsername(same(userFromRepository.getUsername()))).thenReturn(userFromRepository);
+    when(userRepository.findByEmail(same(userFromRepository.getEmail()))).thenReturn(userFromRepository);
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> userService.loadUserByUsername(userFromRepository.getUsername()))
+        .isInstanceOf(UsernameNotFoundException.class)
+        .hasMessage("User not found");
+
+    // Act & Assert (logging in fails as for an unknown email)
+    Assertions.assertThatThrownBy(() -> userService.login(new LoginUserDto(userFromRepository.getEmail(), "123456")))
+        .isInstanceOf(InvalidCredentialsException.class)
+        .hasMessage("Email or password is incorrect");
+  }
 }
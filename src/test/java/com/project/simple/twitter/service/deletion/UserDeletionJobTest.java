@@ -0,0 +1,173 @@
+package com.project.simple.twitter.service.deletion;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.simple.twitter.domain.Follow;
+import com.project.simple.twitter.domain.FollowSuggestion;
+import com.project.simple.twitter.domain.Role;
+import com.project.simple.twitter.domain.ScheduledTwitter;
+import com.project.simple.twitter.domain.Twitter;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.domain.UserDeletion;
+import com.project.simple.twitter.enums.UserDeletionStage;
+import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+import com.project.simple.twitter.repository.FollowRepository;
+import com.project.simple.twitter.repository.FollowSuggestionRepository;
+import com.project.simple.twitter.repository.RoleRepository;
+import com.project.simple.twitter.repository.ScheduledTwitterRepository;
+import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.repository.UserDeletionRepository;
+import com.project.simple.twitter.repository.UserRepository;
+import com.project.simple.twitter.security.SecurityConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@DisplayName("UserDeletionJob Test")
+class UserDeletionJobTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private UserDeletionRepository userDeletionRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private RoleRepository roleRepository;
+
+  @Autowired
+  private TwitterRepository twitterRepository;
+
+  @Autowired
+  private ScheduledTwitterRepository scheduledTwitterRepository;
+
+  @Autowired
+  private FollowRepository followRepository;
+
+  @Autowired
+  private FollowSuggestionRepository followSuggestionRepository;
+
+  private User deleted;
+  private User other;
+
+  @BeforeEach
+  void initUtils() {
+    deleted = saveUser("brunolucas", UserStatus.DELETED);
+    other = saveUser("lucasbruno", UserStatus.ACTIVE);
+
+    for (int index = 0; index < 25; index++)
+      twitterRepository.save(Twitter.createNew("Twitter " + index, deleted));
+    twitterRepository.save(Twitter.createNew("Other twitter", other));
+
+    for (int index = 0; index < 3; index++)
+      scheduledTwitterRepository.save(ScheduledTwitter.createNew("Scheduled " + index, deleted,
+          TwitterVisibility.PUBLIC, LocalDateTime.now().plusDays(1)));
+
+    followRepository.save(Follow.createNew(deleted, other));
+    followRepository.save(Follow.createNew(other, deleted));
+    followSuggestionRepository.save(FollowSuggestion.createNew(deleted.getId(), new UUID[] { other.getId() },
+        new int[] { 1 }, 1, LocalDateTime.now()));
+
+    userDeletionRepository.save(UserDeletion.createNew(deleted, LocalDateTime.now()));
+
+    // The job reads and deletes through queries, like it does in its own transactions
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  @DisplayName("purgePending should purge every row of the account chunk by chunk and complete the deletion")
+  void purgePending_ShouldPurgeEveryRowOfAccount_InChunks() {
+    // Arrange
+    UserDeletionJob job = job(Duration.ofMinutes(1));
+
+    // Act
+    long purged = job.purgePending();
+
+    // Assert
+    // 3 scheduled twitters, 25 twitters, 2 follows, 1 suggestion row, 1 role and the users row
+    Assertions.assertThat(purged).isEqualTo(33);
+    Assertions.assertThat(twitterRepository.findKeysByAuthorId(deleted.getId(), Limit.of(100))).isEmpty();
+    Assertions.assertThat(scheduledTwitterRepository.findIdsByAuthorId(deleted.getId(), Limit.of(100))).isEmpty();
+    Assertions.assertThat(followRepository.findFollowerIds(other.getId(), Limit.of(100))).isEmpty();
+    Assertions.assertThat(followRepository.findFolloweeIds(other.getId(), Limit.of(100))).isEmpty();
+    Assertions.assertThat(followSuggestionRepository.findById(deleted.getId())).isEmpty();
+    Assertions.assertThat(userRepository.findById(deleted.getId())).isEmpty();
+
+    // Verify that the other account was left alone
+    Assertions.assertThat(userRepository.findById(other.getId())).isPresent();
+    Assertions.assertThat(twitterRepository.findKeysByAuthorId(other.getId(), Limit.of(100))).hasSize(1);
+
+    entityManager.clear();
+    UserDeletion deletion = userDeletionRepository.findById(deleted.getId()).orElseThrow();
+    Assertions.assertThat(deletion.isCompleted()).isTrue();
+    Assertions.assertThat(deletion.getCompletedAt()).isNotNull();
+    Assertions.assertThat(deletion.getPurgedRows()).isEqualTo(33);
+    Assertions.assertThat(userDeletionRepository.countPending()).isZero();
+  }
+
+  @Test
+  @DisplayName("purgePending should resume from the recorded stage when a previous run stopped halfway")
+  void purgePending_ShouldResumeFromRecordedStage_WhenPreviousRunStopped() {
+    // Arrange
+    job(Duration.ZERO).purgePending();
+    entityManager.clear();
+
+    UserDeletion stopped = userDeletionRepository.findById(deleted.getId()).orElseThrow();
+
+    // Act
+    long purged = job(Duration.ofMinutes(1)).purgePending();
+
+    // Assert
+    // The first run purged the scheduled twitters in its only chunk and moved on to the twitters
+    Assertions.assertThat(stopped.getStage()).isEqualTo(UserDeletionStage.TWITTERS);
+    Assertions.assertThat(stopped.getPurgedRows()).isEqualTo(3);
+    Assertions.assertThat(stopped.getCompletedAt()).isNull();
+    Assertions.assertThat(purged).isEqualTo(30);
+
+    entityManager.clear();
+    UserDeletion deletion = userDeletionRepository.findById(deleted.getId()).orElseThrow();
+    Assertions.assertThat(deletion.isCompleted()).isTrue();
+    Assertions.assertThat(deletion.getPurgedRows()).isEqualTo(33);
+  }
+
+  private UserDeletionJob job(Duration maxRunTime) {
+    return new UserDeletionJob(userDeletionRepository, userRepository, twitterRepository,
+        scheduledTwitterRepository, followRepository, followSuggestionRepository,
+        new TransactionTemplate(transactionManager), new SimpleMeterRegistry(), true, maxRunTime, 10, 10, 10,
+        Duration.ofMinutes(1), 1);
+  }
+
+  private User saveUser(String username, UserStatus status) {
+    Role role = roleRepository.findByName("USER");
+
+    return userRepository.save(User.builder()
+        .username(username)
+        .email(username + "@gmail.com")
+        .password(SecurityConfig.passwordEncoder().encode("bruno123"))
+        .status(status)
+        .roles(List.of(role))
+        .build());
+  }
+}
@@ -0,0 +1,155 @@
+package com.project.simple.twitter.service.expiry;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import com.project.simple.twitter.cache.ProfileTimelineCache;
+import com.project.simple.twitter.event.DomainEventBus;
+import com.project.simple.twitter.event.TwitterDeletedEvent;
+import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.repository.TwitterRepository.ExpiredView;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("TwitterExpiryReaper Test")
+class TwitterExpiryReaperTest {
+
+  private final UUID authorId = UUID.randomUUID();
+
+  private TwitterRepository twitterRepository;
+  private ProfileTimelineCache profileTimelineCache;
+  private DomainEventBus domainEventBus;
+
+  @BeforeEach
+  void initUtils() {
+    twitterRepository = mock(TwitterRepository.class);
+    profileTimelineCache = mock(ProfileTimelineCache.class);
+    domainEventBus = mock(DomainEventBus.class);
+
+    when(twitterRepository.deleteExpired(anyCollection(), any(LocalDateTime.class), any(LocalDateTime.class),
+        any(LocalDateTime.class))).thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+  }
+
+  @Test
+  @DisplayName("reapExpired should delete chunk after chunk in keyset order until no expired twitter is left")
+  void reapExpired_ShouldDeleteChunksInKeysetOrder_UntilNoneIsLeft() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    TwitterExpiryReaper reaper = reaper(Duration.ofMinutes(1));
+    List<ExpiredView> firstChunk = List.of(expired(1L, now.minusDays(3), now.minusHours(2)),
+        expired(7L, now.minusDays(40), now.minusHours(1)));
+
+    when(twitterRepository.findExpiredChunk(any(LocalDateTime.class), eq(0L), eq(now), eq(Limit.of(2))))
+        .thenReturn(firstChunk);
+    when(twitterRepository.findExpiredChunk(eq(now.minusHours(1)), eq(7L), eq(now), any(Limit.class)))
+        .thenReturn(List.of(expired(3L, now.minusDays(1), now.minusMinutes(1))));
+
+    // Act
+    int deleted = reaper.reapExpired(now);
+
+    // Assert
+    Assertions.assertThat(deleted).isEqualTo(3);
+
+    // Verify that each chunk was deleted on its own, bounded by the create_at of its rows
+    verify(twitterRepository, times(1)).deleteExpired(eq(List.of(1L, 7L)), eq(now.minusDays(40)),
+        eq(now.minusDays(3)), eq(now));
+    verify(twitterRepository, times(1)).deleteExpired(eq(List.of(3L)), eq(now.minusDays(1)),
+        eq(now.minusDays(1)), eq(now));
+
+    // Verify that the author timeline was invalidated and every deletion announced
+    verify(profileTimelineCache, times(3)).evict(eq("brunolucas"));
+    verify(domainEventBus, times(3)).publish(any(TwitterDeletedEvent.class));
+  }
+
+  @Test
+  @DisplayName("reapExpired should stop after the maximum run time and leave the rest to the next run")
+  void reapExpired_ShouldStop_WhenMaxRunTimeIsReached() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    TwitterExpiryReaper reaper = reaper(Duration.ZERO);
+
+    when(twitterRepository.findExpiredChunk(any(LocalDateTime.class), anyLong(), eq(now), any(Limit.class)))
+        .thenReturn(List.of(expired(1L, now.minusDays(1), now.minusHours(1)),
+            expired(2L, now.minusDays(1), now.minusHours(1))));
+
+    // Act
+    int deleted = reaper.reapExpired(now);
+
+    // Assert
+    Assertions.assertThat(deleted).isEqualTo(2);
+
+    // Verify that a single chunk was read
+    verify(twitterRepository, times(1)).findExpiredChunk(any(LocalDateTime.class), anyLong(), any(), any());
+  }
+
+  @Test
+  @DisplayName("reapExpired should delete nothing when no twitter has expired")
+  void reapExpired_ShouldDeleteNothing_WhenNoTwitterHasExpired() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    when(twitterRepository.findExpiredChunk(any(LocalDateTime.class), anyLong(), eq(now), any(Limit.class)))
+        .thenReturn(List.of());
+
+    // Act & Assert
+    Assertions.assertThat(reaper(Duration.ofMinutes(1)).reapExpired(now)).isZero();
+
+    // Verify that no delete was issued
+    verify(twitterRepository, never()).deleteExpired(anyCollection(), any(), any(), any());
+    verify(domainEventBus, never()).publish(any(TwitterDeletedEvent.class));
+  }
+
+  // Chunks start at two twitters and there is no pause between them
+  private TwitterExpiryReaper reaper(Duration maxRunTime) {
+    return new TwitterExpiryReaper(twitterRepository, profileTimelineCache, domainEventBus,
+        new SimpleMeterRegistry(), true, maxRunTime, 2, 1, 10, Duration.ofSeconds(1), 1);
+  }
+
+  private ExpiredView expired(long id, LocalDateTime createdAt, LocalDateTime expiresAt) {
+    return new ExpiredView() {
+
+      @Override
+      public long getId() {
+        return id;
+      }
+
+      @Override
+      public LocalDateTime getCreatedAt() {
+        return createdAt;
+      }
+
+      @Override
+      public LocalDateTime getExpiresAt() {
+        return expiresAt;
+      }
+
+      @Override
+      public UUID getAuthorId() {
+        return authorId;
+      }
+
+      @Override
+      public String getAuthorUsername() {
+        return "brunolucas";
+      }
+    };
+  }
+}
@@ -0,0 +1,182 @@
+package com.project.simple.twitter.service.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.simple.twitter.domain.Twitter;
+import com.project.simple.twitter.domain.User;
+import com.project.simple.twitter.dto.user.UserDto;
+import com.project.simple.twitter.enums.UserStatus;
+import com.project.simple.twitter.enums.twitter.TwitterVisibility;
+import com.project.simple.twitter.exception.TooManyRequestsException;
+import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.repository.UserRepository;
+import com.project.simple.twitter.security.SecurityConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@DisplayName("UserDataExporter Test")
+class UserDataExporterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .findAndRegisterModules()
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TwitterRepository twitterRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  private User user;
+  private UserDto profile;
+
+  @BeforeEach
+  void initUtils() {
+    user = userRepository.save(User.builder()
+        .username("brunolucas")
+        .email("brunolucas23@gmail.com")
+        .password(SecurityConfig.passwordEncoder().encode("bruno123"))
+        .status(UserStatus.ACTIVE)
+        .build());
+
+    profile = UserDto.builder()
+        .username(user.getUsername())
+        .displayName("Bruno Lucas")
+        .createDate(LocalDate.now())
+        .accountStatus("Active")
+        .build();
+  }
+
+  @Test
+  @DisplayName("export should write the profile and every unexpired twitter of the user, oldest first")
+  void export_ShouldWriteProfileAndTwitters_WhenUserHasTwitters() throws Exception {
+    // Arrange
+    Twitter first = twitterRepository.save(Twitter.createNew("First", user));
+    Twitter expired = Twitter.createNew("Expired", user);
+    expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+    twitterRepository.save(expired);
+    Twitter second = Twitter.createNew("Second", user);
+    second.setVisibility(TwitterVisibility.PRIVATE);
+    second = twitterRepository.save(second);
+    twitterRepository.flush();
+
+    UserDataExporter exporter = new UserDataExporter(jdbcTemplate, objectMapper, new SimpleMeterRegistry(), 1);
+
+    // Act
+    Map<String, String> entries = unzip(write(exporter.export(profile)));
+
+    // Assert
+    Assertions.assertThat(entries).containsOnlyKeys(UserDataExporter.PROFILE_ENTRY, UserDataExporter.TWITTERS_ENTRY);
+    Assertions.assertThat(objectMapper.readTree(entries.get(UserDataExporter.PROFILE_ENTRY)).get("display_name").asText())
+        .isEqualTo("Bruno Lucas");
+
+    List<JsonNode> twitters = entries.get(UserDataExporter.TWITTERS_ENTRY).lines()
+        .map(this::readTree)
+        .toList();
+    Assertions.assertThat(twitters)
+        .extracting(twitter -> twitter.get("id").asLong())
+        .containsExactly(first.getId(), second.getId());
+    Assertions.assertThat(twitters.get(1).get("content").asText()).isEqualTo("Second");
+    Assertions.assertThat(twitters.get(1).get("visibility").asText()).isEqualTo("private");
+    Assertions.assertThat(twitters.get(1).get("author").asText()).isEqualTo(user.getUsername());
+  }
+
+  @Test
+  @DisplayName("export should throw TooManyRequestsException while the maximum number of exports is running")
+  void export_ShouldThrowTooManyRequestsException_WhenMaxConcurrentExportsAreRunning() throws Exception {
+    // Arrange
+    UserDataExporter exporter = new UserDataExporter(jdbcTemplate, objectMapper, new SimpleMeterRegistry(), 1);
+    StreamingResponseBody running = exporter.export(profile);
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> exporter.export(profile))
+        .isInstanceOf(TooManyRequestsException.class)
+        .hasMessage("Too many exports are running, retry later");
+    Assertions.assertThat(exporter.countActive()).isEqualTo(1);
+
+    write(running);
+
+    // Verify that the permit is returned once the running export has been written
+    Assertions.assertThat(exporter.countActive()).isZero();
+    Assertions.assertThatNoException().isThrownBy(() -> write(exporter.export(profile)));
+  }
+
+  @Test
+  @DisplayName("export should return the permit when the request completes without the body being written")
+  void export_ShouldReleasePermit_WhenRequestCompletesWithoutWritingBody() throws Exception {
+    // Arrange
+    UserDataExporter exporter = new UserDataExporter(jdbcTemplate, objectMapper, new SimpleMeterRegistry(), 1);
+    NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+    UserDataExporter.ExportBody timedOut = exporter.export(profile);
+
+    // Act
+    timedOut.afterCompletion(request, () -> null);
+
+    // Assert
+    Assertions.assertThat(exporter.countActive()).isZero();
+
+    // Verify that a body written then completed returns its permit once only
+    UserDataExporter.ExportBody written = exporter.export(profile);
+    write(written);
+    written.afterCompletion(request, () -> null);
+    timedOut.afterCompletion(request, () -> null);
+
+    Assertions.assertThat(exporter.countActive()).isZero();
+    exporter.export(profile);
+    Assertions.assertThatThrownBy(() -> exporter.export(profile)).isInstanceOf(TooManyRequestsException.class);
+  }
+
+  private static byte[] write(StreamingResponseBody body) throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    body.writeTo(outputStream);
+
+    return outputStream.toByteArray();
+  }
+
+  private static Map<String, String> unzip(byte[] archive) throws Exception {
+    Map<String, String> entries = new LinkedHashMap<>();
+
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+      for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry())
+        entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    return entries;
+  }
+
+  private JsonNode readTree(String json) {
+    try {
+      return objectMapper.readTree(json);
+    } catch (Exception exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.project.simple.twitter.service.idempotency;
+
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.project.simple.twitter.exception.TooManyRequestsException;
+
+@DisplayName("InMemoryIdempotencyStore Test")
+class InMemoryIdempotencyStoreTest {
+
+  private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+  @Test
+  @DisplayName("tryBegin should evict the oldest completed key and keep the pending ones when the store is full")
+  void tryBegin_ShouldEvictOldestCompletedKey_WhenStoreIsFull() {
+    // Arrange
+    InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(3);
+    store.tryBegin("completed-1", TIMEOUT);
+    store.complete("completed-1", new IdempotentResponse(201, "hash-1"), TIMEOUT);
+    store.tryBegin("completed-2", TIMEOUT);
+    store.complete("completed-2", new IdempotentResponse(201, "hash-2"), TIMEOUT);
+    store.tryBegin("pending", TIMEOUT);
+
+    // Act
+    boolean begun = store.tryBegin("new", TIMEOUT);
+
+    // Assert
+    Assertions.assertThat(begun).isTrue();
+    Assertions.assertThat(store.size()).isEqualTo(3);
+    Assertions.assertThat(store.findCompleted("completed-1")).isEmpty();
+    Assertions.assertThat(store.findCompleted("completed-2")).isPresent();
+
+    // Verify that the pending key is still held, so a duplicate does not run again
+    Assertions.assertThat(store.tryBegin("pending", TIMEOUT)).isFalse();
+  }
+
+  @Test
+  @DisplayName("tryBegin should not evict a key completed again after it expired ahead of older keys")
+  void tryBegin_ShouldKeepRecompletedKey_WhenStoreIsFull() {
+    // Arrange
+    InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2);
+    store.tryBegin("reused", TIMEOUT);
+    store.complete("reused", new IdempotentResponse(201, "hash-1"), Duration.ZERO);
+    store.tryBegin("older", TIMEOUT);
+    store.complete("older", new IdempotentResponse(201, "hash-2"), TIMEOUT);
+    store.tryBegin("reused", TIMEOUT);
+    store.complete("reused", new IdempotentResponse(201, "hash-3"), TIMEOUT);
+
+    // Act
+    boolean begun = store.tryBegin("new", TIMEOUT);
+
+    // Assert
+    Assertions.assertThat(begun).isTrue();
+    Assertions.assertThat(store.findCompleted("reused")).map(IdempotentResponse::getRequestHash).contains("hash-3");
+    Assertions.assertThat(store.findCompleted("older")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("tryBegin should throw TooManyRequestsException when only pending keys are left to evict")
+  void tryBegin_ShouldThrowTooManyRequestsException_WhenOnlyPendingKeysRemain() {
+    // Arrange
+    InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2);
+    store.tryBegin("pending-1", TIMEOUT);
+    store.tryBegin("pending-2", TIMEOUT);
+
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> store.tryBegin("new", TIMEOUT))
+        .isInstanceOf(TooManyRequestsException.class)
+        .hasMessage("Too many requests with an Idempotency-Key are in progress");
+
+    Assertions.assertThat(store.size()).isEqualTo(2);
+    Assertions.assertThat(store.tryBegin("pending-1", TIMEOUT)).isFalse();
+  }
+
+  @Test
+  @DisplayName("purgeExpired should drop expired keys, pending or completed")
+  void purgeExpired_ShouldDropExpiredKeys() {
+    // Arrange
+    InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(10);
+    store.tryBegin("expired-pending", Duration.ZERO);
+    store.tryBegin("expired", TIMEOUT);
+    store.complete("expired", new IdempotentResponse(201, "hash"), Duration.ZERO);
+    store.tryBegin("kept", TIMEOUT);
+    store.complete("kept", new IdempotentResponse(201, "hash"), TIMEOUT);
+
+    // Act
+    store.purgeExpired();
+
+    // Assert
+    Assertions.assertThat(store.size()).isEqualTo(1);
+    Assertions.assertThat(store.findCompleted("kept")).isPresent();
+  }
+}
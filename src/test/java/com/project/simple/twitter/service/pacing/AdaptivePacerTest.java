@@ -0,0 +1,77 @@
+package com.project.simple.twitter.service.pacing;
+
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AdaptivePacer Test")
+class AdaptivePacerTest {
+
+  private static final Duration TARGET = Duration.ofMillis(50);
+
+  @Test
+  @DisplayName("record should grow the chunk by a step while chunks finish within the target latency")
+  void record_ShouldGrowChunk_WhenLatencyIsWithinTarget() {
+    // Arrange
+    AdaptivePacer pacer = pacer(100, 10, 130, 0.5);
+
+    // Act
+    pacer.record(Duration.ofMillis(20));
+    int grown = pacer.getChunkSize();
+    pacer.record(Duration.ofMillis(20));
+    pacer.record(Duration.ofMillis(20));
+    pacer.record(Duration.ofMillis(20));
+
+    // Assert
+    Assertions.assertThat(grown).isEqualTo(110);
+    Assertions.assertThat(pacer.getChunkSize()).isEqualTo(130);
+  }
+
+  @Test
+  @DisplayName("record should halve the chunk down to the minimum when chunks are slower than the target latency")
+  void record_ShouldHalveChunk_WhenLatencyIsAboveTarget() {
+    // Arrange
+    AdaptivePacer pacer = pacer(100, 10, 1000, 0.5);
+
+    // Act
+    pacer.record(Duration.ofMillis(200));
+    int halved = pacer.getChunkSize();
+    for (int i = 0; i < 10; i++)
+      pacer.record(Duration.ofMillis(200));
+
+    // Assert
+    Assertions.assertThat(halved).isEqualTo(50);
+    Assertions.assertThat(pacer.getChunkSize()).isEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("record should pause long enough to keep the database busy for the duty cycle only")
+  void record_ShouldPauseForDutyCycle_WhenChunkIsDone() {
+    // Act & Assert
+    Assertions.assertThat(pacer(100, 10, 1000, 0.5).record(Duration.ofMillis(40)))
+        .isEqualTo(Duration.ofMillis(40));
+    Assertions.assertThat(pacer(100, 10, 1000, 0.2).record(Duration.ofMillis(40)))
+        .isEqualTo(Duration.ofMillis(160));
+    Assertions.assertThat(pacer(100, 10, 1000, 1).record(Duration.ofMillis(40)))
+        .isZero();
+  }
+
+  @Test
+  @DisplayName("pauseAfter should end the run when the pause would go past the maximum run time")
+  void pauseAfter_ShouldEndRun_WhenPauseGoesPastMaxRunTime() {
+    // Arrange
+    AdaptivePacer pacer = new AdaptivePacer(new PacingSettings(Duration.ofSeconds(1), 100, 10, 1000, TARGET, 0.5));
+
+    // Act & Assert
+    Assertions.assertThat(pacer.pauseAfter(Duration.ofMillis(1))).isTrue();
+    Assertions.assertThat(pacer.pauseAfter(Duration.ofSeconds(2))).isFalse();
+    Assertions.assertThat(pacer.getChunkSize()).isEqualTo(55);
+  }
+
+  private static AdaptivePacer pacer(int initialChunkSize, int minChunkSize, int maxChunkSize, double dutyCycle) {
+    return new AdaptivePacer(new PacingSettings(Duration.ofMinutes(1), initialChunkSize, minChunkSize, maxChunkSize,
+        TARGET, dutyCycle));
+  }
+}
@@ -0,0 +1,26 @@
+package com.project.simple.twitter.service.pacing;
+
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PacingSettings Test")
+class PacingSettingsTest {
+
+  private static final Duration RUN_TIME = Duration.ofSeconds(30);
+  private static final Duration TARGET = Duration.ofMillis(50);
+
+  @Test
+  @DisplayName("constructor should throw IllegalArgumentException when sizes or duty cycle are out of range")
+  void constructor_ShouldThrowIllegalArgumentException_WhenSettingsAreInvalid() {
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> new PacingSettings(RUN_TIME, 100, 0, 1000, TARGET, 0.5))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThatThrownBy(() -> new PacingSettings(RUN_TIME, 100, 500, 100, TARGET, 0.5))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThatThrownBy(() -> new PacingSettings(RUN_TIME, 100, 10, 1000, TARGET, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,76 @@
+package com.project.simple.twitter.service.partition;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MonthlyPartitionPlan Test")
+class MonthlyPartitionPlanTest {
+
+  private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+  @Test
+  @DisplayName("of should create the months after the newest partition up to the months ahead")
+  void of_ShouldCreateMonthsAfterNewestPartition_WhenPartitionsAreMissing() {
+    // Act
+    MonthlyPartitionPlan plan = MonthlyPartitionPlan.of(List.of(CURRENT), CURRENT, 3, 0);
+
+    // Assert
+    Assertions.assertThat(plan.getMonthsToCreate())
+        .containsExactly(YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1));
+    Assertions.assertThat(plan.getMonthsToExpire()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("of should be empty when the partitions already cover the months ahead")
+  void of_ShouldBeEmpty_WhenPartitionsCoverMonthsAhead() {
+    // Act
+    MonthlyPartitionPlan plan = MonthlyPartitionPlan.of(List.of(CURRENT, CURRENT.plusMonths(1), CURRENT.plusMonths(2)),
+        CURRENT, 2, 0);
+
+    // Assert
+    Assertions.assertThat(plan.isEmpty()).isTrue();
+  }
+
+  @Test
+  @DisplayName("of should fill the months missed by maintenance before creating the months ahead")
+  void of_ShouldFillMissedMonths_WhenNewestPartitionIsInThePast() {
+    // Act
+    MonthlyPartitionPlan plan = MonthlyPartitionPlan.of(List.of(CURRENT.minusMonths(2)), CURRENT, 1, 0);
+
+    // Assert
+    Assertions.assertThat(plan.getMonthsToCreate())
+        .containsExactly(CURRENT.minusMonths(1), CURRENT, CURRENT.plusMonths(1));
+  }
+
+  @Test
+  @DisplayName("of should expire the months older than the retention")
+  void of_ShouldExpireMonthsOlderThanRetention_WhenRetentionIsSet() {
+    // Arrange
+    List<YearMonth> existing = List.of(CURRENT, CURRENT.minusMonths(1), CURRENT.minusMonths(2),
+        CURRENT.minusMonths(3));
+
+    // Act
+    MonthlyPartitionPlan plan = MonthlyPartitionPlan.of(existing, CURRENT, 0, 2);
+
+    // Assert
+    Assertions.assertThat(plan.getMonthsToExpire()).containsExactly(CURRENT.minusMonths(3));
+
+    // Verify that a retention of zero months keeps every partition
+    Assertions.assertThat(MonthlyPartitionPlan.of(existing, CURRENT, 0, 0).getMonthsToExpire()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("parsePartitionName should only accept monthly partition names")
+  void parsePartitionName_ShouldOnlyAcceptMonthlyPartitionNames() {
+    // Act & Assert
+    Assertions.assertThat(MonthlyPartitionPlan.parsePartitionName(MonthlyPartitionPlan.partitionName(CURRENT)))
+        .contains(CURRENT);
+    Assertions.assertThat(MonthlyPartitionPlan.partitionName(CURRENT)).isEqualTo("p202610");
+    Assertions.assertThat(MonthlyPartitionPlan.parsePartitionName("p_history")).isEmpty();
+    Assertions.assertThat(MonthlyPartitionPlan.parsePartitionName("p_future")).isEmpty();
+  }
+}
@@ -0,0 +1,98 @@
+package com.project.simple.twitter.service.suggestion;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.project.simple.twitter.domain.FollowSuggestion;
+import com.project.simple.twitter.graph.FollowGraph;
+import com.project.simple.twitter.repository.FollowSuggestionRepository;
+import com.project.simple.twitter.repository.TwitterRepository;
+import com.project.simple.twitter.repository.TwitterRepository.AuthorActivityView;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("FollowSuggestionJob Test")
+class FollowSuggestionJobTest {
+
+  @Test
+  @DisplayName("computeSuggestions should store the ranked suggestions of every user across batches")
+  @SuppressWarnings("unchecked")
+  void computeSuggestions_ShouldStoreSuggestionsOfEveryUser_WhenUsersSpanSeveralBatches() {
+    // Arrange
+    FollowGraph graph = new FollowGraph();
+    UUID alice = UUID.randomUUID();
+    UUID bob = UUID.randomUUID();
+    UUID carol = UUID.randomUUID();
+    UUID dave = UUID.randomUUID();
+    UUID erin = UUID.randomUUID();
+    graph.follow(alice, bob);
+    graph.follow(alice, carol);
+    graph.follow(bob, dave);
+    graph.follow(carol, dave);
+    graph.follow(carol, erin);
+
+    AuthorActivityView erinActivity = mock(AuthorActivityView.class);
+    when(erinActivity.getAuthorId()).thenReturn(erin);
+    when(erinActivity.getTwitterCount()).thenReturn(12L);
+
+    TwitterRepository twitterRepository = mock(TwitterRepository.class);
+    when(twitterRepository.countByAuthorSince(any(LocalDateTime.class))).thenReturn(List.of(erinActivity));
+
+    List<UUID> replacedUserIds = new ArrayList<>();
+    List<FollowSuggestion> stored = new ArrayList<>();
+    FollowSuggestionRepository followSuggestionRepository = mock(FollowSuggestionRepository.class);
+    doAnswer(invocation -> {
+      replacedUserIds.addAll(invocation.getArgument(0, Collection.class));
+      stored.addAll(invocation.getArgument(1, List.class));
+      return null;
+    }).when(followSuggestionRepository).replace(anyCollection(), anyList());
+
+    FollowSuggestionJob job = new FollowSuggestionJob(graph, twitterRepository, followSuggestionRepository,
+        new SimpleMeterRegistry(), true, 20, 2, 2, 30);
+
+    // Act
+    int ranked = job.computeSuggestions();
+
+    // Assert
+    Assertions.assertThat(ranked).isEqualTo(5);
+    Assertions.assertThat(replacedUserIds).containsExactly(alice, bob, carol, dave, erin);
+    Assertions.assertThat(stored).hasSize(1);
+
+    FollowSuggestion suggestion = stored.get(0);
+    Assertions.assertThat(suggestion.getUserId()).isEqualTo(alice);
+    Assertions.assertThat(suggestion.countSuggestions()).isEqualTo(2);
+    Assertions.assertThat(suggestion.getSuggestedUserId(0)).isEqualTo(dave);
+    Assertions.assertThat(suggestion.getScore(0)).isEqualTo(2);
+    Assertions.assertThat(suggestion.getSuggestedUserId(1)).isEqualTo(erin);
+    Assertions.assertThat(suggestion.getScore(1)).isEqualTo(1);
+
+    // Verify that the five users were written in three batches of at most two
+    verify(followSuggestionRepository, times(3)).replace(anyCollection(), anyList());
+  }
+
+  @Test
+  @DisplayName("constructor should throw IllegalArgumentException when top-k does not fit a stored row")
+  void constructor_ShouldThrowIllegalArgumentException_WhenTopKIsTooLarge() {
+    // Act & Assert
+    Assertions.assertThatThrownBy(() -> new FollowSuggestionJob(new FollowGraph(), mock(TwitterRepository.class),
+        mock(FollowSuggestionRepository.class), new SimpleMeterRegistry(), true,
+        FollowSuggestion.MAX_SUGGESTIONS + 1, 1, 100, 30))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,127 @@
+package com.project.simple.twitter.service.suggestion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.project.simple.twitter.graph.FollowGraph;
+
+@DisplayName("SuggestionRanker Test")
+class SuggestionRankerTest {
+
+  @Test
+  @DisplayName("rank should order friends of friends by overlap, leaving out the user and whom they follow")
+  void rank_ShouldOrderByOverlap_WhenFriendsFollowCandidates() {
+    // Arrange
+    FollowGraph graph = new FollowGraph();
+    UUID[] users = users(7);
+    // 0 follows 1, 2 and 3; 4 is followed by all three of them, 5 by two and 6 by one
+    follow(graph, users, 0, 1, 2, 3);
+    follow(graph, users, 1, 4, 5, 0, 2);
+    follow(graph, users, 2, 4, 5);
+    follow(graph, users, 3, 4, 6);
+    SuggestionRanker ranker = new SuggestionRanker(graph, new int[graph.countUsers()], 10);
+    int[] ids = new int[10];
+    int[] scores = new int[10];
+
+    // Act
+    int count = ranker.rank(graph.indexOf(users[0]), ids, scores, 0);
+
+    // Assert
+    Assertions.assertThat(count).isEqualTo(3);
+    Assertions.assertThat(ids).startsWith(graph.indexOf(users[4]), graph.indexOf(users[5]), graph.indexOf(users[6]));
+    Assertions.assertThat(scores).startsWith(3, 2, 1);
+  }
+
+  @Test
+  @DisplayName("rank should keep the topK candidates, breaking ties by activity and then by the lower index")
+  void rank_ShouldBreakTiesByActivity_WhenOverlapIsEqual() {
+    // Arrange
+    FollowGraph graph = new FollowGraph();
+    UUID[] users = users(6);
+    // The graph numbers the users in the order they first follow or are followed
+    follow(graph, users, 0, 1);
+    follow(graph, users, 1, 2, 3, 4, 5);
+    int[] activity = new int[graph.countUsers()];
+    activity[graph.indexOf(users[4])] = 7;
+    SuggestionRanker ranker = new SuggestionRanker(graph, activity, 2);
+    int[] ids = new int[4];
+    int[] scores = new int[4];
+
+    // Act
+    int count = ranker.rank(graph.indexOf(users[0]), ids, scores, 2);
+
+    // Assert
+    Assertions.assertThat(count).isEqualTo(2);
+    Assertions.assertThat(ids).endsWith(graph.indexOf(users[4]), graph.indexOf(users[2]));
+    Assertions.assertThat(scores).endsWith(1, 1);
+  }
+
+  @Test
+  @DisplayName("rank should match a straightforward count for every user when one ranker is reused")
+  void rank_ShouldMatchStraightforwardCount_WhenRankerIsReused() {
+    // Arrange
+    Random random = new Random(42);
+    FollowGraph graph = new FollowGraph();
+    UUID[] users = users(300);
+    for (int i = 0; i < 3000; i++)
+      graph.follow(users[random.nextInt(users.length)], users[random.nextInt(users.length / 10)]);
+
+    int topK = 5;
+    int[] activity = random.ints(graph.countUsers(), 0, 3).toArray();
+    SuggestionRanker ranker = new SuggestionRanker(graph, activity, topK);
+    int[] ids = new int[topK];
+    int[] scores = new int[topK];
+
+    for (int user = 0; user < graph.countUsers(); user++) {
+      // Act
+      int count = ranker.rank(user, ids, scores, 0);
+
+      // Assert
+      List<int[]> expected = expectedSuggestions(graph, activity, user, topK);
+      Assertions.assertThat(count).isEqualTo(expected.size());
+      for (int position = 0; position < count; position++) {
+        Assertions.assertThat(ids[position]).isEqualTo(expected.get(position)[0]);
+        Assertions.assertThat(scores[position]).isEqualTo(expected.get(position)[1]);
+      }
+    }
+  }
+
+  private static List<int[]> expectedSuggestions(FollowGraph graph, int[] activity, int user, int topK) {
+    Map<Integer, Integer> counts = new HashMap<>();
+    for (int friend : graph.followingOf(user).toArray()) {
+      for (int candidate : graph.followingOf(friend).toArray()) {
+        if (candidate != user && !graph.followingOf(user).contains(candidate))
+          counts.merge(candidate, 1, Integer::sum);
+      }
+    }
+
+    List<int[]> suggestions = new ArrayList<>();
+    counts.forEach((candidate, count) -> suggestions.add(new int[] { candidate, count }));
+    suggestions.sort(Comparator.<int[]>comparingInt(suggestion -> -suggestion[1])
+        .thenComparingInt(suggestion -> -activity[suggestion[0]])
+        .thenComparingInt(suggestion -> suggestion[0]));
+
+    return suggestions.subList(0, Math.min(topK, suggestions.size()));
+  }
+
+  private static UUID[] users(int count) {
+    UUID[] users = new UUID[count];
+    for (int i = 0; i < count; i++)
+      users[i] = UUID.randomUUID();
+    return users;
+  }
+
+  private static void follow(FollowGraph graph, UUID[] users, int follower, int... followees) {
+    for (int followee : followees)
+      graph.follow(users[follower], users[followee]);
+  }
+}